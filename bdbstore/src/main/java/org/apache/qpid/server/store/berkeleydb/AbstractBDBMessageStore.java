@@ -53,6 +53,7 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.store.Event;
 import org.apache.qpid.server.store.EventListener;
 import org.apache.qpid.server.store.EventManager;
+import org.apache.qpid.server.store.MessageContentCompressor;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
 import org.apache.qpid.server.store.MessageHandle;
 import org.apache.qpid.server.store.MessageStore;
@@ -109,6 +110,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
     private final Random _lockConflictRandom = new Random();
     private final AtomicLong _inMemorySize = new AtomicLong();
     private final AtomicLong _bytesEvacuatedFromMemory = new AtomicLong();
+    private volatile MessageContentCompressor _contentCompressor = new MessageContentCompressor(false, 0, 0);
     private final Set<StoredBDBMessage<?>> _messages = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
 
@@ -118,6 +120,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         if (_messageStoreOpen.compareAndSet(false, true))
         {
             _parent = parent;
+            _contentCompressor = MessageContentCompressor.create(parent);
 
             final SizeMonitoringSettings sizeMonitorSettings = (SizeMonitoringSettings) parent;
             _persistentSizeHighThreshold = sizeMonitorSettings.getStoreOverfullSize();
@@ -166,6 +169,48 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         {
             throw getEnvironmentFacade().handleDatabaseException("Cannot upgrade store", e);
         }
+
+        if (BDBUtils.getContextValue(getParent(),
+                                     Boolean.class,
+                                     BDBEnvironmentContainer.QPID_BDB_CACHE_WARM_UP_ENABLED,
+                                     BDBEnvironmentContainer.DEFAULT_CACHE_WARM_UP_ENABLED))
+        {
+            warmUpCache();
+        }
+    }
+
+    /**
+     * Loads the message meta-data and deliveries, and as much of the message content as the cache and the time
+     * budget allow, into the BDB cache so that the first consumers after a restart do not read from disk.
+     */
+    private void warmUpCache()
+    {
+        final ConfiguredObject<?> parent = getParent();
+        final CacheWarmer cacheWarmer =
+                new CacheWarmer(getEnvironmentFacade().getCacheWarmUpStatistics(),
+                                BDBUtils.getContextValue(parent,
+                                                         Integer.class,
+                                                         BDBEnvironmentContainer.QPID_BDB_CACHE_WARM_UP_THREADS,
+                                                         BDBEnvironmentContainer.DEFAULT_CACHE_WARM_UP_THREADS),
+                                BDBUtils.getContextValue(parent,
+                                                         Long.class,
+                                                         BDBEnvironmentContainer.QPID_BDB_CACHE_WARM_UP_TIME_BUDGET,
+                                                         BDBEnvironmentContainer.DEFAULT_CACHE_WARM_UP_TIME_BUDGET),
+                                BDBUtils.getContextValue(parent,
+                                                         Boolean.class,
+                                                         BDBEnvironmentContainer.QPID_BDB_CACHE_WARM_UP_PRIORITISE_BY_QUEUE_DEPTH,
+                                                         BDBEnvironmentContainer.DEFAULT_CACHE_WARM_UP_PRIORITISE_BY_QUEUE_DEPTH));
+        try
+        {
+            cacheWarmer.warmUp(parent.getName(),
+                               Arrays.asList(getMessageMetaDataDb(), getDeliveryDb()),
+                               getDeliveryDb(),
+                               getMessageContentDb());
+        }
+        catch (RuntimeException e)
+        {
+            getLogger().warn("Cache warm-up failed, continuing with a cold cache", e);
+        }
     }
 
     void deleteMessageStoreDatabases()
@@ -250,6 +295,24 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         return _bytesEvacuatedFromMemory.get();
     }
 
+    @Override
+    public long getCompressedContentCount()
+    {
+        return _contentCompressor.getCompressedContentCount();
+    }
+
+    @Override
+    public long getBytesBeforeCompression()
+    {
+        return _contentCompressor.getBytesBeforeCompression();
+    }
+
+    @Override
+    public long getBytesAfterCompression()
+    {
+        return _contentCompressor.getBytesAfterCompression();
+    }
+
     @Override
     public boolean isPersistent()
     {
@@ -416,7 +479,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         }
     }
 
-    QpidByteBuffer getAllContent(long messageId) throws StoreException
+    QpidByteBuffer getAllContent(long messageId, int contentSize) throws StoreException
     {
         DatabaseEntry contentKeyEntry = new DatabaseEntry();
         LongBinding.longToEntry(messageId, contentKeyEntry);
@@ -430,13 +493,8 @@ public abstract class AbstractBDBMessageStore implements MessageStore
 
             if (status == OperationStatus.SUCCESS)
             {
-                byte[] data = value.getData();
-                int offset = value.getOffset();
-                int length = value.getSize();
-                QpidByteBuffer buf = QpidByteBuffer.allocateDirect(length);
-                buf.put(data, offset, length);
-                buf.flip();
-                return buf;
+                return MessageContentCompressor.decompress(value.getData(), value.getOffset(), value.getSize(),
+                                                           contentSize);
             }
             else
             {
@@ -541,8 +599,12 @@ public abstract class AbstractBDBMessageStore implements MessageStore
         LongBinding.longToEntry(messageId, key);
         DatabaseEntry value = new DatabaseEntry();
 
-        byte[] data = new byte[contentBody.remaining()];
-        contentBody.copyTo(data);
+        byte[] data = _contentCompressor.compress(contentBody);
+        if (data == null)
+        {
+            data = new byte[contentBody.remaining()];
+            contentBody.copyTo(data);
+        }
         value.setData(data);
         try
         {
@@ -1122,7 +1184,7 @@ public abstract class AbstractBDBMessageStore implements MessageStore
                 if(stored())
                 {
                     checkMessageStoreOpen();
-                    data = AbstractBDBMessageStore.this.getAllContent(_messageId);
+                    data = AbstractBDBMessageStore.this.getAllContent(_messageId, _contentSize);
                     _messageDataRef.setData(data);
                     _inMemorySize.addAndGet(getContentSize());
                 }
@@ -1283,6 +1345,21 @@ public abstract class AbstractBDBMessageStore implements MessageStore
             return true;
         }
 
+        @Override
+        public synchronized void releaseMetaData()
+        {
+            if (stored())
+            {
+                final T metaData = _messageDataRef.getMetaData();
+                if (metaData != null)
+                {
+                    metaData.clearEncodedForm();
+                    _messageDataRef = new MessageDataRef<>(null, _messageDataRef.getData(), false);
+                    _inMemorySize.addAndGet(-getMetadataSize());
+                }
+            }
+        }
+
         @Override
         public String toString()
         {
@@ -22,11 +22,35 @@ package org.apache.qpid.server.store.berkeleydb;
 import java.util.Map;
 
 import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.ManagedContextDefault;
 import org.apache.qpid.server.model.ManagedOperation;
+import org.apache.qpid.server.model.ManagedStatistic;
 import org.apache.qpid.server.model.Param;
+import org.apache.qpid.server.model.StatisticType;
+import org.apache.qpid.server.model.StatisticUnit;
 
 public interface BDBEnvironmentContainer<X extends ConfiguredObject<X>> extends ConfiguredObject<X>
 {
+    String QPID_BDB_CACHE_WARM_UP_ENABLED = "qpid.bdb.cache_warm_up.enabled";
+    @ManagedContextDefault(name = QPID_BDB_CACHE_WARM_UP_ENABLED,
+            description = "If true, the BDB cache is warmed before the message store is put into service")
+    boolean DEFAULT_CACHE_WARM_UP_ENABLED = false;
+
+    String QPID_BDB_CACHE_WARM_UP_TIME_BUDGET = "qpid.bdb.cache_warm_up.time_budget";
+    @ManagedContextDefault(name = QPID_BDB_CACHE_WARM_UP_TIME_BUDGET,
+            description = "Maximum time (in milliseconds) spent warming the BDB cache")
+    long DEFAULT_CACHE_WARM_UP_TIME_BUDGET = 60000L;
+
+    String QPID_BDB_CACHE_WARM_UP_THREADS = "qpid.bdb.cache_warm_up.threads";
+    @ManagedContextDefault(name = QPID_BDB_CACHE_WARM_UP_THREADS,
+            description = "Number of threads warming the BDB cache in parallel")
+    int DEFAULT_CACHE_WARM_UP_THREADS = 2;
+
+    String QPID_BDB_CACHE_WARM_UP_PRIORITISE_BY_QUEUE_DEPTH = "qpid.bdb.cache_warm_up.prioritise_by_queue_depth";
+    @ManagedContextDefault(name = QPID_BDB_CACHE_WARM_UP_PRIORITISE_BY_QUEUE_DEPTH,
+            description = "If true, the message content of the deepest queues is loaded into the BDB cache first")
+    boolean DEFAULT_CACHE_WARM_UP_PRIORITISE_BY_QUEUE_DEPTH = true;
+
     void setBDBCacheSize(long cacheSize);
 
     @ManagedOperation(description = "Update BDB mutable configuration from settings in context variables",
@@ -54,4 +78,22 @@ public interface BDBEnvironmentContainer<X extends ConfiguredObject<X>> extends
     Map<String, Object> databaseStatistics(@Param(name="database", description = "database table for which to retrieve statistics", mandatory = true)String database, @Param(name="reset", defaultValue = "false", description = "If true, reset the statistics") boolean reset);
 
     EnvironmentFacade getEnvironmentFacade();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT, label = "Cache Warm-up Entries",
+                      description = "Total number of tree nodes and records loaded into the BDB cache by cache warm-up.",
+                      metricName = "cache_warm_up_entries_count")
+    long getCacheWarmUpEntries();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT, label = "Cache Warm-up Pending Tasks",
+                      description = "Number of databases and queues still to be loaded into the BDB cache by cache warm-up.",
+                      metricName = "cache_warm_up_pending_tasks_total")
+    int getCacheWarmUpPendingTasks();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION, label = "Cache Warm-up Time",
+                      description = "Total time (in milliseconds) spent warming the BDB cache.",
+                      metricName = "cache_warm_up_time_milliseconds_count")
+    long getCacheWarmUpTime();
 }
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.qpid.server.store.berkeleydb;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Progress of the warm-up of the BDB cache of an environment.
+ */
+public class CacheWarmUpStatistics
+{
+    private final LongAdder _entriesLoaded = new LongAdder();
+    private final LongAdder _warmUpTime = new LongAdder();
+    private final AtomicInteger _pendingTasks = new AtomicInteger();
+
+    void addPendingTasks(final int tasks)
+    {
+        _pendingTasks.addAndGet(tasks);
+    }
+
+    void taskCompleted()
+    {
+        _pendingTasks.updateAndGet(tasks -> Math.max(0, tasks - 1));
+    }
+
+    void entriesLoaded(final long entries)
+    {
+        _entriesLoaded.add(entries);
+    }
+
+    void warmUpFinished(final long warmUpTimeNanos)
+    {
+        _pendingTasks.set(0);
+        _warmUpTime.add(warmUpTimeNanos);
+    }
+
+    public long getEntriesLoaded()
+    {
+        return _entriesLoaded.sum();
+    }
+
+    public int getPendingTasks()
+    {
+        return _pendingTasks.get();
+    }
+
+    /**
+     * Returns the total time in milliseconds spent warming the cache.
+     */
+    public long getWarmUpTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_warmUpTime.sum());
+    }
+}
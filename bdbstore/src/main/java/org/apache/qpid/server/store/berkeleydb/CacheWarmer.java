@@ -0,0 +1,296 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.qpid.server.store.berkeleydb;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.CacheMode;
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.LockMode;
+import com.sleepycat.je.OperationStatus;
+import com.sleepycat.je.PreloadConfig;
+import com.sleepycat.je.PreloadStats;
+import com.sleepycat.je.PreloadStatus;
+import com.sleepycat.je.ReadOptions;
+import com.sleepycat.je.StatsConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.apache.qpid.server.store.berkeleydb.entry.QueueEntryKey;
+import org.apache.qpid.server.store.berkeleydb.tuple.QueueEntryBinding;
+import org.apache.qpid.server.util.CachingUUIDFactory;
+import org.apache.qpid.server.util.DaemonThreadFactory;
+
+/**
+ * Warms the BDB cache of a message store before it is put into service.  The given databases are preloaded in
+ * parallel, then the content of the messages on each queue is read, queue by queue, optionally starting with the
+ * deepest queues.  Warming stops when the time budget is spent or the cache is nearly full.
+ */
+class CacheWarmer
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmer.class);
+
+    static final double CACHE_FILL_LIMIT = 0.9;
+    private static final int CACHE_USAGE_CHECK_INTERVAL = 256;
+    private static final StatsConfig CACHE_USAGE_STATS_CONFIG = new StatsConfig().setFast(true);
+    private static final ReadOptions CONTENT_READ_OPTIONS =
+            new ReadOptions().setLockMode(LockMode.READ_UNCOMMITTED).setCacheMode(CacheMode.DEFAULT);
+
+    private final CacheWarmUpStatistics _statistics;
+    private final int _threads;
+    private final long _timeBudget;
+    private final boolean _prioritiseByQueueDepth;
+
+    private volatile long _deadline;
+    private volatile boolean _cacheFull;
+    private volatile boolean _stopped;
+
+    CacheWarmer(final CacheWarmUpStatistics statistics,
+                final int threads,
+                final long timeBudget,
+                final boolean prioritiseByQueueDepth)
+    {
+        _statistics = statistics;
+        _threads = Math.max(1, threads);
+        _timeBudget = timeBudget;
+        _prioritiseByQueueDepth = prioritiseByQueueDepth;
+    }
+
+    void warmUp(final String name,
+                final List<Database> databases,
+                final Database deliveryDb,
+                final Database contentDb)
+    {
+        final long startTime = System.nanoTime();
+        _deadline = startTime + TimeUnit.MILLISECONDS.toNanos(_timeBudget);
+        _cacheFull = false;
+        _stopped = false;
+
+        final ExecutorService executor =
+                Executors.newFixedThreadPool(_threads, new DaemonThreadFactory("Cache-Warm-Up-" + name));
+        try
+        {
+            _statistics.addPendingTasks(databases.size());
+            final List<Future<?>> preloads = new ArrayList<>(databases.size());
+            for (final Database database : databases)
+            {
+                preloads.add(executor.submit(() -> preload(database)));
+            }
+            if (awaitCompletion(preloads) && !_cacheFull)
+            {
+                final List<UUID> queueIds = getQueueIds(deliveryDb);
+                _statistics.addPendingTasks(queueIds.size());
+                final List<Future<?>> queueWarmUps = new ArrayList<>(queueIds.size());
+                for (final UUID queueId : queueIds)
+                {
+                    queueWarmUps.add(executor.submit(() -> warmUpQueue(deliveryDb, contentDb, queueId)));
+                }
+                awaitCompletion(queueWarmUps);
+            }
+        }
+        finally
+        {
+            // Interrupting a thread inside JE invalidates the environment, so the warm-up tasks are told to stop
+            // and awaited instead.
+            _stopped = true;
+            executor.shutdown();
+            awaitTermination(executor);
+            final long warmUpTime = System.nanoTime() - startTime;
+            _statistics.warmUpFinished(warmUpTime);
+            LOGGER.info("Cache warm-up of '{}' loaded {} entries in {} ms",
+                        name,
+                        _statistics.getEntriesLoaded(),
+                        TimeUnit.NANOSECONDS.toMillis(warmUpTime));
+        }
+    }
+
+    private boolean awaitCompletion(final List<Future<?>> futures)
+    {
+        try
+        {
+            for (final Future<?> future : futures)
+            {
+                future.get(Math.max(0L, _deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+        catch (TimeoutException e)
+        {
+            LOGGER.info("Cache warm-up did not complete within {} ms", _timeBudget);
+            return false;
+        }
+        catch (ExecutionException e)
+        {
+            LOGGER.warn("Cache warm-up failed", e.getCause());
+            return false;
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void awaitTermination(final ExecutorService executor)
+    {
+        boolean interrupted = false;
+        while (!executor.isTerminated())
+        {
+            try
+            {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void preload(final Database database)
+    {
+        try
+        {
+            final long remaining = TimeUnit.NANOSECONDS.toMillis(_deadline - System.nanoTime());
+            if (!_stopped && remaining > 0L)
+            {
+                final PreloadStats stats = database.preload(new PreloadConfig().setLoadLNs(true)
+                                                                               .setMaxMillisecs(remaining));
+                _statistics.entriesLoaded(stats.getNINsLoaded() + stats.getNBINsLoaded() + stats.getNLNsLoaded());
+                if (stats.getStatus() == PreloadStatus.FILLED_CACHE)
+                {
+                    _cacheFull = true;
+                }
+            }
+        }
+        finally
+        {
+            _statistics.taskCompleted();
+        }
+    }
+
+    /**
+     * Returns the ids of the queues with entries in the delivery database, the deepest first if queues are
+     * prioritised by depth.
+     */
+    private List<UUID> getQueueIds(final Database deliveryDb)
+    {
+        final Map<UUID, Long> depths = new LinkedHashMap<>();
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry value = new DatabaseEntry();
+        value.setPartial(0, 0, true);
+        final CachingUUIDFactory uuidFactory = new CachingUUIDFactory();
+        try (Cursor cursor = deliveryDb.openCursor(null, null))
+        {
+            while (!isStopped() && cursor.getNext(key, value, LockMode.READ_UNCOMMITTED) == OperationStatus.SUCCESS)
+            {
+                final QueueEntryKey entry = QueueEntryBinding.entryToObject(uuidFactory, key);
+                depths.merge(entry.getQueueId(), 1L, Long::sum);
+            }
+        }
+
+        final List<UUID> queueIds = new ArrayList<>(depths.keySet());
+        if (_prioritiseByQueueDepth)
+        {
+            queueIds.sort(Comparator.comparing(depths::get, Comparator.reverseOrder()));
+        }
+        return queueIds;
+    }
+
+    private void warmUpQueue(final Database deliveryDb, final Database contentDb, final UUID queueId)
+    {
+        try
+        {
+            final Environment environment = contentDb.getEnvironment();
+            final DatabaseEntry key = new DatabaseEntry();
+            QueueEntryBinding.objectToEntry(new QueueEntryKey(queueId, Long.MIN_VALUE), key);
+            final DatabaseEntry value = new DatabaseEntry();
+            value.setPartial(0, 0, true);
+            final DatabaseEntry contentKey = new DatabaseEntry();
+            final DatabaseEntry content = new DatabaseEntry();
+            final CachingUUIDFactory uuidFactory = new CachingUUIDFactory();
+
+            try (Cursor cursor = deliveryDb.openCursor(null, null))
+            {
+                int reads = 0;
+                OperationStatus status = cursor.getSearchKeyRange(key, value, LockMode.READ_UNCOMMITTED);
+                while (status == OperationStatus.SUCCESS && !isStopped())
+                {
+                    final QueueEntryKey entry = QueueEntryBinding.entryToObject(uuidFactory, key);
+                    if (!queueId.equals(entry.getQueueId()))
+                    {
+                        break;
+                    }
+
+                    // the cache usage is checked before the first read too, so that queues shorter than the check
+                    // interval cannot fill the cache
+                    if (reads++ % CACHE_USAGE_CHECK_INTERVAL == 0 && isCacheFull(environment))
+                    {
+                        _cacheFull = true;
+                        break;
+                    }
+
+                    LongBinding.longToEntry(entry.getMessageId(), contentKey);
+                    if (contentDb.get(null, contentKey, content, Get.SEARCH, CONTENT_READ_OPTIONS) != null)
+                    {
+                        _statistics.entriesLoaded(1L);
+                    }
+                    status = cursor.getNext(key, value, LockMode.READ_UNCOMMITTED);
+                }
+            }
+        }
+        finally
+        {
+            _statistics.taskCompleted();
+        }
+    }
+
+    private boolean isStopped()
+    {
+        return _stopped || _cacheFull || System.nanoTime() - _deadline >= 0L;
+    }
+
+    private static boolean isCacheFull(final Environment environment)
+    {
+        final long cacheSize = environment.getMutableConfig().getCacheSize();
+        return environment.getStats(CACHE_USAGE_STATS_CONFIG).getCacheTotalBytes() >= cacheSize * CACHE_FILL_LIMIT;
+    }
+}
@@ -38,11 +38,31 @@ import org.slf4j.LoggerFactory;
 
 public class CoalescingCommiter implements Committer
 {
+    static final int DEFAULT_JOB_QUEUE_NOTIFY_THRESHOLD = 8;
+
     private final CommitThread _commitThread;
 
     public CoalescingCommiter(String name, EnvironmentFacade environmentFacade)
     {
-        _commitThread = new CommitThread("Commit-Thread-" + name, environmentFacade);
+        this(name, DEFAULT_JOB_QUEUE_NOTIFY_THRESHOLD, 0L, environmentFacade, environmentFacade::flushLog);
+    }
+
+    /**
+     * Creates a committer which completes the queued commits in batches, each batch being made durable by
+     * the given batch commit action.  Once the first commit of a batch has been queued, the commit thread waits
+     * at most maxDelay milliseconds for notifyThreshold commits to accumulate before running the batch commit.
+     */
+    public CoalescingCommiter(String name,
+                              int notifyThreshold,
+                              long maxDelay,
+                              EnvironmentFacade environmentFacade,
+                              Runnable batchCommit)
+    {
+        _commitThread = new CommitThread("Commit-Thread-" + name,
+                                         notifyThreshold,
+                                         maxDelay,
+                                         environmentFacade,
+                                         batchCommit);
     }
 
     @Override
@@ -134,19 +154,29 @@ public class CoalescingCommiter implements Committer
     private static class CommitThread extends Thread
     {
         private static final Logger LOGGER = LoggerFactory.getLogger(CommitThread.class);
-        private static final int JOB_QUEUE_NOTIFY_THRESHOLD = 8;
 
         private final AtomicBoolean _stopped = new AtomicBoolean(false);
         private final Queue<CommitThreadJob> _jobQueue = new ConcurrentLinkedQueue<>();
         private final Object _lock = new Object();
         private final EnvironmentFacade _environmentFacade;
+        private final Runnable _batchCommit;
+        private final int _notifyThreshold;
+        private final long _maxDelayNanos;
+        private volatile boolean _syncJobQueued;
 
         private final List<CommitThreadJob> _inProcessJobs = new ArrayList<>(256);
 
-        public CommitThread(String name, EnvironmentFacade environmentFacade)
+        public CommitThread(String name,
+                            int notifyThreshold,
+                            long maxDelay,
+                            EnvironmentFacade environmentFacade,
+                            Runnable batchCommit)
         {
             super(name);
+            _notifyThreshold = Math.max(1, notifyThreshold);
+            _maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, maxDelay));
             _environmentFacade = environmentFacade;
+            _batchCommit = batchCommit;
         }
 
         public void explicitNotify()
@@ -176,13 +206,45 @@ public class CoalescingCommiter implements Committer
                         {
                         }
                     }
+                    awaitBatch();
+                }
+                // once stopped, close has already committed and completed the queued jobs
+                if (hasJobs())
+                {
+                    processJobs();
+                }
+            }
+        }
+
+        /**
+         * Gives further commits up to the maximum delay to join the batch, unless the batch is already large
+         * enough or somebody is waiting synchronously for it.
+         */
+        private void awaitBatch()
+        {
+            if (_maxDelayNanos > 0L)
+            {
+                final long deadline = System.nanoTime() + _maxDelayNanos;
+                long remaining;
+                while (!_stopped.get()
+                       && !_syncJobQueued
+                       && _jobQueue.size() < _notifyThreshold
+                       && (remaining = deadline - System.nanoTime()) > 0L)
+                {
+                    try
+                    {
+                        TimeUnit.NANOSECONDS.timedWait(_lock, remaining);
+                    }
+                    catch (InterruptedException e)
+                    {
+                    }
                 }
-                processJobs();
             }
         }
 
         private void processJobs()
         {
+            _syncJobQueued = false;
             CommitThreadJob job;
             while((job = _jobQueue.poll()) != null)
             {
@@ -198,12 +260,12 @@ public class CoalescingCommiter implements Committer
                     startTime = System.currentTimeMillis();
                 }
 
-                _environmentFacade.flushLog();
+                _batchCommit.run();
 
                 if(LOGGER.isDebugEnabled())
                 {
                     long duration = System.currentTimeMillis() - startTime;
-                    LOGGER.debug("flushLog completed in " + duration  + " ms");
+                    LOGGER.debug("Commit of " + _inProcessJobs.size() + " job(s) completed in " + duration  + " ms");
                 }
 
                 while(completedJobsIndex < _inProcessJobs.size())
@@ -247,8 +309,18 @@ public class CoalescingCommiter implements Committer
             {
                 throw new IllegalStateException("Commit thread is stopped");
             }
+            final boolean firstJob = _maxDelayNanos > 0L && _jobQueue.isEmpty();
             _jobQueue.add(commit);
-            if(sync || _jobQueue.size() >= JOB_QUEUE_NOTIFY_THRESHOLD)
+            if (_stopped.get() && _jobQueue.remove(commit))
+            {
+                // close has already drained the queue, so the job would never be completed
+                throw new IllegalStateException("Commit thread is stopped");
+            }
+            if (sync)
+            {
+                _syncJobQueued = true;
+            }
+            if(sync || firstJob || _jobQueue.size() >= _notifyThreshold)
             {
                 synchronized (_lock)
                 {
@@ -266,7 +338,7 @@ public class CoalescingCommiter implements Committer
 
                 try
                 {
-                    _environmentFacade.flushLog();
+                    _batchCommit.run();
                     while ((commit = _jobQueue.poll()) != null)
                     {
                         commit.complete();
@@ -98,4 +98,6 @@ public interface EnvironmentFacade
     Map<String,Object> getDatabaseStatistics(String database, boolean reset);
 
     void deleteDatabase(String databaseName);
+
+    CacheWarmUpStatistics getCacheWarmUpStatistics();
 }
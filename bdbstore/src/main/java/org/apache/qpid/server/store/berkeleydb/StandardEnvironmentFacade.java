@@ -64,6 +64,7 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
     private final AtomicReference<Environment> _environment;
 
     private final Committer _committer;
+    private final CacheWarmUpStatistics _cacheWarmUpStatistics = new CacheWarmUpStatistics();
     private final File _environmentPath;
 
     private static final Set<String> PARAMS_SET_BY_DEFAULT;
@@ -306,6 +307,12 @@ public class StandardEnvironmentFacade implements EnvironmentFacade
         return EnvironmentUtils.getDatabaseStatistics(getEnvironment(), database, reset);
     }
 
+    @Override
+    public CacheWarmUpStatistics getCacheWarmUpStatistics()
+    {
+        return _cacheWarmUpStatistics;
+    }
+
     @Override
     public void deleteDatabase(final String databaseName)
     {
@@ -0,0 +1,76 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.berkeleydb.replication;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.qpid.server.stats.LatencyHistogram;
+
+/**
+ * Records the commits made with the message store durability, that is, the commits which await the replicas as
+ * the durability requires, and the transactions whose replication was acknowledged through a commit barrier.
+ * Commit latencies are held in a histogram in milliseconds.
+ */
+class ReplicatedCommitStatistics
+{
+    private final LongAdder _commits = new LongAdder();
+    private final LongAdder _coalescedTransactions = new LongAdder();
+    private final LongAdder _commitTime = new LongAdder();
+    private final LatencyHistogram _commitLatency = new LatencyHistogram();
+
+    void recordCommit(final long commitTimeNanos)
+    {
+        _commits.increment();
+        _commitTime.add(commitTimeNanos);
+        _commitLatency.record(TimeUnit.NANOSECONDS.toMillis(commitTimeNanos));
+    }
+
+    void recordCoalescedTransaction()
+    {
+        _coalescedTransactions.increment();
+    }
+
+    long getCommitCount()
+    {
+        return _commits.sum();
+    }
+
+    long getCoalescedTransactionCount()
+    {
+        return _coalescedTransactions.sum();
+    }
+
+    long getCommitTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_commitTime.sum());
+    }
+
+    long getCommitLatencyAtPercentile(final double percentile)
+    {
+        return _commitLatency.getValueAtPercentile(percentile);
+    }
+
+    long getMaximumCommitLatency()
+    {
+        return _commitLatency.getMaximum();
+    }
+}
@@ -51,6 +51,8 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.sleepycat.bind.tuple.IntegerBinding;
+import com.sleepycat.bind.tuple.LongBinding;
 import com.sleepycat.je.*;
 import com.sleepycat.je.Durability.ReplicaAckPolicy;
 import com.sleepycat.je.Durability.SyncPolicy;
@@ -72,6 +74,7 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.IllegalStateTransitionException;
 import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.store.berkeleydb.BDBUtils;
+import org.apache.qpid.server.store.berkeleydb.CacheWarmUpStatistics;
 import org.apache.qpid.server.store.berkeleydb.CoalescingCommiter;
 import org.apache.qpid.server.store.berkeleydb.EnvHomeRegistry;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentFacade;
@@ -92,6 +95,9 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     public static final String REMOTE_NODE_MONITOR_TIMEOUT_PROPERTY_NAME = "qpid.bdb.ha.remote_node_monitor_timeout";
     public static final String ENVIRONMENT_RESTART_RETRY_LIMIT_PROPERTY_NAME = "qpid.bdb.ha.environment_restart_retry_limit";
     public static final String EXECUTOR_SHUTDOWN_TIMEOUT_PROPERTY_NAME = "qpid.bdb.ha.executor_shutdown_timeout";
+    public static final String COALESCE_REPLICATED_COMMITS_PROPERTY_NAME = "qpid.bdb.ha.coalesce_replicated_commits";
+    public static final String COALESCE_REPLICATED_COMMITS_MAX_DELAY_PROPERTY_NAME = "qpid.bdb.ha.coalesce_replicated_commits_max_delay";
+    public static final String COALESCE_REPLICATED_COMMITS_THRESHOLD_PROPERTY_NAME = "qpid.bdb.ha.coalesce_replicated_commits_threshold";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ReplicatedEnvironmentFacade.class);
 
@@ -101,6 +107,16 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     private static final int DEFAULT_REMOTE_NODE_MONITOR_TIMEOUT = 1000;
     private static final int DEFAULT_ENVIRONMENT_RESTART_RETRY_LIMIT = 3;
     private static final int DEFAULT_EXECUTOR_SHUTDOWN_TIMEOUT = 5000;
+    private static final boolean DEFAULT_COALESCE_REPLICATED_COMMITS = false;
+    private static final int DEFAULT_COALESCE_REPLICATED_COMMITS_MAX_DELAY = 5;
+    private static final int DEFAULT_COALESCE_REPLICATED_COMMITS_THRESHOLD = 64;
+
+    /** Durability of the individual transactions whose replication is acknowledged through a commit barrier */
+    private static final Durability COALESCED_TRANSACTION_DURABILITY =
+            new Durability(SyncPolicy.NO_SYNC, SyncPolicy.NO_SYNC, ReplicaAckPolicy.NONE);
+    private static final DatabaseConfig COMMIT_BARRIER_DATABASE_CONFIG =
+            new DatabaseConfig().setAllowCreate(true).setTransactional(true);
+    private static final int COMMIT_BARRIER_ID = 1;
 
     /** Length of time allowed for a master transfer to complete before the operation will timeout */
     private final int _masterTransferTimeout;
@@ -137,6 +153,19 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
 
     private final int _logHandlerCleanerProtectedFilesLimit;
 
+    /**
+     * When set, transactions are committed without awaiting the replicas and a batch of them is made durable by
+     * committing a single barrier transaction with the message store durability.  Replicas apply and acknowledge
+     * the replication stream in order, so the acknowledgement of the barrier covers every transaction before it.
+     */
+    private final boolean _coalesceReplicatedCommits;
+
+    /** Maximum length of time in milliseconds a transaction waits for others to share its commit barrier */
+    private final int _coalesceReplicatedCommitsMaxDelay;
+
+    /** Number of transactions awaiting a commit barrier which causes the barrier to be committed immediately */
+    private final int _coalesceReplicatedCommitsThreshold;
+
     static final SyncPolicy LOCAL_TRANSACTION_SYNCHRONIZATION_POLICY = SyncPolicy.SYNC;
     static final SyncPolicy REMOTE_TRANSACTION_SYNCHRONIZATION_POLICY = SyncPolicy.NO_SYNC;
     public static final ReplicaAckPolicy REPLICA_REPLICA_ACKNOWLEDGMENT_POLICY = ReplicaAckPolicy.SIMPLE_MAJORITY;
@@ -224,6 +253,8 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     private volatile Durability _realMessageStoreDurability = null;
     private volatile Durability _messageStoreDurability;
     private volatile CoalescingCommiter _coalescingCommiter = null;
+    private final ReplicatedCommitStatistics _commitStatistics = new ReplicatedCommitStatistics();
+    private final CacheWarmUpStatistics _cacheWarmUpStatistics = new CacheWarmUpStatistics();
     private volatile long _joinTime;
     private volatile ReplicatedEnvironment.State _lastKnownEnvironmentState;
     private volatile long _envSetupTimeoutMillis;
@@ -271,6 +302,15 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
         _logHandlerCleanerProtectedFilesLimit = _configuration.getFacadeParameter(Integer.class,
                                                                                   LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT_PROPERTY_NAME,
                                                                                   DEFAULT_LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT);
+        _coalesceReplicatedCommits = configuration.getFacadeParameter(Boolean.class,
+                                                                      COALESCE_REPLICATED_COMMITS_PROPERTY_NAME,
+                                                                      DEFAULT_COALESCE_REPLICATED_COMMITS);
+        _coalesceReplicatedCommitsMaxDelay = configuration.getFacadeParameter(Integer.class,
+                                                                              COALESCE_REPLICATED_COMMITS_MAX_DELAY_PROPERTY_NAME,
+                                                                              DEFAULT_COALESCE_REPLICATED_COMMITS_MAX_DELAY);
+        _coalesceReplicatedCommitsThreshold = configuration.getFacadeParameter(Integer.class,
+                                                                               COALESCE_REPLICATED_COMMITS_THRESHOLD_PROPERTY_NAME,
+                                                                               DEFAULT_COALESCE_REPLICATED_COMMITS_THRESHOLD);
 
         _defaultDurability = new Durability(LOCAL_TRANSACTION_SYNCHRONIZATION_POLICY, REMOTE_TRANSACTION_SYNCHRONIZATION_POLICY, REPLICA_REPLICA_ACKNOWLEDGMENT_POLICY);
         _prettyGroupNodeName = _configuration.getGroupName() + ":" + _configuration.getName();
@@ -322,21 +362,20 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     @Override
     public void commit(final Transaction tx, boolean syncCommit)
     {
-        try
-        {
-            // Using commit() instead of commitNoSync() for the HA store to allow
-            // the HA durability configuration to influence resulting behaviour.
-            tx.commit(_realMessageStoreDurability);
-        }
-        catch (DatabaseException de)
+        // the committer is replaced when the message store durability changes, so it is read once per commit
+        final CoalescingCommiter coalescingCommiter = _coalescingCommiter;
+        final boolean coalesced = commitTransaction(tx, coalescingCommiter);
+
+        if (coalesced && !syncCommit)
         {
-            throw handleDatabaseException("Got DatabaseException on commit, closing environment", de);
+            // the transaction was committed without sync or acknowledgement, so it is still queued for the next
+            // barrier even though the caller does not wait for it
+            coalescingCommiter.commitAsync(tx, null);
         }
-
-        if (_coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
-                && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC)
+        else if (coalesced || (coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
+                && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC))
         {
-            _coalescingCommiter.commit(tx, syncCommit);
+            coalescingCommiter.commit(tx, syncCommit);
         }
 
     }
@@ -344,23 +383,88 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
     @Override
     public <X> ListenableFuture<X> commitAsync(final Transaction tx, final X val)
     {
+        final CoalescingCommiter coalescingCommiter = _coalescingCommiter;
+        final boolean coalesced = commitTransaction(tx, coalescingCommiter);
+
+        if (coalesced || (coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
+            && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC))
+        {
+            return coalescingCommiter.commitAsync(tx, val);
+        }
+        return Futures.immediateFuture(val);
+    }
+
+    /**
+     * Commits the transaction, returning true if the transaction is only made durable by a subsequent commit barrier
+     * of the given committer.
+     */
+    private boolean commitTransaction(final Transaction tx, final CoalescingCommiter coalescingCommiter)
+    {
+        final boolean coalesced = _coalesceReplicatedCommits && coalescingCommiter != null;
+        final long startTime = System.nanoTime();
         try
         {
             // Using commit() instead of commitNoSync() for the HA store to allow
             // the HA durability configuration to influence resulting behaviour.
-            tx.commit(_realMessageStoreDurability);
+            tx.commit(coalesced ? COALESCED_TRANSACTION_DURABILITY : _realMessageStoreDurability);
         }
         catch (DatabaseException de)
         {
             throw handleDatabaseException("Got DatabaseException on commit, closing environment", de);
         }
+        if (coalesced)
+        {
+            _commitStatistics.recordCoalescedTransaction();
+        }
+        else
+        {
+            _commitStatistics.recordCommit(System.nanoTime() - startTime);
+        }
+        return coalesced;
+    }
 
-        if (_coalescingCommiter != null && _realMessageStoreDurability.getLocalSync() == SyncPolicy.NO_SYNC
-            && _messageStoreDurability.getLocalSync() == SyncPolicy.SYNC)
+    /**
+     * Commits a transaction with the message store durability on behalf of all transactions committed since the
+     * previous barrier.  Its local sync flushes their log records and its replica acknowledgement, replicas acknowledging
+     * in replication stream order, confirms that they have been replicated.
+     */
+    private void commitBarrier()
+    {
+        final long startTime = System.nanoTime();
+        Transaction txn = null;
+        try
         {
-            return _coalescingCommiter.commitAsync(tx, val);
+            final Database db = openDatabase(DatabasePinger.PING_DATABASE_NAME, COMMIT_BARRIER_DATABASE_CONFIG);
+
+            final DatabaseEntry key = new DatabaseEntry();
+            IntegerBinding.intToEntry(COMMIT_BARRIER_ID, key);
+            final DatabaseEntry value = new DatabaseEntry();
+            LongBinding.longToEntry(System.currentTimeMillis(), value);
+
+            txn = getEnvironment().beginTransaction(null, null);
+            db.put(txn, key, value);
+            txn.commit(_messageStoreDurability);
+            txn = null;
         }
-        return Futures.immediateFuture(val);
+        catch (RuntimeException e)
+        {
+            throw handleDatabaseException("Exception on committing replicated commit barrier", e);
+        }
+        finally
+        {
+            if (txn != null)
+            {
+                try
+                {
+                    txn.abort();
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.debug("Failed to abort replicated commit barrier", e);
+                }
+            }
+        }
+        _commitStatistics.recordCommit(System.nanoTime() - startTime);
     }
 
     @Override
@@ -886,6 +990,12 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
 
     }
 
+    @Override
+    public CacheWarmUpStatistics getCacheWarmUpStatistics()
+    {
+        return _cacheWarmUpStatistics;
+    }
+
     @Override
     public void deleteDatabase(final String databaseName)
     {
@@ -1051,6 +1161,31 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
         return _coalescingCommiter != null;
     }
 
+    public long getReplicatedCommitCount()
+    {
+        return _commitStatistics.getCommitCount();
+    }
+
+    public long getCoalescedTransactionCount()
+    {
+        return _commitStatistics.getCoalescedTransactionCount();
+    }
+
+    public long getReplicatedCommitTime()
+    {
+        return _commitStatistics.getCommitTime();
+    }
+
+    public long getReplicatedCommitLatencyAtPercentile(final double percentile)
+    {
+        return _commitStatistics.getCommitLatencyAtPercentile(percentile);
+    }
+
+    public long getMaximumReplicatedCommitLatency()
+    {
+        return _commitStatistics.getMaximumCommitLatency();
+    }
+
     public String getNodeState()
     {
         if (_state.get() != State.OPEN)
@@ -1688,7 +1823,16 @@ public class ReplicatedEnvironmentFacade implements EnvironmentFacade, StateChan
                 _coalescingCommiter = null;
             }
 
-            if (localTransactionSynchronizationPolicy == LOCAL_TRANSACTION_SYNCHRONIZATION_POLICY)
+            if (_coalesceReplicatedCommits)
+            {
+                _coalescingCommiter = new CoalescingCommiter(_configuration.getGroupName(),
+                                                             _coalesceReplicatedCommitsThreshold,
+                                                             _coalesceReplicatedCommitsMaxDelay,
+                                                             this,
+                                                             this::commitBarrier);
+                _coalescingCommiter.start();
+            }
+            else if (localTransactionSynchronizationPolicy == LOCAL_TRANSACTION_SYNCHRONIZATION_POLICY)
             {
                 localTransactionSynchronizationPolicy = SyncPolicy.NO_SYNC;
                 _coalescingCommiter = new CoalescingCommiter(_configuration.getGroupName(), this);
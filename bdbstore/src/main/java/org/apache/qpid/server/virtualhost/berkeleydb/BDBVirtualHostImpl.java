@@ -29,6 +29,7 @@ import org.apache.qpid.server.model.ManagedObjectFactoryConstructor;
 import org.apache.qpid.server.model.VirtualHostNode;
 import org.apache.qpid.server.store.MessageStore;
 import org.apache.qpid.server.store.berkeleydb.BDBMessageStore;
+import org.apache.qpid.server.store.berkeleydb.CacheWarmUpStatistics;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentFacade;
 import org.apache.qpid.server.store.berkeleydb.BDBCacheSizeSetter;
 import org.apache.qpid.server.virtualhost.AbstractVirtualHost;
@@ -183,6 +184,33 @@ public class BDBVirtualHostImpl extends AbstractVirtualHost<BDBVirtualHostImpl>
         return Collections.emptyMap();
     }
 
+    @Override
+    public long getCacheWarmUpEntries()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getEntriesLoaded();
+    }
+
+    @Override
+    public int getCacheWarmUpPendingTasks()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0 : statistics.getPendingTasks();
+    }
+
+    @Override
+    public long getCacheWarmUpTime()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getWarmUpTime();
+    }
+
+    private CacheWarmUpStatistics getCacheWarmUpStatistics()
+    {
+        EnvironmentFacade environmentFacade = getEnvironmentFacade();
+        return environmentFacade == null ? null : environmentFacade.getCacheWarmUpStatistics();
+    }
+
     @Override
     public EnvironmentFacade getEnvironmentFacade()
     {
@@ -25,7 +25,10 @@ import java.util.Date;
 import org.apache.qpid.server.model.DerivedAttribute;
 import org.apache.qpid.server.model.ManagedAttribute;
 import org.apache.qpid.server.model.ManagedObject;
+import org.apache.qpid.server.model.ManagedStatistic;
 import org.apache.qpid.server.model.RemoteReplicationNode;
+import org.apache.qpid.server.model.StatisticType;
+import org.apache.qpid.server.model.StatisticUnit;
 
 @ManagedObject(category=false, creatable=false)
 public interface BDBHARemoteReplicationNode<X extends BDBHARemoteReplicationNode<X>> extends RemoteReplicationNode<X>
@@ -54,4 +57,11 @@ public interface BDBHARemoteReplicationNode<X extends BDBHARemoteReplicationNode
 
     @DerivedAttribute
     boolean isMonitor();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT, label = "Replication Lag",
+                      description = "Number of replication transactions the node has yet to apply relative to the"
+                                    + " local node, or -1 if not known.  Updated by the remote node monitor.",
+                      metricName = "replication_lag_total")
+    long getReplicationLag();
 }
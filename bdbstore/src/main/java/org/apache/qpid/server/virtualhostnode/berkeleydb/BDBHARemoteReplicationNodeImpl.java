@@ -60,6 +60,7 @@ public class BDBHARemoteReplicationNodeImpl extends AbstractConfiguredObject<BDB
 
     private volatile Date _joinTime;
     private volatile long _lastTransactionId;
+    private volatile long _replicationLag = -1L;
 
     @ManagedAttributeField(afterSet="afterSetRole")
     private volatile NodeRole _role;
@@ -110,6 +111,12 @@ public class BDBHARemoteReplicationNodeImpl extends AbstractConfiguredObject<BDB
         return _lastTransactionId;
     }
 
+    @Override
+    public long getReplicationLag()
+    {
+        return _replicationLag;
+    }
+
     @Override
     public boolean isMonitor()
     {
@@ -233,6 +240,11 @@ public class BDBHARemoteReplicationNodeImpl extends AbstractConfiguredObject<BDB
         _lastTransactionId = lastTransactionId;
     }
 
+    void setReplicationLag(long replicationLag)
+    {
+        _replicationLag = replicationLag;
+    }
+
     private void updateModelStateFromRole(NodeRole role)
     {
         State currentState = getState();
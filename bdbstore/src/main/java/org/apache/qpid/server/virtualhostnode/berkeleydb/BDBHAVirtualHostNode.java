@@ -24,6 +24,9 @@ import java.util.List;
 
 import org.apache.qpid.server.model.DerivedAttribute;
 import org.apache.qpid.server.model.ManagedAttribute;
+import org.apache.qpid.server.model.ManagedStatistic;
+import org.apache.qpid.server.model.StatisticType;
+import org.apache.qpid.server.model.StatisticUnit;
 import org.apache.qpid.server.store.berkeleydb.HASettings;
 import org.apache.qpid.server.store.preferences.PreferenceStoreProvider;
 
@@ -87,4 +90,43 @@ public interface BDBHAVirtualHostNode<X extends BDBHAVirtualHostNode<X>> extends
 
     @ManagedAttribute(persist = true)
     List<String> getPermittedNodes();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT, label = "Replicated Commits",
+                      description = "Total number of commits made with the message store durability, each awaiting"
+                                    + " the replicas as the durability requires.  When replicated commits are coalesced,"
+                                    + " only the commit barriers are counted.",
+                      metricName = "replicated_commits_count")
+    long getReplicatedCommits();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT, label = "Coalesced Transactions",
+                      description = "Total number of transactions whose replication was acknowledged through a shared"
+                                    + " commit barrier.",
+                      metricName = "coalesced_transactions_count")
+    long getCoalescedTransactions();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION, label = "Replicated Commit Time",
+                      description = "Total time (in milliseconds) spent making replicated commits.",
+                      metricName = "replicated_commit_time_milliseconds_count")
+    long getReplicatedCommitTime();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Replicated Commit Latency (median)",
+                      description = "Median time (in milliseconds) taken by a replicated commit.",
+                      metricName = "replicated_commit_latency_median_milliseconds")
+    long getReplicatedCommitLatencyMedian();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Replicated Commit Latency (99th percentile)",
+                      description = "99th percentile of the time (in milliseconds) taken by a replicated commit.",
+                      metricName = "replicated_commit_latency_99th_percentile_milliseconds")
+    long getReplicatedCommitLatency99thPercentile();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Replicated Commit Latency (maximum)",
+                      description = "Longest time (in milliseconds) taken by a replicated commit.",
+                      metricName = "replicated_commit_latency_maximum_milliseconds")
+    long getReplicatedCommitLatencyMaximum();
 }
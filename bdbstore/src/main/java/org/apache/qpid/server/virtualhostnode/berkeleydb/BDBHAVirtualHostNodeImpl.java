@@ -85,6 +85,7 @@ import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.store.VirtualHostStoreUpgraderAndRecoverer;
 import org.apache.qpid.server.store.berkeleydb.BDBCacheSizeSetter;
 import org.apache.qpid.server.store.berkeleydb.BDBConfigurationStore;
+import org.apache.qpid.server.store.berkeleydb.CacheWarmUpStatistics;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentFacade;
 import org.apache.qpid.server.store.berkeleydb.replication.ReplicatedEnvironmentFacade;
 import org.apache.qpid.server.store.berkeleydb.replication.ReplicatedEnvironmentFacadeFactory;
@@ -258,6 +259,48 @@ public class BDBHAVirtualHostNodeImpl extends AbstractVirtualHostNode<BDBHAVirtu
         return -1L;
     }
 
+    @Override
+    public long getReplicatedCommits()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getReplicatedCommitCount();
+    }
+
+    @Override
+    public long getCoalescedTransactions()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getCoalescedTransactionCount();
+    }
+
+    @Override
+    public long getReplicatedCommitTime()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getReplicatedCommitTime();
+    }
+
+    @Override
+    public long getReplicatedCommitLatencyMedian()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getReplicatedCommitLatencyAtPercentile(50.0);
+    }
+
+    @Override
+    public long getReplicatedCommitLatency99thPercentile()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getReplicatedCommitLatencyAtPercentile(99.0);
+    }
+
+    @Override
+    public long getReplicatedCommitLatencyMaximum()
+    {
+        ReplicatedEnvironmentFacade environmentFacade = getReplicatedEnvironmentFacade();
+        return environmentFacade == null ? 0L : environmentFacade.getMaximumReplicatedCommitLatency();
+    }
+
     @Override
     public String getHelperNodeName()
     {
@@ -1144,6 +1187,7 @@ public class BDBHAVirtualHostNodeImpl extends AbstractVirtualHostNode<BDBHAVirtu
                     newRole = NodeRole.UNREACHABLE;
                     remoteNode.setRole(newRole);
                     remoteNode.setLastTransactionId(-1);
+                    remoteNode.setReplicationLag(-1);
                     if (previousRole != NodeRole.UNREACHABLE)
                     {
                         getEventLogger().message(getGroupLogSubject(), HighAvailabilityMessages.LEFT(remoteNode.getName(), remoteNode.getAddress()));
@@ -1159,6 +1203,7 @@ public class BDBHAVirtualHostNodeImpl extends AbstractVirtualHostNode<BDBHAVirtu
 
                     remoteNode.setJoinTime(nodeState.getJoinTime());
                     remoteNode.setLastTransactionId(nodeState.getCurrentTxnEndVLSN());
+                    remoteNode.setReplicationLag(getReplicationLag(nodeState.getCurrentTxnEndVLSN()));
                     ReplicatedEnvironment.State state = nodeState.getNodeState();
                     newRole = NodeRole.fromJeState(state);
                     remoteNode.setRole(newRole);
@@ -1206,6 +1251,20 @@ public class BDBHAVirtualHostNodeImpl extends AbstractVirtualHostNode<BDBHAVirtu
             }
         }
 
+        /**
+         * Returns the number of replication transactions this node has and the remote node has not yet applied,
+         * or -1 if it is not known.
+         */
+        private long getReplicationLag(final long remoteLastTransactionId)
+        {
+            final long lastTransactionId = getLastKnownReplicationTransactionId();
+            if (lastTransactionId < 0 || remoteLastTransactionId < 0)
+            {
+                return -1L;
+            }
+            return Math.max(0L, lastTransactionId - remoteLastTransactionId);
+        }
+
         @Override
         public boolean onIntruderNode(final ReplicationNode node)
         {
@@ -1463,6 +1522,33 @@ public class BDBHAVirtualHostNodeImpl extends AbstractVirtualHostNode<BDBHAVirtu
         }
     }
 
+    @Override
+    public long getCacheWarmUpEntries()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getEntriesLoaded();
+    }
+
+    @Override
+    public int getCacheWarmUpPendingTasks()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0 : statistics.getPendingTasks();
+    }
+
+    @Override
+    public long getCacheWarmUpTime()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getWarmUpTime();
+    }
+
+    private CacheWarmUpStatistics getCacheWarmUpStatistics()
+    {
+        EnvironmentFacade environmentFacade = getEnvironmentFacade();
+        return environmentFacade == null ? null : environmentFacade.getCacheWarmUpStatistics();
+    }
+
     @Override
     public EnvironmentFacade getEnvironmentFacade()
     {
@@ -32,6 +32,7 @@ import org.apache.qpid.server.model.ManagedObjectFactoryConstructor;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.store.DurableConfigurationStore;
 import org.apache.qpid.server.store.berkeleydb.BDBConfigurationStore;
+import org.apache.qpid.server.store.berkeleydb.CacheWarmUpStatistics;
 import org.apache.qpid.server.store.berkeleydb.EnvironmentFacade;
 import org.apache.qpid.server.store.berkeleydb.BDBCacheSizeSetter;
 import org.apache.qpid.server.store.preferences.PreferenceStore;
@@ -184,6 +185,33 @@ public class BDBVirtualHostNodeImpl extends AbstractStandardVirtualHostNode<BDBV
         return Collections.emptyMap();
     }
 
+    @Override
+    public long getCacheWarmUpEntries()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getEntriesLoaded();
+    }
+
+    @Override
+    public int getCacheWarmUpPendingTasks()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0 : statistics.getPendingTasks();
+    }
+
+    @Override
+    public long getCacheWarmUpTime()
+    {
+        CacheWarmUpStatistics statistics = getCacheWarmUpStatistics();
+        return statistics == null ? 0L : statistics.getWarmUpTime();
+    }
+
+    private CacheWarmUpStatistics getCacheWarmUpStatistics()
+    {
+        EnvironmentFacade environmentFacade = getEnvironmentFacade();
+        return environmentFacade == null ? null : environmentFacade.getCacheWarmUpStatistics();
+    }
+
     @Override
     public EnvironmentFacade getEnvironmentFacade()
     {
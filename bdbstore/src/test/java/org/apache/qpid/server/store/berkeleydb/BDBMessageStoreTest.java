@@ -132,7 +132,7 @@ public class BDBMessageStoreTest extends MessageStoreTestCase
 
         try
         {
-            bdbStore.getAllContent(messageid_0_8);
+            bdbStore.getAllContent(messageid_0_8, 0);
             fail("Expected exception not thrown");
         }
         catch (StoreException se)
@@ -0,0 +1,215 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store.berkeleydb;
+
+import static org.apache.qpid.server.store.berkeleydb.EnvironmentFacade.JUL_LOGGER_LEVEL_OVERRIDE;
+import static org.apache.qpid.server.store.berkeleydb.EnvironmentFacade
+        .LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT_PROPERTY_NAME;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.Transaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.store.berkeleydb.entry.QueueEntryKey;
+import org.apache.qpid.server.store.berkeleydb.tuple.QueueEntryBinding;
+import org.apache.qpid.server.util.FileUtils;
+import org.apache.qpid.test.utils.UnitTestBase;
+import org.apache.qpid.test.utils.VirtualHostNodeStoreType;
+
+public class CacheWarmerTest extends UnitTestBase
+{
+    private File _storePath;
+    private EnvironmentFacade _environmentFacade;
+    private Database _metaDataDb;
+    private Database _deliveryDb;
+    private Database _contentDb;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        assumeThat(getVirtualHostNodeStoreType(), is(equalTo(VirtualHostNodeStoreType.BDB)));
+
+        _storePath = new File(TMP_FOLDER + File.separator + "bdb" + File.separator + getTestName());
+
+        final StandardEnvironmentConfiguration configuration = mock(StandardEnvironmentConfiguration.class);
+        when(configuration.getName()).thenReturn(getTestName());
+        when(configuration.getParameters()).thenReturn(Collections.emptyMap());
+        when(configuration.getStorePath()).thenReturn(_storePath.getAbsolutePath());
+        when(configuration.getFacadeParameter(eq(Integer.class),
+                                              eq(LOG_HANDLER_CLEANER_PROTECTED_FILES_LIMIT_PROPERTY_NAME),
+                                              anyInt())).thenReturn(0);
+        when(configuration.getFacadeParameter(eq(Map.class),
+                                              any(),
+                                              eq(JUL_LOGGER_LEVEL_OVERRIDE),
+                                              any())).thenReturn(Collections.emptyMap());
+        _environmentFacade = new StandardEnvironmentFacade(configuration);
+
+        _metaDataDb = _environmentFacade.openDatabase("MESSAGE_METADATA", BDBUtils.DEFAULT_DATABASE_CONFIG);
+        _deliveryDb = _environmentFacade.openDatabase("QUEUE_ENTRIES", BDBUtils.DEFAULT_DATABASE_CONFIG);
+        _contentDb = _environmentFacade.openDatabase("MESSAGE_CONTENT", BDBUtils.DEFAULT_DATABASE_CONFIG);
+
+        final UUID shallowQueue = UUID.randomUUID();
+        final UUID deepQueue = UUID.randomUUID();
+        putMessage(1L, shallowQueue);
+        putMessage(2L, deepQueue);
+        putMessage(3L, deepQueue);
+        putMessage(4L, deepQueue);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        try
+        {
+            if (_environmentFacade != null)
+            {
+                _environmentFacade.close();
+            }
+        }
+        finally
+        {
+            if (_storePath != null)
+            {
+                FileUtils.delete(_storePath, true);
+            }
+        }
+    }
+
+    @Test
+    public void testWarmUp()
+    {
+        final CacheWarmUpStatistics statistics = _environmentFacade.getCacheWarmUpStatistics();
+        final CacheWarmer cacheWarmer = new CacheWarmer(statistics, 2, 60000L, true);
+
+        cacheWarmer.warmUp(getTestName(), Arrays.asList(_metaDataDb, _deliveryDb), _deliveryDb, _contentDb);
+
+        assertTrue("Unexpected number of entries loaded", statistics.getEntriesLoaded() >= 4L);
+        assertEquals("Unexpected number of pending tasks", 0, statistics.getPendingTasks());
+    }
+
+    @Test
+    public void testWarmUpWithoutTimeBudget()
+    {
+        final CacheWarmUpStatistics statistics = _environmentFacade.getCacheWarmUpStatistics();
+        final CacheWarmer cacheWarmer = new CacheWarmer(statistics, 2, 0L, true);
+
+        cacheWarmer.warmUp(getTestName(), Arrays.asList(_metaDataDb, _deliveryDb), _deliveryDb, _contentDb);
+
+        assertEquals("Unexpected number of entries loaded", 0L, statistics.getEntriesLoaded());
+        assertEquals("Unexpected number of pending tasks", 0, statistics.getPendingTasks());
+    }
+
+    @Test
+    public void testWarmUpStopsAtDeadline()
+    {
+        final int numberOfMessages = 20000;
+        final Transaction txn = _environmentFacade.beginTransaction(null);
+        final UUID queueId = UUID.randomUUID();
+        for (long messageId = 100L; messageId < 100L + numberOfMessages; messageId++)
+        {
+            putMessage(txn, messageId, queueId, 128);
+        }
+        txn.commit();
+
+        final CacheWarmUpStatistics statistics = _environmentFacade.getCacheWarmUpStatistics();
+        final CacheWarmer cacheWarmer = new CacheWarmer(statistics, 1, 1L, true);
+
+        cacheWarmer.warmUp(getTestName(), Collections.emptyList(), _deliveryDb, _contentDb);
+
+        assertTrue("Warm-up should stop reading content once its time budget is spent",
+                   statistics.getEntriesLoaded() < numberOfMessages);
+        assertEquals("Unexpected number of pending tasks", 0, statistics.getPendingTasks());
+    }
+
+    @Test
+    public void testWarmUpStopsAtCacheFillLimit()
+    {
+        final Environment environment = _contentDb.getEnvironment();
+        _environmentFacade.setCacheSize((long) (getCacheUsage(environment) / (CacheWarmer.CACHE_FILL_LIMIT + 0.05)));
+
+        final CacheWarmUpStatistics statistics = _environmentFacade.getCacheWarmUpStatistics();
+        final CacheWarmer cacheWarmer = new CacheWarmer(statistics, 2, 60000L, true);
+
+        cacheWarmer.warmUp(getTestName(), Collections.emptyList(), _deliveryDb, _contentDb);
+
+        assertEquals("Content should not be read once the cache is filled beyond the limit",
+                     0L, statistics.getEntriesLoaded());
+        assertEquals("Unexpected number of pending tasks", 0, statistics.getPendingTasks());
+    }
+
+    @Test
+    public void testWarmUpBelowCacheFillLimit()
+    {
+        final Environment environment = _contentDb.getEnvironment();
+        _environmentFacade.setCacheSize((long) (getCacheUsage(environment) / (CacheWarmer.CACHE_FILL_LIMIT - 0.05)));
+
+        final CacheWarmUpStatistics statistics = _environmentFacade.getCacheWarmUpStatistics();
+        final CacheWarmer cacheWarmer = new CacheWarmer(statistics, 2, 60000L, true);
+
+        cacheWarmer.warmUp(getTestName(), Collections.emptyList(), _deliveryDb, _contentDb);
+
+        assertEquals("Unexpected number of content entries loaded", 4L, statistics.getEntriesLoaded());
+    }
+
+    private long getCacheUsage(final Environment environment)
+    {
+        return environment.getStats(new StatsConfig().setFast(true)).getCacheTotalBytes();
+    }
+
+    private void putMessage(final long messageId, final UUID queueId)
+    {
+        putMessage(null, messageId, queueId, 1024);
+    }
+
+    private void putMessage(final Transaction txn, final long messageId, final UUID queueId, final int contentSize)
+    {
+        final DatabaseEntry messageKey = new DatabaseEntry();
+        LongBinding.longToEntry(messageId, messageKey);
+        _metaDataDb.put(txn, messageKey, new DatabaseEntry(new byte[]{1}));
+        _contentDb.put(txn, messageKey, new DatabaseEntry(new byte[contentSize]));
+
+        final DatabaseEntry queueEntryKey = new DatabaseEntry();
+        QueueEntryBinding.objectToEntry(new QueueEntryKey(queueId, messageId), queueEntryKey);
+        _deliveryDb.put(txn, queueEntryKey, new DatabaseEntry(new byte[0]));
+    }
+}
@@ -28,6 +28,7 @@ import static org.junit.Assume.assumeThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -119,4 +120,51 @@ public class CoalescingCommitterTest extends UnitTestBase
         verify(_environmentFacade, times(2)).flushLog();
         verify(_environmentFacade, times(1)).flushLogFailed(testFailure);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testAsyncCommitsCoalescedIntoOneBatchCommit() throws Exception
+    {
+        final Runnable batchCommit = mock(Runnable.class);
+        final CoalescingCommiter committer = new CoalescingCommiter("Batch", 3, 60000L, _environmentFacade, batchCommit);
+        committer.start();
+        try
+        {
+            final ListenableFuture<String> future1 = committer.commitAsync(null, "1");
+            final ListenableFuture<String> future2 = committer.commitAsync(null, "2");
+            final ListenableFuture<String> future3 = committer.commitAsync(null, "3");
+
+            assertEquals("Unexpected result", "1", future1.get(10000, TimeUnit.MILLISECONDS));
+            assertEquals("Unexpected result", "2", future2.get(10000, TimeUnit.MILLISECONDS));
+            assertEquals("Unexpected result", "3", future3.get(10000, TimeUnit.MILLISECONDS));
+
+            verify(batchCommit, times(1)).run();
+            verify(_environmentFacade, never()).flushLog();
+        }
+        finally
+        {
+            committer.stop();
+        }
+    }
+
+    @Test
+    public void testCommitAfterStopRejected() throws Exception
+    {
+        final Runnable batchCommit = mock(Runnable.class);
+        final CoalescingCommiter committer = new CoalescingCommiter("Stopped", 3, 60000L, _environmentFacade, batchCommit);
+        committer.start();
+        final ListenableFuture<String> future = committer.commitAsync(null, "1");
+        committer.stop();
+
+        assertEquals("Queued commit should be completed on stop", "1", future.get(10000, TimeUnit.MILLISECONDS));
+        try
+        {
+            committer.commitAsync(null, "2");
+            fail("Commit after stop should be rejected");
+        }
+        catch (IllegalStateException e)
+        {
+            // pass
+        }
+        verify(batchCommit, times(1)).run();
+    }
+}
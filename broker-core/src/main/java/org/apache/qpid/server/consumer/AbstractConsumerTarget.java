@@ -61,6 +61,7 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
     private final SuspendedConsumerLoggingTicker _suspendedConsumerLoggingTicker;
     private final List<MessageInstanceConsumer> _consumers = new CopyOnWriteArrayList<>();
     private final AtomicBoolean _scheduled = new AtomicBoolean();
+    private final int _deliveryBatchSize;
 
     private volatile Iterator<MessageInstanceConsumer> _pullIterator;
     private volatile boolean _notifyWorkDesired;
@@ -69,6 +70,8 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
                                      final AMQPConnection<?> amqpConnection)
     {
         _isMultiQueue = isMultiQueue;
+        final Integer deliveryBatchSize = amqpConnection.getContextValue(Integer.class, Consumer.DELIVERY_BATCH_SIZE);
+        _deliveryBatchSize = deliveryBatchSize == null ? 1 : Math.max(1, deliveryBatchSize);
 
         _suspendedConsumerLoggingTicker = new SuspendedConsumerLoggingTicker(amqpConnection.getContextValue(Long.class, Consumer.SUSPEND_NOTIFICATION_PERIOD))
         {
@@ -150,7 +153,45 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
         }
 
         // TODO - if not closed
-        return sendNextMessage();
+        return sendNextMessages(_deliveryBatchSize);
+    }
+
+    /**
+     * Sends up to the given number of messages in one pass.  All but the last message of a full batch are sent
+     * batched, so that the protocol layer flushes once when the batch is complete rather than for every message.
+     *
+     * @return true if further messages may be available
+     */
+    private boolean sendNextMessages(final int maxMessages)
+    {
+        final AMQPConnection<?> connection = getSession().getAMQPConnection();
+        boolean flushRequired = false;
+        boolean moreAvailable = true;
+        try
+        {
+            for (int sent = 0; sent < maxMessages; sent++)
+            {
+                final boolean batch = sent < maxMessages - 1;
+                moreAvailable = sendNextMessage(batch);
+                if (!moreAvailable)
+                {
+                    break;
+                }
+                flushRequired = batch;
+                if (connection.isTransportBlockedForWriting())
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            if (flushRequired)
+            {
+                flushBatched();
+            }
+        }
+        return moreAvailable;
     }
 
     @Override
@@ -233,6 +274,11 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
 
     @Override
     public boolean sendNextMessage()
+    {
+        return sendNextMessage(false);
+    }
+
+    private boolean sendNextMessage(final boolean batch)
     {
         MessageContainer messageContainer = null;
         MessageInstanceConsumer consumer = null;
@@ -261,7 +307,7 @@ public abstract class AbstractConsumerTarget<T extends AbstractConsumerTarget<T>
             MessageInstance entry = messageContainer.getMessageInstance();
             try
             {
-                send(consumer, entry, false);
+                send(consumer, entry, batch);
             }
             catch (MessageConversionException mce)
             {
@@ -53,12 +53,19 @@ public abstract class AbstractServerMessageImpl<X extends AbstractServerMessageI
     private volatile Collection<UUID> _resources;
 
     private volatile ServerMessage.ValidationStatus _validationStatus = ServerMessage.ValidationStatus.UNKNOWN;
+    @SuppressWarnings("unused")
+    private volatile ConvertedMessageCache _convertedMessageCache;
 
     private static final AtomicReferenceFieldUpdater<AbstractServerMessageImpl, ServerMessage.ValidationStatus>
             _validationStatusUpdater = AtomicReferenceFieldUpdater.newUpdater(AbstractServerMessageImpl.class,
                                                                               ServerMessage.ValidationStatus.class,
                                                                               "_validationStatus");
 
+    private static final AtomicReferenceFieldUpdater<AbstractServerMessageImpl, ConvertedMessageCache>
+            _convertedMessageCacheUpdater = AtomicReferenceFieldUpdater.newUpdater(AbstractServerMessageImpl.class,
+                                                                                   ConvertedMessageCache.class,
+                                                                                   "_convertedMessageCache");
+
     public AbstractServerMessageImpl(StoredMessage<T> handle, Object connectionReference)
     {
         _handle = handle;
@@ -124,6 +131,11 @@ public abstract class AbstractServerMessageImpl<X extends AbstractServerMessageI
                 updated = _refCountUpdater.compareAndSet(this, count, -1);
                 if (updated)
                 {
+                    final ConvertedMessageCache convertedMessageCache = _convertedMessageCache;
+                    if (convertedMessageCache != null)
+                    {
+                        convertedMessageCache.close();
+                    }
                     _handle.remove();
                 }
             }
@@ -208,6 +220,29 @@ public abstract class AbstractServerMessageImpl<X extends AbstractServerMessageI
         }
     }
 
+    @Override
+    public ConvertedMessageCache getConvertedMessageCache()
+    {
+        return _convertedMessageCache;
+    }
+
+    @Override
+    public ConvertedMessageCache getOrCreateConvertedMessageCache()
+    {
+        ConvertedMessageCache convertedMessageCache = _convertedMessageCache;
+        if (convertedMessageCache == null)
+        {
+            _convertedMessageCacheUpdater.compareAndSet(this, null, new ConvertedMessageCache());
+            convertedMessageCache = _convertedMessageCache;
+            // the message may have been deleted before the cache was set, in which case nothing may be cached
+            if (_referenceCount < 0)
+            {
+                convertedMessageCache.close();
+            }
+        }
+        return convertedMessageCache;
+    }
+
     @Override
     final public Object getConnectionReference()
     {
@@ -0,0 +1,195 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.message;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Holds the representations of a message which have been converted to other message formats, so that a
+ * conversion can be shared by every consumer using the same protocol and reused on redelivery.
+ *
+ * Conversions are reference counted: the cache holds one reference and every consumer acquiring the conversion
+ * holds another until it releases it.  A conversion is disposed once it has been evicted from the cache and
+ * released by all consumers.
+ *
+ * A message creates its cache on its first conversion, see {@link ServerMessage#getOrCreateConvertedMessageCache()}.
+ */
+public final class ConvertedMessageCache
+{
+    private final Map<Class<?>, CachedConversion<?>> _conversions = new ConcurrentHashMap<>(2);
+    private volatile boolean _closed;
+
+    public <N> CachedConversion<N> acquire(final Class<N> outputClass)
+    {
+        @SuppressWarnings("unchecked")
+        final CachedConversion<N> conversion = (CachedConversion<N>) _conversions.get(outputClass);
+        if (conversion != null && conversion.acquire())
+        {
+            return conversion;
+        }
+        return null;
+    }
+
+    /**
+     * Adds the given conversion, holding the given number of bytes in memory, to the cache.
+     *
+     * @return the acquired cached conversion, or null if the conversion could not be cached, in which case the caller
+     * remains responsible for disposing it
+     */
+    public <N> CachedConversion<N> add(final Class<N> outputClass,
+                                       final N message,
+                                       final long size,
+                                       final Consumer<N> disposer)
+    {
+        if (_closed)
+        {
+            return null;
+        }
+
+        final CachedConversion<N> conversion = new CachedConversion<>(message, size, disposer);
+        if (_conversions.putIfAbsent(outputClass, conversion) != null)
+        {
+            return null;
+        }
+
+        if (_closed)
+        {
+            evict();
+        }
+        return conversion;
+    }
+
+    /**
+     * Removes all conversions from the cache, for instance when the message content is flowed to disk.  Conversions
+     * still in use by consumers are disposed when they are released.
+     */
+    public void evict()
+    {
+        for (Class<?> outputClass : _conversions.keySet())
+        {
+            final CachedConversion<?> conversion = _conversions.remove(outputClass);
+            if (conversion != null)
+            {
+                conversion.release();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes held in memory by the conversions currently in the cache.
+     */
+    public long getSize()
+    {
+        long size = 0;
+        for (CachedConversion<?> conversion : _conversions.values())
+        {
+            size += conversion.getSize();
+        }
+        return size;
+    }
+
+    /**
+     * Evicts all conversions and prevents new ones from being cached.  Called once the message has been deleted.
+     */
+    public void close()
+    {
+        _closed = true;
+        evict();
+    }
+
+    /**
+     * Evicts the cached conversions of the given message, if any.  To be called before its content is flowed to disk.
+     */
+    public static void evictConversions(final ServerMessage<?> message)
+    {
+        final ConvertedMessageCache cache = message.getConvertedMessageCache();
+        if (cache != null)
+        {
+            cache.evict();
+        }
+    }
+
+    /**
+     * Returns the number of bytes held in memory by the cached conversions of the given message.
+     */
+    public static long getCachedSize(final ServerMessage<?> message)
+    {
+        final ConvertedMessageCache cache = message.getConvertedMessageCache();
+        return cache == null ? 0L : cache.getSize();
+    }
+
+    public static final class CachedConversion<N>
+    {
+        private final N _message;
+        private final long _size;
+        private final Consumer<N> _disposer;
+        // one reference for the cache and one for the consumer which created the conversion
+        private final AtomicInteger _references = new AtomicInteger(2);
+
+        private CachedConversion(final N message, final long size, final Consumer<N> disposer)
+        {
+            _message = message;
+            _size = size;
+            _disposer = disposer;
+        }
+
+        public N getMessage()
+        {
+            return _message;
+        }
+
+        public long getSize()
+        {
+            return _size;
+        }
+
+        private boolean acquire()
+        {
+            int count;
+            do
+            {
+                count = _references.get();
+                if (count <= 0)
+                {
+                    return false;
+                }
+            }
+            while (!_references.compareAndSet(count, count + 1));
+            return true;
+        }
+
+        /**
+         * @return true if this was the last reference and the converted message has been disposed
+         */
+        public boolean release()
+        {
+            if (_references.decrementAndGet() == 0)
+            {
+                _disposer.accept(_message);
+                return true;
+            }
+            return false;
+        }
+    }
+}
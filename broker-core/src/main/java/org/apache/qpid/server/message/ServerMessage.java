@@ -65,6 +65,17 @@ public interface ServerMessage<T extends StorableMessageMetaData> extends Enqueu
 
     ValidationStatus getValidationStatus();
 
+    /**
+     * @return the cache of converted representations of this message, or null if the message has not been converted
+     */
+    ConvertedMessageCache getConvertedMessageCache();
+
+    /**
+     * @return the cache of converted representations of this message, created on first use, or null if conversions of
+     * this message cannot be cached
+     */
+    ConvertedMessageCache getOrCreateConvertedMessageCache();
+
     enum ValidationStatus
     {
         UNKNOWN,
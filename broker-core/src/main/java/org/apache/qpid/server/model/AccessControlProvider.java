@@ -22,6 +22,12 @@ package org.apache.qpid.server.model;
 @ManagedObject
 public interface AccessControlProvider<X extends AccessControlProvider<X>> extends ConfiguredObject<X>, CommonAccessControlProvider<AccessControlProvider<?>>
 {
+    String DECISION_CACHE_SIZE = "qpid.security.acl.decisionCacheSize";
+    @ManagedContextDefault(name = DECISION_CACHE_SIZE,
+            description = "The maximum number of access control decisions remembered by a rule based access control"
+                          + " provider for the combinations of user, groups and action checked.")
+    int DEFAULT_DECISION_CACHE_SIZE = 4096;
+
     @Override
     @ManagedAttribute(defaultValue = "10", description = "The priority of this access control provider - the lower the number the higher the priority")
     int getPriority();
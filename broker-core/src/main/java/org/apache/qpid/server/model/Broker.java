@@ -33,6 +33,7 @@ import org.apache.qpid.server.logging.EventLogger;
 import org.apache.qpid.server.logging.EventLoggerProvider;
 import org.apache.qpid.server.security.auth.SocketConnectionMetaData;
 import org.apache.qpid.server.stats.StatisticsGatherer;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 import org.apache.qpid.server.store.preferences.UserPreferencesCreator;
 
 @ManagedObject( defaultType = Broker.BROKER_TYPE, amqpName = "org.apache.qpid.Broker")
@@ -53,6 +54,7 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
 
     String CHANNEL_FLOW_CONTROL_ENFORCEMENT_TIMEOUT = "channel.flowControlEnforcementTimeout";
     String BROKER_FLOW_TO_DISK_THRESHOLD = "broker.flowToDiskThreshold";
+    String BROKER_LARGE_MESSAGE_THRESHOLD = "broker.largeMessageThreshold";
     String BROKER_FAIL_STARTUP_WITH_ERRORED_CHILD = "broker.failStartupWithErroredChild";
     String BROKER_FAIL_STARTUP_WITH_ERRORED_CHILD_SCOPE = "broker.failStartupWithErroredChildScope";
 
@@ -64,6 +66,7 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
     String QPID_DOCUMENTATION_URL = "qpid.helpURL";
     String BROKER_SHUTDOWN_TIMEOUT = "broker.shutdownTimeout";
     String BROKER_STATISTICS_REPORING_PERIOD = "broker.statisticsReportingPeriod";
+    String BROKER_STATISTICS_SNAPSHOT_INTERVAL = "broker.statisticsSnapshotInterval";
 
     String NETWORK_BUFFER_SIZE = "qpid.broker.networkBufferSize";
     // network buffer should at least hold a SSL/TLS frame which in jdk1.8 is 33305 bytes
@@ -82,6 +85,15 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
     @ManagedContextDefault(name = BROKER_FLOW_TO_DISK_THRESHOLD)
     long DEFAULT_FLOW_TO_DISK_THRESHOLD = (long)(0.75 * (double) BrokerImpl.getMaxDirectMemorySize());
 
+    @ManagedContextDefault(name = BROKER_LARGE_MESSAGE_THRESHOLD,
+                           description = "The content size (in bytes) from which a message is written to the message"
+                                         + " store and released from memory as soon as it has been received, rather than"
+                                         + " when the flow to disk thresholds are exceeded. A negative value disables"
+                                         + " this. The value of the queue applies on enqueue, and the value of the"
+                                         + " virtual host to transactions. A message is still held in memory while it"
+                                         + " is being received.")
+    long DEFAULT_LARGE_MESSAGE_THRESHOLD = -1L;
+
     String COMPACT_MEMORY_THRESHOLD = "qpid.compact_memory_threshold";
     @SuppressWarnings("unused")
     @ManagedContextDefault(name = COMPACT_MEMORY_THRESHOLD)
@@ -130,6 +142,13 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
     @ManagedContextDefault(name = BROKER_STATISTICS_REPORING_PERIOD)
     int DEFAULT_STATISTICS_REPORTING_PERIOD = 0;
 
+    @ManagedContextDefault(name = BROKER_STATISTICS_SNAPSHOT_INTERVAL,
+            description = "The interval (in milliseconds) at which the statistics of all objects of the Broker are"
+                          + " collected by a housekeeping task. The latest collection is shared by the metrics"
+                          + " exporter, the REST API and the statistics reports. If not positive, statistics are read"
+                          + " from the objects whenever reported.")
+    long DEFAULT_BROKER_STATISTICS_SNAPSHOT_INTERVAL = 0L;
+
     String PROPERTY_DISABLED_FEATURES = "qpid.broker_disabled_features";
 
     @DerivedAttribute
@@ -167,6 +186,19 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
     @ManagedAttribute( defaultValue = "${broker.housekeepingThreadCount}")
     int getHousekeepingThreadCount();
 
+    String BROKER_AUTHENTICATION_THREAD_COUNT = "broker.authenticationThreadCount";
+    @ManagedContextDefault(name = BROKER_AUTHENTICATION_THREAD_COUNT,
+            description = "Number of threads used to perform SASL authentication steps off the I/O threads."
+                          + " If zero, authentication is performed on the I/O thread of the connection.")
+    int DEFAULT_AUTHENTICATION_THREAD_COUNT = 2;
+
+    String BROKER_AUTHENTICATION_QUEUE_CAPACITY = "broker.authenticationQueueCapacity";
+    @ManagedContextDefault(name = BROKER_AUTHENTICATION_QUEUE_CAPACITY,
+            description = "Maximum number of authentication steps of a single authentication provider waiting for or"
+                          + " running on an authentication thread. When the limit is reached, further authentication"
+                          + " attempts using that provider fail until outstanding steps complete.")
+    int DEFAULT_AUTHENTICATION_QUEUE_CAPACITY = 1024;
+
     String BROKER_MESSAGE_COMPRESSION_ENABLED = "broker.messageCompressionEnabled";
     @ManagedContextDefault(name = BROKER_MESSAGE_COMPRESSION_ENABLED)
     boolean DEFAULT_MESSAGE_COMPRESSION_ENABLED = true;
@@ -335,6 +367,15 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
             metricName = "inbound_message_size_high_watermark")
     long getInboundMessageSizeHighWatermark();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME,
+            units = StatisticUnit.TIME_DURATION,
+            label = "Statistics snapshot duration",
+            description = "Time (in milliseconds) it took to collect the latest snapshot of the statistics of all"
+                          + " objects of the Broker.",
+            metricName = "statistics_snapshot_duration_milliseconds")
+    long getStatisticsSnapshotDuration();
+
     @ManagedOperation(nonModifying = true,
             description = "Restart the broker within the same JVM",
             changesConfiguredObjectState = false,
@@ -446,4 +487,15 @@ public interface Broker<X extends Broker<X>> extends ConfiguredObject<X>, EventL
     @ManagedOperation(changesConfiguredObjectState = false, nonModifying = true,
             description = "Force direct memory buffer compaction.")
     void compactMemory();
+
+    @ManagedOperation(changesConfiguredObjectState = false, nonModifying = true,
+            description = "Returns the number of message format conversions performed and the number of deliveries"
+                          + " served from the conversion cache, by source and target format.")
+    Map<String, Map<String, Long>> getMessageConversionStatistics();
+
+    /**
+     * Returns the latest snapshot of the statistics of all objects of the Broker without waiting for a collection, or
+     * null if snapshots are disabled or none has been collected yet.
+     */
+    StatisticsSnapshot getStatisticsSnapshot();
 }
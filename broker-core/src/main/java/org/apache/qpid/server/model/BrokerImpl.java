@@ -39,6 +39,9 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -70,6 +73,8 @@ import org.apache.qpid.server.model.preferences.UserPreferencesImpl;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
 import org.apache.qpid.server.plugin.SystemAddressSpaceCreator;
 import org.apache.qpid.server.plugin.SystemNodeCreator;
+import org.apache.qpid.server.pool.SuppressingInheritedAccessControlContextThreadFactory;
+import org.apache.qpid.server.protocol.MessageConverterRegistry;
 import org.apache.qpid.server.security.AccessControl;
 import org.apache.qpid.server.security.CompoundAccessControl;
 import org.apache.qpid.server.security.Result;
@@ -81,12 +86,14 @@ import org.apache.qpid.server.security.auth.UsernamePrincipal;
 import org.apache.qpid.server.security.auth.manager.SimpleAuthenticationManager;
 import org.apache.qpid.server.security.group.GroupPrincipal;
 import org.apache.qpid.server.stats.StatisticsReportingTask;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 import org.apache.qpid.server.store.FileBasedSettings;
 import org.apache.qpid.server.store.preferences.PreferenceRecord;
 import org.apache.qpid.server.store.preferences.PreferenceStore;
 import org.apache.qpid.server.store.preferences.PreferenceStoreUpdaterImpl;
 import org.apache.qpid.server.store.preferences.PreferencesRecoverer;
 import org.apache.qpid.server.store.preferences.PreferencesRoot;
+import org.apache.qpid.server.util.BoundedExecutor;
 import org.apache.qpid.server.util.HousekeepingExecutor;
 import org.apache.qpid.server.util.SystemUtils;
 import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
@@ -136,6 +143,9 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
     private ConfigurationChangeListener _accessControlProviderListener = new AccessControlProviderListener();
     private final AccessControl _accessControl;
     private TaskExecutor _preferenceTaskExecutor;
+    private volatile ExecutorService _authenticationExecutor;
+    private final ConcurrentMap<AuthenticationProvider<?>, Executor> _providerAuthenticationExecutors =
+            new ConcurrentHashMap<>();
     private String _documentationUrl;
     private long _compactMemoryThreshold;
     private long _compactMemoryInterval;
@@ -145,6 +155,9 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
     private ScheduledFuture<?> _assignTargetSizeSchedulingFuture;
     private volatile ScheduledFuture<?> _statisticsReportingFuture;
     private long _housekeepingCheckPeriod;
+    private long _statisticsSnapshotInterval;
+    private volatile StatisticsSnapshot _statisticsSnapshot;
+    private ScheduledFuture<?> _statisticsSnapshotSchedulingFuture;
 
     @ManagedObjectFactoryConstructor
     public BrokerImpl(Map<String, Object> attributes,
@@ -417,7 +430,23 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         _houseKeepingTaskExecutor = new HousekeepingExecutor("broker-" + getName() + "-pool",
                                                              getHousekeepingThreadCount(),
                                                              getSystemTaskSubject("Housekeeping", _principal));
+        final int authenticationThreadCount = getContextValue(Integer.class, BROKER_AUTHENTICATION_THREAD_COUNT);
+        if (authenticationThreadCount > 0)
+        {
+            _authenticationExecutor = Executors.newFixedThreadPool(authenticationThreadCount,
+                                                                   new SuppressingInheritedAccessControlContextThreadFactory(
+                                                                           "broker-" + getName() + "-authentication",
+                                                                           getSystemTaskSubject("Authentication", _principal)));
+        }
         initialiseStatisticsReporting();
+        if (_statisticsSnapshotInterval > 0L)
+        {
+            _statisticsSnapshotSchedulingFuture =
+                    _houseKeepingTaskExecutor.scheduleAtFixedRate(this::collectStatisticsSnapshot,
+                                                                  0L,
+                                                                  _statisticsSnapshotInterval,
+                                                                  TimeUnit.MILLISECONDS);
+        }
 
         scheduleDirectMemoryCheck();
         _assignTargetSizeSchedulingFuture = scheduleHouseKeepingTask(getHousekeepingCheckPeriod(),
@@ -641,6 +670,7 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         _compactMemoryThreshold = getContextValue(Long.class, Broker.COMPACT_MEMORY_THRESHOLD);
         _compactMemoryInterval = getContextValue(Long.class, Broker.COMPACT_MEMORY_INTERVAL);
         _housekeepingCheckPeriod = getContextValue(Long.class, Broker.QPID_BROKER_HOUSEKEEPING_CHECK_PERIOD);
+        _statisticsSnapshotInterval = getContextValue(Long.class, BROKER_STATISTICS_SNAPSHOT_INTERVAL);
 
         if (SystemUtils.getProcessPid() != null)
         {
@@ -731,8 +761,13 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         {
             _assignTargetSizeSchedulingFuture.cancel(true);
         }
+        if (_statisticsSnapshotSchedulingFuture != null)
+        {
+            _statisticsSnapshotSchedulingFuture.cancel(false);
+        }
 
         shutdownHouseKeeping();
+        shutdownAuthentication();
 
         stopPreferenceTaskExecutor();
         closePreferenceStore();
@@ -925,6 +960,32 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         return _maximumMessageSize.get();
     }
 
+    @Override
+    public long getStatisticsSnapshotDuration()
+    {
+        final StatisticsSnapshot snapshot = _statisticsSnapshot;
+        return snapshot == null ? 0L : snapshot.getCollectionDuration();
+    }
+
+    @Override
+    public StatisticsSnapshot getStatisticsSnapshot()
+    {
+        return _statisticsSnapshot;
+    }
+
+    private void collectStatisticsSnapshot()
+    {
+        try
+        {
+            _statisticsSnapshot = StatisticsSnapshot.collect(this);
+        }
+        catch (RuntimeException e)
+        {
+            // keep serving the previous snapshot, a failure must not cancel subsequent collections
+            LOGGER.warn("Failed to collect statistics snapshot", e);
+        }
+    }
+
     @Override
     public long getMessagesIn()
     {
@@ -1126,6 +1187,33 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         }
     }
 
+    private void shutdownAuthentication()
+    {
+        final ExecutorService authenticationExecutor = _authenticationExecutor;
+        if (authenticationExecutor != null)
+        {
+            _authenticationExecutor = null;
+            _providerAuthenticationExecutors.clear();
+            authenticationExecutor.shutdownNow();
+        }
+    }
+
+    @Override
+    public Executor getAuthenticationExecutor(final AuthenticationProvider<?> authenticationProvider)
+    {
+        final ExecutorService authenticationExecutor = _authenticationExecutor;
+        if (authenticationExecutor == null)
+        {
+            return null;
+        }
+        _providerAuthenticationExecutors.keySet().removeIf(provider -> provider.getState() == State.DELETED);
+        return _providerAuthenticationExecutors.computeIfAbsent(
+                authenticationProvider,
+                provider -> new BoundedExecutor(authenticationExecutor,
+                                                Math.max(1, provider.getContextValue(Integer.class,
+                                                                                     BROKER_AUTHENTICATION_QUEUE_CAPACITY))));
+    }
+
     private void shutdownHouseKeeping()
     {
         if(_houseKeepingTaskExecutor != null)
@@ -1177,6 +1265,12 @@ public class BrokerImpl extends AbstractContainer<BrokerImpl> implements Broker<
         compactMemoryInternal();
     }
 
+    @Override
+    public Map<String, Map<String, Long>> getMessageConversionStatistics()
+    {
+        return MessageConverterRegistry.getConversionStatistics();
+    }
+
     private ListenableFuture<Void> compactMemoryInternal()
     {
         LOGGER.debug("Compacting direct memory buffers: numberOfActivePooledBuffers: {}",
@@ -20,6 +20,9 @@
  */
 package org.apache.qpid.server.model;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
@@ -33,15 +36,35 @@ abstract class ConfiguredObjectMethodAttributeOrStatistic<C extends ConfiguredOb
     private final String _name;
     private final Class<T> _type;
     private final Method _getter;
+    private final MethodHandle _getterHandle;
 
     ConfiguredObjectMethodAttributeOrStatistic(final Method getter)
     {
 
         _getter = getter;
+        _getterHandle = createGetterHandle(getter);
         _type = (Class<T>) AttributeValueConverter.getTypeFromMethod(getter);
         _name = AttributeValueConverter.getNameFromMethod(getter, getType());
     }
 
+    /**
+     * Binds the getter to a method handle once, so that values need not be obtained through reflective invocation.
+     * Returns null if the getter cannot be accessed through a method handle, in which case it is invoked reflectively.
+     */
+    private static MethodHandle createGetterHandle(final Method getter)
+    {
+        try
+        {
+            return MethodHandles.publicLookup()
+                                .unreflect(getter)
+                                .asType(MethodType.methodType(Object.class, Object.class));
+        }
+        catch (IllegalAccessException | RuntimeException e)
+        {
+            return null;
+        }
+    }
+
     @Override
     public String getName()
     {
@@ -63,6 +86,10 @@ abstract class ConfiguredObjectMethodAttributeOrStatistic<C extends ConfiguredOb
     @Override
     public T getValue(C configuredObject)
     {
+        if (_getterHandle != null)
+        {
+            return getValueFromHandle(configuredObject);
+        }
         try
         {
             return (T) getGetter().invoke(configuredObject);
@@ -96,6 +123,25 @@ abstract class ConfiguredObjectMethodAttributeOrStatistic<C extends ConfiguredOb
 
     }
 
+    private T getValueFromHandle(final C configuredObject)
+    {
+        try
+        {
+            return (T) _getterHandle.invokeExact((Object) configuredObject);
+        }
+        catch (RuntimeException | Error e)
+        {
+            throw e;
+        }
+        catch (Throwable t)
+        {
+            // This should never happen as it would imply a getter which is declaring a checked exception
+            throw new ServerScopedRuntimeException("Unable to get value for '"+getName()
+                                                   +"' from configured object of category "
+                                                   + configuredObject.getCategoryClass().getSimpleName(), t);
+        }
+    }
+
     public Method getGetter()
     {
         return _getter;
@@ -41,6 +41,13 @@ public interface Consumer<X extends Consumer<X,T>, T extends ConsumerTarget> ext
     @ManagedContextDefault( name = SUSPEND_NOTIFICATION_PERIOD)
     long SUSPEND_NOTIFICATION_PERIOD_DEFAULT = 10000;
 
+    String DELIVERY_BATCH_SIZE = "consumer.deliveryBatchSize";
+
+    @ManagedContextDefault( name = DELIVERY_BATCH_SIZE,
+            description = "The maximum number of messages delivered to a consumer in one pass before the protocol"
+                          + " layer is flushed and other consumers of the session are given the opportunity to send")
+    int DELIVERY_BATCH_SIZE_DEFAULT = 16;
+
     AtomicLong CONSUMER_NUMBER_GENERATOR = new AtomicLong(0);
 
     @DerivedAttribute
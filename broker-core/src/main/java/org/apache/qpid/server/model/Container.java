@@ -20,6 +20,8 @@
  */
 package org.apache.qpid.server.model;
 
+import java.util.concurrent.Executor;
+
 import org.apache.qpid.server.logging.EventLogger;
 
 public interface Container<C extends ConfiguredObject<C>> extends ConfiguredObject<C>
@@ -33,4 +35,11 @@ public interface Container<C extends ConfiguredObject<C>> extends ConfiguredObje
     int getNetworkBufferSize();
 
     AuthenticationProvider<?> getManagementModeAuthenticationProvider();
+
+    /**
+     * Returns the executor on which authentication steps using the given provider are performed, or null if they are
+     * to be performed on the I/O thread of the connection.  The executor rejects steps once the provider has reached
+     * its limit of outstanding steps.
+     */
+    Executor getAuthenticationExecutor(AuthenticationProvider<?> authenticationProvider);
 }
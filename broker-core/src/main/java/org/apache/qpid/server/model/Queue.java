@@ -133,6 +133,13 @@ public interface Queue<X extends Queue<X>> extends ConfiguredObject<X>,
                           + "none is explicitly set")
     String DEFAULT_ENSURE_NON_DESTRUCTIVE_CONSUMERS = "false";
 
+    String QUEUE_LATENCY_HISTOGRAMS_ENABLED = "queue.latencyHistogramsEnabled";
+    @SuppressWarnings("unused")
+    @ManagedContextDefault(name = QUEUE_LATENCY_HISTOGRAMS_ENABLED,
+            description = "If true, queues record histograms of the enqueue, first delivery and settlement latencies"
+                          + " of their messages, from which the latency percentile statistics are derived.")
+    boolean DEFAULT_QUEUE_LATENCY_HISTOGRAMS_ENABLED = false;
+
     String MESSAGE_CONVERSION_EXCEPTION_HANDLING_POLICY = "qpid.queue.messageConversion.exceptionHandlingPolicy";
 
     @ManagedContextDefault( name = MESSAGE_CONVERSION_EXCEPTION_HANDLING_POLICY,
@@ -519,6 +526,54 @@ public interface Queue<X extends Queue<X>> extends ConfiguredObject<X>,
             description = "Total number of enqueued malformed messages.", metricName = "malformed_messages_count")
     long getTotalMalformedMessages();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Enqueue Latency (median)",
+                      description = "Median time from the arrival of messages at the Broker until they are enqueued,"
+                                    + " including the time taken to commit persistent messages to the store."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "enqueue_latency_median_milliseconds")
+    long getEnqueueLatencyMedian();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Enqueue Latency (99th percentile)",
+                      description = "99th percentile of the time from the arrival of messages at the Broker until"
+                                    + " they are enqueued, including the time taken to commit persistent messages to the store."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "enqueue_latency_99th_percentile_milliseconds")
+    long getEnqueueLatency99thPercentile();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "First Delivery Latency (median)",
+                      description = "Median time from the arrival of messages at the Broker until they are first"
+                                    + " delivered to a consumer."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "first_delivery_latency_median_milliseconds")
+    long getFirstDeliveryLatencyMedian();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "First Delivery Latency (99th percentile)",
+                      description = "99th percentile of the time from the arrival of messages at the Broker until"
+                                    + " they are first delivered to a consumer."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "first_delivery_latency_99th_percentile_milliseconds")
+    long getFirstDeliveryLatency99thPercentile();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Settlement Latency (median)",
+                      description = "Median time from the delivery of messages to a consumer until they are"
+                                    + " acknowledged or released."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "settlement_latency_median_milliseconds")
+    long getSettlementLatencyMedian();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.TIME_DURATION, label = "Settlement Latency (99th percentile)",
+                      description = "99th percentile of the time from the delivery of messages to a consumer until"
+                                    + " they are acknowledged or released."
+                                    + " Only recorded if " + QUEUE_LATENCY_HISTOGRAMS_ENABLED + " is enabled.",
+                      metricName = "settlement_latency_99th_percentile_milliseconds")
+    long getSettlementLatency99thPercentile();
+
     @ManagedOperation(description = "move messages from this queue to another", changesConfiguredObjectState = false)
     List<Long> moveMessages(@Param(name = "destination", description = "The queue to which the messages should be moved", mandatory = true) Queue<?> destination,
                             @Param(name = "messageIds", description = "If provided, only messages in the queue whose (internal) message-id is supplied will be considered for moving") List<Long> messageIds,
@@ -66,6 +66,18 @@ public interface SystemConfig<X extends SystemConfig<X>> extends ConfiguredObjec
     @ManagedContextDefault(name = SystemConfig.POSIX_FILE_PERMISSIONS)
     String DEFAULT_POSIX_FILE_PERMISSIONS = "rw-r-----";
 
+    String JSON_CONFIG_STORE_JOURNAL_ENABLED = "qpid.jsonConfigStore.journalEnabled";
+    @ManagedContextDefault(name = SystemConfig.JSON_CONFIG_STORE_JOURNAL_ENABLED,
+            description = "If true, JSON configuration stores append changes to a journal rather than rewriting"
+                          + " the configuration file on every change.")
+    boolean DEFAULT_JSON_CONFIG_STORE_JOURNAL_ENABLED = false;
+
+    String JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD = "qpid.jsonConfigStore.journalCompactionThreshold";
+    @ManagedContextDefault(name = SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD,
+            description = "The number of journal entries after which a journaled JSON configuration store"
+                          + " writes a new snapshot of the configuration in the background.")
+    int DEFAULT_JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD = 10000;
+
 
     String MANAGEMENT_MODE_USER_NAME = "mm_admin";
 
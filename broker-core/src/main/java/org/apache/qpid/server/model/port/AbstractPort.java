@@ -489,7 +489,11 @@ public abstract class AbstractPort<X extends AbstractPort<X>> extends AbstractCo
         {
             addressSpace = null;
         }
-        return new SubjectCreator(getAuthenticationProvider(), children, addressSpace);
+        final AuthenticationProvider<?> authenticationProvider = getAuthenticationProvider();
+        return new SubjectCreator(authenticationProvider,
+                                  children,
+                                  addressSpace,
+                                  _container.getAuthenticationExecutor(authenticationProvider));
     }
 
     @Override
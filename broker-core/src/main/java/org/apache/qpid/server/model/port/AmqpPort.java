@@ -171,6 +171,51 @@ public interface AmqpPort<X extends AmqpPort<X>> extends Port<X>
             metricName = "aggregate_connection_count")
     long getTotalConnectionCount();
 
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Passes",
+            description = "Total number of times an I/O thread of this port processed a connection.",
+            metricName = "io_passes_count")
+    long getIoPasses();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "I/O Queue Wait Time",
+            description = "Total time (in milliseconds) connections waited for an I/O thread of this port to become"
+                      + " available.",
+            metricName = "io_queue_wait_time_milliseconds_count")
+    long getIoQueueWaitTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "I/O Work Time",
+            description = "Total time (in milliseconds) the I/O threads of this port spent processing connections.",
+            metricName = "io_work_time_milliseconds_count")
+    long getIoWorkTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+            label = "I/O Bytes Read",
+            description = "Total number of bytes read by the I/O threads of this port.",
+            metricName = "io_read_bytes_count")
+    long getIoBytesRead();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+            label = "I/O Bytes Written",
+            description = "Total number of bytes written by the I/O threads of this port.",
+            metricName = "io_written_bytes_count")
+    long getIoBytesWritten();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Write Blocked Yields",
+            description = "Number of times an I/O thread of this port gave up a connection because the network could"
+                      + " not accept all its output.",
+            metricName = "io_write_blocked_yields_count")
+    long getIoWriteBlockedYields();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Pool Saturated Yields",
+            description = "Number of times an I/O thread of this port gave up a connection with work remaining"
+                      + " because all I/O threads were busy.",
+            metricName = "io_pool_saturated_yields_count")
+    long getIoPoolSaturatedYields();
+
     @DerivedAttribute(description = "Maximum time allowed for a new connection to send a protocol header."
                                     + " If the connection does not send a protocol header within this time,"
                                     + " the connection will be aborted.")
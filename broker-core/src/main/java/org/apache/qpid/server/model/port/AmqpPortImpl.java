@@ -68,6 +68,7 @@ import org.apache.qpid.server.plugin.ProtocolEngineCreator;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
 import org.apache.qpid.server.plugin.TransportProviderFactory;
 import org.apache.qpid.server.transport.AcceptingTransport;
+import org.apache.qpid.server.transport.NetworkConnectionSchedulerStatistics;
 import org.apache.qpid.server.transport.PortBindFailureException;
 import org.apache.qpid.server.transport.TransportProvider;
 import org.apache.qpid.server.transport.network.security.ssl.SSLUtil;
@@ -615,6 +616,54 @@ public class AmqpPortImpl extends AbstractPort<AmqpPortImpl> implements AmqpPort
         return _totalConnectionCount.get();
     }
 
+    @Override
+    public long getIoPasses()
+    {
+        return getSchedulerStatistics().getPasses();
+    }
+
+    @Override
+    public long getIoQueueWaitTime()
+    {
+        return getSchedulerStatistics().getQueueWaitTime();
+    }
+
+    @Override
+    public long getIoWorkTime()
+    {
+        return getSchedulerStatistics().getWorkTime();
+    }
+
+    @Override
+    public long getIoBytesRead()
+    {
+        return getSchedulerStatistics().getBytesRead();
+    }
+
+    @Override
+    public long getIoBytesWritten()
+    {
+        return getSchedulerStatistics().getBytesWritten();
+    }
+
+    @Override
+    public long getIoWriteBlockedYields()
+    {
+        return getSchedulerStatistics().getWriteBlockedYields();
+    }
+
+    @Override
+    public long getIoPoolSaturatedYields()
+    {
+        return getSchedulerStatistics().getPoolSaturatedYields();
+    }
+
+    private NetworkConnectionSchedulerStatistics getSchedulerStatistics()
+    {
+        final AcceptingTransport transport = _transport;
+        return transport == null ? NetworkConnectionSchedulerStatistics.NONE : transport.getSchedulerStatistics();
+    }
+
     @Override
     public long getProtocolHandshakeTimeout()
     {
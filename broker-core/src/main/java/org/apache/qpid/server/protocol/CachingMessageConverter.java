@@ -0,0 +1,149 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.qpid.server.message.ConvertedMessageCache;
+import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.model.NamedAddressSpace;
+import org.apache.qpid.server.plugin.MessageConverter;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+
+/**
+ * Decorates a {@link MessageConverter} so that the converted message is kept in the
+ * {@link ConvertedMessageCache} of the source message and shared by subsequent deliveries.  Caching is enabled per
+ * virtualhost, which accounts the bytes held by cached conversions in its in-memory message size.
+ */
+class CachingMessageConverter<M extends ServerMessage, N extends ServerMessage> implements MessageConverter<M, N>
+{
+    private final MessageConverter<M, N> _delegate;
+    private final Map<N, ConvertedMessageCache.CachedConversion<N>> _acquiredConversions = new ConcurrentHashMap<>();
+    private final LongAdder _conversionCount = new LongAdder();
+    private final LongAdder _cacheHitCount = new LongAdder();
+
+    CachingMessageConverter(final MessageConverter<M, N> delegate)
+    {
+        _delegate = delegate;
+    }
+
+    @Override
+    public Class<M> getInputClass()
+    {
+        return _delegate.getInputClass();
+    }
+
+    @Override
+    public Class<N> getOutputClass()
+    {
+        return _delegate.getOutputClass();
+    }
+
+    @Override
+    public N convert(final M message, final NamedAddressSpace addressSpace)
+    {
+        final QueueManagingVirtualHost<?> virtualHost = getCachingVirtualHost(addressSpace);
+        if (virtualHost != null)
+        {
+            final ConvertedMessageCache cache = message.getConvertedMessageCache();
+            final ConvertedMessageCache.CachedConversion<N> cached = cache == null ? null : cache.acquire(getOutputClass());
+            if (cached != null)
+            {
+                _cacheHitCount.increment();
+                _acquiredConversions.putIfAbsent(cached.getMessage(), cached);
+                return cached.getMessage();
+            }
+        }
+
+        // conversions of messages whose content is not held in memory are not cached, as this would defeat flow to disk
+        final boolean cacheable = virtualHost != null && message.getStoredMessage().isInContentInMemory();
+        final N converted = _delegate.convert(message, addressSpace);
+        _conversionCount.increment();
+
+        if (cacheable)
+        {
+            final ConvertedMessageCache cache = message.getOrCreateConvertedMessageCache();
+            if (cache != null)
+            {
+                final long size = converted.getStoredMessage().getInMemorySize();
+                final ConvertedMessageCache.CachedConversion<N> cached =
+                        cache.add(getOutputClass(), converted, size, convertedMessage -> {
+                            virtualHost.changeConvertedMessageCacheSize(-size);
+                            disposeConversion(convertedMessage);
+                        });
+                if (cached != null)
+                {
+                    virtualHost.changeConvertedMessageCacheSize(size);
+                    _acquiredConversions.put(converted, cached);
+                }
+            }
+        }
+        return converted;
+    }
+
+    @Override
+    public void dispose(final N message)
+    {
+        final ConvertedMessageCache.CachedConversion<N> cached = _acquiredConversions.get(message);
+        if (cached == null)
+        {
+            _delegate.dispose(message);
+        }
+        else
+        {
+            cached.release();
+        }
+    }
+
+    @Override
+    public String getType()
+    {
+        return _delegate.getType();
+    }
+
+    long getConversionCount()
+    {
+        return _conversionCount.sum();
+    }
+
+    long getCacheHitCount()
+    {
+        return _cacheHitCount.sum();
+    }
+
+    private QueueManagingVirtualHost<?> getCachingVirtualHost(final NamedAddressSpace addressSpace)
+    {
+        if (addressSpace instanceof QueueManagingVirtualHost
+            && ((QueueManagingVirtualHost<?>) addressSpace).isMessageConversionCacheEnabled())
+        {
+            return (QueueManagingVirtualHost<?>) addressSpace;
+        }
+        return null;
+    }
+
+    private void disposeConversion(final N message)
+    {
+        _acquiredConversions.remove(message);
+        _delegate.dispose(message);
+    }
+}
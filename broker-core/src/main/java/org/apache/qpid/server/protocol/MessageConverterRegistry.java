@@ -23,6 +23,8 @@ package org.apache.qpid.server.protocol;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.plugin.MessageConverter;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
@@ -43,7 +45,7 @@ public class MessageConverterRegistry
                 map = new HashMap<Class<? extends ServerMessage>, MessageConverter>();
                 _converters.put(converter.getInputClass(), map);
             }
-            map.put(converter.getOutputClass(),converter);
+            map.put(converter.getOutputClass(), new CachingMessageConverter<>(converter));
         }
     }
 
@@ -56,4 +58,25 @@ public class MessageConverterRegistry
         }
         return map == null ? null : map.get(to);
     }
+
+    /**
+     * Returns, for each registered converter, the number of conversions performed and the number of deliveries
+     * which reused a previously converted representation.
+     */
+    public static Map<String, Map<String, Long>> getConversionStatistics()
+    {
+        final Map<String, Map<String, Long>> statistics = new TreeMap<>();
+        for (Map<Class<? extends ServerMessage>, MessageConverter> converters : _converters.values())
+        {
+            for (MessageConverter converter : converters.values())
+            {
+                final CachingMessageConverter<?, ?> cachingConverter = (CachingMessageConverter<?, ?>) converter;
+                final Map<String, Long> converterStatistics = new HashMap<>();
+                converterStatistics.put("conversions", cachingConverter.getConversionCount());
+                converterStatistics.put("cacheHits", cachingConverter.getCacheHitCount());
+                statistics.put(cachingConverter.getType(), converterStatistics);
+            }
+        }
+        return statistics;
+    }
 }
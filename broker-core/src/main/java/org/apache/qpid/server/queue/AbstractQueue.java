@@ -85,6 +85,7 @@ import org.apache.qpid.server.logging.LogMessage;
 import org.apache.qpid.server.logging.LogSubject;
 import org.apache.qpid.server.logging.messages.QueueMessages;
 import org.apache.qpid.server.logging.subjects.QueueLogSubject;
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.InstanceProperties;
 import org.apache.qpid.server.message.MessageContainer;
 import org.apache.qpid.server.message.MessageDeletedException;
@@ -109,6 +110,7 @@ import org.apache.qpid.server.security.SecurityToken;
 import org.apache.qpid.server.security.access.Operation;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
 import org.apache.qpid.server.session.AMQPSession;
+import org.apache.qpid.server.stats.LatencyHistogram;
 import org.apache.qpid.server.store.MessageDurability;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
 import org.apache.qpid.server.store.StorableMessageMetaData;
@@ -285,6 +287,7 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
     private volatile RejectPolicyHandler _rejectPolicyHandler;
     private volatile OverflowPolicyHandler _postEnqueueOverflowPolicyHandler;
     private long _flowToDiskThreshold;
+    private long _largeMessageThreshold;
     private volatile MessageDestination _alternateBindingDestination;
     private volatile MessageConversionExceptionHandlingPolicy _messageConversionExceptionHandlingPolicy;
 
@@ -513,6 +516,12 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         _messageConversionExceptionHandlingPolicy = getContextValue(MessageConversionExceptionHandlingPolicy.class, MESSAGE_CONVERSION_EXCEPTION_HANDLING_POLICY);
 
         _flowToDiskThreshold = getAncestor(Broker.class).getFlowToDiskThreshold();
+        _largeMessageThreshold = getContextValue(Long.class, Broker.BROKER_LARGE_MESSAGE_THRESHOLD);
+
+        if (Boolean.TRUE.equals(getContextValue(Boolean.class, QUEUE_LATENCY_HISTOGRAMS_ENABLED)))
+        {
+            _queueStatistics.enableLatencyHistograms();
+        }
 
         if(_defaultFilters != null)
         {
@@ -1289,13 +1298,21 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
             entry = doEnqueue(message, action, enqueueRecord);
         }
 
+        final LatencyHistogram enqueueLatency = _queueStatistics.getEnqueueLatency();
+        if (enqueueLatency != null)
+        {
+            enqueueLatency.record(System.currentTimeMillis() - message.getArrivalTime());
+        }
+
         final StoredMessage storedMessage = message.getStoredMessage();
         if ((_virtualHost.isOverTargetSize()
-             || QpidByteBuffer.getAllocatedDirectMemorySize() > _flowToDiskThreshold)
+             || QpidByteBuffer.getAllocatedDirectMemorySize() > _flowToDiskThreshold
+             || (_largeMessageThreshold >= 0L && storedMessage.getContentSize() >= _largeMessageThreshold))
             && storedMessage.getInMemorySize() > 0)
         {
             if (message.checkValid())
             {
+                ConvertedMessageCache.evictConversions(message);
                 storedMessage.flowToDisk();
             }
             else
@@ -1636,6 +1653,47 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
         return oldestMessageArrivalTime;
     }
 
+    @Override
+    public long getEnqueueLatencyMedian()
+    {
+        return getValueAtPercentile(_queueStatistics.getEnqueueLatency(), 50.0);
+    }
+
+    @Override
+    public long getEnqueueLatency99thPercentile()
+    {
+        return getValueAtPercentile(_queueStatistics.getEnqueueLatency(), 99.0);
+    }
+
+    @Override
+    public long getFirstDeliveryLatencyMedian()
+    {
+        return getValueAtPercentile(_queueStatistics.getFirstDeliveryLatency(), 50.0);
+    }
+
+    @Override
+    public long getFirstDeliveryLatency99thPercentile()
+    {
+        return getValueAtPercentile(_queueStatistics.getFirstDeliveryLatency(), 99.0);
+    }
+
+    @Override
+    public long getSettlementLatencyMedian()
+    {
+        return getValueAtPercentile(_queueStatistics.getSettlementLatency(), 50.0);
+    }
+
+    @Override
+    public long getSettlementLatency99thPercentile()
+    {
+        return getValueAtPercentile(_queueStatistics.getSettlementLatency(), 99.0);
+    }
+
+    private static long getValueAtPercentile(final LatencyHistogram histogram, final double percentile)
+    {
+        return histogram == null ? 0L : histogram.getValueAtPercentile(percentile);
+    }
+
     @Override
     public long getOldestMessageAge()
     {
@@ -2184,50 +2242,42 @@ public abstract class AbstractQueue<X extends AbstractQueue<X>>
 
     MessageContainer deliverSingleMessage(QueueConsumer<?,?> consumer)
     {
-        boolean queueEmpty = false;
         MessageContainer messageContainer = null;
         _queueConsumerManager.setNotified(consumer, false);
-        try
-        {
 
-            if (!consumer.isSuspended())
+        if (!consumer.isSuspended())
+        {
+            if(consumer.isNonLive())
             {
-                if(consumer.isNonLive())
-                {
-                    messageContainer = NO_MESSAGES;
-                }
-                else
-                {
-                    messageContainer = attemptDelivery(consumer);
-                }
+                messageContainer = NO_MESSAGES;
+            }
+            else
+            {
+                messageContainer = attemptDelivery(consumer);
+            }
 
-                if(messageContainer.getMessageInstance() == null)
+            if(messageContainer.getMessageInstance() == null)
+            {
+                if (consumer.acquires())
                 {
-                    if (consumer.acquires())
+                    if (hasAvailableMessages())
                     {
-                        if (hasAvailableMessages())
-                        {
-                            notifyOtherConsumers(consumer);
-                        }
+                        notifyOtherConsumers(consumer);
                     }
-
-                    consumer.noMessagesAvailable();
-                    messageContainer = null;
-                }
-                else
-                {
-                    _queueConsumerManager.setNotified(consumer, true);
                 }
+
+                consumer.noMessagesAvailable();
+                messageContainer = null;
             }
             else
             {
-                // avoid referring old deleted queue entry in sub._queueContext._lastSeen
-                getNextAvailableEntry(consumer);
+                _queueConsumerManager.setNotified(consumer, true);
             }
         }
-        finally
+        else
         {
-            consumer.flushBatched();
+            // avoid referring old deleted queue entry in sub._queueContext._lastSeen
+            getNextAvailableEntry(consumer);
         }
 
         return messageContainer;
@@ -20,6 +20,9 @@
  */
 package org.apache.qpid.server.queue;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.qpid.server.message.MessageInstance;
 import org.apache.qpid.server.model.Queue;
 import org.apache.qpid.server.store.MessageDurability;
@@ -31,6 +34,11 @@ abstract class AbstractQueueEntryList implements QueueEntryList
     private final boolean _respectPersistent;
     private final Queue<?> _queue;
     private final QueueStatistics _queueStatistics;
+    /**
+     * Times at which consumers acquired the entries they currently hold, only maintained if latency histograms are
+     * enabled so that entries themselves do not carry the time.
+     */
+    private final Map<QueueEntry, Long> _consumerAcquiredTimes = new ConcurrentHashMap<>();
 
     protected AbstractQueueEntryList(final Queue<?> queue, final QueueStatistics queueStatistics)
     {
@@ -56,6 +64,29 @@ abstract class AbstractQueueEntryList implements QueueEntryList
         }
     }
 
+    private void recordLatency(final QueueEntry entry,
+                               final QueueStatistics queueStatistics,
+                               final boolean isConsumerAcquired)
+    {
+        final long now = System.currentTimeMillis();
+        if (isConsumerAcquired)
+        {
+            _consumerAcquiredTimes.put(entry, now);
+            if (!entry.getDeliveredToConsumer())
+            {
+                queueStatistics.getFirstDeliveryLatency().record(now - entry.getMessage().getArrivalTime());
+            }
+        }
+        else
+        {
+            final Long consumerAcquiredTime = _consumerAcquiredTimes.remove(entry);
+            if (consumerAcquiredTime != null)
+            {
+                queueStatistics.getSettlementLatency().record(now - consumerAcquiredTime);
+            }
+        }
+    }
+
     @Override
     public void updateStatsOnStateChange(QueueEntry entry, QueueEntry.EntryState fromState, QueueEntry.EntryState toState)
     {
@@ -65,6 +96,11 @@ abstract class AbstractQueueEntryList implements QueueEntryList
         final boolean isConsumerAcquired = toState instanceof MessageInstance.ConsumerAcquiredState;
         final boolean wasConsumerAcquired = fromState instanceof MessageInstance.ConsumerAcquiredState;
 
+        if (isConsumerAcquired != wasConsumerAcquired && queueStatistics.getFirstDeliveryLatency() != null)
+        {
+            recordLatency(entry, queueStatistics, isConsumerAcquired);
+        }
+
         switch(fromState.getState())
         {
             case AVAILABLE:
@@ -18,6 +18,7 @@
  */
 package org.apache.qpid.server.queue;
 
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.MessageDeletedException;
 import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.ServerMessage;
@@ -130,6 +131,7 @@ public class FlowToDiskOverflowPolicyHandler implements OverflowPolicyHandler
             {
                 if (node.getQueue().checkValid(node))
                 {
+                    ConvertedMessageCache.evictConversions(messageReference.getMessage());
                     messageReference.getMessage().getStoredMessage().flowToDisk();
                 }
             }
@@ -23,6 +23,8 @@ package org.apache.qpid.server.queue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.qpid.server.stats.LatencyHistogram;
+
 final class QueueStatistics
 {
     private final AtomicInteger _queueCount = new AtomicInteger();
@@ -57,6 +59,10 @@ final class QueueStatistics
     private final AtomicInteger _malformedCount = new AtomicInteger();
     private final AtomicLong _malformedSize = new AtomicLong();
 
+    private volatile LatencyHistogram _enqueueLatency;
+    private volatile LatencyHistogram _firstDeliveryLatency;
+    private volatile LatencyHistogram _settlementLatency;
+
     public final int getQueueCount()
     {
         return _queueCount.get();
@@ -258,4 +264,38 @@ final class QueueStatistics
         _malformedCount.incrementAndGet();
         _malformedSize.addAndGet(size);
     }
+
+    void enableLatencyHistograms()
+    {
+        _enqueueLatency = new LatencyHistogram();
+        _firstDeliveryLatency = new LatencyHistogram();
+        _settlementLatency = new LatencyHistogram();
+    }
+
+    /**
+     * Returns the histogram of the times from the arrival of messages until they are enqueued, or null if latency
+     * histograms are not enabled.
+     */
+    LatencyHistogram getEnqueueLatency()
+    {
+        return _enqueueLatency;
+    }
+
+    /**
+     * Returns the histogram of the times from the arrival of messages until they are first acquired by a consumer,
+     * or null if latency histograms are not enabled.
+     */
+    LatencyHistogram getFirstDeliveryLatency()
+    {
+        return _firstDeliveryLatency;
+    }
+
+    /**
+     * Returns the histogram of the times from the acquisition of messages by a consumer until they are acknowledged
+     * or released, or null if latency histograms are not enabled.
+     */
+    LatencyHistogram getSettlementLatency()
+    {
+        return _settlementLatency;
+    }
 }
@@ -22,14 +22,25 @@ package org.apache.qpid.server.security;
 
 import static org.apache.qpid.server.logging.messages.AuthenticationProviderMessages.AUTHENTICATION_FAILED;
 
+import java.security.AccessControlContext;
+import java.security.AccessController;
 import java.security.Principal;
+import java.security.PrivilegedAction;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.security.auth.Subject;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import org.apache.qpid.server.model.AuthenticationProvider;
 import org.apache.qpid.server.model.GroupProvider;
 import org.apache.qpid.server.model.NamedAddressSpace;
@@ -52,17 +63,29 @@ import org.apache.qpid.server.security.auth.sasl.SaslSettings;
  */
 public class SubjectCreator
 {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubjectCreator.class);
+
     private final NamedAddressSpace _addressSpace;
     private AuthenticationProvider<?> _authenticationProvider;
     private Collection<GroupProvider<?>> _groupProviders;
+    private final Executor _authenticationExecutor;
 
     public SubjectCreator(AuthenticationProvider<?> authenticationProvider,
                           Collection<GroupProvider<?>> groupProviders,
                           NamedAddressSpace addressSpace)
+    {
+        this(authenticationProvider, groupProviders, addressSpace, null);
+    }
+
+    public SubjectCreator(AuthenticationProvider<?> authenticationProvider,
+                          Collection<GroupProvider<?>> groupProviders,
+                          NamedAddressSpace addressSpace,
+                          Executor authenticationExecutor)
     {
         _authenticationProvider = authenticationProvider;
         _groupProviders = groupProviders;
         _addressSpace = addressSpace;
+        _authenticationExecutor = authenticationExecutor;
     }
 
     public AuthenticationProvider<?> getAuthenticationProvider()
@@ -93,6 +116,48 @@ public class SubjectCreator
         }
     }
 
+    /**
+     * Performs the authentication step on the authentication executor, so that expensive credential checks (salted
+     * hashes, calls to external servers) do not occupy the I/O thread of the connection.  If there is no
+     * authentication executor, the step is performed by the calling thread.  If the executor does not accept the
+     * step (for instance because the authentication provider has reached its limit of outstanding steps), the step
+     * is not performed and the returned future is complete with an {@link AuthenticationStatus#ERROR} result.
+     */
+    public ListenableFuture<SubjectAuthenticationResult> authenticateAsync(final SaslNegotiator saslNegotiator,
+                                                                           final byte[] response)
+    {
+        if (_authenticationExecutor != null)
+        {
+            final AccessControlContext context = AccessController.getContext();
+            final SettableFuture<SubjectAuthenticationResult> future = SettableFuture.create();
+            try
+            {
+                _authenticationExecutor.execute(() -> AccessController.doPrivileged(
+                        (PrivilegedAction<Void>) () ->
+                        {
+                            try
+                            {
+                                future.set(authenticate(saslNegotiator, response));
+                            }
+                            catch (RuntimeException e)
+                            {
+                                future.set(new SubjectAuthenticationResult(new AuthenticationResult(AuthenticationStatus.ERROR, e)));
+                            }
+                            return null;
+                        }, context));
+                return future;
+            }
+            catch (RejectedExecutionException e)
+            {
+                LOGGER.debug("Authentication step using provider '{}' rejected: {}",
+                             _authenticationProvider.getName(), e.getMessage());
+                return Futures.immediateFuture(new SubjectAuthenticationResult(
+                        new AuthenticationResult(AuthenticationStatus.ERROR, e)));
+            }
+        }
+        return Futures.immediateFuture(authenticate(saslNegotiator, response));
+    }
+
     public SubjectAuthenticationResult createResultWithGroups(final AuthenticationResult authenticationResult)
     {
         if(authenticationResult.getStatus() == AuthenticationStatus.SUCCESS)
@@ -67,6 +67,7 @@ public abstract class AbstractScramAuthenticationManager<X extends AbstractScram
 
     private int _iterationCount = DEFAULT_ITERATION_COUNT;
     private boolean _doNotCreateStoredPasswordBecauseItIsBeingUpgraded;
+    private volatile AuthenticationResultCacher _authenticationResultCacher;
 
 
     protected AbstractScramAuthenticationManager(final Map<String, Object> attributes, final Broker broker)
@@ -79,6 +80,10 @@ public abstract class AbstractScramAuthenticationManager<X extends AbstractScram
     protected ListenableFuture<Void> activate()
     {
         _iterationCount = getContextValue(Integer.class, QPID_AUTHMANAGER_SCRAM_ITERATION_COUNT);
+        _authenticationResultCacher = new AuthenticationResultCacher(
+                getContextValue(Integer.class, CachingAuthenticationProvider.AUTHENTICATION_CACHE_MAX_SIZE),
+                getContextValue(Long.class, CachingAuthenticationProvider.AUTHENTICATION_CACHE_EXPIRATION_TIME),
+                getContextValue(Integer.class, CachingAuthenticationProvider.AUTHENTICATION_CACHE_ITERATION_COUNT));
         for(ManagedUser user : getUserMap().values())
         {
             updateStoredPasswordFormatIfNecessary(user);
@@ -116,31 +121,45 @@ public abstract class AbstractScramAuthenticationManager<X extends AbstractScram
     @Override
     public AuthenticationResult authenticate(final String username, final String password)
     {
-        ManagedUser user = getUser(username);
-        if(user != null)
+        final ManagedUser user = getUser(username);
+        if (user == null)
         {
-            updateStoredPasswordFormatIfNecessary(user);
-            SaltAndPasswordKeys saltAndPasswordKeys = getSaltAndPasswordKeys(username);
-            try
-            {
-                byte[] saltedPassword = createSaltedPassword(saltAndPasswordKeys.getSalt(), password, saltAndPasswordKeys.getIterationCount());
-                byte[] clientKey = computeHmac(saltedPassword, "Client Key");
+            return new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR);
+        }
+        updateStoredPasswordFormatIfNecessary(user);
 
-                byte[] storedKey = MessageDigest.getInstance(getDigestName()).digest(clientKey);
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        if (authenticationResultCacher == null)
+        {
+            return authenticateUser(username, password);
+        }
+        // the stored password forms part of the key, so a changed or reset password never matches an earlier result
+        return authenticationResultCacher.getOrLoad(new String[]{username, password, user.getPassword()},
+                                                    () -> authenticateUser(username, password));
+    }
 
-                byte[] serverKey = computeHmac(saltedPassword, "Server Key");
+    private AuthenticationResult authenticateUser(final String username, final String password)
+    {
+        SaltAndPasswordKeys saltAndPasswordKeys = getSaltAndPasswordKeys(username);
+        try
+        {
+            byte[] saltedPassword = createSaltedPassword(saltAndPasswordKeys.getSalt(), password, saltAndPasswordKeys.getIterationCount());
+            byte[] clientKey = computeHmac(saltedPassword, "Client Key");
 
-                if(Arrays.equals(saltAndPasswordKeys.getStoredKey(), storedKey)
-                   && Arrays.equals(saltAndPasswordKeys.getServerKey(), serverKey))
-                {
-                    return new AuthenticationResult(new UsernamePrincipal(username, this));
-                }
-            }
-            catch (IllegalArgumentException | NoSuchAlgorithmException | SaslException e)
+            byte[] storedKey = MessageDigest.getInstance(getDigestName()).digest(clientKey);
+
+            byte[] serverKey = computeHmac(saltedPassword, "Server Key");
+
+            if(Arrays.equals(saltAndPasswordKeys.getStoredKey(), storedKey)
+               && Arrays.equals(saltAndPasswordKeys.getServerKey(), serverKey))
             {
-                return new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR,e);
+                return new AuthenticationResult(new UsernamePrincipal(username, this));
             }
         }
+        catch (IllegalArgumentException | NoSuchAlgorithmException | SaslException e)
+        {
+            return new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR,e);
+        }
 
         return new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR);
     }
@@ -30,6 +30,7 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.security.auth.Subject;
 
@@ -43,6 +44,11 @@ import org.apache.qpid.server.security.auth.AuthenticationResult;
 import org.apache.qpid.server.security.auth.SocketConnectionPrincipal;
 import org.apache.qpid.server.util.StringUtil;
 
+/**
+ * Caches the results of checking credentials against an external service, keyed on a digest of the credentials and
+ * the remote address of the connection.  The number of credential checks, the number which had to be loaded from the
+ * service, the number which failed and the time spent loading them are recorded.
+ */
 public class AuthenticationResultCacher
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthenticationResultCacher.class);
@@ -50,6 +56,10 @@ public class AuthenticationResultCacher
 
     private final Cache<String, AuthenticationResult> _authenticationCache;
     private final int _iterationCount;
+    private final LongAdder _requests = new LongAdder();
+    private final LongAdder _loads = new LongAdder();
+    private final LongAdder _failures = new LongAdder();
+    private final LongAdder _loadTime = new LongAdder();
 
     public AuthenticationResultCacher(int cacheSize, long expirationTime, int iterationCount)
     {
@@ -70,12 +80,24 @@ public class AuthenticationResultCacher
     }
 
     public AuthenticationResult getOrLoad(final String[] credentials, final Callable<AuthenticationResult> loader)
+    {
+        _requests.increment();
+        final AuthenticationResult result = getOrLoadInternal(credentials, loader);
+        if (result.getStatus() == AuthenticationResult.AuthenticationStatus.ERROR)
+        {
+            _failures.increment();
+        }
+        return result;
+    }
+
+    private AuthenticationResult getOrLoadInternal(final String[] credentials,
+                                                   final Callable<AuthenticationResult> loader)
     {
         try
         {
             if (_authenticationCache == null)
             {
-                return loader.call();
+                return load(loader);
             }
             else
             {
@@ -85,7 +107,7 @@ public class AuthenticationResultCacher
                     @Override
                     public AuthenticationResult call() throws Exception
                     {
-                        return loader.call();
+                        return load(loader);
                     }
                 });
             }
@@ -108,6 +130,43 @@ public class AuthenticationResultCacher
         }
     }
 
+    private AuthenticationResult load(final Callable<AuthenticationResult> loader) throws Exception
+    {
+        final long startTime = System.nanoTime();
+        try
+        {
+            return loader.call();
+        }
+        finally
+        {
+            _loads.increment();
+            _loadTime.add(System.nanoTime() - startTime);
+        }
+    }
+
+    public long getRequestCount()
+    {
+        return _requests.sum();
+    }
+
+    public long getLoadCount()
+    {
+        return _loads.sum();
+    }
+
+    public long getFailureCount()
+    {
+        return _failures.sum();
+    }
+
+    /**
+     * Returns the total time in milliseconds spent loading results which were not in the cache.
+     */
+    public long getLoadTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_loadTime.sum());
+    }
+
     private String digestCredentials(final String... content)
     {
         try
@@ -115,7 +174,8 @@ public class AuthenticationResultCacher
             MessageDigest md = MessageDigest.getInstance("SHA-256");
 
             Subject subject = Subject.getSubject(AccessController.getContext());
-            Set<SocketConnectionPrincipal> connectionPrincipals = subject.getPrincipals(SocketConnectionPrincipal.class);
+            Set<SocketConnectionPrincipal> connectionPrincipals =
+                    subject == null ? null : subject.getPrincipals(SocketConnectionPrincipal.class);
             if (connectionPrincipals != null && !connectionPrincipals.isEmpty())
             {
                 SocketConnectionPrincipal connectionPrincipal = connectionPrincipals.iterator().next();
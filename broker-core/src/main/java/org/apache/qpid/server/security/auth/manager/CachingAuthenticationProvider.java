@@ -21,6 +21,9 @@ package org.apache.qpid.server.security.auth.manager;
 
 import org.apache.qpid.server.model.AuthenticationProvider;
 import org.apache.qpid.server.model.ManagedContextDefault;
+import org.apache.qpid.server.model.ManagedStatistic;
+import org.apache.qpid.server.model.StatisticType;
+import org.apache.qpid.server.model.StatisticUnit;
 
 public interface CachingAuthenticationProvider<X extends AuthenticationProvider<X>> extends AuthenticationProvider<X>
 {
@@ -41,4 +44,30 @@ public interface CachingAuthenticationProvider<X extends AuthenticationProvider<
     @ManagedContextDefault(name = AUTHENTICATION_CACHE_ITERATION_COUNT,
             description = "Number of rounds of hashing to apply to the credentials before using them in the cache.")
     int DEFAULT_AUTHENTICATION_CACHE_ITERATION_COUNT = 4096;
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Authentications",
+            description = "Total number of credentials checked by this authentication provider.",
+            metricName = "authentications_count")
+    long getAuthentications();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Authentication Failures",
+            description = "Total number of credentials rejected by this authentication provider.",
+            metricName = "authentication_failures_count")
+    long getAuthenticationFailures();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Authentication Cache Misses",
+            description = "Total number of credentials which could not be checked against the cache and were"
+                          + " checked against the external service.",
+            metricName = "authentication_cache_misses_count")
+    long getAuthenticationCacheMisses();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Authentication Service Time",
+            description = "Total time (in milliseconds) spent waiting for the external service to check"
+                          + " credentials.",
+            metricName = "authentication_service_time_milliseconds_count")
+    long getAuthenticationServiceTime();
 }
@@ -152,7 +152,7 @@ public class SimpleLDAPAuthenticationManagerImpl
     private List<String> _tlsCipherSuiteAllowList;
     private List<String> _tlsCipherSuiteDenyList;
 
-    private AuthenticationResultCacher _authenticationResultCacher;
+    private volatile AuthenticationResultCacher _authenticationResultCacher;
 
     /**
      * Dynamically created SSL Socket Factory implementation.
@@ -327,6 +327,34 @@ public class SimpleLDAPAuthenticationManagerImpl
         return getOrLoadAuthenticationResult(username, password);
     }
 
+    @Override
+    public long getAuthentications()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getRequestCount();
+    }
+
+    @Override
+    public long getAuthenticationFailures()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getFailureCount();
+    }
+
+    @Override
+    public long getAuthenticationCacheMisses()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getLoadCount();
+    }
+
+    @Override
+    public long getAuthenticationServiceTime()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getLoadTime();
+    }
+
     private AuthenticationResult getOrLoadAuthenticationResult(final String userId, final String password)
     {
         return _authenticationResultCacher.getOrLoad(new String[]{userId, password}, new Callable<AuthenticationResult>()
@@ -115,7 +115,7 @@ public class OAuth2AuthenticationProviderImpl
     private int _connectTimeout;
     private int _readTimeout;
 
-    private AuthenticationResultCacher _authenticationResultCacher;
+    private volatile AuthenticationResultCacher _authenticationResultCacher;
 
     @ManagedObjectFactoryConstructor
     protected OAuth2AuthenticationProviderImpl(final Map<String, Object> attributes,
@@ -361,6 +361,34 @@ public class OAuth2AuthenticationProviderImpl
         });
     }
 
+    @Override
+    public long getAuthentications()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getRequestCount();
+    }
+
+    @Override
+    public long getAuthenticationFailures()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getFailureCount();
+    }
+
+    @Override
+    public long getAuthenticationCacheMisses()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getLoadCount();
+    }
+
+    @Override
+    public long getAuthenticationServiceTime()
+    {
+        final AuthenticationResultCacher authenticationResultCacher = _authenticationResultCacher;
+        return authenticationResultCacher == null ? 0L : authenticationResultCacher.getLoadTime();
+    }
+
     @Override
     public URI getAuthorizationEndpointURI()
     {
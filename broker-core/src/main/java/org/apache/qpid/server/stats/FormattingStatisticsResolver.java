@@ -38,7 +38,12 @@ public class FormattingStatisticsResolver implements Resolver
 
     FormattingStatisticsResolver(final ConfiguredObject<?> object)
     {
-        _statistics = object.getStatistics();
+        this(object.getStatistics());
+    }
+
+    FormattingStatisticsResolver(final Map<String, Object> statistics)
+    {
+        _statistics = statistics;
     }
 
     @Override
@@ -0,0 +1,127 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies with a fixed relative precision, in the manner of an HDR histogram.
+ *
+ * Values below 8 are counted exactly.  Larger values are counted in buckets dividing every power of two range into
+ * eight, so that percentiles are reported with an error of at most 12.5%.  Values of 2^41 and above are counted in the
+ * last bucket.  Recording neither allocates nor locks, so histograms can be left enabled in production.
+ */
+public final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAXIMUM_EXPONENT = 40;
+    private static final int BUCKETS = (MAXIMUM_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray _counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong _maximum = new AtomicLong();
+
+    public void record(final long value)
+    {
+        final long latency = Math.max(0L, value);
+        _counts.incrementAndGet(getBucket(latency));
+
+        long maximum = _maximum.get();
+        while (latency > maximum && !_maximum.compareAndSet(maximum, latency))
+        {
+            maximum = _maximum.get();
+        }
+    }
+
+    public long getCount()
+    {
+        long count = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            count += _counts.get(i);
+        }
+        return count;
+    }
+
+    public long getMaximum()
+    {
+        return _maximum.get();
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of recorded values lie, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(final double percentile)
+    {
+        final long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            counts[i] = _counts.get(i);
+            total += counts[i];
+        }
+        if (total == 0L)
+        {
+            return 0L;
+        }
+
+        final long rank = Math.max(1L, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0L;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += counts[i];
+            if (seen >= rank)
+            {
+                return Math.min(getHighestValue(i), getMaximum());
+            }
+        }
+        return getMaximum();
+    }
+
+    static int getBucket(final long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAXIMUM_EXPONENT + 1);
+        if (exponent > MAXIMUM_EXPONENT)
+        {
+            return BUCKETS - 1;
+        }
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long getHighestValue(final int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKETS;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return ((SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS)) + width - 1;
+    }
+}
@@ -49,6 +49,7 @@ public class StatisticsReportingTask extends TimerTask
     private final Subject _subject;
     private final ConfiguredObjectTypeRegistry _typeRegistry;
     private final Map<Class<? extends ConfiguredObject>, Set<ConfiguredObjectOperation<?>>> _associatedOperations = new HashMap<>();
+    private StatisticsSnapshot _snapshot;
 
     public StatisticsReportingTask(final ConfiguredObject<?> root, final Subject subject)
     {
@@ -61,7 +62,15 @@ public class StatisticsReportingTask extends TimerTask
     public void run()
     {
         Subject.doAs(_subject, (PrivilegedAction<Object>) () -> {
-            processChild(_root);
+            _snapshot = StatisticsSnapshot.getLatest(_root);
+            try
+            {
+                processChild(_root);
+            }
+            finally
+            {
+                _snapshot = null;
+            }
             return null;
         });
     }
@@ -119,7 +128,7 @@ public class StatisticsReportingTask extends TimerTask
         if (object.getContextKeys(false).contains(statisticsReportPatternContextKey))
         {
             String reportPattern = object.getContextValue(String.class, statisticsReportPatternContextKey);
-            String formattedStatistics = Strings.expand(reportPattern, false, new FormattingStatisticsResolver(object));
+            String formattedStatistics = Strings.expand(reportPattern, false, new FormattingStatisticsResolver(_snapshot.getStatistics(object)));
 
             String loggerName = String.format("qpid.statistics.%s", object.getCategoryClass().getSimpleName());
             Logger logger = LoggerFactory.getLogger(loggerName);
@@ -0,0 +1,167 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.stats;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.server.model.Broker;
+import org.apache.qpid.server.model.ConfiguredObject;
+
+/**
+ * The statistics of every object in a configured object tree, collected together at one point in time.
+ *
+ * Snapshots are immutable and are shared by everything reporting statistics, such as the metrics exporter, the
+ * REST API and the periodic statistics reports, so that the statistics of the tree are only collected once per
+ * snapshot interval however many consumers there are.  The Broker collects snapshots in a housekeeping task, so
+ * readers never wait for a collection.  The statistics of objects created since the snapshot was taken are read from
+ * the objects themselves.
+ */
+public final class StatisticsSnapshot
+{
+    private static final StatisticsSnapshot LIVE = new StatisticsSnapshot(Collections.emptyMap(), 0L, 0L);
+
+    private final Map<ConfiguredObject<?>, Map<String, Object>> _statistics;
+    private final long _timestamp;
+    private final long _collectionDuration;
+
+    private StatisticsSnapshot(final Map<ConfiguredObject<?>, Map<String, Object>> statistics,
+                               final long timestamp,
+                               final long collectionDuration)
+    {
+        _statistics = statistics;
+        _timestamp = timestamp;
+        _collectionDuration = collectionDuration;
+    }
+
+    /**
+     * Collects the statistics of the given object and all its descendants.
+     */
+    public static StatisticsSnapshot collect(final ConfiguredObject<?> root)
+    {
+        final long startTime = System.nanoTime();
+        final Map<ConfiguredObject<?>, Map<String, Object>> statistics = new IdentityHashMap<>();
+        collect(root, statistics);
+        final long collectionDuration = (System.nanoTime() - startTime) / 1_000_000L;
+        return new StatisticsSnapshot(Collections.unmodifiableMap(statistics),
+                                      System.currentTimeMillis(),
+                                      collectionDuration);
+    }
+
+    /**
+     * Returns the latest snapshot of the broker to which the given object belongs, or a snapshot reading the
+     * statistics from the objects themselves if the broker does not take snapshots.  As this looks up the broker
+     * through the ancestors of the object, a report should look up the snapshot once and use it for all its objects.
+     */
+    public static StatisticsSnapshot getLatest(final ConfiguredObject<?> object)
+    {
+        ConfiguredObject<?> ancestor = object;
+        while (ancestor != null && !(ancestor instanceof Broker))
+        {
+            ancestor = ancestor.getParent();
+        }
+        if (ancestor != null)
+        {
+            final StatisticsSnapshot snapshot = ((Broker<?>) ancestor).getStatisticsSnapshot();
+            if (snapshot != null)
+            {
+                return snapshot;
+            }
+        }
+        return LIVE;
+    }
+
+    public Map<String, Object> getStatistics(final ConfiguredObject<?> object)
+    {
+        final Map<String, Object> statistics = _statistics.get(object);
+        return statistics == null ? object.getStatistics() : statistics;
+    }
+
+    /**
+     * Returns the given statistics of the object, or all its statistics if none are given.
+     */
+    public Map<String, Object> getStatistics(final ConfiguredObject<?> object, final List<String> names)
+    {
+        final Map<String, Object> statistics = _statistics.get(object);
+        if (statistics == null)
+        {
+            return object.getStatistics(names);
+        }
+        else if (names == null || names.isEmpty())
+        {
+            return statistics;
+        }
+
+        final Map<String, Object> selectedStatistics = new HashMap<>();
+        for (String name : names)
+        {
+            final Object value = statistics.get(name);
+            if (value != null)
+            {
+                selectedStatistics.put(name, value);
+            }
+        }
+        return selectedStatistics;
+    }
+
+    /**
+     * Returns the time at which the snapshot was taken, or 0 if the statistics are read from the objects themselves.
+     */
+    public long getTimestamp()
+    {
+        return _timestamp;
+    }
+
+    /**
+     * Returns the time in milliseconds it took to collect the snapshot.
+     */
+    public long getCollectionDuration()
+    {
+        return _collectionDuration;
+    }
+
+    private static void collect(final ConfiguredObject<?> object,
+                                final Map<ConfiguredObject<?>, Map<String, Object>> statistics)
+    {
+        if (statistics.containsKey(object))
+        {
+            return;
+        }
+        statistics.put(object, Collections.unmodifiableMap(object.getStatistics()));
+
+        for (Class<? extends ConfiguredObject> childClass : object.getModel().getChildTypes(object.getCategoryClass()))
+        {
+            final Collection<? extends ConfiguredObject> children = object.getChildren(childClass);
+            if (children != null)
+            {
+                for (ConfiguredObject<?> child : children)
+                {
+                    collect(child, statistics);
+                }
+            }
+        }
+    }
+}
@@ -20,15 +20,18 @@
  */
 package org.apache.qpid.server.store;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -141,50 +144,67 @@ public class GenericRecoverer
         return false;
     }
 
+    /**
+     * Recovers the configured objects from the records, walking the hierarchy from the parent object downwards.
+     * Records are indexed by the id of their parent, so that each record is recovered exactly once, as soon as
+     * its parent has been resolved.  Objects with unresolved dependencies are set aside, and only reconsidered once
+     * other objects have been resolved since they were last examined.
+     */
     private void resolveObjects(ConfiguredObject<?> parentObject,
                                 List<ConfiguredObjectRecord> records,
                                 final boolean isNew)
     {
+        final long startTime = System.nanoTime();
+        long dependencyResolutionTime = 0L;
+
         ConfiguredObjectFactory factory = parentObject.getObjectFactory();
         Map<UUID, ConfiguredObject<?>> resolvedObjects = new HashMap<UUID, ConfiguredObject<?>>();
-        resolvedObjects.put(parentObject.getId(), parentObject);
 
-        Collection<ConfiguredObjectRecord> recordsWithUnresolvedParents = new ArrayList<ConfiguredObjectRecord>(records);
+        Map<UUID, List<ConfiguredObjectRecord>> recordsByParentId = new HashMap<>();
+        List<ConfiguredObjectRecord> recordsWithUnresolvedParents = new ArrayList<>();
+        for (ConfiguredObjectRecord record : records)
+        {
+            final Iterator<UUID> parentIds = record.getParents().values().iterator();
+            if (parentIds.hasNext())
+            {
+                recordsByParentId.computeIfAbsent(parentIds.next(), id -> new ArrayList<>()).add(record);
+            }
+            else
+            {
+                recordsWithUnresolvedParents.add(record);
+            }
+        }
+
+        Deque<ConfiguredObject<?>> objectsWithUnrecoveredChildren = new ArrayDeque<>();
         Collection<UnresolvedConfiguredObject<? extends ConfiguredObject>> recordsWithUnresolvedDependencies =
                 new ArrayList<UnresolvedConfiguredObject<? extends ConfiguredObject>>();
 
-        boolean updatesMade;
+        resolvedObjects.put(parentObject.getId(), parentObject);
+        objectsWithUnrecoveredChildren.add(parentObject);
 
+        boolean updatesMade;
         do
         {
             updatesMade = false;
-            Iterator<ConfiguredObjectRecord> iter = recordsWithUnresolvedParents.iterator();
-            while (iter.hasNext())
+            while (!objectsWithUnrecoveredChildren.isEmpty())
             {
-                ConfiguredObjectRecord record = iter.next();
-                Collection<ConfiguredObject<?>> parents = new ArrayList<ConfiguredObject<?>>();
-                boolean foundParents = true;
-                for (UUID parentId : record.getParents().values())
+                final ConfiguredObject<?> parent = objectsWithUnrecoveredChildren.poll();
+                final List<ConfiguredObjectRecord> children = recordsByParentId.remove(parent.getId());
+                if (children == null)
                 {
-                    if (!resolvedObjects.containsKey(parentId))
-                    {
-                        foundParents = false;
-                        break;
-                    }
-                    else
-                    {
-                        parents.add(resolvedObjects.get(parentId));
-                    }
+                    continue;
                 }
-                if (parents.size() > 1)
-                {
-                    throw new IllegalStateException(String.format("Unexpected number of parents %d for record %s ", parents.size(), record));
-                }
-                if (foundParents)
+
+                for (ConfiguredObjectRecord record : children)
                 {
-                    iter.remove();
-                    ConfiguredObject<?>[] parentArray = parents.toArray(new ConfiguredObject<?>[parents.size()]);
-                    UnresolvedConfiguredObject<? extends ConfiguredObject> recovered =  factory.recover(record, parentArray[0]);
+                    if (record.getParents().size() > 1)
+                    {
+                        checkSingleParent(record, resolvedObjects);
+                        recordsWithUnresolvedParents.add(record);
+                        continue;
+                    }
+
+                    UnresolvedConfiguredObject<? extends ConfiguredObject> recovered = factory.recover(record, parent);
                     Collection<ConfiguredObjectDependency<?>> dependencies = recovered.getUnresolvedDependencies();
                     if (dependencies.isEmpty())
                     {
@@ -195,67 +215,108 @@ public class GenericRecoverer
                             resolved.decryptSecrets();
                         }
                         resolvedObjects.put(resolved.getId(), resolved);
+                        objectsWithUnrecoveredChildren.add(resolved);
                     }
                     else
                     {
                         recordsWithUnresolvedDependencies.add(recovered);
                     }
                 }
+            }
 
+            if (!recordsWithUnresolvedDependencies.isEmpty())
+            {
+                final long dependencyResolutionStartTime = System.nanoTime();
+                updatesMade |= resolveDependencies(recordsWithUnresolvedDependencies,
+                                                   resolvedObjects,
+                                                   objectsWithUnrecoveredChildren);
+                dependencyResolutionTime += System.nanoTime() - dependencyResolutionStartTime;
             }
+        } while(updatesMade && !objectsWithUnrecoveredChildren.isEmpty());
 
-            Iterator<UnresolvedConfiguredObject<? extends ConfiguredObject>> unresolvedIter = recordsWithUnresolvedDependencies.iterator();
+        for (List<ConfiguredObjectRecord> orphanedRecords : recordsByParentId.values())
+        {
+            recordsWithUnresolvedParents.addAll(orphanedRecords);
+        }
 
-            while(unresolvedIter.hasNext())
-            {
-                UnresolvedConfiguredObject<? extends ConfiguredObject> unresolvedObject = unresolvedIter.next();
-                Collection<ConfiguredObjectDependency<?>> dependencies =
-                        new ArrayList<ConfiguredObjectDependency<?>>(unresolvedObject.getUnresolvedDependencies());
+        if(!recordsWithUnresolvedDependencies.isEmpty())
+        {
+            throw new IllegalArgumentException("Cannot resolve some objects: " + recordsWithUnresolvedDependencies);
+        }
+        for (ConfiguredObjectRecord record : recordsWithUnresolvedParents)
+        {
+            checkSingleParent(record, resolvedObjects);
+        }
+        if(!recordsWithUnresolvedParents.isEmpty())
+        {
+            throw new IllegalArgumentException("Cannot resolve object because their parents cannot be found" + recordsWithUnresolvedParents);
+        }
+
+        LOGGER.info("Recovered {} configured object(s) under {} in {} ms, of which {} ms resolving dependencies",
+                    resolvedObjects.size() - 1,
+                    parentObject,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                    TimeUnit.NANOSECONDS.toMillis(dependencyResolutionTime));
+    }
+
+    private void checkSingleParent(final ConfiguredObjectRecord record,
+                                   final Map<UUID, ConfiguredObject<?>> resolvedObjects)
+    {
+        if (record.getParents().size() > 1 && resolvedObjects.keySet().containsAll(record.getParents().values()))
+        {
+            throw new IllegalStateException(String.format("Unexpected number of parents %d for record %s ",
+                                                          record.getParents().size(), record));
+        }
+    }
+
+    private boolean resolveDependencies(final Collection<UnresolvedConfiguredObject<? extends ConfiguredObject>> unresolvedObjects,
+                                        final Map<UUID, ConfiguredObject<?>> resolvedObjects,
+                                        final Collection<ConfiguredObject<?>> objectsWithUnrecoveredChildren)
+    {
+        boolean updatesMade = false;
+        Iterator<UnresolvedConfiguredObject<? extends ConfiguredObject>> unresolvedIter = unresolvedObjects.iterator();
+
+        while(unresolvedIter.hasNext())
+        {
+            UnresolvedConfiguredObject<? extends ConfiguredObject> unresolvedObject = unresolvedIter.next();
+            Collection<ConfiguredObjectDependency<?>> dependencies =
+                    new ArrayList<ConfiguredObjectDependency<?>>(unresolvedObject.getUnresolvedDependencies());
 
-                for(ConfiguredObjectDependency dependency : dependencies)
+            for(ConfiguredObjectDependency dependency : dependencies)
+            {
+                if(dependency instanceof ConfiguredObjectIdDependency)
                 {
-                    if(dependency instanceof ConfiguredObjectIdDependency)
-                    {
-                        UUID id = ((ConfiguredObjectIdDependency)dependency).getId();
-                        if(resolvedObjects.containsKey(id))
-                        {
-                            dependency.resolve(resolvedObjects.get(id));
-                        }
-                    }
-                    else if(dependency instanceof ConfiguredObjectNameDependency)
+                    UUID id = ((ConfiguredObjectIdDependency)dependency).getId();
+                    if(resolvedObjects.containsKey(id))
                     {
-                        ConfiguredObject<?> dependentObject = null;
-                        ConfiguredObject<?> parent = unresolvedObject.getParent();
-                        dependentObject = parent.findConfiguredObject(dependency.getCategoryClass(), ((ConfiguredObjectNameDependency)dependency).getName());
-                        if(dependentObject != null)
-                        {
-                            dependency.resolve(dependentObject);
-                        }
+                        dependency.resolve(resolvedObjects.get(id));
                     }
-                    else
+                }
+                else if(dependency instanceof ConfiguredObjectNameDependency)
+                {
+                    ConfiguredObject<?> dependentObject = null;
+                    ConfiguredObject<?> parent = unresolvedObject.getParent();
+                    dependentObject = parent.findConfiguredObject(dependency.getCategoryClass(), ((ConfiguredObjectNameDependency)dependency).getName());
+                    if(dependentObject != null)
                     {
-                        throw new ServerScopedRuntimeException("Unknown dependency type " + dependency.getClass().getSimpleName());
+                        dependency.resolve(dependentObject);
                     }
                 }
-                if(unresolvedObject.getUnresolvedDependencies().isEmpty())
+                else
                 {
-                    updatesMade = true;
-                    unresolvedIter.remove();
-                    ConfiguredObject<?> resolved = unresolvedObject.resolve();
-                    resolvedObjects.put(resolved.getId(), resolved);
+                    throw new ServerScopedRuntimeException("Unknown dependency type " + dependency.getClass().getSimpleName());
                 }
             }
-
-        } while(updatesMade && !(recordsWithUnresolvedDependencies.isEmpty() && recordsWithUnresolvedParents.isEmpty()));
-
-        if(!recordsWithUnresolvedDependencies.isEmpty())
-        {
-            throw new IllegalArgumentException("Cannot resolve some objects: " + recordsWithUnresolvedDependencies);
-        }
-        if(!recordsWithUnresolvedParents.isEmpty())
-        {
-            throw new IllegalArgumentException("Cannot resolve object because their parents cannot be found" + recordsWithUnresolvedParents);
+            if(unresolvedObject.getUnresolvedDependencies().isEmpty())
+            {
+                updatesMade = true;
+                unresolvedIter.remove();
+                ConfiguredObject<?> resolved = unresolvedObject.resolve();
+                resolvedObjects.put(resolved.getId(), resolved);
+                objectsWithUnrecoveredChildren.add(resolved);
+            }
         }
+        return updatesMade;
     }
 
 }
@@ -20,9 +20,16 @@
  */
 package org.apache.qpid.server.store;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -36,7 +43,12 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.slf4j.Logger;
@@ -50,11 +62,21 @@ import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.SystemConfig;
 import org.apache.qpid.server.plugin.QpidServiceLoader;
 import org.apache.qpid.server.store.handler.ConfiguredObjectRecordHandler;
+import org.apache.qpid.server.util.DaemonThreadFactory;
+import org.apache.qpid.server.util.FileHelper;
 
 public class JsonFileConfigStore extends AbstractJsonFileStore implements DurableConfigurationStore
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(JsonFileConfigStore.class);
 
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_JOURNAL_SUFFIX = ".journal.old";
+    private static final String JOURNAL_ID = "id";
+    private static final String JOURNAL_TYPE = "type";
+    private static final String JOURNAL_ATTRIBUTES = "attributes";
+    private static final String JOURNAL_PARENTS = "parents";
+    private static final String JOURNAL_REMOVED = "removed";
+
     private static final Comparator<Class<? extends ConfiguredObject>> CATEGORY_CLASS_COMPARATOR =
             new Comparator<Class<? extends ConfiguredObject>>()
             {
@@ -81,8 +103,20 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     private final Map<String, List<UUID>> _idsByType = new HashMap<String, List<UUID>>();
     private volatile Class<? extends ConfiguredObject> _rootClass;
     private final ObjectMapper _objectMapper;
+    private final ObjectMapper _journalObjectMapper;
+    private final FileHelper _fileHelper = new FileHelper();
     private volatile Map<String,Class<? extends ConfiguredObject>> _classNameMapping;
 
+    private boolean _journalEnabled;
+    private int _journalCompactionThreshold;
+    private String _posixFilePermissions;
+    private File _journalFile;
+    private File _compactingJournalFile;
+    private FileChannel _journal;
+    private int _journalEntries;
+    private ExecutorService _compactionExecutor;
+    private Future<?> _compaction;
+
     private ConfiguredObject<?> _parent;
 
     private enum State { CLOSED, CONFIGURED, OPEN };
@@ -93,6 +127,7 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     {
         super();
         _objectMapper = ConfiguredObjectJacksonModule.newObjectMapper(true).enable(SerializationFeature.INDENT_OUTPUT);
+        _journalObjectMapper = ConfiguredObjectJacksonModule.newObjectMapper(true);
         _rootClass = rootClass;
     }
 
@@ -110,10 +145,21 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
         _classNameMapping = generateClassNameMap(_parent.getModel(), _rootClass);
 
         FileBasedSettings fileBasedSettings = (FileBasedSettings) _parent;
+        _posixFilePermissions = parent.getContextValue(String.class, SystemConfig.POSIX_FILE_PERMISSIONS);
         setup(parent.getName(),
               fileBasedSettings.getStorePath(),
-              parent.getContextValue(String.class, SystemConfig.POSIX_FILE_PERMISSIONS),
+              _posixFilePermissions,
               Collections.emptyMap());
+
+        _journalEnabled = Boolean.TRUE.equals(parent.getContextValue(Boolean.class,
+                                                                     SystemConfig.JSON_CONFIG_STORE_JOURNAL_ENABLED));
+        final Integer compactionThreshold =
+                parent.getContextValue(Integer.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD);
+        _journalCompactionThreshold = compactionThreshold == null
+                ? SystemConfig.DEFAULT_JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD
+                : compactionThreshold;
+        _journalFile = new File(getConfigFile().getPath() + JOURNAL_SUFFIX);
+        _compactingJournalFile = new File(getConfigFile().getPath() + COMPACTING_JOURNAL_SUFFIX);
         changeState(State.CLOSED, State.CONFIGURED);
 
     }
@@ -124,6 +170,13 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     {
         changeState(State.CONFIGURED, State.OPEN);
         boolean isNew = load(initialRecords);
+        if (_journalEnabled)
+        {
+            _compactionExecutor =
+                    Executors.newSingleThreadExecutor(new DaemonThreadFactory("JsonConfigStoreCompaction-"
+                                                                              + _parent.getName()));
+            openJournal();
+        }
         List<ConfiguredObjectRecord> records = new ArrayList<ConfiguredObjectRecord>(_objectsById.values());
         for(ConfiguredObjectRecord record : records)
         {
@@ -136,9 +189,14 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     public void reload(ConfiguredObjectRecordHandler handler)
     {
         assertState(State.OPEN);
+        closeJournal();
         _idsByType.clear();
         _objectsById.clear();
         load();
+        if (_journalEnabled)
+        {
+            openJournal();
+        }
         List<ConfiguredObjectRecord> records = new ArrayList<ConfiguredObjectRecord>(_objectsById.values());
         for(ConfiguredObjectRecord record : records)
         {
@@ -161,6 +219,12 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
             records = configuredObjectRecordConverter.readFromJson(_rootClass, _parent, new FileReader(configFile));
 
+            final boolean journalExists = _journalFile.exists() || _compactingJournalFile.exists();
+            if (journalExists)
+            {
+                records = replayJournals(records);
+            }
+
             if(_rootClass == null)
             {
                 _rootClass = configuredObjectRecordConverter.getRootClass();
@@ -218,9 +282,11 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 }
                 idsForType.add(record.getId());
             }
-            if(updated)
+            if(updated || journalExists)
             {
                 save();
+                Files.deleteIfExists(_compactingJournalFile.toPath());
+                Files.deleteIfExists(_journalFile.toPath());
             }
             return updated;
         }
@@ -272,7 +338,229 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
             idsForType.add(record.getId());
 
-            save();
+            if (_journalEnabled)
+            {
+                appendToJournal(Collections.singletonList(toJournalEntry(record)));
+            }
+            else
+            {
+                save();
+            }
+        }
+    }
+
+    private void openJournal()
+    {
+        try
+        {
+            _fileHelper.createNewFile(_journalFile.toPath(), _posixFilePermissions);
+            _journal = FileChannel.open(_journalFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            _journalEntries = 0;
+        }
+        catch (IOException e)
+        {
+            throw new StoreException("Cannot open journal " + _journalFile, e);
+        }
+    }
+
+    private synchronized void closeJournal()
+    {
+        awaitCompaction();
+        if (_journal != null)
+        {
+            try
+            {
+                _journal.close();
+            }
+            catch (IOException e)
+            {
+                throw new StoreException("Cannot close journal " + _journalFile, e);
+            }
+            finally
+            {
+                _journal = null;
+            }
+        }
+    }
+
+    private Map<String, Object> toJournalEntry(final ConfiguredObjectRecord record)
+    {
+        final Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put(JOURNAL_ID, record.getId());
+        entry.put(JOURNAL_TYPE, record.getType());
+        entry.put(JOURNAL_ATTRIBUTES, record.getAttributes());
+        entry.put(JOURNAL_PARENTS, record.getParents());
+        return entry;
+    }
+
+    private void appendToJournal(final List<Map<String, Object>> entries)
+    {
+        try
+        {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            for (Map<String, Object> entry : entries)
+            {
+                out.write(_journalObjectMapper.writeValueAsBytes(entry));
+                out.write('\n');
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+            while (buffer.hasRemaining())
+            {
+                _journal.write(buffer);
+            }
+        }
+        catch (IOException e)
+        {
+            throw new StoreException("Cannot write to journal " + _journalFile, e);
+        }
+
+        _journalEntries += entries.size();
+        if (_journalEntries >= _journalCompactionThreshold && (_compaction == null || _compaction.isDone()))
+        {
+            compactJournal();
+        }
+    }
+
+    /**
+     * Starts writing a snapshot of the current configuration in the background.  The journal is first moved aside,
+     * so that it can be deleted once the snapshot, which contains all of its changes, is in place.  If a previous
+     * compaction failed, the journal moved aside is retained and only deleted once a snapshot has been written.
+     */
+    private void compactJournal()
+    {
+        if (!_compactingJournalFile.exists())
+        {
+            final FileChannel journal = _journal;
+            _journal = null;
+            try
+            {
+                journal.close();
+                _fileHelper.atomicFileMoveOrReplace(_journalFile.toPath(), _compactingJournalFile.toPath());
+            }
+            catch (IOException e)
+            {
+                LOGGER.warn("Cannot move aside journal {}, compaction deferred", _journalFile, e);
+                return;
+            }
+            finally
+            {
+                openJournal();
+            }
+        }
+
+        final Map<UUID, ConfiguredObjectRecord> records = new HashMap<>(_objectsById);
+        final UUID rootId = getRootId();
+        _compaction = _compactionExecutor.submit(() ->
+        {
+            save(buildSnapshot(records, rootId));
+            try
+            {
+                Files.deleteIfExists(_compactingJournalFile.toPath());
+            }
+            catch (IOException e)
+            {
+                throw new StoreException("Cannot delete journal " + _compactingJournalFile, e);
+            }
+        });
+    }
+
+    private void awaitCompaction()
+    {
+        final Future<?> compaction = _compaction;
+        if (compaction != null)
+        {
+            try
+            {
+                compaction.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (ExecutionException e)
+            {
+                LOGGER.warn("Failed to compact journal {}", _compactingJournalFile, e.getCause());
+            }
+            finally
+            {
+                _compaction = null;
+            }
+        }
+    }
+
+    private Collection<ConfiguredObjectRecord> replayJournals(final Collection<ConfiguredObjectRecord> snapshot)
+            throws IOException
+    {
+        final Map<UUID, ConfiguredObjectRecord> records = new LinkedHashMap<>();
+        for (ConfiguredObjectRecord record : snapshot)
+        {
+            records.put(record.getId(), record);
+        }
+        replayJournal(_compactingJournalFile, records);
+        replayJournal(_journalFile, records);
+        return new ArrayList<>(records.values());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void replayJournal(final File journalFile, final Map<UUID, ConfiguredObjectRecord> records)
+            throws IOException
+    {
+        if (!journalFile.exists())
+        {
+            return;
+        }
+
+        LOGGER.debug("Replaying journal {}", journalFile);
+        try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8))
+        {
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null)
+            {
+                lineNumber++;
+                if (line.isEmpty())
+                {
+                    continue;
+                }
+
+                final Map<String, Object> entry;
+                try
+                {
+                    entry = _journalObjectMapper.readValue(line, Map.class);
+                }
+                catch (JsonProcessingException e)
+                {
+                    if (reader.readLine() == null)
+                    {
+                        LOGGER.warn("Ignoring incomplete last entry of journal {}", journalFile);
+                        break;
+                    }
+                    throw new StoreException("Cannot parse entry " + lineNumber + " of journal " + journalFile, e);
+                }
+
+                if (entry.containsKey(JOURNAL_REMOVED))
+                {
+                    for (Object id : (Collection<Object>) entry.get(JOURNAL_REMOVED))
+                    {
+                        records.remove(UUID.fromString(String.valueOf(id)));
+                    }
+                }
+                else
+                {
+                    final UUID id = UUID.fromString(String.valueOf(entry.get(JOURNAL_ID)));
+                    final Map<String, UUID> parents = new HashMap<>();
+                    final Map<String, Object> journalParents = (Map<String, Object>) entry.get(JOURNAL_PARENTS);
+                    if (journalParents != null)
+                    {
+                        journalParents.forEach((category, parentId) -> parents.put(category,
+                                                                                    UUID.fromString(String.valueOf(parentId))));
+                    }
+                    records.put(id, new ConfiguredObjectRecordImpl(id,
+                                                                   (String) entry.get(JOURNAL_TYPE),
+                                                                   (Map<String, Object>) entry.get(JOURNAL_ATTRIBUTES),
+                                                                   parents));
+                }
+            }
         }
     }
 
@@ -292,26 +580,27 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
     private void save()
     {
-        UUID rootId = getRootId();
-        final Map<String, Object> data;
+        save(buildSnapshot(_objectsById, getRootId()));
+    }
+
+    private Map<String, Object> buildSnapshot(final Map<UUID, ConfiguredObjectRecord> records, final UUID rootId)
+    {
         if (rootId == null)
         {
-            data = Collections.emptyMap();
+            return Collections.emptyMap();
         }
         else
         {
-            data = build(_rootClass, rootId, createChildMap());
+            return build(_rootClass, rootId, createChildMap(records), records);
         }
-
-        save(data);
     }
 
-    private Map<UUID, Map<String, SortedSet<ConfiguredObjectRecord>>> createChildMap()
+    private Map<UUID, Map<String, SortedSet<ConfiguredObjectRecord>>> createChildMap(final Map<UUID, ConfiguredObjectRecord> records)
     {
         Model model = _parent.getModel();
         Map<UUID, Map<String, SortedSet<ConfiguredObjectRecord>>> map = new HashMap<>();
 
-        for(ConfiguredObjectRecord record : _objectsById.values())
+        for(ConfiguredObjectRecord record : records.values())
         {
             int parentCount = record.getParents().size();
             if (parentCount == 0)
@@ -349,9 +638,10 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     }
 
     private Map<String, Object> build(final Class<? extends ConfiguredObject> type, final UUID id,
-                                      Map<UUID, Map<String, SortedSet<ConfiguredObjectRecord>>> childMap)
+                                      Map<UUID, Map<String, SortedSet<ConfiguredObjectRecord>>> childMap,
+                                      final Map<UUID, ConfiguredObjectRecord> records)
     {
-        ConfiguredObjectRecord record = _objectsById.get(id);
+        ConfiguredObjectRecord record = records.get(id);
         Map<String,Object> map = new LinkedHashMap<>();
 
         map.put("id", id);
@@ -373,7 +663,7 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
                 for(ConfiguredObjectRecord childRecord : sortedChildren)
                 {
-                    entities.add(build(_classNameMapping.get(entry.getKey()), childRecord.getId(), childMap));
+                    entities.add(build(_classNameMapping.get(entry.getKey()), childRecord.getId(), childMap, records));
                 }
 
                 if(!entities.isEmpty())
@@ -406,7 +696,17 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 _idsByType.get(record.getType()).remove(record.getId());
             }
         }
-        save();
+        if (_journalEnabled)
+        {
+            if (!removedIds.isEmpty())
+            {
+                appendToJournal(Collections.singletonList(Collections.singletonMap(JOURNAL_REMOVED, removedIds)));
+            }
+        }
+        else
+        {
+            save();
+        }
         return removedIds.toArray(new UUID[removedIds.size()]);
     }
 
@@ -453,9 +753,11 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
                 throw new StoreException("Cannot update record of unknown type " + type);
             }
         }
+        final List<Map<String, Object>> journalEntries = new ArrayList<>(records.length);
         for(ConfiguredObjectRecord record : records)
         {
             record = new ConfiguredObjectRecordImpl(record);
+            journalEntries.add(toJournalEntry(record));
             final UUID id = record.getId();
             final String type = record.getType();
             if(_objectsById.put(id, record) == null)
@@ -475,7 +777,14 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
             }
         }
 
-        save();
+        if (_journalEnabled)
+        {
+            appendToJournal(journalEntries);
+        }
+        else
+        {
+            save();
+        }
     }
 
     @Override
@@ -484,6 +793,12 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
 
         try
         {
+            closeJournal();
+            if (_compactionExecutor != null)
+            {
+                _compactionExecutor.shutdown();
+                _compactionExecutor = null;
+            }
             cleanup();
         }
         finally
@@ -501,8 +816,14 @@ public class JsonFileConfigStore extends AbstractJsonFileStore implements Durabl
     public void onDelete(ConfiguredObject<?> parent)
     {
         FileBasedSettings fileBasedSettings = (FileBasedSettings)parent;
+        String storePath = fileBasedSettings.getStorePath();
 
-        delete(fileBasedSettings.getStorePath());
+        if (storePath != null)
+        {
+            new File(storePath + JOURNAL_SUFFIX).delete();
+            new File(storePath + COMPACTING_JOURNAL_SUFFIX).delete();
+        }
+        delete(storePath);
     }
 
     private static Map<String,Class<? extends ConfiguredObject>> generateClassNameMap(final Model model,
@@ -354,6 +354,24 @@ public class MemoryMessageStore implements MessageStore
         return 0L;
     }
 
+    @Override
+    public long getCompressedContentCount()
+    {
+        return 0L;
+    }
+
+    @Override
+    public long getBytesBeforeCompression()
+    {
+        return 0L;
+    }
+
+    @Override
+    public long getBytesAfterCompression()
+    {
+        return 0L;
+    }
+
     @Override
     public Transaction newTransaction()
     {
@@ -0,0 +1,250 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.configuration.IllegalConfigurationException;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+
+/**
+ * Deflates message content before it is written to a persistent store.  Content is only compressed if it is at least
+ * the threshold size and the compressed form, including its header, is strictly smaller than the original.
+ *
+ * Compressed content starts with a header identifying the compression format.  Content written without compression
+ * (including content written before compression was enabled) is stored as it is and so always has the content size
+ * recorded in the message meta-data, which distinguishes it from compressed content even if its first bytes happen to
+ * match the header.  Stored content which is shorter than the content size but has no header is reported as corrupt.
+ */
+public final class MessageContentCompressor
+{
+    /** Header of compressed content: a magic number followed by the version of the compression format (deflate). */
+    private static final byte[] COMPRESSED_CONTENT_HEADER = {(byte) 0xCF, 'Q', 'Z', 1};
+
+    private final boolean _enabled;
+    private final int _threshold;
+    private final int _level;
+    /** Deflaters are expensive to create, so each thread reuses its own, resetting it after every message. */
+    private final ThreadLocal<Deflater> _deflater;
+    private final LongAdder _compressedContentCount = new LongAdder();
+    private final LongAdder _bytesBeforeCompression = new LongAdder();
+    private final LongAdder _bytesAfterCompression = new LongAdder();
+
+    public MessageContentCompressor(final boolean enabled, final int threshold, final int level)
+    {
+        if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION)
+        {
+            throw new IllegalConfigurationException(String.format("Store content compression level %d is not in the"
+                                                                  + " range %d to %d",
+                                                                  level,
+                                                                  Deflater.DEFAULT_COMPRESSION,
+                                                                  Deflater.BEST_COMPRESSION));
+        }
+        _enabled = enabled;
+        _threshold = Math.max(1, threshold);
+        _level = level;
+        _deflater = ThreadLocal.withInitial(() -> new Deflater(_level));
+    }
+
+    public static MessageContentCompressor create(final ConfiguredObject<?> parent)
+    {
+        final Set<String> contextKeys = parent.getContextKeys(false);
+        final boolean enabled = contextKeys.contains(QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_ENABLED)
+                                && parent.getContextValue(Boolean.class,
+                                                          QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_ENABLED);
+        final int threshold = contextKeys.contains(QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_THRESHOLD)
+                ? parent.getContextValue(Integer.class, QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_THRESHOLD)
+                : QueueManagingVirtualHost.DEFAULT_STORE_CONTENT_COMPRESSION_THRESHOLD;
+        final int level = contextKeys.contains(QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_LEVEL)
+                ? parent.getContextValue(Integer.class, QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_LEVEL)
+                : QueueManagingVirtualHost.DEFAULT_STORE_CONTENT_COMPRESSION_LEVEL;
+        return new MessageContentCompressor(enabled, threshold, level);
+    }
+
+    /**
+     * Returns the compressed form of the remaining bytes of the given content, or null if the content should be
+     * stored as it is.  The position of the given buffer is not changed.
+     */
+    public byte[] compress(final QpidByteBuffer content)
+    {
+        final int size = content.remaining();
+        if (!_enabled || size < _threshold || size <= COMPRESSED_CONTENT_HEADER.length + 1)
+        {
+            return null;
+        }
+
+        final byte[] data = new byte[size];
+        content.copyTo(data);
+
+        final Deflater deflater = _deflater.get();
+        try
+        {
+            deflater.setInput(data);
+            deflater.finish();
+            final byte[] compressed = new byte[size - 1];
+            System.arraycopy(COMPRESSED_CONTENT_HEADER, 0, compressed, 0, COMPRESSED_CONTENT_HEADER.length);
+            int length = COMPRESSED_CONTENT_HEADER.length;
+            while (!deflater.finished() && length < compressed.length)
+            {
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            if (!deflater.finished())
+            {
+                return null;
+            }
+
+            _compressedContentCount.increment();
+            _bytesBeforeCompression.add(size);
+            _bytesAfterCompression.add(length);
+            return Arrays.copyOf(compressed, length);
+        }
+        finally
+        {
+            deflater.reset();
+        }
+    }
+
+    /**
+     * Returns the content of a message given the bytes read from the store and the content size recorded in the
+     * message meta-data.
+     */
+    public static QpidByteBuffer decompress(final byte[] data, final int offset, final int length, final int contentSize)
+    {
+        final QpidByteBuffer content;
+        if (length >= contentSize)
+        {
+            content = QpidByteBuffer.allocateDirect(length);
+            content.put(data, offset, length);
+        }
+        else
+        {
+            if (!hasCompressedContentHeader(data, offset, length))
+            {
+                throw new StoreException(String.format("Stored content is %d bytes but %d bytes were expected",
+                                                       length, contentSize));
+            }
+            final byte[] decompressed = inflate(data,
+                                                offset + COMPRESSED_CONTENT_HEADER.length,
+                                                length - COMPRESSED_CONTENT_HEADER.length,
+                                                contentSize);
+            content = QpidByteBuffer.allocateDirect(contentSize);
+            content.put(decompressed);
+        }
+        content.flip();
+        return content;
+    }
+
+    /**
+     * Returns the content of a message given the buffer read from the store and the content size recorded in the
+     * message meta-data.  If the stored content was compressed, the given buffer is disposed.
+     */
+    public static QpidByteBuffer decompress(final QpidByteBuffer stored, final int contentSize)
+    {
+        final int length = stored.remaining();
+        if (length >= contentSize)
+        {
+            return stored;
+        }
+
+        final byte[] data = new byte[length];
+        try
+        {
+            stored.get(data);
+        }
+        finally
+        {
+            stored.dispose();
+        }
+        return decompress(data, 0, length, contentSize);
+    }
+
+    private static boolean hasCompressedContentHeader(final byte[] data, final int offset, final int length)
+    {
+        if (length < COMPRESSED_CONTENT_HEADER.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < COMPRESSED_CONTENT_HEADER.length; i++)
+        {
+            if (data[offset + i] != COMPRESSED_CONTENT_HEADER[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] inflate(final byte[] data, final int offset, final int length, final int contentSize)
+    {
+        final Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(data, offset, length);
+            final byte[] content = new byte[contentSize];
+            int inflated = 0;
+            while (inflated < contentSize)
+            {
+                final int count = inflater.inflate(content, inflated, contentSize - inflated);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                {
+                    break;
+                }
+                inflated += count;
+            }
+            if (inflated != contentSize)
+            {
+                throw new StoreException(String.format("Stored content is %d bytes when decompressed but %d bytes"
+                                                       + " were expected", inflated, contentSize));
+            }
+            return content;
+        }
+        catch (DataFormatException e)
+        {
+            throw new StoreException("Failed to decompress stored content: " + e.getMessage(), e);
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    public long getCompressedContentCount()
+    {
+        return _compressedContentCount.sum();
+    }
+
+    public long getBytesBeforeCompression()
+    {
+        return _bytesBeforeCompression.sum();
+    }
+
+    public long getBytesAfterCompression()
+    {
+        return _bytesAfterCompression.sum();
+    }
+}
@@ -65,6 +65,12 @@ public interface MessageStore
 
     long getBytesEvacuatedFromMemory();
 
+    long getCompressedContentCount();
+
+    long getBytesBeforeCompression();
+
+    long getBytesAfterCompression();
+
     /**
      * Is this store capable of persisting the data
      *
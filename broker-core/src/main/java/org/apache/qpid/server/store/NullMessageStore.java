@@ -108,6 +108,24 @@ public abstract class NullMessageStore implements MessageStore, DurableConfigura
         return 0L;
     }
 
+    @Override
+    public long getCompressedContentCount()
+    {
+        return 0L;
+    }
+
+    @Override
+    public long getBytesBeforeCompression()
+    {
+        return 0L;
+    }
+
+    @Override
+    public long getBytesAfterCompression()
+    {
+        return 0L;
+    }
+
     @Override
     public Transaction newTransaction()
     {
@@ -47,5 +47,14 @@ public interface StoredMessage<M extends StorableMessageMetaData>
 
     boolean flowToDisk();
 
+    /**
+     * Releases the meta-data of a message which has already been written to the store, so that it is loaded from the
+     * store again on next access.  Unlike {@link #flowToDisk()}, the content is left alone and nothing is counted as
+     * evacuated from memory.
+     */
+    default void releaseMetaData()
+    {
+    }
+
     void reallocate();
 }
@@ -25,6 +25,7 @@ import java.security.AccessControlContext;
 import java.security.Principal;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 import javax.security.auth.Subject;
 
@@ -34,6 +35,8 @@ import org.apache.qpid.server.logging.EventLoggerProvider;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.Connection;
 import org.apache.qpid.server.model.port.AmqpPort;
+import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
+import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
 import org.apache.qpid.server.session.AMQPSession;
 import org.apache.qpid.server.txn.LocalTransaction;
 import org.apache.qpid.server.txn.ServerTransaction;
@@ -126,6 +129,10 @@ public interface AMQPConnection<C extends AMQPConnection<C>>
     boolean isIOThread();
     ListenableFuture<Void> doOnIOThreadAsync(final Runnable task);
 
+    void handleAuthenticationResultOnIOThread(ListenableFuture<SubjectAuthenticationResult> future,
+                                              SaslNegotiator saslNegotiator,
+                                              Consumer<SubjectAuthenticationResult> handler);
+
     void checkAuthorizedMessagePrincipal(String messageUserId);
 
     void stopConnection();
@@ -37,13 +37,16 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import javax.security.auth.Subject;
 import javax.security.auth.SubjectDomainCombiner;
 
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -70,6 +73,8 @@ import org.apache.qpid.server.model.TaskExecutorProvider;
 import org.apache.qpid.server.model.Transport;
 import org.apache.qpid.server.model.port.AmqpPort;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
+import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
+import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
 import org.apache.qpid.server.security.auth.sasl.SaslSettings;
 import org.apache.qpid.server.stats.StatisticsGatherer;
 import org.apache.qpid.server.store.StoreException;
@@ -217,10 +222,20 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
         _aggregateTicker.addTicker(slowConnectionOpenTicker);
         _lastReadTime = _lastWriteTime = _lastMessageInboundTime = _lastMessageOutboundTime = getCreatedTime().getTime();
         _maxUncommittedInMemorySize = getContextValue(Long.class, Connection.MAX_UNCOMMITTED_IN_MEMORY_SIZE);
-        _transactionObserver = _maxUncommittedInMemorySize < 0 ? FlowToDiskTransactionObserver.NOOP_TRANSACTION_OBSERVER : new FlowToDiskTransactionObserver(_maxUncommittedInMemorySize, _logSubject, _eventLoggerProvider.getEventLogger());
+        _transactionObserver = createTransactionObserver(-1L);
         logConnectionOpen();
     }
 
+    private TransactionObserver createTransactionObserver(final long largeMessageThreshold)
+    {
+        return _maxUncommittedInMemorySize < 0 && largeMessageThreshold < 0
+                ? FlowToDiskTransactionObserver.NOOP_TRANSACTION_OBSERVER
+                : new FlowToDiskTransactionObserver(_maxUncommittedInMemorySize,
+                                                    largeMessageThreshold,
+                                                    _logSubject,
+                                                    _eventLoggerProvider.getEventLogger());
+    }
+
     @Override
     public Broker<?> getBroker()
     {
@@ -565,6 +580,39 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
         }
     }
 
+    /**
+     * Passes the result of an authentication step being performed on the authentication executor to the given
+     * handler on the I/O thread of this connection.
+     * <p>
+     * If the transport is closed before the result has been handled, the step is allowed to finish with the
+     * negotiator.  The result is then discarded and the negotiator disposed, so that a negotiator is never disposed
+     * while it is still being used to authenticate.
+     */
+    @Override
+    public final void handleAuthenticationResultOnIOThread(final ListenableFuture<SubjectAuthenticationResult> future,
+                                                           final SaslNegotiator saslNegotiator,
+                                                           final Consumer<SubjectAuthenticationResult> handler)
+    {
+        final AtomicBoolean claimed = new AtomicBoolean();
+        future.addListener(
+                () -> {
+                    final SubjectAuthenticationResult result = Futures.getUnchecked(future);
+                    doOnIOThreadAsync(() -> {
+                        if (claimed.compareAndSet(false, true))
+                        {
+                            handler.accept(result);
+                        }
+                    });
+                    _transportClosedFuture.addListener(() -> {
+                        if (claimed.compareAndSet(false, true))
+                        {
+                            LOGGER.debug("Connection closed during authentication, discarding result");
+                            saslNegotiator.dispose();
+                        }
+                    }, MoreExecutors.directExecutor());
+                }, MoreExecutors.directExecutor());
+    }
+
     @Override
     public final void received(final QpidByteBuffer buf)
     {
@@ -898,6 +946,9 @@ public abstract class AbstractAMQPConnection<C extends AbstractAMQPConnection<C,
         {
             _messageCompressionThreshold = Integer.MAX_VALUE;
         }
+        // transactions are only started once the address space is known, so its large message threshold applies
+        _transactionObserver = createTransactionObserver(
+                _contextProvider.getContextValue(Long.class, Broker.BROKER_LARGE_MESSAGE_THRESHOLD));
 
         getSubject().getPrincipals().add(addressSpace.getPrincipal());
 
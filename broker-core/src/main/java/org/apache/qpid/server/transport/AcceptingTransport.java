@@ -29,4 +29,9 @@ public interface AcceptingTransport
     int getAcceptingPort();
 
     boolean updatesSSLContext();
+
+    default NetworkConnectionSchedulerStatistics getSchedulerStatistics()
+    {
+        return NetworkConnectionSchedulerStatistics.NONE;
+    }
 }
@@ -46,6 +46,7 @@ public class NetworkConnectionScheduler
     private final String _name;
     private final int _numberOfSelectors;
     private SelectorThread _selectorThread;
+    private final NetworkConnectionSchedulerStatistics _statistics = new NetworkConnectionSchedulerStatistics();
 
     public NetworkConnectionScheduler(final String name,
                                       final int numberOfSelectors, int threadPoolSize,
@@ -125,6 +126,13 @@ public class NetworkConnectionScheduler
 
     void processConnection(final NonBlockingConnection connection)
     {
+        final long startTime = System.nanoTime();
+        final long queueWaitTime = startTime - connection.getScheduledNanoTime();
+        final long initialBytesRead = connection.getBytesRead();
+        final long initialBytesWritten = connection.getBytesWritten();
+        long bytesRead;
+        long bytesWritten;
+
         Thread.currentThread().setName(connection.getThreadName());
         connection.doPreWork();
         boolean rerun;
@@ -132,6 +140,8 @@ public class NetworkConnectionScheduler
         {
             rerun = false;
             boolean closed = connection.doWork();
+            bytesRead = connection.getBytesRead() - initialBytesRead;
+            bytesWritten = connection.getBytesWritten() - initialBytesWritten;
             if (!closed && connection.getScheduler() == this)
             {
 
@@ -139,6 +149,7 @@ public class NetworkConnectionScheduler
                 {
                     if (_running.get() == _poolSize)
                     {
+                        _statistics.recordYield(NetworkConnectionSchedulerStatistics.YieldReason.POOL_SATURATED);
                         connection.clearScheduled();
                         schedule(connection);
                     }
@@ -156,6 +167,10 @@ public class NetworkConnectionScheduler
                     }
                     else
                     {
+                        if (connection.wantsWrite())
+                        {
+                            _statistics.recordYield(NetworkConnectionSchedulerStatistics.YieldReason.WRITE_BLOCKED);
+                        }
                         _selectorThread.returnConnectionToSelector(connection);
                     }
                 }
@@ -169,6 +184,7 @@ public class NetworkConnectionScheduler
 
         } while (rerun);
 
+        _statistics.recordPass(queueWaitTime, System.nanoTime() - startTime, bytesRead, bytesWritten);
     }
 
     void decrementRunningCount()
@@ -225,6 +241,11 @@ public class NetworkConnectionScheduler
         _selectorThread.removeConnection(connection);
     }
 
+    public NetworkConnectionSchedulerStatistics getStatistics()
+    {
+        return _statistics;
+    }
+
     int getPoolSize()
     {
         return _poolSize;
@@ -0,0 +1,123 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the passes made by the I/O threads of a {@link NetworkConnectionScheduler} over its connections.
+ *
+ * A pass starts when an I/O thread picks up a connection from the work queue and ends when the thread gives the
+ * connection up again.  The time a connection waited in the work queue before a pass, the time spent in the pass and
+ * the bytes read and written during it are accumulated, together with the number of times a connection was given
+ * up while it still had work to do.  Comparing the queue wait time with the work time shows whether the thread pool
+ * is large enough for the load.
+ */
+public final class NetworkConnectionSchedulerStatistics
+{
+    public static final NetworkConnectionSchedulerStatistics NONE = new NetworkConnectionSchedulerStatistics();
+
+    enum YieldReason
+    {
+        /** The connection could not write all its output and was returned to the selector to wait for the socket. */
+        WRITE_BLOCKED,
+        /** The connection still had work but every thread was busy, so it was put at the back of the work queue. */
+        POOL_SATURATED
+    }
+
+    private final LongAdder _passes = new LongAdder();
+    private final LongAdder _queueWaitTime = new LongAdder();
+    private final LongAdder _workTime = new LongAdder();
+    private final LongAdder _bytesRead = new LongAdder();
+    private final LongAdder _bytesWritten = new LongAdder();
+    private final LongAdder _writeBlockedYields = new LongAdder();
+    private final LongAdder _poolSaturatedYields = new LongAdder();
+
+    void recordPass(final long queueWaitNanos, final long workNanos, final long bytesRead, final long bytesWritten)
+    {
+        _passes.increment();
+        _queueWaitTime.add(Math.max(0L, queueWaitNanos));
+        _workTime.add(workNanos);
+        if (bytesRead > 0L)
+        {
+            _bytesRead.add(bytesRead);
+        }
+        if (bytesWritten > 0L)
+        {
+            _bytesWritten.add(bytesWritten);
+        }
+    }
+
+    void recordYield(final YieldReason reason)
+    {
+        switch (reason)
+        {
+            case WRITE_BLOCKED:
+                _writeBlockedYields.increment();
+                break;
+            case POOL_SATURATED:
+                _poolSaturatedYields.increment();
+                break;
+        }
+    }
+
+    public long getPasses()
+    {
+        return _passes.sum();
+    }
+
+    /**
+     * Returns the total time in milliseconds connections waited in the work queue before being processed.
+     */
+    public long getQueueWaitTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_queueWaitTime.sum());
+    }
+
+    /**
+     * Returns the total time in milliseconds I/O threads spent processing connections.
+     */
+    public long getWorkTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_workTime.sum());
+    }
+
+    public long getBytesRead()
+    {
+        return _bytesRead.sum();
+    }
+
+    public long getBytesWritten()
+    {
+        return _bytesWritten.sum();
+    }
+
+    public long getWriteBlockedYields()
+    {
+        return _writeBlockedYields.sum();
+    }
+
+    public long getPoolSaturatedYields()
+    {
+        return _poolSaturatedYields.sum();
+    }
+}
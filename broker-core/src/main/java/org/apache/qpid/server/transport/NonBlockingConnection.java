@@ -67,6 +67,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
     private final AmqpPort _port;
     private final AtomicBoolean _scheduled = new AtomicBoolean();
     private volatile long _scheduledTime;
+    private volatile long _scheduledNanoTime;
     private volatile boolean _unexpectedByteBufferSizeReported;
     private final String _threadName;
     private volatile SelectorThread.SelectionTask _selectionTask;
@@ -76,6 +77,8 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
     private final List<SchedulingDelayNotificationListener> _schedulingDelayNotificationListeners = new CopyOnWriteArrayList<>();
     private final AtomicBoolean _hasShutdown = new AtomicBoolean();
     private volatile long _bufferedSize;
+    private volatile long _bytesRead;
+    private volatile long _bytesWritten;
     private String _selectedHost;
 
     public NonBlockingConnection(SocketChannel socketChannel,
@@ -493,6 +496,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
 
             if (readData > 0)
             {
+                _bytesRead += readData;
                 return _delegate.processData();
             }
             else
@@ -520,6 +524,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
     {
         final NonBlockingConnectionDelegate.WriteResult result = _delegate.doWrite(_buffers);
         _bufferedSize -= result.getBytesConsumed();
+        _bytesWritten += result.getBytesConsumed();
         _fullyWritten = result.isComplete();
         while(!_buffers.isEmpty())
         {
@@ -645,6 +650,7 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
         if (scheduled)
         {
             _scheduledTime = System.currentTimeMillis();
+            _scheduledNanoTime = System.nanoTime();
         }
         return scheduled;
     }
@@ -661,6 +667,21 @@ public class NonBlockingConnection implements ServerNetworkConnection, ByteBuffe
         return _scheduledTime;
     }
 
+    long getScheduledNanoTime()
+    {
+        return _scheduledNanoTime;
+    }
+
+    long getBytesRead()
+    {
+        return _bytesRead;
+    }
+
+    long getBytesWritten()
+    {
+        return _bytesWritten;
+    }
+
     void reportUnexpectedByteBufferSizeUsage()
     {
         if (!_unexpectedByteBufferSizeReported)
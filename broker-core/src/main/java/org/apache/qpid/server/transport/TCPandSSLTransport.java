@@ -36,7 +36,7 @@ class TCPandSSLTransport implements AcceptingTransport
     private AmqpPort<?> _port;
     private Set<Protocol> _supported;
     private Protocol _defaultSupportedProtocolReply;
-    private NetworkConnectionScheduler _scheduler;
+    private volatile NetworkConnectionScheduler _scheduler;
 
     TCPandSSLTransport(final Set<Transport> transports,
                        final AmqpPort<?> port,
@@ -102,6 +102,13 @@ class TCPandSSLTransport implements AcceptingTransport
         return true;
     }
 
+    @Override
+    public NetworkConnectionSchedulerStatistics getSchedulerStatistics()
+    {
+        final NetworkConnectionScheduler scheduler = _scheduler;
+        return scheduler == null ? NetworkConnectionSchedulerStatistics.NONE : scheduler.getStatistics();
+    }
+
     @Override
     public void close()
     {
@@ -20,7 +20,9 @@
  */
 package org.apache.qpid.server.txn;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.util.concurrent.Futures;
@@ -42,6 +44,9 @@ import org.apache.qpid.server.store.TransactionLogResource;
  *
  * Since there is no long-lived transaction, the commit and rollback methods of
  * this implementation are empty.
+ *
+ * Dequeues made between {@link #startBatch()} and {@link #endBatch()} are collected into a single store transaction
+ * instead, so that an acknowledgement covering many messages results in one commit and one recorded future.
  */
 public class AsyncAutoCommitTransaction implements ServerTransaction
 {
@@ -55,6 +60,10 @@ public class AsyncAutoCommitTransaction implements ServerTransaction
     //Set true to ensure strict ordering when enqueuing messages with mixed delivery mode, i.e. disable async persistence
     private boolean _strictOrderWithMixedDeliveryMode = Boolean.getBoolean(QPID_STRICT_ORDER_WITH_MIXED_DELIVERY_MODE);
 
+    private int _batchDepth;
+    private Transaction _batchTransaction;
+    private final List<Action> _batchActions = new ArrayList<>();
+
     public interface FutureRecorder
     {
         void recordFuture(ListenableFuture<Void> future, Action action);
@@ -90,9 +99,99 @@ public class AsyncAutoCommitTransaction implements ServerTransaction
 
     }
 
+    /**
+     * Starts collecting dequeues into a batch.  Batches may be nested, the outermost {@link #endBatch()} commits.
+     */
+    public void startBatch()
+    {
+        _batchDepth++;
+    }
+
+    /**
+     * Commits the dequeues collected since the matching {@link #startBatch()} in a single store transaction.  The
+     * post transaction actions of the batched dequeues are run, in order, once that transaction completes.
+     */
+    public void endBatch()
+    {
+        if (_batchDepth > 0 && --_batchDepth == 0)
+        {
+            Transaction txn = _batchTransaction;
+            Action batchAction = _batchActions.isEmpty() ? null : new BatchAction(new ArrayList<>(_batchActions));
+            _batchTransaction = null;
+            _batchActions.clear();
+            try
+            {
+                ListenableFuture<Void> future;
+                if (txn != null)
+                {
+                    future = txn.commitTranAsync((Void) null);
+                    txn = null;
+                }
+                else
+                {
+                    future = Futures.immediateFuture(null);
+                }
+                addFuture(future, batchAction);
+                batchAction = null;
+            }
+            finally
+            {
+                rollbackIfNecessary(batchAction, txn);
+            }
+        }
+    }
+
+    private boolean isBatching()
+    {
+        return _batchDepth > 0;
+    }
+
+    private void addToBatch(final Collection<MessageEnqueueRecord> records, final Action postTransactionAction)
+    {
+        boolean added = false;
+        try
+        {
+            for (MessageEnqueueRecord record : records)
+            {
+                LOGGER.debug("Dequeue of message number {} from transaction log. Queue : {}", record.getMessageNumber(), record.getQueueId());
+
+                if (_batchTransaction == null)
+                {
+                    _batchTransaction = _messageStore.newTransaction();
+                }
+                _batchTransaction.dequeueMessage(record);
+            }
+            if (postTransactionAction != null)
+            {
+                _batchActions.add(postTransactionAction);
+            }
+            added = true;
+        }
+        finally
+        {
+            if (!added)
+            {
+                final Action batchAction = new BatchAction(new ArrayList<>(_batchActions));
+                final Transaction txn = _batchTransaction;
+                _batchTransaction = null;
+                _batchActions.clear();
+                rollbackIfNecessary(batchAction, txn);
+                rollbackIfNecessary(postTransactionAction, null);
+            }
+        }
+    }
+
     @Override
     public void dequeue(MessageEnqueueRecord record, Action postTransactionAction)
     {
+        if (isBatching())
+        {
+            addToBatch(record == null
+                               ? Collections.<MessageEnqueueRecord>emptyList()
+                               : Collections.singletonList(record), postTransactionAction);
+            return;
+        }
+
         Transaction txn = null;
         try
         {
@@ -157,6 +256,20 @@ public class AsyncAutoCommitTransaction implements ServerTransaction
     @Override
     public void dequeue(Collection<MessageInstance> queueEntries, Action postTransactionAction)
     {
+        if (isBatching())
+        {
+            final List<MessageEnqueueRecord> records = new ArrayList<>(queueEntries.size());
+            for (MessageInstance entry : queueEntries)
+            {
+                if (entry.getEnqueueRecord() != null)
+                {
+                    records.add(entry.getEnqueueRecord());
+                }
+            }
+            addToBatch(records, postTransactionAction);
+            return;
+        }
+
         Transaction txn = null;
         try
         {
@@ -395,4 +508,31 @@ public class AsyncAutoCommitTransaction implements ServerTransaction
         }
     }
 
+    private static class BatchAction implements Action
+    {
+        private final List<Action> _actions;
+
+        private BatchAction(final List<Action> actions)
+        {
+            _actions = actions;
+        }
+
+        @Override
+        public void postCommit()
+        {
+            for (Action action : _actions)
+            {
+                action.postCommit();
+            }
+        }
+
+        @Override
+        public void onRollback()
+        {
+            for (Action action : _actions)
+            {
+                action.onRollback();
+            }
+        }
+    }
 }
@@ -25,8 +25,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,7 +46,7 @@ public class DtxBranch
 
     private final Xid _xid;
     private final List<ServerTransaction.Action> _postTransactionActions = new ArrayList<ServerTransaction.Action>();
-    private       State                          _state = State.ACTIVE;
+    private volatile State                       _state = State.ACTIVE;
     private long _timeout;
     private Map<AMQPSession<?,?>, State> _associatedSessions = new HashMap<>();
     private final List<EnqueueRecord> _enqueueRecords = new ArrayList<>();
@@ -217,7 +219,7 @@ public class DtxBranch
                       _xid.getBranchId(),
                       _enqueueRecords.toArray(new EnqueueRecord[_enqueueRecords.size()]),
                       _dequeueRecords.toArray(new DequeueRecord[_dequeueRecords.size()]));
-        txn.commitTran();
+        awaitCommit(txn);
 
         prePrepareTransaction();
     }
@@ -242,7 +244,7 @@ public class DtxBranch
 
             Transaction txn = _dtxRegistry.getMessageStore().newTransaction();
             txn.removeXid(_storedXidRecord);
-            txn.commitTran();
+            awaitCommit(txn);
 
             _transaction.abortTran();
         }
@@ -276,7 +278,7 @@ public class DtxBranch
         {
             _transaction.removeXid(_storedXidRecord);
         }
-        _transaction.commitTran();
+        awaitCommit(_transaction);
 
         for(ServerTransaction.Action action : _postTransactionActions)
         {
@@ -285,6 +287,33 @@ public class DtxBranch
         _postTransactionActions.clear();
     }
 
+    /**
+     * Commits the store transaction asynchronously and waits for it to complete, rather than committing it
+     * synchronously, so that a store which coalesces commits can sync it together with those of other branches.
+     */
+    private void awaitCommit(final Transaction txn) throws StoreException
+    {
+        final ListenableFuture<Void> future = txn.commitTranAsync((Void) null);
+        try
+        {
+            future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst committing DtxBranch " + _xid, e);
+        }
+        catch (ExecutionException e)
+        {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new StoreException("Failed to commit DtxBranch " + _xid, cause);
+        }
+    }
+
     public void prePrepareTransaction() throws StoreException
     {
         _transaction = _dtxRegistry.getMessageStore().newTransaction();
@@ -312,13 +341,13 @@ public class DtxBranch
     }
 
 
-    public void addPostTransactionAction(ServerTransaction.Action postTransactionAction)
+    public synchronized void addPostTransactionAction(ServerTransaction.Action postTransactionAction)
     {
         _postTransactionActions.add(postTransactionAction);
     }
 
 
-    public void dequeue(MessageEnqueueRecord record)
+    public synchronized void dequeue(MessageEnqueueRecord record)
     {
         if(record != null)
         {
@@ -326,9 +355,9 @@ public class DtxBranch
         }
     }
 
-    public void enqueue(TransactionLogResource queue,
-                        EnqueueableMessage message,
-                        final Action<MessageEnqueueRecord> enqueueAction)
+    public synchronized void enqueue(TransactionLogResource queue,
+                                     EnqueueableMessage message,
+                                     final Action<MessageEnqueueRecord> enqueueAction)
     {
         _enqueueRecords.add(new EnqueueRecord(queue, message, enqueueAction));
     }
@@ -22,21 +22,38 @@
 package org.apache.qpid.server.txn;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.qpid.server.session.AMQPSession;
 import org.apache.qpid.server.store.MessageStore;
 import org.apache.qpid.server.store.StoreException;
 import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
 
+/**
+ * The distributed transaction branches known to a virtualhost.
+ *
+ * The branch table is concurrent and the registry itself holds no lock: operations on a branch are serialised by
+ * synchronizing on the branch alone, so that the store work done by the prepare, commit and rollback of one branch
+ * does not hold up other branches.  Store transactions are committed asynchronously and awaited, allowing stores
+ * which coalesce commits to group the prepares and commits of concurrent branches into a single sync.
+ */
 public class DtxRegistry
 {
-    private final Map<ComparableXid, DtxBranch> _branches = new HashMap<>();
+    private final Map<ComparableXid, DtxBranch> _branches = new ConcurrentHashMap<>();
     private final QueueManagingVirtualHost<?> _virtualHost;
 
+    private final LongAdder _prepares = new LongAdder();
+    private final LongAdder _prepareTime = new LongAdder();
+    private final LongAdder _commits = new LongAdder();
+    private final LongAdder _commitTime = new LongAdder();
+    private final LongAdder _rollbacks = new LongAdder();
+    private final LongAdder _rollbackTime = new LongAdder();
+
     public DtxRegistry(final QueueManagingVirtualHost<?> virtualHost)
     {
         _virtualHost = virtualHost;
@@ -115,28 +132,27 @@ public class DtxRegistry
         }
     }
 
-    public synchronized DtxBranch getBranch(Xid xid)
+    public DtxBranch getBranch(Xid xid)
     {
         return _branches.get(new ComparableXid(xid));
     }
 
-    public synchronized boolean registerBranch(DtxBranch branch)
+    public boolean registerBranch(DtxBranch branch)
     {
-        ComparableXid xid = new ComparableXid(branch.getXid());
-        if(!_branches.containsKey(xid))
-        {
-            _branches.put(xid, branch);
-            return true;
-        }
-        return false;
+        return _branches.putIfAbsent(new ComparableXid(branch.getXid()), branch) == null;
+    }
+
+    boolean unregisterBranch(DtxBranch branch)
+    {
+        return _branches.remove(new ComparableXid(branch.getXid()), branch);
     }
 
-    synchronized boolean unregisterBranch(DtxBranch branch)
+    private boolean isRegistered(DtxBranch branch)
     {
-        return (_branches.remove(new ComparableXid(branch.getXid())) != null);
+        return _branches.get(new ComparableXid(branch.getXid())) == branch;
     }
 
-    public synchronized void commit(Xid id, boolean onePhase)
+    public void commit(Xid id, boolean onePhase)
             throws IncorrectDtxStateException, UnknownDtxBranchException, StoreException, RollbackOnlyDtxException, TimeoutDtxException
     {
         DtxBranch branch = getBranch(id);
@@ -144,6 +160,10 @@ public class DtxRegistry
         {
             synchronized (branch)
             {
+                if(!isRegistered(branch))
+                {
+                    throw new UnknownDtxBranchException(id);
+                }
                 if(!branch.hasAssociatedActiveSessions())
                 {
                     branch.clearAssociations();
@@ -166,7 +186,10 @@ public class DtxRegistry
                         throw new IncorrectDtxStateException("Cannot call two-phase commit on a non-prepared branch",
                                                              id);
                     }
+                    final long startTime = System.nanoTime();
                     branch.commit();
+                    _commitTime.add(System.nanoTime() - startTime);
+                    _commits.increment();
                     branch.setState(DtxBranch.State.FORGOTTEN);
                     unregisterBranch(branch);
                 }
@@ -182,7 +205,7 @@ public class DtxRegistry
         }
     }
 
-    public synchronized void prepare(Xid id)
+    public void prepare(Xid id)
             throws UnknownDtxBranchException,
             IncorrectDtxStateException, StoreException, RollbackOnlyDtxException, TimeoutDtxException
     {
@@ -191,6 +214,10 @@ public class DtxRegistry
         {
             synchronized (branch)
             {
+                if(!isRegistered(branch))
+                {
+                    throw new UnknownDtxBranchException(id);
+                }
                 if(!branch.hasAssociatedActiveSessions())
                 {
                     branch.clearAssociations();
@@ -208,7 +235,10 @@ public class DtxRegistry
                     }
                     else
                     {
+                        final long startTime = System.nanoTime();
                         branch.prepare();
+                        _prepareTime.add(System.nanoTime() - startTime);
+                        _prepares.increment();
                         branch.setState(DtxBranch.State.PREPARED);
                     }
                 }
@@ -224,7 +254,7 @@ public class DtxRegistry
         }
     }
 
-    public synchronized void rollback(Xid id)
+    public void rollback(Xid id)
             throws IncorrectDtxStateException,
             UnknownDtxBranchException,
             StoreException, TimeoutDtxException
@@ -235,6 +265,10 @@ public class DtxRegistry
         {
             synchronized (branch)
             {
+                if(!isRegistered(branch))
+                {
+                    throw new UnknownDtxBranchException(id);
+                }
                 if(branch.expired() || branch.getState() == DtxBranch.State.TIMEDOUT)
                 {
                     unregisterBranch(branch);
@@ -243,7 +277,10 @@ public class DtxRegistry
                 if(!branch.hasAssociatedActiveSessions())
                 {
                     branch.clearAssociations();
+                    final long startTime = System.nanoTime();
                     branch.rollback();
+                    _rollbackTime.add(System.nanoTime() - startTime);
+                    _rollbacks.increment();
                     branch.setState(DtxBranch.State.FORGOTTEN);
                     unregisterBranch(branch);
                 }
@@ -267,6 +304,10 @@ public class DtxRegistry
         {
             synchronized (branch)
             {
+                if(!isRegistered(branch))
+                {
+                    throw new UnknownDtxBranchException(id);
+                }
                 if(!branch.hasAssociatedSessions())
                 {
                     if(branch.getState() != DtxBranch.State.HEUR_COM && branch.getState() != DtxBranch.State.HEUR_RB)
@@ -315,7 +356,7 @@ public class DtxRegistry
         }
     }
 
-    public synchronized List<Xid> recover()
+    public List<Xid> recover()
     {
         List<Xid> inDoubt = new ArrayList<>();
         for(DtxBranch branch : _branches.values())
@@ -328,27 +369,90 @@ public class DtxRegistry
         return inDoubt;
     }
 
-    public synchronized void endAssociations(AMQPSession<?,?> session)
+    public void endAssociations(AMQPSession<?,?> session)
     {
         for(DtxBranch branch : _branches.values())
         {
-            if(branch.isAssociated(session))
+            synchronized (branch)
             {
-                branch.setState(DtxBranch.State.ROLLBACK_ONLY);
-                branch.disassociateSession(session);
+                if(branch.isAssociated(session))
+                {
+                    branch.setState(DtxBranch.State.ROLLBACK_ONLY);
+                    branch.disassociateSession(session);
+                }
             }
         }
 
     }
 
 
-    public synchronized void close()
+    public void close()
     {
         for(DtxBranch branch : _branches.values())
         {
-            branch.close();
+            synchronized (branch)
+            {
+                branch.close();
+            }
         }
         _branches.clear();
     }
 
+    public int getBranchCount()
+    {
+        return _branches.size();
+    }
+
+    public int getPreparedBranchCount()
+    {
+        int prepared = 0;
+        for(DtxBranch branch : _branches.values())
+        {
+            if(branch.getState() == DtxBranch.State.PREPARED)
+            {
+                prepared++;
+            }
+        }
+        return prepared;
+    }
+
+    public long getPrepareCount()
+    {
+        return _prepares.sum();
+    }
+
+    /**
+     * Returns the total time in milliseconds spent preparing branches, including the wait for the store.
+     */
+    public long getPrepareTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_prepareTime.sum());
+    }
+
+    public long getCommitCount()
+    {
+        return _commits.sum();
+    }
+
+    /**
+     * Returns the total time in milliseconds spent committing branches, including the wait for the store.
+     */
+    public long getCommitTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_commitTime.sum());
+    }
+
+    public long getRollbackCount()
+    {
+        return _rollbacks.sum();
+    }
+
+    /**
+     * Returns the total time in milliseconds spent rolling back branches, including the wait for the store.
+     */
+    public long getRollbackTime()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(_rollbackTime.sum());
+    }
+
 }
@@ -40,17 +40,33 @@ public class FlowToDiskTransactionObserver implements TransactionObserver
     private final LogSubject _logSubject;
     private final EventLogger _eventLogger;
     private final long _maxUncommittedInMemorySize;
+    private final long _largeMessageThreshold;
     private volatile boolean _reported;
 
     public FlowToDiskTransactionObserver(final long maxUncommittedInMemorySize,
                                          final LogSubject logSubject,
                                          final EventLogger eventLogger)
+    {
+        this(maxUncommittedInMemorySize, -1L, logSubject, eventLogger);
+    }
+
+    /**
+     * @param maxUncommittedInMemorySize the total size of uncommitted messages above which the messages of the
+     *                                   transaction breaching it are flowed to disk, or a negative value for no limit
+     * @param largeMessageThreshold      the content size from which an uncommitted message is flowed to disk as soon
+     *                                   as it is enqueued, or a negative value for no threshold
+     */
+    public FlowToDiskTransactionObserver(final long maxUncommittedInMemorySize,
+                                         final long largeMessageThreshold,
+                                         final LogSubject logSubject,
+                                         final EventLogger eventLogger)
     {
         _uncommittedMessageSize = new AtomicLong();
         _uncommittedMessages = new ConcurrentHashMap<>();
         _logSubject = logSubject;
         _eventLogger = eventLogger;
         _maxUncommittedInMemorySize = maxUncommittedInMemorySize;
+        _largeMessageThreshold = largeMessageThreshold;
     }
 
     @Override
@@ -62,7 +78,11 @@ public class FlowToDiskTransactionObserver implements TransactionObserver
         long newUncommittedSize = _uncommittedMessageSize.addAndGet(messageSize);
         TransactionDetails details = _uncommittedMessages.computeIfAbsent(transaction, key -> new TransactionDetails());
         details.messageEnqueued(handle);
-        if (newUncommittedSize > _maxUncommittedInMemorySize)
+        if (_largeMessageThreshold >= 0L && handle.getContentSize() >= _largeMessageThreshold)
+        {
+            handle.flowToDisk();
+        }
+        if (_maxUncommittedInMemorySize >= 0L && newUncommittedSize > _maxUncommittedInMemorySize)
         {
             // flow to disk only current transaction messages
             // in order to handle malformed messages on correct channel
@@ -0,0 +1,79 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.util;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Submits tasks to a delegate executor, rejecting a task if the given number of tasks previously submitted through
+ * this executor are still waiting or running.  This allows several users of a shared pool to each be limited to
+ * their own share of it.
+ */
+public final class BoundedExecutor implements Executor
+{
+    private final Executor _delegate;
+    private final int _maximumTasks;
+    private final AtomicInteger _tasks = new AtomicInteger();
+
+    public BoundedExecutor(final Executor delegate, final int maximumTasks)
+    {
+        _delegate = delegate;
+        _maximumTasks = maximumTasks;
+    }
+
+    @Override
+    public void execute(final Runnable command)
+    {
+        if (_tasks.incrementAndGet() > _maximumTasks)
+        {
+            _tasks.decrementAndGet();
+            throw new RejectedExecutionException(String.format("Maximum of %d outstanding tasks reached",
+                                                               _maximumTasks));
+        }
+
+        try
+        {
+            _delegate.execute(() ->
+                              {
+                                  try
+                                  {
+                                      command.run();
+                                  }
+                                  finally
+                                  {
+                                      _tasks.decrementAndGet();
+                                  }
+                              });
+        }
+        catch (RuntimeException e)
+        {
+            _tasks.decrementAndGet();
+            throw e;
+        }
+    }
+
+    public int getOutstandingTaskCount()
+    {
+        return _tasks.get();
+    }
+}
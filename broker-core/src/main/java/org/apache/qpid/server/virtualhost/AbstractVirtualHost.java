@@ -90,6 +90,7 @@ import org.apache.qpid.server.logging.messages.MessageStoreMessages;
 import org.apache.qpid.server.logging.messages.VirtualHostMessages;
 import org.apache.qpid.server.logging.subjects.MessageStoreLogSubject;
 import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.InstanceProperties;
 import org.apache.qpid.server.message.MessageDeletedException;
 import org.apache.qpid.server.message.MessageDestination;
@@ -142,6 +143,7 @@ import org.apache.qpid.server.store.preferences.PreferencesRoot;
 import org.apache.qpid.server.store.serializer.MessageStoreSerializer;
 import org.apache.qpid.server.transport.AMQPConnection;
 import org.apache.qpid.server.transport.NetworkConnectionScheduler;
+import org.apache.qpid.server.transport.NetworkConnectionSchedulerStatistics;
 import org.apache.qpid.server.txn.AutoCommitTransaction;
 import org.apache.qpid.server.txn.DtxRegistry;
 import org.apache.qpid.server.txn.LocalTransaction;
@@ -205,12 +207,13 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
     private final VirtualHostNode<?> _virtualHostNode;
 
     private final AtomicLong _targetSize = new AtomicLong(100 * 1024 * 1024);
+    private final AtomicLong _convertedMessageCacheSize = new AtomicLong();
 
     private MessageStoreLogSubject _messageStoreLogSubject;
 
     private final Set<BlockingType> _blockingReasons = Collections.synchronizedSet(EnumSet.noneOf(BlockingType.class));
 
-    private NetworkConnectionScheduler _networkConnectionScheduler;
+    private volatile NetworkConnectionScheduler _networkConnectionScheduler;
 
     private final VirtualHostPrincipal _principal;
 
@@ -284,6 +287,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
     private PreferenceStore _preferenceStore;
     private long _flowToDiskCheckPeriod;
     private volatile boolean _isDiscardGlobalSharedSubscriptionLinksOnDetach;
+    private volatile boolean _messageConversionCacheEnabled;
     private volatile ConnectionPrincipalStatisticsRegistry _connectionPrincipalStatisticsRegistry;
     private volatile HouseKeepingTask _statisticsCheckTask;
 
@@ -609,6 +613,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         _fileSystemMaxUsagePercent = getContextValue(Integer.class, Broker.STORE_FILESYSTEM_MAX_USAGE_PERCENT);
         _flowToDiskCheckPeriod = getContextValue(Long.class, FLOW_TO_DISK_CHECK_PERIOD);
         _isDiscardGlobalSharedSubscriptionLinksOnDetach = getContextValue(Boolean.class, DISCARD_GLOBAL_SHARED_SUBSCRIPTION_LINKS_ON_DETACH);
+        _messageConversionCacheEnabled = getContextValue(Boolean.class, MESSAGE_CONVERSION_CACHE_ENABLED);
 
         QpidServiceLoader serviceLoader = new QpidServiceLoader();
         for(ConnectionValidator validator : serviceLoader.instancesOf(ConnectionValidator.class))
@@ -1475,7 +1480,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
     @Override
     public long getInMemoryMessageSize()
     {
-        return _messageStore == null ? -1 : _messageStore.getInMemorySize();
+        return _messageStore == null ? -1 : _messageStore.getInMemorySize() + _convertedMessageCacheSize.get();
     }
 
     @Override
@@ -1484,6 +1489,36 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return _messageStore == null ? -1 : _messageStore.getBytesEvacuatedFromMemory();
     }
 
+    @Override
+    public long getCompressedStoredMessages()
+    {
+        return _messageStore == null ? -1 : _messageStore.getCompressedContentCount();
+    }
+
+    @Override
+    public long getStoredBytesBeforeCompression()
+    {
+        return _messageStore == null ? -1 : _messageStore.getBytesBeforeCompression();
+    }
+
+    @Override
+    public long getStoredBytesAfterCompression()
+    {
+        return _messageStore == null ? -1 : _messageStore.getBytesAfterCompression();
+    }
+
+    @Override
+    public long getStoreCompressionRatio()
+    {
+        final MessageStore messageStore = _messageStore;
+        if (messageStore == null)
+        {
+            return -1;
+        }
+        final long bytesBeforeCompression = messageStore.getBytesBeforeCompression();
+        return bytesBeforeCompression == 0L ? 100L : messageStore.getBytesAfterCompression() * 100L / bytesBeforeCompression;
+    }
+
     @Override
     public <T extends ConfiguredObject<?>> T getAttainedChildFromAddress(final Class<T> childClass,
                                                                          final String address)
@@ -1955,6 +1990,18 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return getInMemoryMessageSize() > _targetSize.get();
     }
 
+    @Override
+    public boolean isMessageConversionCacheEnabled()
+    {
+        return _messageConversionCacheEnabled;
+    }
+
+    @Override
+    public void changeConvertedMessageCacheSize(final long delta)
+    {
+        _convertedMessageCacheSize.addAndGet(delta);
+    }
+
     private static class MessageHeaderImpl implements AMQMessageHeader
     {
         private final String _userName;
@@ -2134,7 +2181,8 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
                             try (MessageReference messageReference = node.getMessage().newReference())
                             {
                                 final StoredMessage storedMessage = messageReference.getMessage().getStoredMessage();
-                                final long inMemorySize = storedMessage.getInMemorySize();
+                                final long inMemorySize = storedMessage.getInMemorySize()
+                                                          + ConvertedMessageCache.getCachedSize(messageReference.getMessage());
                                 if (inMemorySize > 0)
                                 {
                                     if (cumulativeSize <= currentTargetSize)
@@ -2144,6 +2192,7 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
 
                                     if (cumulativeSize > currentTargetSize && node.getQueue().checkValid(node))
                                     {
+                                        ConvertedMessageCache.evictConversions(messageReference.getMessage());
                                         storedMessage.flowToDisk();
                                     }
                                 }
@@ -2405,6 +2454,102 @@ public abstract class AbstractVirtualHost<X extends AbstractVirtualHost<X>> exte
         return _totalConnectionCount.get();
     }
 
+    @Override
+    public long getIoPasses()
+    {
+        return getSchedulerStatistics().getPasses();
+    }
+
+    @Override
+    public long getIoQueueWaitTime()
+    {
+        return getSchedulerStatistics().getQueueWaitTime();
+    }
+
+    @Override
+    public long getIoWorkTime()
+    {
+        return getSchedulerStatistics().getWorkTime();
+    }
+
+    @Override
+    public long getIoBytesRead()
+    {
+        return getSchedulerStatistics().getBytesRead();
+    }
+
+    @Override
+    public long getIoBytesWritten()
+    {
+        return getSchedulerStatistics().getBytesWritten();
+    }
+
+    @Override
+    public long getIoWriteBlockedYields()
+    {
+        return getSchedulerStatistics().getWriteBlockedYields();
+    }
+
+    @Override
+    public long getIoPoolSaturatedYields()
+    {
+        return getSchedulerStatistics().getPoolSaturatedYields();
+    }
+
+    @Override
+    public long getDtxBranchCount()
+    {
+        return _dtxRegistry.getBranchCount();
+    }
+
+    @Override
+    public long getDtxPreparedBranchCount()
+    {
+        return _dtxRegistry.getPreparedBranchCount();
+    }
+
+    @Override
+    public long getDtxPrepares()
+    {
+        return _dtxRegistry.getPrepareCount();
+    }
+
+    @Override
+    public long getDtxPrepareTime()
+    {
+        return _dtxRegistry.getPrepareTime();
+    }
+
+    @Override
+    public long getDtxCommits()
+    {
+        return _dtxRegistry.getCommitCount();
+    }
+
+    @Override
+    public long getDtxCommitTime()
+    {
+        return _dtxRegistry.getCommitTime();
+    }
+
+    @Override
+    public long getDtxRollbacks()
+    {
+        return _dtxRegistry.getRollbackCount();
+    }
+
+    @Override
+    public long getDtxRollbackTime()
+    {
+        return _dtxRegistry.getRollbackTime();
+    }
+
+    private NetworkConnectionSchedulerStatistics getSchedulerStatistics()
+    {
+        final NetworkConnectionScheduler scheduler = _networkConnectionScheduler;
+        return scheduler == null ? NetworkConnectionSchedulerStatistics.NONE : scheduler.getStatistics();
+    }
+
     @Override
     public int getHousekeepingThreadCount()
     {
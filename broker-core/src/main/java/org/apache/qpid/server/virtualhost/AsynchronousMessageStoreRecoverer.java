@@ -22,21 +22,27 @@ package org.apache.qpid.server.virtualhost;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.base.Throwables;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,16 +104,12 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         private final long _maxMessageId;
         private final Set<Queue<?>> _recoveringQueues = new CopyOnWriteArraySet<>();
         private final AtomicBoolean _recoveryComplete = new AtomicBoolean();
-        private final Map<Long, MessageReference<? extends ServerMessage<?>>> _recoveredMessages = new HashMap<>();
-        private final ListeningExecutorService _queueRecoveryExecutor =
-                MoreExecutors.listeningDecorator(new ThreadPoolExecutor(0,
-                                                                        Integer.MAX_VALUE,
-                                                                        60L,
-                                                                        TimeUnit.SECONDS,
-                                                                        new SynchronousQueue<>(),
-                                                                        QpidByteBuffer.createQpidByteBufferTrackingThreadFactory(Executors.defaultThreadFactory())));
+        private final ConcurrentMap<Long, SettableFuture<MessageReference<? extends ServerMessage<?>>>> _recoveredMessages =
+                new ConcurrentHashMap<>();
+        private final ListeningExecutorService _queueRecoveryExecutor;
 
         private final MessageStore.MessageStoreReader _storeReader;
+        private final boolean _lazyMetadata;
         private AtomicBoolean _continueRecovery = new AtomicBoolean(true);
 
         private AsynchronousRecoverer(final QueueManagingVirtualHost<?> virtualHost)
@@ -117,6 +119,9 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
             _store = virtualHost.getMessageStore();
             _storeReader = _store.newMessageStoreReader();
             _logSubject = new MessageStoreLogSubject(virtualHost.getName(), _store.getClass().getSimpleName());
+            _queueRecoveryExecutor = MoreExecutors.listeningDecorator(createQueueRecoveryExecutor(virtualHost));
+            _lazyMetadata = Boolean.TRUE.equals(virtualHost.getContextValue(Boolean.class,
+                                                                            QueueManagingVirtualHost.LAZY_METADATA_RECOVERY));
 
             _maxMessageId = _store.getNextMessageId();
             Collection children = _virtualHost.getChildren(Queue.class);
@@ -124,6 +129,38 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
 
         }
 
+        /**
+         * Queues are recovered in parallel by a pool of at most {@link QueueManagingVirtualHost#ASYNC_RECOVERY_THREAD_COUNT}
+         * threads, each queue becoming available as soon as its own recovery completes.  Queues waiting for a thread
+         * are recovered in turn, so the number of threads does not grow with the number of queues.
+         */
+        private static ThreadPoolExecutor createQueueRecoveryExecutor(final QueueManagingVirtualHost<?> virtualHost)
+        {
+            final Integer threadCount =
+                    virtualHost.getContextValue(Integer.class, QueueManagingVirtualHost.ASYNC_RECOVERY_THREAD_COUNT);
+            final ThreadPoolExecutor executor;
+            if (threadCount == null || threadCount <= 0)
+            {
+                executor = new ThreadPoolExecutor(0,
+                                                  Integer.MAX_VALUE,
+                                                  60L,
+                                                  TimeUnit.SECONDS,
+                                                  new SynchronousQueue<>(),
+                                                  QpidByteBuffer.createQpidByteBufferTrackingThreadFactory(Executors.defaultThreadFactory()));
+            }
+            else
+            {
+                executor = new ThreadPoolExecutor(threadCount,
+                                                  threadCount,
+                                                  60L,
+                                                  TimeUnit.SECONDS,
+                                                  new LinkedBlockingQueue<>(),
+                                                  QpidByteBuffer.createQpidByteBufferTrackingThreadFactory(Executors.defaultThreadFactory()));
+                executor.allowCoreThreadTimeOut(true);
+            }
+            return executor;
+        }
+
         public ListenableFuture<Void> recover()
         {
             getStoreReader().visitDistributedTransactions(new DistributedTransactionVisitor());
@@ -195,11 +232,19 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         private synchronized void completeRecovery()
         {
             // at this point nothing should be writing to the map of recovered messages
-            for (Map.Entry<Long,MessageReference<? extends ServerMessage<?>>> entry : _recoveredMessages.entrySet())
+            final Set<Long> recoveredMessageIds = new HashSet<>();
+            for (Map.Entry<Long, SettableFuture<MessageReference<? extends ServerMessage<?>>>> entry
+                    : _recoveredMessages.entrySet())
             {
-                entry.getValue().release();
-                entry.setValue(null); // free up any memory associated with the reference object
+                final MessageReference<? extends ServerMessage<?>> reference = Futures.getUnchecked(entry.getValue());
+                if (reference != null)
+                {
+                    recoveredMessageIds.add(entry.getKey());
+                    reference.release();
+                }
             }
+            // free up any memory associated with the reference objects
+            _recoveredMessages.clear();
             final List<StoredMessage<?>> messagesToDelete = new ArrayList<>();
             getStoreReader().visitMessages(new MessageHandler()
             {
@@ -209,7 +254,7 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
                     long messageNumber = storedMessage.getMessageNumber();
                     if ( _continueRecovery.get() && messageNumber < _maxMessageId)
                     {
-                        if (!_recoveredMessages.containsKey(messageNumber))
+                        if (!recoveredMessageIds.contains(messageNumber))
                         {
                             messagesToDelete.add(storedMessage);
                         }
@@ -235,32 +280,67 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
             }
 
             messagesToDelete.clear();
-            _recoveredMessages.clear();
+            recoveredMessageIds.clear();
             _storeReader.close();
             _queueRecoveryExecutor.shutdown();
         }
 
-        private synchronized ServerMessage<?> getRecoveredMessage(final long messageId)
+        /**
+         * Queues recovered in parallel only contend on messages enqueued to more than one of them.  The first queue to
+         * need a message publishes a placeholder and reads the message from the store outside of any lock on the map;
+         * other queues needing the same message wait for that read rather than reading the message again.
+         */
+        private ServerMessage<?> getRecoveredMessage(final long messageId)
         {
-            MessageReference<? extends ServerMessage<?>> ref = _recoveredMessages.get(messageId);
-            if (ref == null)
+            SettableFuture<MessageReference<? extends ServerMessage<?>>> future = _recoveredMessages.get(messageId);
+            if (future == null)
             {
-                StoredMessage<?> message = _storeReader.getMessage(messageId);
-                if(message != null)
+                final SettableFuture<MessageReference<? extends ServerMessage<?>>> placeholder = SettableFuture.create();
+                future = _recoveredMessages.putIfAbsent(messageId, placeholder);
+                if (future == null)
                 {
-                    StorableMessageMetaData metaData = message.getMetaData();
+                    future = placeholder;
+                    try
+                    {
+                        placeholder.set(createRecoveredMessageReference(messageId));
+                    }
+                    catch (RuntimeException e)
+                    {
+                        placeholder.setException(e);
+                        throw e;
+                    }
+                }
+            }
+
+            final MessageReference<? extends ServerMessage<?>> ref;
+            try
+            {
+                ref = Futures.getUnchecked(future);
+            }
+            catch (UncheckedExecutionException e)
+            {
+                Throwables.throwIfUnchecked(e.getCause());
+                throw e;
+            }
+            return ref == null ? null : ref.getMessage();
+        }
 
-                    @SuppressWarnings("rawtypes")
-                    MessageMetaDataType type = metaData.getType();
+        private MessageReference<? extends ServerMessage<?>> createRecoveredMessageReference(final long messageId)
+        {
+            StoredMessage<?> message = _storeReader.getMessage(messageId);
+            if(message != null)
+            {
+                StorableMessageMetaData metaData = message.getMetaData();
 
-                    @SuppressWarnings("unchecked")
-                    ServerMessage<?> serverMessage = type.createMessage(message);
+                @SuppressWarnings("rawtypes")
+                MessageMetaDataType type = metaData.getType();
 
-                    ref = serverMessage.newReference();
-                    _recoveredMessages.put(messageId, ref);
-                }
+                @SuppressWarnings("unchecked")
+                ServerMessage<?> serverMessage = type.createMessage(message);
+
+                return serverMessage.newReference();
             }
-            return ref == null ? null : ref.getMessage();
+            return null;
         }
 
         public void cancel()
@@ -539,6 +619,10 @@ public class AsynchronousMessageStoreRecoverer implements MessageStoreRecoverer
                         LOGGER.debug("Delivering message id '{}' to queue '{}'", message.getMessageNumber(), queueName);
 
                         _queue.recover(message, record);
+                        if (_lazyMetadata)
+                        {
+                            message.getStoredMessage().releaseMetaData();
+                        }
                         _recoveredCount++;
                     }
                     else
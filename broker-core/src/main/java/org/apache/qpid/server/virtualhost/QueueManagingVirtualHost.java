@@ -93,6 +93,45 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
     @ManagedContextDefault( name = "virtualhost.housekeepingThreadCount")
     int DEFAULT_HOUSEKEEPING_THREAD_COUNT = 4;
 
+    String ASYNC_RECOVERY_THREAD_COUNT = "virtualhost.asyncRecoveryThreadCount";
+    @ManagedContextDefault(name = ASYNC_RECOVERY_THREAD_COUNT,
+                           description = "The maximum number of threads recovering queues in parallel when messages are"
+                                         + " recovered asynchronously. A value of zero or less uses a thread per queue.")
+    int DEFAULT_ASYNC_RECOVERY_THREAD_COUNT = Math.max(Runtime.getRuntime().availableProcessors(), 4);
+
+    String LAZY_METADATA_RECOVERY = "virtualhost.lazyMetadataRecovery";
+    @ManagedContextDefault(name = LAZY_METADATA_RECOVERY,
+                           description = "If true, the metadata of a recovered message is released from memory as soon as"
+                                         + " the message has been placed on its queue, and is loaded from the store again"
+                                         + " on first access.")
+    boolean DEFAULT_LAZY_METADATA_RECOVERY = false;
+
+    String STORE_CONTENT_COMPRESSION_ENABLED = "virtualhost.storeContentCompression.enabled";
+    @ManagedContextDefault(name = STORE_CONTENT_COMPRESSION_ENABLED,
+                           description = "If true, persistent message stores deflate message content before writing it"
+                                         + " to the store.  Content is decompressed when it is read back from the store.")
+    boolean DEFAULT_STORE_CONTENT_COMPRESSION_ENABLED = false;
+
+    String STORE_CONTENT_COMPRESSION_THRESHOLD = "virtualhost.storeContentCompression.threshold";
+    @ManagedContextDefault(name = STORE_CONTENT_COMPRESSION_THRESHOLD,
+                           description = "The minimum size (in bytes) of message content which is compressed when"
+                                         + " store content compression is enabled.")
+    int DEFAULT_STORE_CONTENT_COMPRESSION_THRESHOLD = 1024;
+
+    String STORE_CONTENT_COMPRESSION_LEVEL = "virtualhost.storeContentCompression.level";
+    @ManagedContextDefault(name = STORE_CONTENT_COMPRESSION_LEVEL,
+                           description = "The deflate compression level (0-9, or -1 for the zlib default) used for"
+                                         + " message content when store content compression is enabled.")
+    int DEFAULT_STORE_CONTENT_COMPRESSION_LEVEL = 1;
+
+    String MESSAGE_CONVERSION_CACHE_ENABLED = "virtualhost.messageConversionCacheEnabled";
+    @ManagedContextDefault(name = MESSAGE_CONVERSION_CACHE_ENABLED,
+                           description = "If true, messages converted for delivery in another protocol are cached with"
+                                         + " the original message and shared by all consumers using that protocol until"
+                                         + " the message is dequeued or flowed to disk.  Cached conversions are counted"
+                                         + " in the in-memory message size of the virtualhost.")
+    boolean DEFAULT_MESSAGE_CONVERSION_CACHE_ENABLED = true;
+
     String VIRTUALHOST_STATISTICS_REPORING_PERIOD = "virtualhost.statisticsReportingPeriod";
     @ManagedContextDefault(name = VIRTUALHOST_STATISTICS_REPORING_PERIOD)
     int DEFAULT_STATISTICS_REPORTING_PERIOD = 0;
@@ -232,6 +271,100 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
             description = "Total number of messaging connections made to this virtualhost since broker startup", metricName = "aggregate_connection_count")
     long getTotalConnectionCount();
 
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Passes",
+            description = "Total number of times an I/O thread of this virtualhost processed a connection.",
+            metricName = "io_passes_count")
+    long getIoPasses();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "I/O Queue Wait Time",
+            description = "Total time (in milliseconds) connections waited for an I/O thread of this virtualhost to"
+                      + " become available.",
+            metricName = "io_queue_wait_time_milliseconds_count")
+    long getIoQueueWaitTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "I/O Work Time",
+            description = "Total time (in milliseconds) the I/O threads of this virtualhost spent processing"
+                      + " connections.",
+            metricName = "io_work_time_milliseconds_count")
+    long getIoWorkTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+            label = "I/O Bytes Read",
+            description = "Total number of bytes read by the I/O threads of this virtualhost.",
+            metricName = "io_read_bytes_count")
+    long getIoBytesRead();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+            label = "I/O Bytes Written",
+            description = "Total number of bytes written by the I/O threads of this virtualhost.",
+            metricName = "io_written_bytes_count")
+    long getIoBytesWritten();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Write Blocked Yields",
+            description = "Number of times an I/O thread of this virtualhost gave up a connection because the network"
+                      + " could not accept all its output.",
+            metricName = "io_write_blocked_yields_count")
+    long getIoWriteBlockedYields();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "I/O Pool Saturated Yields",
+            description = "Number of times an I/O thread of this virtualhost gave up a connection with work remaining"
+                      + " because all I/O threads were busy.",
+            metricName = "io_pool_saturated_yields_count")
+    long getIoPoolSaturatedYields();
+
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT,
+            label = "Distributed Transaction Branches",
+            description = "Current number of distributed transaction branches known to this virtualhost.",
+            metricName = "dtx_branches_total")
+    long getDtxBranchCount();
+
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT,
+            label = "Prepared Distributed Transaction Branches",
+            description = "Current number of prepared distributed transaction branches awaiting an outcome.",
+            metricName = "dtx_prepared_branches_total")
+    long getDtxPreparedBranchCount();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Distributed Transaction Prepares",
+            description = "Total number of distributed transaction branches prepared.",
+            metricName = "dtx_prepares_count")
+    long getDtxPrepares();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Distributed Transaction Prepare Time",
+            description = "Total time (in milliseconds) spent preparing distributed transaction branches.",
+            metricName = "dtx_prepare_time_milliseconds_count")
+    long getDtxPrepareTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Distributed Transaction Commits",
+            description = "Total number of distributed transaction branches committed.",
+            metricName = "dtx_commits_count")
+    long getDtxCommits();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Distributed Transaction Commit Time",
+            description = "Total time (in milliseconds) spent committing distributed transaction branches.",
+            metricName = "dtx_commit_time_milliseconds_count")
+    long getDtxCommitTime();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.COUNT,
+            label = "Distributed Transaction Rollbacks",
+            description = "Total number of distributed transaction branches rolled back.",
+            metricName = "dtx_rollbacks_count")
+    long getDtxRollbacks();
+
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.TIME_DURATION,
+            label = "Distributed Transaction Rollback Time",
+            description = "Total time (in milliseconds) spent rolling back distributed transaction branches.",
+            metricName = "dtx_rollback_time_milliseconds_count")
+    long getDtxRollbackTime();
+
 
     @SuppressWarnings("unused")
     @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES, label = "Inbound",
@@ -285,6 +418,37 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
                       description = "Total Number of Bytes Evacuated from Memory Due to Flow to Disk.")
     long getBytesEvacuatedFromMemory();
 
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.MESSAGES,
+                      label = "Compressed Stored Messages",
+                      description = "Total number of messages whose content was compressed when written to the store.",
+                      metricName = "store_compressed_messages_count")
+    long getCompressedStoredMessages();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+                      label = "Stored Bytes Before Compression",
+                      description = "Total size of message content compressed when written to the store, before"
+                                    + " compression.",
+                      metricName = "store_bytes_before_compression_count")
+    long getStoredBytesBeforeCompression();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.CUMULATIVE, units = StatisticUnit.BYTES,
+                      label = "Stored Bytes After Compression",
+                      description = "Total size of message content compressed when written to the store, after"
+                                    + " compression.",
+                      metricName = "store_bytes_after_compression_count")
+    long getStoredBytesAfterCompression();
+
+    @SuppressWarnings("unused")
+    @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME, units = StatisticUnit.COUNT,
+                      label = "Store Compression Ratio",
+                      description = "Size of the compressed message content written to the store as a percentage of"
+                                    + " its size before compression.",
+                      metricName = "store_compression_ratio_percent_total")
+    long getStoreCompressionRatio();
+
     @SuppressWarnings("unused")
     @ManagedStatistic(statisticType = StatisticType.POINT_IN_TIME,
             units = StatisticUnit.BYTES,
@@ -377,6 +541,14 @@ public interface QueueManagingVirtualHost<X extends QueueManagingVirtualHost<X>>
 
     boolean isOverTargetSize();
 
+    boolean isMessageConversionCacheEnabled();
+
+    /**
+     * Adjusts the number of bytes held in memory by cached message conversions, which is included in the in-memory
+     * message size.
+     */
+    void changeConvertedMessageCacheSize(long delta);
+
     interface Transaction
     {
         void dequeue(QueueEntry entry);
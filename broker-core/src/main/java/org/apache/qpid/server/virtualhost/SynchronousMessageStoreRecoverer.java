@@ -69,10 +69,12 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         MessageStoreLogSubject logSubject = new MessageStoreLogSubject(virtualHost.getName(), store.getClass().getSimpleName());
 
         Map<Queue<?>, Integer> queueRecoveries = new TreeMap<>();
-        Map<Long, ServerMessage<?>> recoveredMessages = new HashMap<>();
         Map<Long, StoredMessage<?>> unusedMessages = new TreeMap<>();
         Map<UUID, Integer> unknownQueuesWithMessages = new HashMap<>();
         Map<Queue<?>, Integer> queuesWithUnknownMessages = new HashMap<>();
+        boolean lazyMetadata = Boolean.TRUE.equals(virtualHost.getContextValue(Boolean.class,
+                                                                               QueueManagingVirtualHost.LAZY_METADATA_RECOVERY));
+        RecoveredMessages recoveredMessages = new RecoveredMessages(lazyMetadata);
 
         eventLogger.message(logSubject, MessageStoreMessages.RECOVERY_START());
 
@@ -87,7 +89,8 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
                                                                          recoveredMessages,
                                                                          unusedMessages,
                                                                          unknownQueuesWithMessages,
-                                                                         queuesWithUnknownMessages));
+                                                                         queuesWithUnknownMessages,
+                                                                         lazyMetadata));
         }
         finally
         {
@@ -159,10 +162,10 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
     private static class MessageVisitor implements MessageHandler
     {
 
-        private final Map<Long, ServerMessage<?>> _recoveredMessages;
+        private final RecoveredMessages _recoveredMessages;
         private final Map<Long, StoredMessage<?>> _unusedMessages;
 
-        MessageVisitor(final Map<Long, ServerMessage<?>> recoveredMessages,
+        MessageVisitor(final RecoveredMessages recoveredMessages,
                        final Map<Long, StoredMessage<?>> unusedMessages)
         {
             _recoveredMessages = recoveredMessages;
@@ -172,19 +175,73 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         @Override
         public boolean handle(StoredMessage<?> message)
         {
-            StorableMessageMetaData metaData = message.getMetaData();
+            _recoveredMessages.add(message);
+            _unusedMessages.put(message.getMessageNumber(), message);
+            return true;
+        }
+
+    }
+
+    /**
+     * The messages found by the store scan.  In lazy meta-data mode only the stored messages are kept, with their
+     * meta-data released, and each message is created when its first queue entry or transaction record is replayed,
+     * so that the meta-data of all the messages is never resident at the same time.
+     */
+    private static class RecoveredMessages
+    {
+        private final boolean _lazyMetadata;
+        private final Map<Long, ServerMessage<?>> _messages = new HashMap<>();
+        private final Map<Long, StoredMessage<?>> _storedMessages = new HashMap<>();
+
+        private RecoveredMessages(final boolean lazyMetadata)
+        {
+            _lazyMetadata = lazyMetadata;
+        }
+
+        private void add(final StoredMessage<?> storedMessage)
+        {
+            if (_lazyMetadata)
+            {
+                _storedMessages.put(storedMessage.getMessageNumber(), storedMessage);
+                storedMessage.releaseMetaData();
+            }
+            else
+            {
+                _messages.put(storedMessage.getMessageNumber(), createMessage(storedMessage));
+            }
+        }
+
+        private ServerMessage<?> get(final long messageId)
+        {
+            ServerMessage<?> message = _messages.get(messageId);
+            if (message == null)
+            {
+                final StoredMessage<?> storedMessage = _storedMessages.remove(messageId);
+                if (storedMessage != null)
+                {
+                    message = createMessage(storedMessage);
+                    _messages.put(messageId, message);
+                }
+            }
+            return message;
+        }
+
+        private int size()
+        {
+            return _messages.size() + _storedMessages.size();
+        }
+
+        private static ServerMessage<?> createMessage(final StoredMessage<?> storedMessage)
+        {
+            StorableMessageMetaData metaData = storedMessage.getMetaData();
 
             @SuppressWarnings("rawtypes")
             MessageMetaDataType type = metaData.getType();
 
             @SuppressWarnings("unchecked")
-            ServerMessage<?> serverMessage = type.createMessage(message);
-
-            _recoveredMessages.put(message.getMessageNumber(), serverMessage);
-            _unusedMessages.put(message.getMessageNumber(), message);
-            return true;
+            ServerMessage<?> serverMessage = type.createMessage(storedMessage);
+            return serverMessage;
         }
-
     }
 
     private static class MessageInstanceVisitor implements MessageInstanceHandler
@@ -193,18 +250,20 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         private final MessageStore _store;
 
         private final Map<Queue<?>, Integer> _queueRecoveries;
-        private final Map<Long, ServerMessage<?>> _recoveredMessages;
+        private final RecoveredMessages _recoveredMessages;
         private final Map<Long, StoredMessage<?>> _unusedMessages;
         private final Map<UUID, Integer> _unknownQueuesWithMessages;
         private Map<Queue<?>, Integer> _queuesWithUnknownMessages;
+        private final boolean _lazyMetadata;
 
         private MessageInstanceVisitor(final QueueManagingVirtualHost<?> virtualHost,
                                        final MessageStore store,
                                        final Map<Queue<?>, Integer> queueRecoveries,
-                                       final Map<Long, ServerMessage<?>> recoveredMessages,
+                                       final RecoveredMessages recoveredMessages,
                                        final Map<Long, StoredMessage<?>> unusedMessages,
                                        final Map<UUID, Integer> unknownQueuesWithMessages,
-                                       final Map<Queue<?>, Integer> queuesWithUnknownMessages)
+                                       final Map<Queue<?>, Integer> queuesWithUnknownMessages,
+                                       final boolean lazyMetadata)
         {
             _virtualHost = virtualHost;
             _store = store;
@@ -213,6 +272,7 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
             _unusedMessages = unusedMessages;
             _unknownQueuesWithMessages = unknownQueuesWithMessages;
             _queuesWithUnknownMessages = queuesWithUnknownMessages;
+            _lazyMetadata = lazyMetadata;
         }
 
         @Override
@@ -235,6 +295,10 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
                     _queueRecoveries.merge(queue, 1, (old, unused) -> old + 1);
 
                     queue.recover(message, record);
+                    if (_lazyMetadata)
+                    {
+                        message.getStoredMessage().releaseMetaData();
+                    }
 
                     dequeueMessageInstance = false;
                 }
@@ -273,13 +337,13 @@ public class SynchronousMessageStoreRecoverer implements MessageStoreRecoverer
         private final EventLogger _eventLogger;
         private final MessageStoreLogSubject _logSubject;
 
-        private final Map<Long, ServerMessage<?>> _recoveredMessages;
+        private final RecoveredMessages _recoveredMessages;
         private final Map<Long, StoredMessage<?>> _unusedMessages;
 
         private DistributedTransactionVisitor(final QueueManagingVirtualHost<?> virtualHost,
                                               final EventLogger eventLogger,
                                               final MessageStoreLogSubject logSubject,
-                                              final Map<Long, ServerMessage<?>> recoveredMessages,
+                                              final RecoveredMessages recoveredMessages,
                                               final Map<Long, StoredMessage<?>> unusedMessages)
         {
             _virtualHost = virtualHost;
@@ -21,6 +21,7 @@
 package org.apache.qpid.server.consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +34,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -234,6 +240,30 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         verify(_messageInstance, never()).routeToAlternate(any(Action.class), any(ServerTransaction.class), any());
     }
 
+    @Test
+    public void testProcessPendingSendsBatch() throws Exception
+    {
+        when(_connection.getContextValue(eq(Integer.class), eq(Consumer.DELIVERY_BATCH_SIZE))).thenReturn(3);
+        when(_connection.isIOThread()).thenReturn(true);
+        when(_session.getAMQPConnection()).thenReturn((AMQPConnection) _connection);
+
+        _consumerTarget = new TestAbstractConsumerTarget();
+        _consumerTarget.consumerAdded(_consumer);
+        _consumerTarget.setConversionFailure(false);
+
+        assertTrue("More messages should be available", _consumerTarget.processPending());
+        assertEquals("Unexpected batch flags", Arrays.asList(true, true, false), _consumerTarget.getSentBatchFlags());
+        assertEquals("Unexpected flushes", 0, _consumerTarget.getFlushCount());
+
+        when(_consumer.pullMessage()).thenReturn(new MessageContainer(_messageInstance, mock(MessageReference.class)),
+                                                 null);
+        _consumerTarget.getSentBatchFlags().clear();
+
+        assertFalse("No more messages should be available", _consumerTarget.processPending());
+        assertEquals("Unexpected batch flags", Collections.singletonList(true), _consumerTarget.getSentBatchFlags());
+        assertEquals("Batched message should be flushed", 1, _consumerTarget.getFlushCount());
+    }
+
     private void configureBehaviour(final boolean acquires,
                                     final MessageSource.MessageConversionExceptionHandlingPolicy exceptionHandlingPolicy)
     {
@@ -243,7 +273,10 @@ public class AbstractConsumerTargetTest extends UnitTestBase
 
     private class TestAbstractConsumerTarget extends AbstractConsumerTarget<TestAbstractConsumerTarget>
     {
+        private final List<Boolean> _sentBatchFlags = new ArrayList<>();
         private boolean _creditRestored;
+        private boolean _conversionFailure = true;
+        private int _flushCount;
 
         TestAbstractConsumerTarget()
         {
@@ -253,7 +286,11 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         @Override
         protected void doSend(final MessageInstanceConsumer consumer, final MessageInstance entry, final boolean batch)
         {
-            throw new MessageConversionException("testException");
+            if (_conversionFailure)
+            {
+                throw new MessageConversionException("testException");
+            }
+            _sentBatchFlags.add(batch);
         }
 
         @Override
@@ -277,7 +314,7 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         @Override
         public void flushBatched()
         {
-
+            _flushCount++;
         }
 
         @Override
@@ -302,5 +339,20 @@ public class AbstractConsumerTargetTest extends UnitTestBase
         {
             return _creditRestored;
         }
+
+        void setConversionFailure(final boolean conversionFailure)
+        {
+            _conversionFailure = conversionFailure;
+        }
+
+        List<Boolean> getSentBatchFlags()
+        {
+            return _sentBatchFlags;
+        }
+
+        int getFlushCount()
+        {
+            return _flushCount;
+        }
     }
 }
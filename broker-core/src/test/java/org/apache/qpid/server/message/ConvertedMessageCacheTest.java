@@ -0,0 +1,100 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.message;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ConvertedMessageCacheTest extends UnitTestBase
+{
+    private static final long SIZE = 10L;
+
+    private ConvertedMessageCache _cache;
+    private List<String> _disposed;
+
+    @Before
+    public void setUp()
+    {
+        _cache = new ConvertedMessageCache();
+        _disposed = new ArrayList<>();
+    }
+
+    @Test
+    public void testAcquireCachedConversion()
+    {
+        assertNull("Unexpected conversion in empty cache", _cache.acquire(String.class));
+
+        final ConvertedMessageCache.CachedConversion<String> added = _cache.add(String.class, "converted", SIZE, _disposed::add);
+        assertNotNull("Conversion was not cached", added);
+
+        final ConvertedMessageCache.CachedConversion<String> acquired = _cache.acquire(String.class);
+        assertSame("Unexpected conversion", added, acquired);
+        assertSame("Unexpected message", "converted", acquired.getMessage());
+
+        added.release();
+        acquired.release();
+        assertEquals("Conversion held by cache should not be disposed", 0, _disposed.size());
+    }
+
+    @Test
+    public void testEvictDisposesOnceReleased()
+    {
+        final ConvertedMessageCache.CachedConversion<String> added = _cache.add(String.class, "converted", SIZE, _disposed::add);
+
+        assertEquals("Unexpected cache size", SIZE, _cache.getSize());
+
+        _cache.evict();
+        assertNull("Unexpected conversion after eviction", _cache.acquire(String.class));
+        assertEquals("Unexpected cache size after eviction", 0L, _cache.getSize());
+        assertEquals("Conversion in use should not be disposed", 0, _disposed.size());
+
+        added.release();
+        assertEquals("Conversion should be disposed", 1, _disposed.size());
+    }
+
+    @Test
+    public void testSecondConversionNotCached()
+    {
+        _cache.add(String.class, "first", SIZE, _disposed::add);
+        assertNull("Concurrent conversion should not be cached", _cache.add(String.class, "second", SIZE, _disposed::add));
+    }
+
+    @Test
+    public void testNoCachingAfterClose()
+    {
+        final ConvertedMessageCache.CachedConversion<String> added = _cache.add(String.class, "converted", SIZE, _disposed::add);
+        added.release();
+
+        _cache.close();
+        assertEquals("Conversion should be disposed", 1, _disposed.size());
+        assertNull("Conversion should not be cached after close", _cache.add(String.class, "other", SIZE, _disposed::add));
+    }
+}
@@ -21,6 +21,9 @@
 package org.apache.qpid.server.model.adapter;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
@@ -60,6 +63,7 @@ import org.apache.qpid.server.model.preferences.PreferenceFactory;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
 import org.apache.qpid.server.security.auth.UsernamePrincipal;
 import org.apache.qpid.server.security.auth.manager.SimpleAuthenticationManager;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 import org.apache.qpid.server.store.DurableConfigurationStore;
 import org.apache.qpid.server.store.preferences.PreferenceStore;
 import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
@@ -169,6 +173,52 @@ public class BrokerImplTest extends UnitTestBase
 
     }
 
+    @Test
+    public void testStatisticsSnapshotDisabledByDefault()
+    {
+        _brokerImpl = createBroker(Collections.emptyMap());
+
+        assertNull("Unexpected statistics snapshot", _brokerImpl.getStatisticsSnapshot());
+    }
+
+    @Test
+    public void testStatisticsSnapshotCollectedInBackground() throws Exception
+    {
+        _brokerImpl = createBroker(Collections.singletonMap(Broker.BROKER_STATISTICS_SNAPSHOT_INTERVAL, "50"));
+
+        final StatisticsSnapshot first = awaitStatisticsSnapshot(null);
+        assertNotNull("Statistics of the broker not collected", first.getStatistics(_brokerImpl));
+
+        final StatisticsSnapshot second = awaitStatisticsSnapshot(first);
+        assertNotSame("Statistics snapshot not refreshed", first, second);
+        assertTrue("Unexpected snapshot timestamp", second.getTimestamp() >= first.getTimestamp());
+    }
+
+    private BrokerImpl createBroker(final Map<String, String> context)
+    {
+        final Map<String, Object> attributes = new HashMap<>();
+        attributes.put(Broker.NAME, "Broker");
+        attributes.put(Broker.MODEL_VERSION, BrokerModel.MODEL_VERSION);
+        attributes.put(Broker.DURABLE, true);
+        attributes.put(Broker.CONTEXT, context);
+        final BrokerImpl broker = new BrokerImpl(attributes, _systemConfig);
+        broker.open();
+        return broker;
+    }
+
+    private StatisticsSnapshot awaitStatisticsSnapshot(final StatisticsSnapshot previous) throws InterruptedException
+    {
+        final long timeout = System.currentTimeMillis() + 10000L;
+        StatisticsSnapshot snapshot = _brokerImpl.getStatisticsSnapshot();
+        while ((snapshot == null || snapshot == previous) && System.currentTimeMillis() < timeout)
+        {
+            Thread.sleep(10L);
+            snapshot = _brokerImpl.getStatisticsSnapshot();
+        }
+        assertNotNull("Statistics snapshot not collected", snapshot);
+        return snapshot;
+    }
+
     @Test
     public void testPurgeUser() throws Exception
     {
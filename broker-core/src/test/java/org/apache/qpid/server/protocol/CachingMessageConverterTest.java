@@ -0,0 +1,138 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.MessageReference;
+import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.message.internal.InternalMessage;
+import org.apache.qpid.server.plugin.MessageConverter;
+import org.apache.qpid.server.store.MessageStore;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.TestMemoryMessageStore;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class CachingMessageConverterTest extends UnitTestBase
+{
+    private static final long CONVERTED_SIZE = 100L;
+
+    private MessageStore _messageStore;
+    private QueueManagingVirtualHost<?> _virtualHost;
+    private MessageConverter<InternalMessage, ServerMessage> _delegate;
+    private ServerMessage<?> _converted;
+    private CachingMessageConverter<InternalMessage, ServerMessage> _converter;
+    private InternalMessage _message;
+    private MessageReference<?> _reference;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        _messageStore = new TestMemoryMessageStore();
+        _virtualHost = mock(QueueManagingVirtualHost.class);
+        when(_virtualHost.isMessageConversionCacheEnabled()).thenReturn(true);
+
+        final StoredMessage<?> storedMessage = mock(StoredMessage.class);
+        when(storedMessage.getInMemorySize()).thenReturn(CONVERTED_SIZE);
+        _converted = mock(ServerMessage.class);
+        when(_converted.getStoredMessage()).thenReturn((StoredMessage) storedMessage);
+
+        _delegate = mock(MessageConverter.class);
+        when(_delegate.getOutputClass()).thenReturn(ServerMessage.class);
+
+        _converter = new CachingMessageConverter<>(_delegate);
+        _message = InternalMessage.createStringMessage(_messageStore, mock(AMQMessageHeader.class), "test");
+        _reference = _message.newReference();
+        when(_delegate.convert(_message, _virtualHost)).thenReturn(_converted);
+    }
+
+    @After
+    public void tearDown()
+    {
+        _messageStore.closeMessageStore();
+    }
+
+    @Test
+    public void testConversionCachedOnFirstConversion()
+    {
+        assertNull("Cache should not be created before the first conversion", _message.getConvertedMessageCache());
+
+        final ServerMessage first = _converter.convert(_message, _virtualHost);
+        final ServerMessage second = _converter.convert(_message, _virtualHost);
+
+        assertSame("Unexpected conversion", _converted, first);
+        assertSame("Conversion should be reused", _converted, second);
+        verify(_delegate, times(1)).convert(_message, _virtualHost);
+        assertNotNull("Cache should be created by the first conversion", _message.getConvertedMessageCache());
+        assertEquals("Unexpected cached size", CONVERTED_SIZE, _message.getConvertedMessageCache().getSize());
+        assertEquals("Unexpected conversion count", 1L, _converter.getConversionCount());
+        assertEquals("Unexpected cache hit count", 1L, _converter.getCacheHitCount());
+        verify(_virtualHost).changeConvertedMessageCacheSize(CONVERTED_SIZE);
+
+        _converter.dispose(first);
+        _converter.dispose(second);
+        verify(_delegate, never()).dispose(_converted);
+        verify(_virtualHost, never()).changeConvertedMessageCacheSize(-CONVERTED_SIZE);
+    }
+
+    @Test
+    public void testConversionDisposedWhenMessageDeleted()
+    {
+        final ServerMessage converted = _converter.convert(_message, _virtualHost);
+        _converter.dispose(converted);
+
+        _reference.release();
+
+        verify(_delegate).dispose(_converted);
+        verify(_virtualHost).changeConvertedMessageCacheSize(-CONVERTED_SIZE);
+        assertEquals("Unexpected cached size", 0L, _message.getConvertedMessageCache().getSize());
+    }
+
+    @Test
+    public void testConversionNotCachedWhenDisabledForVirtualHost()
+    {
+        when(_virtualHost.isMessageConversionCacheEnabled()).thenReturn(false);
+
+        _converter.dispose(_converter.convert(_message, _virtualHost));
+        _converter.dispose(_converter.convert(_message, _virtualHost));
+
+        verify(_delegate, times(2)).convert(_message, _virtualHost);
+        verify(_delegate, times(2)).dispose(_converted);
+        assertNull("Cache should not be created when caching is disabled", _message.getConvertedMessageCache());
+        verify(_virtualHost, never()).changeConvertedMessageCacheSize(anyLong());
+    }
+}
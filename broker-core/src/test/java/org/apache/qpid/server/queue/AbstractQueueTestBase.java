@@ -75,6 +75,7 @@ import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.message.internal.InternalMessage;
 import org.apache.qpid.server.model.AlternateBinding;
 import org.apache.qpid.server.model.Binding;
+import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.BrokerTestHelper;
 import org.apache.qpid.server.model.Exchange;
 import org.apache.qpid.server.model.OverflowPolicy;
@@ -1239,6 +1240,34 @@ abstract class AbstractQueueTestBase extends UnitTestBase
                      _queue.getQueueDepthMessages());
     }
 
+    @Test
+    public void testEnqueuedLargeMessageFlowedToDisk() throws Exception
+    {
+        Map<String, Object> attributes = new HashMap<>(_arguments);
+        attributes.put(Queue.NAME, "testEnqueuedLargeMessageFlowedToDisk");
+        attributes.put(Queue.CONTEXT, Collections.singletonMap(Broker.BROKER_LARGE_MESSAGE_THRESHOLD, "100"));
+        final Queue<?> queue = _virtualHost.createChild(Queue.class, attributes);
+
+        final ServerMessage smallMessage = createMessage(1L, 2, 99);
+        final StoredMessage smallStoredMessage = smallMessage.getStoredMessage();
+        when(smallStoredMessage.getContentSize()).thenReturn(99);
+        final long smallMessageSize = smallMessage.getSizeIncludingHeader();
+        when(smallStoredMessage.getInMemorySize()).thenReturn(smallMessageSize);
+
+        final ServerMessage largeMessage = createMessage(2L, 2, 100);
+        final StoredMessage largeStoredMessage = largeMessage.getStoredMessage();
+        when(largeStoredMessage.getContentSize()).thenReturn(100);
+        final long largeMessageSize = largeMessage.getSizeIncludingHeader();
+        when(largeStoredMessage.getInMemorySize()).thenReturn(largeMessageSize);
+
+        queue.enqueue(smallMessage, null, null);
+        queue.enqueue(largeMessage, null, null);
+
+        verify(smallStoredMessage, never()).flowToDisk();
+        verify(largeStoredMessage).flowToDisk();
+        assertEquals("Unexpected number of messages on the queue", 2, queue.getQueueDepthMessages());
+    }
+
     @Test
     public void testEnqueuedMalformedMessageDeleted() throws Exception
     {
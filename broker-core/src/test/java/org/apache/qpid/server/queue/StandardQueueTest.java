@@ -23,8 +23,10 @@ package org.apache.qpid.server.queue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
@@ -191,6 +193,47 @@ public class StandardQueueTest extends AbstractQueueTestBase
         assertEquals(MessageDurability.NEVER, queue.getMessageDurability());
     }
 
+    @Test
+    public void testLatencyHistograms() throws Exception
+    {
+        getQueue().close();
+        getQueue().delete();
+
+        Map<String,Object> attributes = new HashMap<>();
+        attributes.put(Queue.NAME, getQname());
+        attributes.put(Queue.CONTEXT, Collections.singletonMap(Queue.QUEUE_LATENCY_HISTOGRAMS_ENABLED, "true"));
+
+        Queue<?> queue = getVirtualHost().createChild(Queue.class, attributes);
+        setQueue(queue);
+
+        ServerMessage message = createMessage(1L);
+        when(message.getArrivalTime()).thenReturn(System.currentTimeMillis() - 1000L);
+        queue.enqueue(message, null, null);
+
+        assertTrue("Unexpected enqueue latency", queue.getEnqueueLatencyMedian() >= 1000L);
+        assertEquals(0L, queue.getFirstDeliveryLatencyMedian());
+
+        queue.addConsumer(getConsumerTarget(), null, message.getClass(), "test",
+                          EnumSet.of(ConsumerOption.ACQUIRES, ConsumerOption.SEES_REQUEUES), 0);
+        while(getConsumerTarget().processPending());
+        assertEquals(1, getConsumerTarget().getMessages().size());
+        assertTrue("Unexpected first delivery latency", queue.getFirstDeliveryLatency99thPercentile() >= 1000L);
+
+        getConsumerTarget().getMessages().get(0).delete();
+        assertTrue("Unexpected settlement latency", queue.getSettlementLatency99thPercentile() >= 0L);
+        assertTrue("Unexpected settlement latency", queue.getSettlementLatencyMedian() < 1000L);
+    }
+
+    @Test
+    public void testLatencyHistogramsDisabledByDefault() throws Exception
+    {
+        ServerMessage message = createMessage(1L);
+        when(message.getArrivalTime()).thenReturn(System.currentTimeMillis() - 1000L);
+        getQueue().enqueue(message, null, null);
+
+        assertEquals(0L, getQueue().getEnqueueLatencyMedian());
+    }
+
     private static class DequeuedQueue extends AbstractQueue
     {
 
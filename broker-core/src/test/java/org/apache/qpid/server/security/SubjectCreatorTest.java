@@ -23,6 +23,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -31,9 +33,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import javax.security.auth.Subject;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -48,6 +55,7 @@ import org.apache.qpid.server.security.auth.AuthenticationResult.AuthenticationS
 import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
 import org.apache.qpid.server.security.auth.UsernamePrincipal;
 import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
+import org.apache.qpid.server.util.BoundedExecutor;
 import org.apache.qpid.test.utils.UnitTestBase;
 
 public class SubjectCreatorTest extends UnitTestBase
@@ -103,6 +111,118 @@ public class SubjectCreatorTest extends UnitTestBase
         assertTrue(actualSubject.isReadOnly());
     }
 
+    @Test
+    public void testAuthenticateAsyncUsesAuthenticationExecutor() throws Exception
+    {
+        when(_testSaslNegotiator.handleResponse(_saslResponseBytes)).thenReturn(_authenticationResult);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final SubjectCreator subjectCreator = new SubjectCreator(_authenticationProvider,
+                                                                     Collections.singleton(_groupManager1),
+                                                                     null,
+                                                                     executor);
+
+            final ListenableFuture<SubjectAuthenticationResult> future =
+                    subjectCreator.authenticateAsync(_testSaslNegotiator, _saslResponseBytes);
+            final SubjectAuthenticationResult result = future.get(10, TimeUnit.SECONDS);
+
+            assertSame(AuthenticationStatus.SUCCESS, result.getStatus());
+            assertTrue(result.getSubject().getPrincipals().contains(_group1));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAuthenticateAsyncAfterExecutorShutdown() throws Exception
+    {
+        when(_testSaslNegotiator.handleResponse(_saslResponseBytes)).thenReturn(_authenticationResult);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        final SubjectCreator subjectCreator = new SubjectCreator(_authenticationProvider,
+                                                                 Collections.singleton(_groupManager1),
+                                                                 null,
+                                                                 executor);
+
+        final ListenableFuture<SubjectAuthenticationResult> future =
+                subjectCreator.authenticateAsync(_testSaslNegotiator, _saslResponseBytes);
+
+        assertTrue("Rejected authentication should fail immediately", future.isDone());
+        assertSame(AuthenticationStatus.ERROR, future.get().getStatus());
+        verify(_testSaslNegotiator, never()).handleResponse(_saslResponseBytes);
+    }
+
+    @Test
+    public void testAuthenticateAsyncFailsWhenProviderLimitReached() throws Exception
+    {
+        final CountDownLatch stepStarted = new CountDownLatch(1);
+        final CountDownLatch releaseStep = new CountDownLatch(1);
+        when(_testSaslNegotiator.handleResponse(_saslResponseBytes)).thenAnswer(invocation -> {
+            stepStarted.countDown();
+            releaseStep.await(10, TimeUnit.SECONDS);
+            return _authenticationResult;
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            final SubjectCreator subjectCreator = new SubjectCreator(_authenticationProvider,
+                                                                     Collections.singleton(_groupManager1),
+                                                                     null,
+                                                                     new BoundedExecutor(executor, 1));
+
+            final ListenableFuture<SubjectAuthenticationResult> first =
+                    subjectCreator.authenticateAsync(_testSaslNegotiator, _saslResponseBytes);
+            assertTrue("Authentication step not started", stepStarted.await(10, TimeUnit.SECONDS));
+
+            final ListenableFuture<SubjectAuthenticationResult> second =
+                    subjectCreator.authenticateAsync(_testSaslNegotiator, _saslResponseBytes);
+            assertTrue("Rejected authentication should fail immediately", second.isDone());
+            assertSame(AuthenticationStatus.ERROR, second.get().getStatus());
+
+            releaseStep.countDown();
+            assertSame(AuthenticationStatus.SUCCESS, first.get(10, TimeUnit.SECONDS).getStatus());
+            verify(_testSaslNegotiator, times(1)).handleResponse(_saslResponseBytes);
+        }
+        finally
+        {
+            releaseStep.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAuthenticateAsyncReportsExceptionAsError() throws Exception
+    {
+        final IllegalStateException exception = new IllegalStateException("Test");
+        when(_testSaslNegotiator.handleResponse(_saslResponseBytes)).thenThrow(exception);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            final SubjectCreator subjectCreator = new SubjectCreator(_authenticationProvider,
+                                                                     Collections.singleton(_groupManager1),
+                                                                     null,
+                                                                     executor);
+
+            final SubjectAuthenticationResult result =
+                    subjectCreator.authenticateAsync(_testSaslNegotiator, _saslResponseBytes).get(10, TimeUnit.SECONDS);
+
+            assertSame(AuthenticationStatus.ERROR, result.getStatus());
+            assertSame(exception, result.getCause());
+            assertNull(result.getSubject());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testAuthenticateUnsuccessfulReturnsNullSubjectAndCorrectStatus()
     {
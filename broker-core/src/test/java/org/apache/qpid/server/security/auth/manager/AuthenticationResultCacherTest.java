@@ -135,6 +135,34 @@ public class AuthenticationResultCacherTest extends UnitTestBase
         assertGetOrLoad(credentials, expectedResult, expectedHitCount);
     }
 
+    @Test
+    public void testStatistics() throws Exception
+    {
+        final AuthenticationResult failedResult =
+                new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR);
+        Subject.doAs(_subject, (PrivilegedAction<Void>) () -> {
+            _authenticationResultCacher.getOrLoad(new String[]{"credentials"}, _loader);
+            _authenticationResultCacher.getOrLoad(new String[]{"credentials"}, _loader);
+            _authenticationResultCacher.getOrLoad(new String[]{"wrong credentials"}, () -> failedResult);
+            return null;
+        });
+
+        assertEquals("Unexpected number of requests", 3L, _authenticationResultCacher.getRequestCount());
+        assertEquals("Unexpected number of loads", 2L, _authenticationResultCacher.getLoadCount());
+        assertEquals("Unexpected number of failures", 1L, _authenticationResultCacher.getFailureCount());
+    }
+
+    @Test
+    public void testStatisticsWithoutSubject() throws Exception
+    {
+        _authenticationResultCacher.getOrLoad(new String[]{"credentials"}, _loader);
+        _authenticationResultCacher.getOrLoad(new String[]{"credentials"}, _loader);
+
+        assertEquals("Unexpected number of loads", 1L, _loadCallCount);
+        assertEquals("Unexpected number of requests", 2L, _authenticationResultCacher.getRequestCount());
+        assertEquals("Unexpected number of loads", 1L, _authenticationResultCacher.getLoadCount());
+    }
+
     private void assertGetOrLoad(final String credentials,
                                  final AuthenticationResult expectedResult,
                                  final int expectedHitCount)
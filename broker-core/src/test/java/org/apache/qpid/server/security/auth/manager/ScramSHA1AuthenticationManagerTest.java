@@ -20,13 +20,20 @@
  */
 package org.apache.qpid.server.security.auth.manager;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.Test;
 
+import org.apache.qpid.server.model.User;
+import org.apache.qpid.server.security.auth.AuthenticationResult;
+import org.apache.qpid.server.security.auth.AuthenticationResult.AuthenticationStatus;
+
 public class ScramSHA1AuthenticationManagerTest extends ManagedAuthenticationManagerTestBase
 {
     @Override
@@ -57,4 +64,26 @@ public class ScramSHA1AuthenticationManagerTest extends ManagedAuthenticationMan
         }
     }
 
+    @Test
+    public void testPlainPasswordAuthenticationResultCached() throws Exception
+    {
+        final Map<String, Object> userAttributes = new HashMap<>();
+        userAttributes.put(User.NAME, getTestName());
+        userAttributes.put(User.PASSWORD, "password");
+        final User<?> user = getAuthManager().addChildAsync(User.class, userAttributes).get();
+
+        final AuthenticationResult result = getAuthManager().authenticate(getTestName(), "password");
+        assertEquals(AuthenticationStatus.SUCCESS, result.getStatus());
+        assertSame("Result of repeated authentication should be cached",
+                   result,
+                   getAuthManager().authenticate(getTestName(), "password"));
+
+        user.setPassword("newpassword");
+
+        assertEquals("Cached result should not be used once the password has changed",
+                     AuthenticationStatus.ERROR,
+                     getAuthManager().authenticate(getTestName(), "password").getStatus());
+        assertEquals(AuthenticationStatus.SUCCESS,
+                     getAuthManager().authenticate(getTestName(), "newpassword").getStatus());
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class LatencyHistogramTest extends UnitTestBase
+{
+    @Test
+    public void testEmptyHistogram()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMaximum());
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 8; value++)
+        {
+            histogram.record(value);
+        }
+
+        assertEquals(8L, histogram.getCount());
+        assertEquals(7L, histogram.getMaximum());
+        assertEquals(3L, histogram.getValueAtPercentile(50.0));
+        assertEquals(7L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void testPercentilesWithinPrecision()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10000; value++)
+        {
+            histogram.record(value);
+        }
+
+        assertEquals(10000L, histogram.getCount());
+        assertEquals(10000L, histogram.getMaximum());
+        assertWithinPrecision(5000L, histogram.getValueAtPercentile(50.0));
+        assertWithinPrecision(9900L, histogram.getValueAtPercentile(99.0));
+        assertEquals(10000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void testNegativeValuesRecordedAsZero()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5L);
+
+        assertEquals(1L, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(99.0));
+    }
+
+    @Test
+    public void testBucketBounds()
+    {
+        long previousHighest = -1L;
+        for (int bucket = 0; bucket < LatencyHistogram.getBucket(Long.MAX_VALUE); bucket++)
+        {
+            final long highest = LatencyHistogram.getHighestValue(bucket);
+            assertTrue("Bucket bounds are not increasing at " + bucket, highest > previousHighest);
+            assertEquals(bucket, LatencyHistogram.getBucket(previousHighest + 1));
+            assertEquals(bucket, LatencyHistogram.getBucket(highest));
+            previousHighest = highest;
+        }
+    }
+
+    private void assertWithinPrecision(final long expected, final long actual)
+    {
+        assertTrue(String.format("Value %d not within precision of %d", actual, expected),
+                   actual >= expected && actual <= expected + expected / 8);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.model.Broker;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Model;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.VirtualHost;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class StatisticsSnapshotTest extends UnitTestBase
+{
+    @Test
+    public void testSnapshotHoldsStatisticsOfDescendants()
+    {
+        final Model model = mock(Model.class);
+        final VirtualHost<?> virtualHost = mock(VirtualHost.class);
+        final Queue<?> queue = mock(Queue.class);
+        when(virtualHost.getModel()).thenReturn(model);
+        when(virtualHost.getCategoryClass()).thenReturn((Class) VirtualHost.class);
+        when(virtualHost.getChildren(Queue.class)).thenReturn((Collection) Collections.singletonList(queue));
+        when(virtualHost.getStatistics()).thenReturn(Collections.singletonMap("queueCount", 1));
+        when(queue.getModel()).thenReturn(model);
+        when(queue.getCategoryClass()).thenReturn((Class) Queue.class);
+        when(queue.getStatistics()).thenReturn(Collections.singletonMap("queueDepthMessages", 5));
+        when(model.getChildTypes(VirtualHost.class)).thenReturn(Collections.singletonList(Queue.class));
+        when(model.getChildTypes(Queue.class)).thenReturn(Collections.emptyList());
+
+        final StatisticsSnapshot snapshot = StatisticsSnapshot.collect(virtualHost);
+        when(queue.getStatistics()).thenReturn(Collections.singletonMap("queueDepthMessages", 6));
+
+        assertEquals(Collections.singletonMap("queueCount", 1), snapshot.getStatistics(virtualHost));
+        assertEquals(Collections.singletonMap("queueDepthMessages", 5), snapshot.getStatistics(queue));
+        assertEquals(Collections.singletonMap("queueDepthMessages", 5),
+                     snapshot.getStatistics(queue, Collections.singletonList("queueDepthMessages")));
+        assertEquals(Collections.emptyMap(), snapshot.getStatistics(queue, Collections.singletonList("unknown")));
+        verify(queue, times(1)).getStatistics();
+    }
+
+    @Test
+    public void testObjectsMissingFromSnapshotReadLive()
+    {
+        final StatisticsSnapshot snapshot = StatisticsSnapshot.getLatest(mock(Queue.class));
+        final Queue<?> queue = mock(Queue.class);
+        final Map<String, Object> statistics = Collections.singletonMap("queueDepthMessages", 3);
+        when(queue.getStatistics()).thenReturn(statistics);
+
+        assertSame(statistics, snapshot.getStatistics(queue));
+    }
+
+    @Test
+    public void testLatestSnapshotOfBroker()
+    {
+        final Broker<?> broker = mock(Broker.class);
+        final VirtualHost<?> virtualHost = mock(VirtualHost.class);
+        when(virtualHost.getParent()).thenReturn((ConfiguredObject) broker);
+        final Model model = mock(Model.class);
+        when(broker.getModel()).thenReturn(model);
+        when(broker.getCategoryClass()).thenReturn((Class) Broker.class);
+        when(model.getChildTypes(Broker.class)).thenReturn(Collections.emptyList());
+        final StatisticsSnapshot snapshot = StatisticsSnapshot.collect(broker);
+        when(broker.getStatisticsSnapshot()).thenReturn(snapshot);
+
+        assertSame(snapshot, StatisticsSnapshot.getLatest(virtualHost));
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.configuration.updater.CurrentThreadTaskExecutor;
+import org.apache.qpid.server.configuration.updater.TaskExecutor;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.ConfiguredObjectFactory;
+import org.apache.qpid.server.model.Model;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class GenericRecovererTest extends UnitTestBase
+{
+    private static final String ROOT_TYPE = "Root";
+    private static final String CHILD_TYPE = "Child";
+
+    private TaskExecutor _taskExecutor;
+    private ConfiguredObject<?> _root;
+    private UUID _rootId;
+    private final Map<UUID, ConfiguredObject<?>> _resolvedObjects = new LinkedHashMap<>();
+    private final Map<UUID, ConfiguredObject<?>> _recoveredParents = new HashMap<>();
+    private final Map<UUID, Collection<UUID>> _dependencies = new HashMap<>();
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _taskExecutor = new CurrentThreadTaskExecutor();
+        _taskExecutor.start();
+
+        _rootId = UUID.randomUUID();
+        _root = mock(ConfiguredObject.class);
+        when(_root.getId()).thenReturn(_rootId);
+        when(_root.getTaskExecutor()).thenReturn(_taskExecutor);
+        final Model model = mock(Model.class);
+        when(_root.getModel()).thenReturn(model);
+
+        final ConfiguredObjectFactory factory = mock(ConfiguredObjectFactory.class);
+        when(_root.getObjectFactory()).thenReturn(factory);
+        when(factory.recover(any(ConfiguredObjectRecord.class), any(ConfiguredObject.class))).thenAnswer(
+                invocation -> {
+                    final ConfiguredObjectRecord record = invocation.getArgument(0);
+                    final ConfiguredObject<?> parent = invocation.getArgument(1);
+                    _recoveredParents.put(record.getId(), parent);
+                    return new TestUnresolvedObject(record.getId(), parent);
+                });
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        _taskExecutor.stop();
+    }
+
+    @Test
+    public void testParentsRecoveredBeforeChildren()
+    {
+        final ConfiguredObjectRecord child = createRecord(_rootId);
+        final ConfiguredObjectRecord grandchild = createRecord(child.getId());
+        final ConfiguredObjectRecord greatGrandchild = createRecord(grandchild.getId());
+
+        new GenericRecoverer(_root).recover(Arrays.asList(greatGrandchild, grandchild, child), false);
+
+        assertEquals("Unexpected recovery order",
+                     Arrays.asList(child.getId(), grandchild.getId(), greatGrandchild.getId()),
+                     new ArrayList<>(_resolvedObjects.keySet()));
+        assertSame(_root, _recoveredParents.get(child.getId()));
+        assertSame(_resolvedObjects.get(child.getId()), _recoveredParents.get(grandchild.getId()));
+        assertSame(_resolvedObjects.get(grandchild.getId()), _recoveredParents.get(greatGrandchild.getId()));
+    }
+
+    @Test
+    public void testUnresolvedParent()
+    {
+        final ConfiguredObjectRecord child = createRecord(_rootId);
+        final ConfiguredObjectRecord orphan = createRecord(UUID.randomUUID());
+
+        try
+        {
+            new GenericRecoverer(_root).recover(Arrays.asList(child, orphan), false);
+            fail("Exception not thrown");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue("Unexpected message " + e.getMessage(), e.getMessage().contains(orphan.getId().toString()));
+        }
+        assertEquals(Collections.singleton(child.getId()), _resolvedObjects.keySet());
+    }
+
+    @Test
+    public void testUnresolvedDependency()
+    {
+        final ConfiguredObjectRecord child = createRecord(_rootId);
+        _dependencies.put(child.getId(), Collections.singleton(UUID.randomUUID()));
+
+        try
+        {
+            new GenericRecoverer(_root).recover(Collections.singletonList(child), false);
+            fail("Exception not thrown");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // pass
+        }
+        assertTrue("Object with an unresolved dependency should not be resolved", _resolvedObjects.isEmpty());
+    }
+
+    @Test
+    public void testObjectWithDependenciesOnSeveralObjects()
+    {
+        final ConfiguredObjectRecord dependent = createRecord(_rootId);
+        final ConfiguredObjectRecord dependentChild = createRecord(dependent.getId());
+        final ConfiguredObjectRecord sibling = createRecord(_rootId);
+        final ConfiguredObjectRecord siblingChild = createRecord(sibling.getId());
+        _dependencies.put(dependent.getId(), Arrays.asList(sibling.getId(), siblingChild.getId()));
+
+        new GenericRecoverer(_root).recover(Arrays.asList(dependentChild, dependent, siblingChild, sibling), false);
+
+        final List<UUID> order = new ArrayList<>(_resolvedObjects.keySet());
+        assertEquals("Unexpected number of recovered objects", 4, order.size());
+        assertTrue("Dependent object recovered before its dependencies",
+                   order.indexOf(dependent.getId()) > order.indexOf(sibling.getId())
+                   && order.indexOf(dependent.getId()) > order.indexOf(siblingChild.getId()));
+        assertTrue("Child recovered before its parent",
+                   order.indexOf(dependentChild.getId()) > order.indexOf(dependent.getId()));
+        assertSame(_resolvedObjects.get(dependent.getId()), _recoveredParents.get(dependentChild.getId()));
+    }
+
+    @Test
+    public void testRecordWithSeveralParents()
+    {
+        final ConfiguredObjectRecord first = createRecord(_rootId);
+        final ConfiguredObjectRecord second = createRecord(_rootId);
+
+        assertSeveralParentsRejected(first, second);
+    }
+
+    @Test
+    public void testRecordWithSeveralParentsResolvedAtDifferentDepths()
+    {
+        final ConfiguredObjectRecord first = createRecord(_rootId);
+        final ConfiguredObjectRecord other = createRecord(_rootId);
+        final ConfiguredObjectRecord second = createRecord(other.getId());
+
+        assertSeveralParentsRejected(first, second, other);
+    }
+
+    private void assertSeveralParentsRejected(final ConfiguredObjectRecord first,
+                                              final ConfiguredObjectRecord second,
+                                              final ConfiguredObjectRecord... others)
+    {
+        final Map<String, UUID> parents = new LinkedHashMap<>();
+        parents.put(ROOT_TYPE, first.getId());
+        parents.put(CHILD_TYPE, second.getId());
+        final ConfiguredObjectRecord record =
+                new ConfiguredObjectRecordImpl(UUID.randomUUID(), CHILD_TYPE, Collections.emptyMap(), parents);
+
+        final List<ConfiguredObjectRecord> records = new ArrayList<>(Arrays.asList(record, second, first));
+        records.addAll(Arrays.asList(others));
+        try
+        {
+            new GenericRecoverer(_root).recover(records, false);
+            fail("Exception not thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // pass
+        }
+        assertFalse("Record with several parents should not be recovered",
+                    _recoveredParents.containsKey(record.getId()));
+    }
+
+    private ConfiguredObjectRecord createRecord(final UUID parentId)
+    {
+        return new ConfiguredObjectRecordImpl(UUID.randomUUID(),
+                                              CHILD_TYPE,
+                                              Collections.emptyMap(),
+                                              Collections.singletonMap(ROOT_TYPE, parentId));
+    }
+
+    private class TestUnresolvedObject implements UnresolvedConfiguredObject
+    {
+        private final UUID _id;
+        private final ConfiguredObject<?> _parent;
+        private final Collection<ConfiguredObjectDependency<?>> _unresolvedDependencies = new ArrayList<>();
+
+        TestUnresolvedObject(final UUID id, final ConfiguredObject<?> parent)
+        {
+            _id = id;
+            _parent = parent;
+            for (UUID dependencyId : _dependencies.getOrDefault(id, Collections.emptySet()))
+            {
+                _unresolvedDependencies.add(new TestIdDependency(dependencyId, _unresolvedDependencies));
+            }
+        }
+
+        @Override
+        public ConfiguredObject<?> getParent()
+        {
+            return _parent;
+        }
+
+        @Override
+        public Collection<ConfiguredObjectDependency<?>> getUnresolvedDependencies()
+        {
+            return _unresolvedDependencies;
+        }
+
+        @Override
+        public ConfiguredObject resolve()
+        {
+            final ConfiguredObject<?> object = mock(ConfiguredObject.class);
+            when(object.getId()).thenReturn(_id);
+            _resolvedObjects.put(_id, object);
+            return object;
+        }
+    }
+
+    private static class TestIdDependency implements ConfiguredObjectIdDependency
+    {
+        private final UUID _id;
+        private final Collection<ConfiguredObjectDependency<?>> _unresolvedDependencies;
+
+        TestIdDependency(final UUID id, final Collection<ConfiguredObjectDependency<?>> unresolvedDependencies)
+        {
+            _id = id;
+            _unresolvedDependencies = unresolvedDependencies;
+        }
+
+        @Override
+        public UUID getId()
+        {
+            return _id;
+        }
+
+        @Override
+        public Class getCategoryClass()
+        {
+            return ConfiguredObject.class;
+        }
+
+        @Override
+        public void resolve(final ConfiguredObject object)
+        {
+            _unresolvedDependencies.remove(this);
+        }
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.qpid.server.store;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -30,11 +31,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -51,6 +55,7 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.ConfiguredObjectFactory;
 import org.apache.qpid.server.model.ConfiguredObjectFactoryImpl;
 import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.server.model.SystemConfig;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.store.handler.ConfiguredObjectRecordHandler;
 import org.apache.qpid.server.util.FileUtils;
@@ -447,6 +452,82 @@ public class JsonFileConfigStoreTest extends UnitTestBase
     }
 
 
+    @Test
+    public void testJournaledChangesReplayedOnReopen() throws Exception
+    {
+        when(_parent.getContextValue(Boolean.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_ENABLED)).thenReturn(true);
+        final File journalFile = new File(_storeLocation, _parent.getName() + ".json.journal");
+
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+
+        final UUID queueId = new UUID(0, 1);
+        final UUID queue2Id = new UUID(1, 1);
+        final String queueType = Queue.class.getSimpleName();
+        final Map<String, Object> queueAttr = new HashMap<>();
+        queueAttr.put(ConfiguredObject.NAME, "q1");
+        _store.create(new ConfiguredObjectRecordImpl(queueId, queueType, queueAttr, getRootAsParentMap()));
+        queueAttr.put("owner", "theowner");
+        _store.update(false, new ConfiguredObjectRecordImpl(queueId, queueType, queueAttr, getRootAsParentMap()));
+
+        final ConfiguredObjectRecordImpl queue2Record = new ConfiguredObjectRecordImpl(queue2Id,
+                                                                                      queueType,
+                                                                                      Collections.singletonMap(ConfiguredObject.NAME, "q2"),
+                                                                                      getRootAsParentMap());
+        _store.create(queue2Record);
+        _store.remove(queue2Record);
+
+        assertTrue("Journal should contain changes", journalFile.length() > 0);
+        _store.closeConfigurationStore();
+
+        _store.init(_parent);
+        _store.openConfigurationStore(_handler);
+        verify(_handler).handle(matchesRecord(queueId, queueType, queueAttr));
+        verify(_handler, never()).handle(matchesRecord(queue2Id, queueType, ANY_MAP));
+        assertEquals("Journal should be replaced by snapshot on open", 0, journalFile.length());
+        _store.closeConfigurationStore();
+    }
+
+    @Test
+    public void testJournalCompaction() throws Exception
+    {
+        when(_parent.getContextValue(Boolean.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_ENABLED)).thenReturn(true);
+        when(_parent.getContextValue(Integer.class,
+                                     SystemConfig.JSON_CONFIG_STORE_JOURNAL_COMPACTION_THRESHOLD)).thenReturn(2);
+
+        _store.init(_parent);
+        _store.openConfigurationStore(mock(ConfiguredObjectRecordHandler.class));
+        createRootRecord();
+
+        final String queueType = Queue.class.getSimpleName();
+        for (int i = 0; i < 5; i++)
+        {
+            _store.create(new ConfiguredObjectRecordImpl(new UUID(0, i),
+                                                         queueType,
+                                                         Collections.singletonMap(ConfiguredObject.NAME, "q" + i),
+                                                         getRootAsParentMap()));
+        }
+        _store.closeConfigurationStore();
+
+        final File configFile = new File(_storeLocation, _parent.getName() + ".json");
+        assertTrue("Snapshot should contain compacted changes",
+                   new String(Files.readAllBytes(configFile.toPath()), StandardCharsets.UTF_8).contains("q0"));
+        assertFalse("Compacted journal should be deleted",
+                    new File(_storeLocation, _parent.getName() + ".json.journal.old").exists());
+
+        when(_parent.getContextValue(Boolean.class, SystemConfig.JSON_CONFIG_STORE_JOURNAL_ENABLED)).thenReturn(false);
+        _store.init(_parent);
+        _store.openConfigurationStore(_handler);
+        for (int i = 0; i < 5; i++)
+        {
+            verify(_handler).handle(matchesRecord(new UUID(0, i),
+                                                  queueType,
+                                                  Collections.singletonMap(ConfiguredObject.NAME, "q" + i)));
+        }
+        _store.closeConfigurationStore();
+    }
+
     private void createRootRecord()
     {
         UUID rootRecordId = UUID.randomUUID();
@@ -0,0 +1,253 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.store;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.configuration.IllegalConfigurationException;
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class MessageContentCompressorTest extends UnitTestBase
+{
+    private static final int THRESHOLD = 64;
+
+    @Test
+    public void testCompressAndDecompress()
+    {
+        final MessageContentCompressor compressor = new MessageContentCompressor(true, THRESHOLD, 1);
+        final byte[] content = createCompressibleContent(4096);
+
+        final byte[] compressed = compress(compressor, content);
+
+        assertTrue("Content not compressed", compressed != null && compressed.length < content.length);
+        assertEquals(1L, compressor.getCompressedContentCount());
+        assertEquals((long) content.length, compressor.getBytesBeforeCompression());
+        assertEquals((long) compressed.length, compressor.getBytesAfterCompression());
+
+        final QpidByteBuffer decompressed =
+                MessageContentCompressor.decompress(compressed, 0, compressed.length, content.length);
+        try
+        {
+            assertArrayEquals(content, toArray(decompressed));
+        }
+        finally
+        {
+            decompressed.dispose();
+        }
+    }
+
+    @Test
+    public void testContentBelowThresholdNotCompressed()
+    {
+        final MessageContentCompressor compressor = new MessageContentCompressor(true, THRESHOLD, 1);
+
+        assertNull(compress(compressor, createCompressibleContent(THRESHOLD - 1)));
+        assertEquals(0L, compressor.getCompressedContentCount());
+    }
+
+    @Test
+    public void testDisabledCompressorDoesNotCompress()
+    {
+        final MessageContentCompressor compressor = new MessageContentCompressor(false, THRESHOLD, 1);
+
+        assertNull(compress(compressor, createCompressibleContent(4096)));
+        assertEquals(0L, compressor.getBytesBeforeCompression());
+    }
+
+    @Test
+    public void testIncompressibleContentNotCompressed()
+    {
+        final MessageContentCompressor compressor = new MessageContentCompressor(true, THRESHOLD, 9);
+        final byte[] content = new byte[4096];
+        new Random(0).nextBytes(content);
+
+        assertNull(compress(compressor, content));
+        assertEquals(0L, compressor.getCompressedContentCount());
+    }
+
+    @Test
+    public void testUncompressedContentReadUnchanged()
+    {
+        final byte[] content = createCompressibleContent(THRESHOLD);
+        final QpidByteBuffer stored = QpidByteBuffer.wrap(content);
+
+        final QpidByteBuffer decompressed = MessageContentCompressor.decompress(stored, content.length);
+        try
+        {
+            assertArrayEquals(content, toArray(decompressed));
+        }
+        finally
+        {
+            decompressed.dispose();
+        }
+    }
+
+    @Test
+    public void testUncompressedContentStartingWithHeaderReadUnchanged()
+    {
+        // content which was stored uncompressed but happens to start with the header of compressed content
+        final byte[] content = compress(new MessageContentCompressor(true, THRESHOLD, 1), createCompressibleContent(4096));
+
+        final QpidByteBuffer decompressed = MessageContentCompressor.decompress(content, 0, content.length, content.length);
+        try
+        {
+            assertArrayEquals(content, toArray(decompressed));
+        }
+        finally
+        {
+            decompressed.dispose();
+        }
+    }
+
+    @Test
+    public void testShortContentWithoutHeader()
+    {
+        final byte[] content = createCompressibleContent(4096);
+
+        try
+        {
+            MessageContentCompressor.decompress(content, 0, content.length / 2, content.length);
+            fail("Exception not thrown");
+        }
+        catch (StoreException e)
+        {
+            // pass
+        }
+    }
+
+    @Test
+    public void testCorruptContent()
+    {
+        final byte[] content = createCompressibleContent(4096);
+        final byte[] compressed = compress(new MessageContentCompressor(true, THRESHOLD, 1), content);
+
+        try
+        {
+            MessageContentCompressor.decompress(compressed, 0, compressed.length / 2, content.length);
+            fail("Exception not thrown");
+        }
+        catch (StoreException e)
+        {
+            // pass
+        }
+    }
+
+    @Test
+    public void testCompressorReusedAfterIncompressibleContent()
+    {
+        final MessageContentCompressor compressor = new MessageContentCompressor(true, THRESHOLD, 1);
+        final byte[] content = createCompressibleContent(4096);
+        final byte[] random = new byte[4096];
+        new Random().nextBytes(random);
+
+        final byte[] first = compress(compressor, content);
+        assertNull("Incompressible content should not be compressed", compress(compressor, random));
+        final byte[] second = compress(compressor, content);
+
+        assertArrayEquals("Unexpected compressed content", first, second);
+        assertEquals(2L, compressor.getCompressedContentCount());
+    }
+
+    @Test
+    public void testInvalidCompressionLevel()
+    {
+        for (int level : new int[]{-2, 10})
+        {
+            try
+            {
+                new MessageContentCompressor(true, THRESHOLD, level);
+                fail("Exception not thrown for level " + level);
+            }
+            catch (IllegalConfigurationException e)
+            {
+                // pass
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidCompressionLevelInContext()
+    {
+        final ConfiguredObject<?> parent = mock(ConfiguredObject.class);
+        when(parent.getContextKeys(false)).thenReturn(Collections.singleton(
+                QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_LEVEL));
+        when(parent.getContextValue(Integer.class, QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_LEVEL))
+                .thenReturn(10);
+
+        try
+        {
+            MessageContentCompressor.create(parent);
+            fail("Exception not thrown");
+        }
+        catch (IllegalConfigurationException e)
+        {
+            // pass
+        }
+    }
+
+    private static byte[] compress(final MessageContentCompressor compressor, final byte[] content)
+    {
+        final QpidByteBuffer buffer = QpidByteBuffer.wrap(content);
+        try
+        {
+            final byte[] compressed = compressor.compress(buffer);
+            assertEquals("Position of the content changed", content.length, buffer.remaining());
+            return compressed;
+        }
+        finally
+        {
+            buffer.dispose();
+        }
+    }
+
+    private static byte[] toArray(final QpidByteBuffer buffer)
+    {
+        final byte[] data = new byte[buffer.remaining()];
+        buffer.get(data);
+        return data;
+    }
+
+    private static byte[] createCompressibleContent(final int size)
+    {
+        final StringBuilder content = new StringBuilder();
+        int i = 0;
+        while (content.length() < size)
+        {
+            content.append("{\"id\":").append(i++).append(",\"name\":\"value\"}");
+        }
+        return content.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+}
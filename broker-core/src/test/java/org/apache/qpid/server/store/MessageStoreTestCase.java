@@ -475,6 +475,25 @@ public abstract class MessageStoreTestCase extends UnitTestBase
         assertEquals(0, storedMessage.getInMemorySize());
     }
 
+    @Test
+    public void testReleaseMetaData()
+    {
+        assumeThat(flowToDiskSupported(), is(equalTo(true)));
+
+        final StoredMessage<?> storedMessage = createStoredMessage();
+        assertTrue(storedMessage.flowToDisk());
+        assertNotNull(storedMessage.getContent(0, storedMessage.getContentSize()));
+        final long bytesEvacuated = getStore().getBytesEvacuatedFromMemory();
+
+        storedMessage.releaseMetaData();
+
+        assertEquals(storedMessage.getContentSize(), storedMessage.getInMemorySize());
+        assertEquals(bytesEvacuated, getStore().getBytesEvacuatedFromMemory());
+        assertNotNull(storedMessage.getMetaData());
+        assertEquals(storedMessage.getContentSize() + storedMessage.getMetadataSize(),
+                     storedMessage.getInMemorySize());
+    }
+
     @Test
     public void testFlowToDiskAfterContentReload()
     {
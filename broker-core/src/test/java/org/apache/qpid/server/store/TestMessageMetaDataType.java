@@ -22,6 +22,7 @@ package org.apache.qpid.server.store;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.plugin.MessageMetaDataType;
@@ -141,6 +142,18 @@ public class TestMessageMetaDataType implements MessageMetaDataType<TestMessageM
             return ValidationStatus.VALID;
         }
 
+        @Override
+        public ConvertedMessageCache getConvertedMessageCache()
+        {
+            return null;
+        }
+
+        @Override
+        public ConvertedMessageCache getOrCreateConvertedMessageCache()
+        {
+            return null;
+        }
+
         @Override
         public long getExpiration()
         {
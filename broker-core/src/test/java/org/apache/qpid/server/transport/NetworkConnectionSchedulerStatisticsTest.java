@@ -0,0 +1,71 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.transport;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class NetworkConnectionSchedulerStatisticsTest extends UnitTestBase
+{
+    @Test
+    public void testRecordPasses()
+    {
+        final NetworkConnectionSchedulerStatistics statistics = new NetworkConnectionSchedulerStatistics();
+
+        statistics.recordPass(TimeUnit.MILLISECONDS.toNanos(3), TimeUnit.MILLISECONDS.toNanos(10), 100, 0);
+        statistics.recordPass(TimeUnit.MILLISECONDS.toNanos(5), TimeUnit.MILLISECONDS.toNanos(20), 50, 400);
+
+        assertEquals(2L, statistics.getPasses());
+        assertEquals(8L, statistics.getQueueWaitTime());
+        assertEquals(30L, statistics.getWorkTime());
+        assertEquals(150L, statistics.getBytesRead());
+        assertEquals(400L, statistics.getBytesWritten());
+    }
+
+    @Test
+    public void testRecordYields()
+    {
+        final NetworkConnectionSchedulerStatistics statistics = new NetworkConnectionSchedulerStatistics();
+
+        statistics.recordYield(NetworkConnectionSchedulerStatistics.YieldReason.POOL_SATURATED);
+        statistics.recordYield(NetworkConnectionSchedulerStatistics.YieldReason.POOL_SATURATED);
+        statistics.recordYield(NetworkConnectionSchedulerStatistics.YieldReason.WRITE_BLOCKED);
+
+        assertEquals(2L, statistics.getPoolSaturatedYields());
+        assertEquals(1L, statistics.getWriteBlockedYields());
+    }
+
+    @Test
+    public void testNegativeQueueWaitIgnored()
+    {
+        final NetworkConnectionSchedulerStatistics statistics = new NetworkConnectionSchedulerStatistics();
+
+        statistics.recordPass(-TimeUnit.MILLISECONDS.toNanos(5), 0, 0, 0);
+
+        assertEquals(1L, statistics.getPasses());
+        assertEquals(0L, statistics.getQueueWaitTime());
+    }
+}
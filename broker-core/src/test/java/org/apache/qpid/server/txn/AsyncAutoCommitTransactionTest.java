@@ -21,6 +21,8 @@ package org.apache.qpid.server.txn;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -150,4 +152,52 @@ public class AsyncAutoCommitTransactionTest extends UnitTestBase
         verify(_futureRecorder).recordFuture(any(ListenableFuture.class), any(Action.class));
         verifyNoInteractions(_postTransactionAction);
     }
+
+    @Test
+    public void testBatchedDequeuesShareStoreTransaction() throws Exception
+    {
+        when(_future.isDone()).thenReturn(false);
+        final MessageEnqueueRecord record1 = mock(MessageEnqueueRecord.class);
+        final MessageEnqueueRecord record2 = mock(MessageEnqueueRecord.class);
+        final Action action1 = mock(Action.class);
+        final Action action2 = mock(Action.class);
+
+        AsyncAutoCommitTransaction asyncAutoCommitTransaction =
+                new AsyncAutoCommitTransaction(_messageStore, _futureRecorder);
+
+        asyncAutoCommitTransaction.startBatch();
+        asyncAutoCommitTransaction.dequeue(record1, action1);
+        asyncAutoCommitTransaction.dequeue(record2, action2);
+
+        verify(_storeTransaction, never()).commitTranAsync((Void) null);
+        verifyNoInteractions(_futureRecorder);
+
+        asyncAutoCommitTransaction.endBatch();
+
+        verify(_messageStore, times(1)).newTransaction();
+        verify(_storeTransaction).dequeueMessage(record1);
+        verify(_storeTransaction).dequeueMessage(record2);
+        verify(_storeTransaction, times(1)).commitTranAsync((Void) null);
+        verify(_futureRecorder, times(1)).recordFuture(eq(_future), any(Action.class));
+        verifyNoInteractions(action1, action2);
+    }
+
+    @Test
+    public void testBatchedTransientDequeuesCompleteOnEndOfBatch() throws Exception
+    {
+        final Action action = mock(Action.class);
+
+        AsyncAutoCommitTransaction asyncAutoCommitTransaction =
+                new AsyncAutoCommitTransaction(_messageStore, _futureRecorder);
+
+        asyncAutoCommitTransaction.startBatch();
+        asyncAutoCommitTransaction.dequeue((MessageEnqueueRecord) null, action);
+
+        verifyNoInteractions(action);
+
+        asyncAutoCommitTransaction.endBatch();
+
+        verifyNoInteractions(_storeTransaction);
+        verify(action).postCommit();
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.txn;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import com.google.common.util.concurrent.Futures;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.apache.qpid.server.store.MessageStore;
+import org.apache.qpid.server.store.Transaction;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class DtxRegistryTest extends UnitTestBase
+{
+    private Transaction _storeTransaction;
+    private DtxRegistry _registry;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        _storeTransaction = mock(Transaction.class);
+        when(_storeTransaction.commitTranAsync((Void) null)).thenReturn(Futures.immediateFuture(null));
+        when(_storeTransaction.recordXid(anyInt(), any(byte[].class), any(byte[].class),
+                                         any(Transaction.EnqueueRecord[].class),
+                                         any(Transaction.DequeueRecord[].class)))
+                .thenReturn(mock(Transaction.StoredXidRecord.class));
+
+        final MessageStore messageStore = mock(MessageStore.class);
+        when(messageStore.newTransaction()).thenReturn(_storeTransaction);
+        final QueueManagingVirtualHost<?> virtualHost = mock(QueueManagingVirtualHost.class);
+        when(virtualHost.getMessageStore()).thenReturn(messageStore);
+
+        _registry = new DtxRegistry(virtualHost);
+    }
+
+    @Test
+    public void testPrepareAndCommit() throws Exception
+    {
+        final Xid xid = createXid(1);
+        assertTrue(_registry.registerBranch(new DtxBranch(xid, _registry)));
+        assertEquals(1, _registry.getBranchCount());
+
+        _registry.prepare(xid);
+
+        assertEquals(1, _registry.getPreparedBranchCount());
+        assertEquals(1L, _registry.getPrepareCount());
+        assertEquals(Collections.singletonList(xid), _registry.recover());
+
+        _registry.commit(xid, false);
+
+        assertEquals(0, _registry.getBranchCount());
+        assertEquals(1L, _registry.getCommitCount());
+        assertNull(_registry.getBranch(xid));
+        verify(_storeTransaction, times(2)).commitTranAsync((Void) null);
+        verify(_storeTransaction, never()).commitTran();
+    }
+
+    @Test
+    public void testRollback() throws Exception
+    {
+        final Xid xid = createXid(2);
+        _registry.registerBranch(new DtxBranch(xid, _registry));
+
+        _registry.rollback(xid);
+
+        assertEquals(0, _registry.getBranchCount());
+        assertEquals(1L, _registry.getRollbackCount());
+        assertEquals(0L, _registry.getCommitCount());
+    }
+
+    @Test
+    public void testRegisterBranchTwice()
+    {
+        final Xid xid = createXid(3);
+
+        assertTrue(_registry.registerBranch(new DtxBranch(xid, _registry)));
+        assertFalse(_registry.registerBranch(new DtxBranch(createXid(3), _registry)));
+        assertEquals(1, _registry.getBranchCount());
+    }
+
+    @Test
+    public void testCommitOfCompletedBranch() throws Exception
+    {
+        final Xid xid = createXid(4);
+        _registry.registerBranch(new DtxBranch(xid, _registry));
+        _registry.commit(xid, true);
+
+        try
+        {
+            _registry.commit(xid, true);
+            fail("Exception not thrown");
+        }
+        catch (UnknownDtxBranchException e)
+        {
+            // pass
+        }
+        assertEquals(1L, _registry.getCommitCount());
+    }
+
+    private static Xid createXid(final int branchId)
+    {
+        return new Xid(0L, new byte[]{1}, new byte[]{(byte) branchId});
+    }
+}
@@ -140,6 +140,27 @@ public class FlowToDiskTransactionObserverTest extends UnitTestBase
         verify(_eventLogger, times(2)).message(same(_logSubject), any(LogMessage.class));
     }
 
+    @Test
+    public void testLargeMessageFlowedToDiskOnEnqueue() throws Exception
+    {
+        _flowToDiskMessageObserver = new FlowToDiskTransactionObserver(-1L,
+                                                                       MAX_UNCOMMITTED_IN_MEMORY_SIZE,
+                                                                       _logSubject,
+                                                                       _eventLogger);
+        EnqueueableMessage<?> message1 = createMessage(MAX_UNCOMMITTED_IN_MEMORY_SIZE - 1);
+        EnqueueableMessage<?> message2 = createMessage(MAX_UNCOMMITTED_IN_MEMORY_SIZE);
+        EnqueueableMessage<?> message3 = createMessage(MAX_UNCOMMITTED_IN_MEMORY_SIZE - 1);
+
+        _flowToDiskMessageObserver.onMessageEnqueue(_transaction, message1);
+        _flowToDiskMessageObserver.onMessageEnqueue(_transaction, message2);
+        _flowToDiskMessageObserver.onMessageEnqueue(_transaction, message3);
+
+        verify(message1.getStoredMessage(), never()).flowToDisk();
+        verify(message2.getStoredMessage()).flowToDisk();
+        verify(message3.getStoredMessage(), never()).flowToDisk();
+        verify(_eventLogger, never()).message(same(_logSubject), any(LogMessage.class));
+    }
+
     private EnqueueableMessage<?> createMessage(int size)
     {
         EnqueueableMessage message = mock(EnqueueableMessage.class);
@@ -23,6 +23,7 @@ package org.apache.qpid.server.txn;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.store.StoredMessage;
@@ -160,6 +161,18 @@ class MockServerMessage implements ServerMessage
         return ValidationStatus.VALID;
     }
 
+    @Override
+    public ConvertedMessageCache getConvertedMessageCache()
+    {
+        return null;
+    }
+
+    @Override
+    public ConvertedMessageCache getOrCreateConvertedMessageCache()
+    {
+        return null;
+    }
+
     @Override
     public long getArrivalTime()
     {
@@ -0,0 +1,104 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class BoundedExecutorTest extends UnitTestBase
+{
+    private final List<Runnable> _submitted = new ArrayList<>();
+
+    @Test
+    public void testTasksRejectedWhenLimitReached()
+    {
+        final BoundedExecutor executor = new BoundedExecutor(_submitted::add, 2);
+        executor.execute(() -> {});
+        executor.execute(() -> {});
+        assertEquals(2, executor.getOutstandingTaskCount());
+
+        try
+        {
+            executor.execute(() -> {});
+            fail("Exception not thrown");
+        }
+        catch (RejectedExecutionException e)
+        {
+            // pass
+        }
+        assertEquals(2, _submitted.size());
+
+        _submitted.get(0).run();
+        assertEquals(1, executor.getOutstandingTaskCount());
+
+        executor.execute(() -> {});
+        assertEquals(3, _submitted.size());
+    }
+
+    @Test
+    public void testTaskRejectedByDelegateNotCounted()
+    {
+        final Executor rejecting = command -> {
+            throw new RejectedExecutionException("Test");
+        };
+        final BoundedExecutor executor = new BoundedExecutor(rejecting, 1);
+
+        try
+        {
+            executor.execute(() -> {});
+            fail("Exception not thrown");
+        }
+        catch (RejectedExecutionException e)
+        {
+            // pass
+        }
+        assertEquals(0, executor.getOutstandingTaskCount());
+    }
+
+    @Test
+    public void testFailingTaskReleasesLimit()
+    {
+        final BoundedExecutor executor = new BoundedExecutor(_submitted::add, 1);
+        executor.execute(() -> {
+            throw new IllegalStateException("Test");
+        });
+
+        try
+        {
+            _submitted.get(0).run();
+            fail("Exception not thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // pass
+        }
+        assertEquals(0, executor.getOutstandingTaskCount());
+    }
+}
@@ -22,6 +22,7 @@ package org.apache.qpid.server.virtualhost;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
@@ -29,19 +30,25 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 
 import org.apache.qpid.server.logging.EventLogger;
@@ -150,6 +157,50 @@ public class AsynchronousMessageStoreRecovererTest extends UnitTestBase
                               same(messageEnqueueRecord));
     }
 
+    @Test
+    public void testRecoveryOfManyQueuesWithBoundedThreadPool() throws Exception
+    {
+        when(_virtualHost.getContextValue(Integer.class, QueueManagingVirtualHost.ASYNC_RECOVERY_THREAD_COUNT)).thenReturn(2);
+        when(_store.getNextMessageId()).thenReturn(3L);
+
+        final List<Queue<?>> queues = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            final Queue<?> queue = mock(Queue.class);
+            when(queue.getName()).thenReturn("queue" + i);
+            queues.add(queue);
+        }
+        when(_virtualHost.getChildren(eq(Queue.class))).thenReturn(queues);
+
+        final StoredMessage<?> storedMessage = createTestMessage(1L);
+        final StoredMessage<?> orphanedMessage = createTestMessage(2L);
+        final MessageEnqueueRecord messageEnqueueRecord = mock(MessageEnqueueRecord.class);
+        when(messageEnqueueRecord.getMessageNumber()).thenReturn(1L);
+
+        MockStoreReader storeReader = new MockStoreReader(Collections.singletonList(messageEnqueueRecord),
+                                                          Arrays.asList(storedMessage, orphanedMessage));
+        when(_store.newMessageStoreReader()).thenReturn(storeReader);
+
+        AsynchronousMessageStoreRecoverer recoverer = new AsynchronousMessageStoreRecoverer();
+        ListenableFuture<Void> result = recoverer.recover(_virtualHost);
+        assertNull(result.get());
+
+        final ArgumentCaptor<ServerMessage> messageCaptor = ArgumentCaptor.forClass(ServerMessage.class);
+        for (Queue<?> queue : queues)
+        {
+            verify(queue).recover(messageCaptor.capture(), same(messageEnqueueRecord));
+            verify(queue).completeRecovery();
+        }
+        for (ServerMessage message : messageCaptor.getAllValues())
+        {
+            assertSame("Message should be shared by all queues", messageCaptor.getValue(), message);
+        }
+        verify(orphanedMessage).remove();
+        verify(storedMessage, never()).remove();
+        assertEquals("Message shared by all queues should be read from the store once",
+                     1, storeReader.getMessageReadCount(1L));
+    }
+
     private StoredMessage<?> createTestMessage(final long messageNumber)
     {
         final StorableMessageMetaData metaData = new TestMessageMetaData(messageNumber, 0);
@@ -163,6 +214,7 @@ public class AsynchronousMessageStoreRecovererTest extends UnitTestBase
     {
         private final List<MessageEnqueueRecord> _messageEnqueueRecords;
         private final List<StoredMessage<?>> _messages;
+        private final Map<Long, AtomicInteger> _messageReadCounts = new ConcurrentHashMap<>();
 
         private MockStoreReader(final List<MessageEnqueueRecord> messageEnqueueRecords, List<StoredMessage<?>> messages)
         {
@@ -204,6 +256,7 @@ public class AsynchronousMessageStoreRecovererTest extends UnitTestBase
         @Override
         public StoredMessage<?> getMessage(final long messageId)
         {
+            _messageReadCounts.computeIfAbsent(messageId, id -> new AtomicInteger()).incrementAndGet();
             for(StoredMessage<?> message: _messages)
             {
                 if (message.getMessageNumber() == messageId)
@@ -219,5 +272,11 @@ public class AsynchronousMessageStoreRecovererTest extends UnitTestBase
         {
 
         }
+
+        int getMessageReadCount(final long messageId)
+        {
+            final AtomicInteger count = _messageReadCounts.get(messageId);
+            return count == null ? 0 : count.get();
+        }
     }
 }
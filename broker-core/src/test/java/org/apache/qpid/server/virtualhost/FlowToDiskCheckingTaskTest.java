@@ -21,14 +21,17 @@
 
 package org.apache.qpid.server.virtualhost;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.After;
@@ -36,6 +39,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.ConvertedMessageCache;
 import org.apache.qpid.server.message.MessageReference;
 import org.apache.qpid.server.message.ServerMessage;
 import org.apache.qpid.server.message.internal.InternalMessage;
@@ -96,6 +100,38 @@ public class FlowToDiskCheckingTaskTest extends UnitTestBase
         verify(message.getStoredMessage()).flowToDisk();
     }
 
+    @Test
+    public void testFlowToDiskEvictsCachedConversions()
+    {
+        final ServerMessage message = createMessage(10, 20);
+        final ConvertedMessageCache cache = new ConvertedMessageCache();
+        final List<String> disposed = new ArrayList<>();
+        cache.add(String.class, "converted", 30L, disposed::add).release();
+        when(message.getConvertedMessageCache()).thenReturn(cache);
+        _queue.enqueue(message, null, null);
+
+        makeVirtualHostTargetSizeExceeded();
+
+        _task.execute();
+        verify(message.getStoredMessage()).flowToDisk();
+        assertEquals("Cached conversion should be disposed", Collections.singletonList("converted"), disposed);
+    }
+
+    @Test
+    public void testConvertedMessageCacheSizeCountedInMemory()
+    {
+        final long inMemoryMessageSize = _virtualHost.getInMemoryMessageSize();
+        _virtualHost.setTargetSize(inMemoryMessageSize + 50L);
+
+        _virtualHost.changeConvertedMessageCacheSize(100L);
+        assertEquals("Unexpected in-memory message size", inMemoryMessageSize + 100L,
+                     _virtualHost.getInMemoryMessageSize());
+        assertTrue("Cached conversions should count towards the target size", _virtualHost.isOverTargetSize());
+
+        _virtualHost.changeConvertedMessageCacheSize(-100L);
+        assertEquals("Unexpected in-memory message size", inMemoryMessageSize, _virtualHost.getInMemoryMessageSize());
+    }
+
     private void makeVirtualHostTargetSizeExceeded()
     {
         if (_virtualHost.getInMemoryMessageSize() == 0)
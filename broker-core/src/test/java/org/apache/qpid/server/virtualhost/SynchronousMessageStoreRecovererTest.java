@@ -33,6 +33,7 @@ import static org.mockito.Mockito.when;
 
 import java.util.UUID;
 
+import com.google.common.util.concurrent.Futures;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
@@ -109,6 +110,43 @@ public class SynchronousMessageStoreRecovererTest extends UnitTestBase
         verify(queue, times(1)).recover(eq(message), any(MessageEnqueueRecord.class));
     }
 
+    @Test
+    public void testLazyMetadataRecoveryReleasesMetadata()
+    {
+        when(_virtualHost.getContextValue(Boolean.class, QueueManagingVirtualHost.LAZY_METADATA_RECOVERY)).thenReturn(true);
+        final Queue<?> queue = createRegisteredMockQueue();
+
+        final long messageId = 1;
+        final StoredMessage<StorableMessageMetaData> storedMessage = createMockStoredMessage(messageId);
+
+        MessageStore store = new NullMessageStore()
+        {
+            @Override
+            public void visitMessages(MessageHandler handler) throws StoreException
+            {
+                handler.handle(storedMessage);
+                verify(storedMessage).releaseMetaData();
+                verify(storedMessage, never()).getMetaData();
+            }
+
+            @Override
+            public void visitMessageInstances(MessageInstanceHandler handler) throws StoreException
+            {
+                handler.handle(new TestMessageEnqueueRecord(queue.getId(), messageId));
+            }
+        };
+
+        when(_virtualHost.getMessageStore()).thenReturn(store);
+
+        SynchronousMessageStoreRecoverer
+                recoverer = new SynchronousMessageStoreRecoverer();
+        recoverer.recover(_virtualHost);
+
+        verify(queue, times(1)).recover(any(ServerMessage.class), any(MessageEnqueueRecord.class));
+        verify(storedMessage, times(2)).releaseMetaData();
+        verify(storedMessage, never()).flowToDisk();
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testRecoveryOfMessageInstanceForNonExistingMessage()
@@ -227,6 +265,7 @@ public class SynchronousMessageStoreRecovererTest extends UnitTestBase
         Queue<?> queue = createRegisteredMockQueue();
 
         final Transaction transaction = mock(Transaction.class);
+        when(transaction.commitTranAsync((Void) null)).thenReturn(Futures.immediateFuture(null));
 
         final StoredMessage<StorableMessageMetaData> storedMessage = createMockStoredMessage(1);
         long messageId = storedMessage.getMessageNumber();
@@ -301,7 +340,7 @@ public class SynchronousMessageStoreRecovererTest extends UnitTestBase
 
         ServerMessage<?> message = storedMessage.getMetaData().getType().createMessage(storedMessage);
         verify(queue, times(1)).enqueue(eq(message), isNull(), isNull());
-        verify(transaction).commitTran();
+        verify(transaction).commitTranAsync((Void) null);
     }
 
     @Test
@@ -312,6 +351,7 @@ public class SynchronousMessageStoreRecovererTest extends UnitTestBase
 
 
         final Transaction transaction = mock(Transaction.class);
+        when(transaction.commitTranAsync((Void) null)).thenReturn(Futures.immediateFuture(null));
         final StoredMessage<StorableMessageMetaData> storedMessage = createMockStoredMessage(1);
         final long messageId = storedMessage.getMessageNumber();
 
@@ -390,7 +430,7 @@ public class SynchronousMessageStoreRecovererTest extends UnitTestBase
         branch.commit();
 
         verify(queueEntry, times(1)).delete();
-        verify(transaction).commitTran();
+        verify(transaction).commitTranAsync((Void) null);
     }
 
 
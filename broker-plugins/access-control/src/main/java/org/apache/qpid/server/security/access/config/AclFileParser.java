@@ -39,6 +39,7 @@ import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.configuration.IllegalConfigurationException;
 import org.apache.qpid.server.logging.EventLoggerProvider;
+import org.apache.qpid.server.model.AccessControlProvider;
 import org.apache.qpid.server.security.Result;
 import org.apache.qpid.server.security.access.plugins.RuleOutcome;
 
@@ -110,7 +111,17 @@ public final class AclFileParser
         return parse(getReaderFromURLString(name), eventLoggerProvider);
     }
 
+    public static RuleSet parse(String name, EventLoggerProvider eventLoggerProvider, int decisionCacheSize)
+    {
+        return parse(getReaderFromURLString(name), eventLoggerProvider, decisionCacheSize);
+    }
+
     public static RuleSet parse(final Reader configReader, EventLoggerProvider eventLogger)
+    {
+        return parse(configReader, eventLogger, AccessControlProvider.DEFAULT_DECISION_CACHE_SIZE);
+    }
+
+    public static RuleSet parse(final Reader configReader, EventLoggerProvider eventLogger, int decisionCacheSize)
     {
         RuleSetCreator ruleSetCreator = new RuleSetCreator();
 
@@ -245,7 +256,7 @@ public final class AclFileParser
         {
             throw new IllegalConfigurationException(CANNOT_LOAD_MSG, ioe);
         }
-        return ruleSetCreator.createRuleSet(eventLogger);
+        return ruleSetCreator.createRuleSet(eventLogger, decisionCacheSize);
     }
 
     private static void parseAcl(Integer number, List<String> args, final RuleSetCreator ruleSetCreator, final int line)
@@ -20,38 +20,50 @@ package org.apache.qpid.server.security.access.config;
 
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.WeakHashMap;
 
 import javax.security.auth.Subject;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.apache.qpid.server.logging.EventLogger;
 import org.apache.qpid.server.logging.EventLoggerProvider;
 import org.apache.qpid.server.logging.messages.AccessControlMessages;
+import org.apache.qpid.server.model.AccessControlProvider;
 import org.apache.qpid.server.security.Result;
 import org.apache.qpid.server.security.access.plugins.RuleOutcome;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
+import org.apache.qpid.server.security.group.GroupPrincipal;
 
 /**
  * Models the rule configuration for the access control plugin.
+ *
+ * On construction the rules are compiled into a {@link RuleTable} per operation and object type.  The outcome of
+ * a check which does not depend on the connection of the subject (i.e. which evaluated no firewall or connection
+ * limit rule) is remembered in a bounded decision cache keyed by the names of the authenticated user and group
+ * principals of the subject and the action.  Other principals of the subject, such as its connection or session,
+ * are not taken into account.
+ * A rule set is immutable: reloading the access control configuration creates a new rule set with empty caches.
  */
 public class RuleSet implements EventLoggerProvider
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(RuleSet.class);
 
     private final List<Rule> _rules;
-    private final Map<Subject, Map<LegacyOperation, Map<ObjectType, List<Rule>>>> _cache =
-                        Collections.synchronizedMap(new WeakHashMap<Subject, Map<LegacyOperation, Map<ObjectType, List<Rule>>>>());
+    private final Map<LegacyOperation, Map<ObjectType, RuleTable>> _ruleTables = new EnumMap<>(LegacyOperation.class);
+    private final Cache<SubjectIdentity, BitSet> _relevantRules;
+    private final Cache<DecisionKey, Decision> _decisions;
 
     private final EventLoggerProvider _eventLogger;
     private Result _defaultResult = Result.DENIED;
@@ -59,10 +71,21 @@ public class RuleSet implements EventLoggerProvider
     public RuleSet(final EventLoggerProvider eventLogger,
                    final Collection<Rule> rules,
                    final Result defaultResult)
+    {
+        this(eventLogger, rules, defaultResult, AccessControlProvider.DEFAULT_DECISION_CACHE_SIZE);
+    }
+
+    public RuleSet(final EventLoggerProvider eventLogger,
+                   final Collection<Rule> rules,
+                   final Result defaultResult,
+                   final int decisionCacheSize)
     {
         _eventLogger = eventLogger;
         _rules = new ArrayList<>(rules);
         _defaultResult = defaultResult;
+        _relevantRules = CacheBuilder.newBuilder().maximumSize(Math.max(0, decisionCacheSize)).build();
+        _decisions = CacheBuilder.newBuilder().maximumSize(Math.max(0, decisionCacheSize)).build();
+        compileRuleTables();
     }
 
     int getRuleCount()
@@ -71,143 +94,158 @@ public class RuleSet implements EventLoggerProvider
     }
 
     /**
-     * Filtered rules list based on a subject and operation.
-     *
-     * Allows only enabled rules with identity equal to all, the same, or a group with identity as a member,
-     * and operation is either all or the same operation.
+     * Builds the table of rules for every operation and object type controlled by at least one rule.  Operations
+     * and object types for which no table exists are not controlled, and checks for them return the default result.
      */
-    private List<Rule> getRules(final Subject subject, final LegacyOperation operation, final ObjectType objectType)
+    private void compileRuleTables()
     {
-        final Map<ObjectType, List<Rule>> objects = getObjectToRuleCache(subject, operation);
-
-        // Lookup object type rules for the operation
-        if (!objects.containsKey(objectType))
+        for (LegacyOperation operation : LegacyOperation.values())
         {
-            final Set<Principal> principals = subject.getPrincipals();
-            boolean controlled = false;
-            List<Rule> filtered = new LinkedList<>();
-            for (Rule rule : _rules)
+            final Map<ObjectType, RuleTable> tables = new EnumMap<>(ObjectType.class);
+            for (ObjectType objectType : ObjectType.values())
             {
-                final Action ruleAction = rule.getAction();
-                if ((ruleAction.getOperation() == LegacyOperation.ALL || ruleAction.getOperation() == operation)
-                    && (ruleAction.getObjectType() == ObjectType.ALL || ruleAction.getObjectType() == objectType))
+                final List<Integer> positions = new ArrayList<>();
+                for (int position = 0; position < _rules.size(); position++)
                 {
-                    controlled = true;
-
-                    if (isRelevant(principals,rule))
+                    final Action ruleAction = _rules.get(position).getAction();
+                    if ((ruleAction.getOperation() == LegacyOperation.ALL || ruleAction.getOperation() == operation)
+                        && (ruleAction.getObjectType() == ObjectType.ALL || ruleAction.getObjectType() == objectType))
                     {
-                        filtered.add(rule);
+                        positions.add(position);
                     }
                 }
+                if (!positions.isEmpty())
+                {
+                    tables.put(objectType, new RuleTable(_rules, positions));
+                }
             }
-
-            // Return null if there are no rules at all for this operation and object type
-            if (filtered.isEmpty() && !controlled)
-            {
-                filtered = null;
-            }
-
-            // Save the rules we selected
-            objects.put(objectType, filtered == null ? null : Collections.unmodifiableList(filtered));
-
-            LOGGER.debug("Cached {} RulesList: {}", objectType, filtered);
+            _ruleTables.put(operation, tables);
         }
-
-        // Return the cached rules
-        List<Rule> rules = objects.get(objectType);
-
-        LOGGER.debug("Returning RuleList: {}", rules);
-
-        return rules;
     }
 
     /**
      * Check the authorisation granted to a particular identity for an operation on an object type with
      * specific properties.
      *
-     * Looks up the entire ruleset, which may be cached, for the user and operation and goes through the rules
-     * in order to find the first one that matches. Either defers if there are no rules, returns the result of
-     * the first match found, or denies access if there are no matching rules. Normally, it would be expected
-     * to have a default deny or allow rule at the end of an access configuration however.
+     * Looks up the compiled rules for the operation and object type and goes through those relevant to the
+     * identity in order to find the first one that matches. Either defers if there are no rules, returns the
+     * result of the first match found, or denies access if there are no matching rules. Normally, it would be
+     * expected to have a default deny or allow rule at the end of an access configuration however.
      */
     public Result check(Subject subject,
                         LegacyOperation operation,
                         ObjectType objectType,
                         ObjectProperties properties)
     {
-        ClientAction action = new ClientAction(operation, objectType, properties);
-
-        LOGGER.debug("Checking action: {}", action);
-
-        // get the list of rules relevant for this request
-        List<Rule> rules = getRules(subject, operation, objectType);
-        if (rules == null)
+        final RuleTable ruleTable = _ruleTables.get(operation).get(objectType);
+        if (ruleTable == null)
         {
-
             LOGGER.debug("No rules found, returning default result");
 
             return getDefault();
         }
 
-        final boolean ownerRules = rules.stream()
-                                        .anyMatch(rule -> rule.getIdentity().equalsIgnoreCase(Rule.OWNER));
+        final SubjectIdentity identity = new SubjectIdentity(subject);
+        final DecisionKey key = properties == null ? null : new DecisionKey(identity, operation, objectType, properties);
+        Decision decision = key == null ? null : _decisions.getIfPresent(key);
+        if (decision == null)
+        {
+            decision = decide(subject, identity, getRelevantRules(identity), ruleTable, operation, objectType, properties);
+            if (key != null && decision.isCacheable())
+            {
+                _decisions.put(key.copy(), decision);
+            }
+        }
+        else
+        {
+            LOGGER.debug("Using cached decision: {}", decision);
+        }
 
-        if (ownerRules)
+        final Rule rule = decision.getRule();
+        if (rule == null)
         {
-            rules = new LinkedList<>(rules);
+            LOGGER.debug("Deferring result of ACL check");
+            // Defer to the next plugin of this type, if it exists
+            return Result.DEFER;
+        }
 
-            if (operation == LegacyOperation.CREATE)
+        final RuleOutcome ruleOutcome = rule.getRuleOutcome();
+        final boolean allowed = ruleOutcome.isAllowed();
+        if (ruleOutcome.isLogged())
+        {
+            if (allowed)
             {
-                rules.removeIf(rule -> rule.getIdentity().equalsIgnoreCase(Rule.OWNER));
+                getEventLogger().message(AccessControlMessages.ALLOWED(
+                        operation.toString(),
+                        objectType.toString(),
+                        String.valueOf(properties)));
             }
             else
             {
-                // Discard OWNER rules if the object wasn't created by the subject
-                final String objectCreator = properties.get(ObjectProperties.Property.CREATED_BY);
-                final Principal principal =
-                        AuthenticatedPrincipal.getOptionalAuthenticatedPrincipalFromSubject(subject);
-                if (principal == null || !principal.getName().equalsIgnoreCase(objectCreator))
-                {
-                    rules.removeIf(rule -> rule.getIdentity().equalsIgnoreCase(Rule.OWNER));
-                }
+                getEventLogger().message(AccessControlMessages.DENIED(
+                        operation.toString(),
+                        objectType.toString(),
+                        String.valueOf(properties)));
             }
         }
 
-        // Iterate through a filtered set of rules dealing with this identity and operation
-        for (Rule rule : rules)
+        return allowed ? Result.ALLOWED : Result.DENIED;
+    }
+
+    private Decision decide(final Subject subject,
+                            final SubjectIdentity identity,
+                            final BitSet relevantRules,
+                            final RuleTable ruleTable,
+                            final LegacyOperation operation,
+                            final ObjectType objectType,
+                            final ObjectProperties properties)
+    {
+        final Action action = new Action(operation, objectType, properties);
+
+        LOGGER.debug("Checking action: {}", action);
+
+        final boolean ownerRulesApply = operation != LegacyOperation.CREATE
+                                        && identity.isCreator(properties == null
+                                                             ? null
+                                                             : properties.get(ObjectProperties.Property.CREATED_BY));
+        boolean cacheable = true;
+
+        // Iterate through the rules which could match dealing with this identity
+        for (int position : ruleTable.getCandidates(properties))
         {
+            if (!relevantRules.get(position))
+            {
+                continue;
+            }
+
+            final Rule rule = _rules.get(position);
+            if (!ownerRulesApply && rule.getIdentity().equalsIgnoreCase(Rule.OWNER))
+            {
+                // Discard OWNER rules if the object wasn't created by the subject
+                continue;
+            }
+
             LOGGER.debug("Checking against rule: {}", rule);
 
-            if (action.matches(rule.getAclAction(), subject))
+            final AclAction ruleAction = rule.getAclAction();
+            if (action.matches(ruleAction.getAction()))
             {
-                RuleOutcome ruleOutcome = rule.getRuleOutcome();
-                LOGGER.debug("Action matches.  Result: {}", ruleOutcome);
-                boolean allowed = ruleOutcome.isAllowed();
-                if(ruleOutcome.isLogged())
+                final DynamicRule dynamicRule = ruleAction.getDynamicRule();
+                if (dynamicRule != null)
                 {
-                    if(allowed)
+                    // the outcome depends on the connection of the subject
+                    cacheable = false;
+                    if (!dynamicRule.matches(subject))
                     {
-                        getEventLogger().message(AccessControlMessages.ALLOWED(
-                                action.getOperation().toString(),
-                                action.getObjectType().toString(),
-                                action.getProperties().toString()));
-                    }
-                    else
-                    {
-                        getEventLogger().message(AccessControlMessages.DENIED(
-                                action.getOperation().toString(),
-                                action.getObjectType().toString(),
-                                action.getProperties().toString()));
+                        continue;
                     }
                 }
 
-
-                return allowed ? Result.ALLOWED : Result.DENIED;
+                LOGGER.debug("Action matches.  Result: {}", rule.getRuleOutcome());
+                return new Decision(rule, cacheable);
             }
         }
-        LOGGER.debug("Deferring result of ACL check");
-        // Defer to the next plugin of this type, if it exists
-        return Result.DEFER;
+        return new Decision(null, cacheable);
     }
 
     /** Default deny. */
@@ -226,52 +264,187 @@ public class RuleSet implements EventLoggerProvider
          return Collections.unmodifiableList(_rules);
      }
 
-    private boolean isRelevant(final Set<Principal> principals, final Rule rule)
+    /**
+     * Returns the positions of the rules with identity equal to all, owner, the user or a group of the identity.
+     */
+    private BitSet getRelevantRules(final SubjectIdentity identity)
     {
-        if (rule.getIdentity().equalsIgnoreCase(Rule.ALL) ||
-            rule.getIdentity().equalsIgnoreCase(Rule.OWNER))
+        BitSet relevantRules = _relevantRules.getIfPresent(identity);
+        if (relevantRules == null)
         {
-            return true;
+            relevantRules = new BitSet(_rules.size());
+            for (int position = 0; position < _rules.size(); position++)
+            {
+                if (identity.isRelevant(_rules.get(position).getIdentity()))
+                {
+                    relevantRules.set(position);
+                }
+            }
+            _relevantRules.put(identity, relevantRules);
         }
-        else
+        return relevantRules;
+    }
+
+    @Override
+    public EventLogger getEventLogger()
+    {
+        return _eventLogger.getEventLogger();
+    }
+
+    /**
+     * The names of the authenticated user and group principals of a subject, which together with the action
+     * determine the outcome of a check unless a rule depending on the connection of the subject is evaluated.
+     */
+    private static final class SubjectIdentity
+    {
+        private final Set<String> _principalNames;
+        private final String _authenticatedName;
+        private final int _hashCode;
+
+        private SubjectIdentity(final Subject subject)
         {
-            for (Iterator<Principal> iterator = principals.iterator(); iterator.hasNext();)
+            final Principal principal = AuthenticatedPrincipal.getOptionalAuthenticatedPrincipalFromSubject(subject);
+            _authenticatedName = principal == null ? null : principal.getName();
+
+            final Set<String> principalNames = new HashSet<>();
+            if (_authenticatedName != null)
+            {
+                principalNames.add(_authenticatedName);
+            }
+            for (GroupPrincipal group : subject.getPrincipals(GroupPrincipal.class))
             {
-                final Principal principal = iterator.next();
+                principalNames.add(group.getName());
+            }
+            _principalNames = principalNames;
+            _hashCode = Objects.hash(_principalNames, _authenticatedName);
+        }
 
-                if (rule.getIdentity().equalsIgnoreCase(principal.getName()))
+        private boolean isRelevant(final String identity)
+        {
+            if (identity.equalsIgnoreCase(Rule.ALL) || identity.equalsIgnoreCase(Rule.OWNER))
+            {
+                return true;
+            }
+            for (String principalName : _principalNames)
+            {
+                if (identity.equalsIgnoreCase(principalName))
                 {
                     return true;
                 }
             }
+            return false;
+        }
+
+        boolean isCreator(final String objectCreator)
+        {
+            return _authenticatedName != null && _authenticatedName.equalsIgnoreCase(objectCreator);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            final SubjectIdentity that = (SubjectIdentity) o;
+            return Objects.equals(_authenticatedName, that._authenticatedName)
+                   && _principalNames.equals(that._principalNames);
         }
 
-        return false;
+        @Override
+        public int hashCode()
+        {
+            return _hashCode;
+        }
     }
 
-    private Map<ObjectType, List<Rule>> getObjectToRuleCache(final Subject subject, final LegacyOperation operation)
+    private static final class DecisionKey
     {
-        // Lookup identity in cache and create empty operation map if required
-        Map<LegacyOperation, Map<ObjectType, List<Rule>>> operations = _cache.get(subject);
-        if (operations == null)
+        private final SubjectIdentity _identity;
+        private final LegacyOperation _operation;
+        private final ObjectType _objectType;
+        private final ObjectProperties _properties;
+
+        private DecisionKey(final SubjectIdentity identity,
+                            final LegacyOperation operation,
+                            final ObjectType objectType,
+                            final ObjectProperties properties)
         {
-            operations = Collections.synchronizedMap(new EnumMap<LegacyOperation, Map<ObjectType, List<Rule>>>(LegacyOperation.class));
-            _cache.put(subject, operations);
+            _identity = identity;
+            _operation = operation;
+            _objectType = objectType;
+            _properties = properties;
         }
 
-        // Lookup operation and create empty object type map if required
-        Map<ObjectType, List<Rule>> objects = operations.get(operation);
-        if (objects == null)
+        /**
+         * Copies the key so that it is not affected by later changes to the properties of the checked action.
+         */
+        DecisionKey copy()
         {
-            objects = Collections.synchronizedMap(new EnumMap<ObjectType, List<Rule>>(ObjectType.class));
-            operations.put(operation, objects);
+            final ObjectProperties properties = new ObjectProperties(_properties);
+            properties.setAttributeNames(_properties.getAttributeNames());
+            return new DecisionKey(_identity, _operation, _objectType, properties);
+        }
+
+        @Override
+        public boolean equals(final Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass())
+            {
+                return false;
+            }
+            final DecisionKey that = (DecisionKey) o;
+            return _operation == that._operation
+                   && _objectType == that._objectType
+                   && _identity.equals(that._identity)
+                   && _properties.equals(that._properties);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int result = _identity.hashCode();
+            result = 31 * result + _operation.hashCode();
+            result = 31 * result + _objectType.hashCode();
+            result = 31 * result + _properties.hashCode();
+            return result;
         }
-        return objects;
     }
 
-    @Override
-    public EventLogger getEventLogger()
+    private static final class Decision
     {
-        return _eventLogger.getEventLogger();
+        private final Rule _rule;
+        private final boolean _cacheable;
+
+        private Decision(final Rule rule, final boolean cacheable)
+        {
+            _rule = rule;
+            _cacheable = cacheable;
+        }
+
+        Rule getRule()
+        {
+            return _rule;
+        }
+
+        boolean isCacheable()
+        {
+            return _cacheable;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Decision[rule=" + _rule + ']';
+        }
     }
 }
@@ -133,4 +133,9 @@ final class RuleSetCreator
     {
         return new RuleSet(eventLoggerProvider, _rules.values(), _defaultResult);
     }
+
+    RuleSet createRuleSet(EventLoggerProvider eventLoggerProvider, int decisionCacheSize)
+    {
+        return new RuleSet(eventLoggerProvider, _rules.values(), _defaultResult, decisionCacheSize);
+    }
 }
@@ -0,0 +1,142 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.security.access.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rules of a {@link RuleSet} applicable to one operation on one object type, compiled for lookup.
+ *
+ * Rules are referred to by their position in the rule set.  If enough rules require an exact value of the
+ * {@link ObjectProperties.Property#NAME} or {@link ObjectProperties.Property#ROUTING_KEY} property, the table is
+ * indexed on that property: for each exact value it holds, in rule order, the positions of the rules requiring that
+ * value together with those of the rules which do not constrain the property to an exact value.  A lookup then only
+ * visits the rules which could possibly match, without changing which rule is the first to match.
+ */
+final class RuleTable
+{
+    private static final ObjectProperties.Property[] INDEXABLE_PROPERTIES =
+            {ObjectProperties.Property.NAME, ObjectProperties.Property.ROUTING_KEY};
+
+    private final ObjectProperties.Property _indexedProperty;
+    private final Map<String, int[]> _candidatesByValue;
+    private final int[] _unindexedCandidates;
+
+    RuleTable(final List<Rule> rules, final List<Integer> positions)
+    {
+        _indexedProperty = chooseIndexedProperty(rules, positions);
+
+        final List<Integer> unindexed = new ArrayList<>();
+        final Map<String, List<Integer>> byValue = new HashMap<>();
+        for (Integer position : positions)
+        {
+            final String value = getExactValue(rules.get(position), _indexedProperty);
+            if (value == null)
+            {
+                unindexed.add(position);
+                for (List<Integer> candidates : byValue.values())
+                {
+                    candidates.add(position);
+                }
+            }
+            else
+            {
+                byValue.computeIfAbsent(value, v -> new ArrayList<>(unindexed)).add(position);
+            }
+        }
+
+        _unindexedCandidates = toArray(unindexed);
+        _candidatesByValue = new HashMap<>();
+        byValue.forEach((value, candidates) -> _candidatesByValue.put(value, toArray(candidates)));
+    }
+
+    /**
+     * Returns the positions, in rule order, of the rules which might match an action with the given properties.
+     */
+    int[] getCandidates(final ObjectProperties properties)
+    {
+        if (_indexedProperty != null && properties != null)
+        {
+            final String value = properties.get(_indexedProperty);
+            if (value != null)
+            {
+                final int[] candidates = _candidatesByValue.get(value);
+                if (candidates != null)
+                {
+                    return candidates;
+                }
+            }
+        }
+        return _unindexedCandidates;
+    }
+
+    private static ObjectProperties.Property chooseIndexedProperty(final List<Rule> rules,
+                                                                   final List<Integer> positions)
+    {
+        ObjectProperties.Property indexedProperty = null;
+        int maximumExactValues = 1;
+        for (ObjectProperties.Property property : INDEXABLE_PROPERTIES)
+        {
+            int exactValues = 0;
+            for (Integer position : positions)
+            {
+                if (getExactValue(rules.get(position), property) != null)
+                {
+                    exactValues++;
+                }
+            }
+            if (exactValues > maximumExactValues)
+            {
+                maximumExactValues = exactValues;
+                indexedProperty = property;
+            }
+        }
+        return indexedProperty;
+    }
+
+    private static String getExactValue(final Rule rule, final ObjectProperties.Property property)
+    {
+        if (property == null)
+        {
+            return null;
+        }
+        final ObjectProperties properties = rule.getAction().getProperties();
+        final String value = properties == null ? null : properties.get(property);
+        if (value == null || value.isEmpty() || value.endsWith(ObjectProperties.WILD_CARD))
+        {
+            return null;
+        }
+        return value;
+    }
+
+    private static int[] toArray(final List<Integer> positions)
+    {
+        final int[] array = new int[positions.size()];
+        for (int i = 0; i < array.length; i++)
+        {
+            array[i] = positions.get(i);
+        }
+        return array;
+    }
+}
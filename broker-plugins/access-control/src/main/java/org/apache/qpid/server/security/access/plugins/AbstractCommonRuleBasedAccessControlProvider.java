@@ -35,6 +35,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.qpid.server.logging.EventLoggerProvider;
+import org.apache.qpid.server.model.AccessControlProvider;
 import org.apache.qpid.server.model.CommonAccessControlProvider;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Content;
@@ -90,7 +91,8 @@ abstract class AbstractCommonRuleBasedAccessControlProvider<X extends AbstractCo
                                              new AclRulePredicates(configuredRule.getAttributes())),
                                configuredRule.getOutcome()));
         }
-        return new RuleBasedAccessControl(new RuleSet(this, rules, _defaultResult), getModel());
+        final int decisionCacheSize = getContextValue(Integer.class, AccessControlProvider.DECISION_CACHE_SIZE);
+        return new RuleBasedAccessControl(new RuleSet(this, rules, _defaultResult, decisionCacheSize), getModel());
     }
 
     public Result getDefaultResult()
@@ -69,7 +69,8 @@ public class AclFileAccessControlProviderImpl
     @Override
     protected RuleBasedAccessControl createRuleBasedAccessController()
     {
-        return new RuleBasedAccessControl(AclFileParser.parse(getPath(), this), getModel());
+        final int decisionCacheSize = getContextValue(Integer.class, DECISION_CACHE_SIZE);
+        return new RuleBasedAccessControl(AclFileParser.parse(getPath(), this, decisionCacheSize), getModel());
     }
 
     @Override
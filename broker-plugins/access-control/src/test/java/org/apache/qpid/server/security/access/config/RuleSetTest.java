@@ -24,7 +24,9 @@ package org.apache.qpid.server.security.access.config;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.security.Principal;
 import java.util.Collections;
 
 import javax.security.auth.Subject;
@@ -657,4 +659,77 @@ public class RuleSetTest extends UnitTestBase
 
     }
 
+    @Test
+    public void testIndexedRulesPreserveRuleOrder()
+    {
+        _ruleSetCreator.addRule(1, TEST_USER, RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("a"));
+        _ruleSetCreator.addRule(2, TEST_USER, RuleOutcome.DENY, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("b*"));
+        _ruleSetCreator.addRule(3, TEST_USER, RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("b1"));
+        _ruleSetCreator.addRule(4, TEST_USER, RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("c"));
+        RuleSet ruleSet = createRuleSet();
+
+        assertEquals(Result.ALLOWED,
+                     ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("a")));
+        assertEquals(Result.DENIED,
+                     ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("b1")));
+        assertEquals(Result.ALLOWED,
+                     ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("c")));
+        assertEquals(Result.DEFER,
+                     ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties("d")));
+    }
+
+    @Test
+    public void testCachedDecisionNotAffectedByChangedProperties()
+    {
+        _ruleSetCreator.addRule(1, TEST_USER, RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(ALLOWED_VH));
+        _ruleSetCreator.addRule(2, TEST_USER, RuleOutcome.DENY, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, ObjectProperties.EMPTY);
+        RuleSet ruleSet = createRuleSet();
+
+        final ObjectProperties properties = new ObjectProperties(ALLOWED_VH);
+        assertEquals(Result.ALLOWED, ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, properties));
+        properties.setName(DENIED_VH);
+        assertEquals(Result.DENIED, ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, properties));
+
+        final Subject otherSubject = TestPrincipalUtils.createTestSubject(TEST_USER);
+        assertEquals(Result.ALLOWED,
+                     ruleSet.check(otherSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(ALLOWED_VH)));
+        assertEquals(Result.DENIED,
+                     ruleSet.check(otherSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(DENIED_VH)));
+    }
+
+    @Test
+    public void testOnlyUserAndGroupPrincipalsIdentifySubject()
+    {
+        _ruleSetCreator.addRule(1, "remote", RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, ObjectProperties.EMPTY);
+        _ruleSetCreator.addRule(2, TEST_USER, RuleOutcome.DENY, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(DENIED_VH));
+        RuleSet ruleSet = createRuleSet();
+
+        final Subject subject = TestPrincipalUtils.createTestSubject(TEST_USER);
+        final Principal connectionPrincipal = mock(Principal.class);
+        when(connectionPrincipal.getName()).thenReturn("remote");
+        subject.getPrincipals().add(connectionPrincipal);
+
+        assertEquals(Result.DEFER,
+                     ruleSet.check(subject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(ALLOWED_VH)));
+        assertEquals(Result.DENIED,
+                     ruleSet.check(subject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(DENIED_VH)));
+        assertEquals(Result.DENIED,
+                     ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(DENIED_VH)));
+    }
+
+    @Test
+    public void testDecisionCacheDisabled()
+    {
+        _ruleSetCreator.addRule(1, TEST_USER, RuleOutcome.ALLOW, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(ALLOWED_VH));
+        _ruleSetCreator.addRule(2, TEST_USER, RuleOutcome.DENY, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, ObjectProperties.EMPTY);
+        RuleSet ruleSet = _ruleSetCreator.createRuleSet(mock(EventLoggerProvider.class), 0);
+
+        for (int i = 0; i < 2; i++)
+        {
+            assertEquals(Result.ALLOWED,
+                         ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(ALLOWED_VH)));
+            assertEquals(Result.DENIED,
+                         ruleSet.check(_testSubject, LegacyOperation.ACCESS, ObjectType.VIRTUALHOST, new ObjectProperties(DENIED_VH)));
+        }
+    }
 }
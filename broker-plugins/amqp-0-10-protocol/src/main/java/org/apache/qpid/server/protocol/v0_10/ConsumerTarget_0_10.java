@@ -260,6 +260,8 @@ public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0
         if(msgCompressed && !compressionSupported && bodyBuffer != null)
         {
             QpidByteBuffer uncompressedBuffer = inflateIfPossible(bodyBuffer);
+            // the properties may be shared with other deliveries of the (converted) message
+            messageProps = new MessageProperties(messageProps);
             messageProps.setContentEncoding(null);
             bodyBuffer.dispose();
             bodyBuffer = uncompressedBuffer;
@@ -271,10 +273,7 @@ public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0
                 && bodyBuffer.remaining() > _session.getConnection().getMessageCompressionThreshold())
         {
             QpidByteBuffer compressedBuffers = deflateIfPossible(bodyBuffer);
-            if(messageProps == null)
-            {
-                messageProps = new MessageProperties();
-            }
+            messageProps = messageProps == null ? new MessageProperties() : new MessageProperties(messageProps);
             messageProps.setContentEncoding(GZIPUtils.GZIP_CONTENT_ENCODING);
             bodyBuffer.dispose();
             bodyBuffer = compressedBuffers;
@@ -574,6 +573,7 @@ public class ConsumerTarget_0_10 extends AbstractConsumerTarget<ConsumerTarget_0
     @Override
     public void flushBatched()
     {
+        _session.getConnection().flush();
     }
 
     @Override
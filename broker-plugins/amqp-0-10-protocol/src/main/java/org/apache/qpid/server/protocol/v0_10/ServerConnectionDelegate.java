@@ -31,6 +31,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -71,6 +73,7 @@ public class ServerConnectionDelegate extends MethodDelegate<ServerConnection> i
         INIT,
         AWAIT_START_OK,
         AWAIT_SECURE_OK,
+        AWAIT_AUTHENTICATION,
         AWAIT_TUNE_OK,
         AWAIT_OPEN,
         OPEN
@@ -181,14 +184,35 @@ public class ServerConnectionDelegate extends MethodDelegate<ServerConnection> i
 
     protected void secure(final ServerConnection sconn, final byte[] response)
     {
-        SubjectAuthenticationResult authResult = _successfulAuthenticationResult;
-        byte[] challenge = null;
-        if (authResult == null)
+        if (_successfulAuthenticationResult != null)
         {
-            authResult = _subjectCreator.authenticate(_saslNegotiator, response);
-            challenge = authResult.getChallenge();
+            processAuthenticationResult(sconn, _successfulAuthenticationResult, null);
+            return;
         }
 
+        final ListenableFuture<SubjectAuthenticationResult> future =
+                _subjectCreator.authenticateAsync(_saslNegotiator, response);
+        if (future.isDone())
+        {
+            final SubjectAuthenticationResult authResult = Futures.getUnchecked(future);
+            processAuthenticationResult(sconn, authResult, authResult.getChallenge());
+        }
+        else
+        {
+            _state = ConnectionState.AWAIT_AUTHENTICATION;
+            final AMQPConnection_0_10<?> amqpConnection = sconn.getAmqpConnection();
+            amqpConnection.handleAuthenticationResultOnIOThread(future,
+                                                                _saslNegotiator,
+                                                                authResult -> processAuthenticationResult(sconn,
+                                                                                                          authResult,
+                                                                                                          authResult.getChallenge()));
+        }
+    }
+
+    private void processAuthenticationResult(final ServerConnection sconn,
+                                             final SubjectAuthenticationResult authResult,
+                                             final byte[] challenge)
+    {
         if (AuthenticationStatus.SUCCESS.equals(authResult.getStatus()))
         {
             _successfulAuthenticationResult = authResult;
@@ -994,14 +994,31 @@ public class ServerSession extends SessionInvoker
 
     public void accept(RangeSet ranges)
     {
-        dispositionChange(ranges, new MessageDispositionAction()
+        final ServerTransaction transaction = _transaction;
+        final AsyncAutoCommitTransaction batch =
+                transaction instanceof AsyncAutoCommitTransaction ? (AsyncAutoCommitTransaction) transaction : null;
+        if (batch != null)
+        {
+            batch.startBatch();
+        }
+        try
+        {
+            dispositionChange(ranges, new MessageDispositionAction()
+            {
+                @Override
+                public void performAction(MessageDispositionChangeListener listener)
+                {
+                    listener.onAccept();
+                }
+            });
+        }
+        finally
         {
-            @Override
-            public void performAction(MessageDispositionChangeListener listener)
+            if (batch != null)
             {
-                listener.onAccept();
+                batch.endBatch();
             }
-        });
+        }
     }
 
 
@@ -0,0 +1,154 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.protocol.v0_10;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.Collections;
+import java.util.function.Consumer;
+
+import javax.security.auth.Subject;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.qpid.server.model.AuthenticationProvider;
+import org.apache.qpid.server.model.Broker;
+import org.apache.qpid.server.model.port.AmqpPort;
+import org.apache.qpid.server.protocol.v0_10.transport.ConnectionCloseCode;
+import org.apache.qpid.server.protocol.v0_10.transport.ConnectionStartOk;
+import org.apache.qpid.server.protocol.v0_10.transport.ProtocolHeader;
+import org.apache.qpid.server.security.SubjectCreator;
+import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
+import org.apache.qpid.server.security.auth.AuthenticationResult;
+import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
+import org.apache.qpid.server.security.auth.UsernamePrincipal;
+import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
+import org.apache.qpid.server.security.auth.sasl.SaslSettings;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ServerConnectionDelegateTest extends UnitTestBase
+{
+    private static final String SASL_MECH = "MECH";
+    private static final byte[] SASL_RESPONSE = "response".getBytes();
+
+    private ServerConnection _serverConnection;
+    private AMQPConnection_0_10<?> _amqpConnection;
+    private SaslNegotiator _saslNegotiator;
+    private SettableFuture<SubjectAuthenticationResult> _authenticationFuture;
+    private ServerConnectionDelegate _delegate;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        final Broker<?> broker = mock(Broker.class);
+        when(broker.getNetworkBufferSize()).thenReturn(256 * 1024);
+
+        final AuthenticationProvider<?> authenticationProvider = mock(AuthenticationProvider.class);
+        when(authenticationProvider.getAvailableMechanisms(anyBoolean())).thenReturn(Collections.singletonList(SASL_MECH));
+
+        _saslNegotiator = mock(SaslNegotiator.class);
+        _authenticationFuture = SettableFuture.create();
+        final SubjectCreator subjectCreator = mock(SubjectCreator.class);
+        when(subjectCreator.createSaslNegotiator(eq(SASL_MECH), any(SaslSettings.class))).thenReturn(_saslNegotiator);
+        when(subjectCreator.authenticateAsync(_saslNegotiator, SASL_RESPONSE)).thenReturn(_authenticationFuture);
+
+        final AmqpPort<?> port = mock(AmqpPort.class);
+        doReturn(broker).when(port).getParent();
+        doReturn(authenticationProvider).when(port).getAuthenticationProvider();
+        when(port.getSubjectCreator(anyBoolean(), anyString())).thenReturn(subjectCreator);
+
+        _amqpConnection = mock(AMQPConnection_0_10.class, withSettings().extraInterfaces(SaslSettings.class));
+        _serverConnection = mock(ServerConnection.class);
+        doReturn(_amqpConnection).when(_serverConnection).getAmqpConnection();
+
+        _delegate = new ServerConnectionDelegate(port, false, "localhost");
+        _delegate.init(_serverConnection, new ProtocolHeader(1, 0, 10));
+    }
+
+    @Test
+    public void testAuthenticationResultHandledOnceAvailable()
+    {
+        _delegate.connectionStartOk(_serverConnection, new ConnectionStartOk(null, SASL_MECH, SASL_RESPONSE, "en_US"));
+
+        assertEquals("Unexpected state while authenticating",
+                     ServerConnectionDelegate.ConnectionState.AWAIT_AUTHENTICATION,
+                     _delegate.getState());
+        final Consumer<SubjectAuthenticationResult> handler = captureAuthenticationResultHandler();
+        verify(_serverConnection, never()).sendConnectionTune(anyInt(), anyInt(), anyInt(), anyInt());
+
+        final Subject subject = new Subject();
+        subject.getPrincipals().add(new AuthenticatedPrincipal(new UsernamePrincipal("username", null)));
+        handler.accept(new SubjectAuthenticationResult(new AuthenticationResult(
+                new AuthenticatedPrincipal(new UsernamePrincipal("username", null))), subject));
+
+        assertEquals("Unexpected state after authentication",
+                     ServerConnectionDelegate.ConnectionState.AWAIT_TUNE_OK,
+                     _delegate.getState());
+        verify(_serverConnection).sendConnectionTune(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(_serverConnection).setAuthorizedSubject(subject);
+        verify(_saslNegotiator).dispose();
+    }
+
+    @Test
+    public void testAuthenticationFailureHandledOnceAvailable()
+    {
+        _delegate.connectionStartOk(_serverConnection, new ConnectionStartOk(null, SASL_MECH, SASL_RESPONSE, "en_US"));
+
+        final Consumer<SubjectAuthenticationResult> handler = captureAuthenticationResultHandler();
+        handler.accept(new SubjectAuthenticationResult(
+                new AuthenticationResult(AuthenticationResult.AuthenticationStatus.ERROR)));
+
+        verify(_serverConnection, never()).sendConnectionTune(anyInt(), anyInt(), anyInt(), anyInt());
+        verify(_serverConnection, never()).setAuthorizedSubject(any(Subject.class));
+        verify(_serverConnection).sendConnectionClose(eq(ConnectionCloseCode.CONNECTION_FORCED), anyString());
+        verify(_saslNegotiator).dispose();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Consumer<SubjectAuthenticationResult> captureAuthenticationResultHandler()
+    {
+        final ArgumentCaptor<ListenableFuture<SubjectAuthenticationResult>> futureCaptor =
+                ArgumentCaptor.forClass(ListenableFuture.class);
+        final ArgumentCaptor<Consumer<SubjectAuthenticationResult>> handlerCaptor =
+                ArgumentCaptor.forClass(Consumer.class);
+        verify(_amqpConnection).handleAuthenticationResultOnIOThread(futureCaptor.capture(),
+                                                                     eq(_saslNegotiator),
+                                                                     handlerCaptor.capture());
+        assertSame("Unexpected authentication future", _authenticationFuture, futureCaptor.getValue());
+        return handlerCaptor.getValue();
+    }
+}
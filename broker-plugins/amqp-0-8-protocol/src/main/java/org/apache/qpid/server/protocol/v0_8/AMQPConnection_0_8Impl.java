@@ -45,6 +45,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,6 +93,7 @@ public class AMQPConnection_0_8Impl
         INIT,
         AWAIT_START_OK,
         AWAIT_SECURE_OK,
+        AWAIT_AUTHENTICATION,
         AWAIT_TUNE_OK,
         AWAIT_OPEN,
         OPEN
@@ -857,7 +860,12 @@ public class AMQPConnection_0_8Impl
     @Override
     public void setDeferFlush(boolean deferFlush)
     {
+        final boolean flushDeferredFrames = _deferFlush && !deferFlush;
         _deferFlush = deferFlush;
+        if (flushDeferredFrames)
+        {
+            _sender.flush();
+        }
     }
 
     @Override
@@ -1110,14 +1118,32 @@ public class AMQPConnection_0_8Impl
 
     private void processSaslResponse(final byte[] response, final SubjectCreator subjectCreator)
     {
-        MethodRegistry methodRegistry = getMethodRegistry();
-        SubjectAuthenticationResult authResult = _successfulAuthenticationResult;
-        byte[] challenge = null;
-        if (authResult == null)
+        if (_successfulAuthenticationResult != null)
+        {
+            processAuthenticationResult(_successfulAuthenticationResult, null);
+            return;
+        }
+
+        final ListenableFuture<SubjectAuthenticationResult> future =
+                subjectCreator.authenticateAsync(_saslNegotiator, response);
+        if (future.isDone())
         {
-            authResult = subjectCreator.authenticate(_saslNegotiator, response);
-            challenge = authResult.getChallenge();
+            final SubjectAuthenticationResult authResult = Futures.getUnchecked(future);
+            processAuthenticationResult(authResult, authResult.getChallenge());
         }
+        else
+        {
+            _state = ConnectionState.AWAIT_AUTHENTICATION;
+            handleAuthenticationResultOnIOThread(future,
+                                                 _saslNegotiator,
+                                                 authResult -> processAuthenticationResult(authResult,
+                                                                                           authResult.getChallenge()));
+        }
+    }
+
+    private void processAuthenticationResult(final SubjectAuthenticationResult authResult, final byte[] challenge)
+    {
+        MethodRegistry methodRegistry = getMethodRegistry();
 
         switch (authResult.getStatus())
         {
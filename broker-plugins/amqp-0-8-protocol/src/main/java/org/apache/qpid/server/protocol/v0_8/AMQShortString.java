@@ -117,6 +117,24 @@ public final class AMQShortString implements Comparable<AMQShortString>
 
     public static AMQShortString readAMQShortString(QpidByteBuffer buffer)
     {
+        final AMQShortStringInternTable internTable = AMQShortStringInternTable.getInstance();
+        if (internTable.isEnabled())
+        {
+            int length = buffer.getUnsignedByte();
+            if (length == 0)
+            {
+                return null;
+            }
+            if (length > buffer.remaining())
+            {
+                throw new IllegalArgumentException("Cannot create AMQShortString with length "
+                                                   + length + " from a ByteBuffer with only "
+                                                   + buffer.remaining()
+                                                   + " bytes.");
+            }
+            return internTable.intern(buffer, length, AMQShortString::getCachedOrCreate);
+        }
+
         byte[] data = readAMQShortStringAsBytes(buffer);
         if (data == null)
         {
@@ -124,17 +142,22 @@ public final class AMQShortString implements Comparable<AMQShortString>
         }
         else
         {
-            ByteBuffer stringBuffer = ByteBuffer.wrap(data);
-            AMQShortString cached = getShortStringCache().getIfPresent(stringBuffer);
-            if (cached == null)
-            {
-                cached = new AMQShortString(data);
-                getShortStringCache().put(stringBuffer, cached);
-            }
-            return cached;
+            return getCachedOrCreate(data);
         }
     }
 
+    private static AMQShortString getCachedOrCreate(final byte[] data)
+    {
+        ByteBuffer stringBuffer = ByteBuffer.wrap(data);
+        AMQShortString cached = getShortStringCache().getIfPresent(stringBuffer);
+        if (cached == null)
+        {
+            cached = new AMQShortString(data);
+            getShortStringCache().put(stringBuffer, cached);
+        }
+        return cached;
+    }
+
     public static AMQShortString createAMQShortString(byte[] data)
     {
         if (data == null)
@@ -325,6 +348,22 @@ public final class AMQShortString implements Comparable<AMQShortString>
         }
     }
 
+    boolean equalsEncoded(final QpidByteBuffer buffer, final int position, final int length)
+    {
+        if (length != _data.length)
+        {
+            return false;
+        }
+        for (int i = 0; i < length; i++)
+        {
+            if (_data[i] != buffer.get(position + i))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public boolean contains(final byte b)
     {
         final int end = _data.length;
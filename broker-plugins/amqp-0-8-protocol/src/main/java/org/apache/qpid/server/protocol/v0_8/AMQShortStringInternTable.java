@@ -0,0 +1,108 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.protocol.v0_8;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+
+/**
+ * A bounded, lock-free table of recently decoded short strings keyed by their encoded bytes, allowing hot names such
+ * as exchange names, routing keys and consumer tags to be resolved to a shared instance without allocation.
+ *
+ * The table is direct mapped: each encoded form hashes to a single slot and a newly decoded string simply replaces
+ * whatever occupied its slot.  Lookups and replacements never block, and a lost race merely results in a string not
+ * being shared.
+ */
+final class AMQShortStringInternTable
+{
+    static final String TABLE_SIZE_PROPERTY = "qpid.amqp_0_8.shortStringInternTableSize";
+    private static final int DEFAULT_TABLE_SIZE = 4096;
+
+    private static final AMQShortStringInternTable INSTANCE =
+            new AMQShortStringInternTable(Integer.getInteger(TABLE_SIZE_PROPERTY, DEFAULT_TABLE_SIZE));
+
+    private final AtomicReferenceArray<AMQShortString> _entries;
+    private final int _mask;
+
+    AMQShortStringInternTable(final int size)
+    {
+        if (size > 0)
+        {
+            final int capacity = Integer.highestOneBit(Math.min(size, 1 << 20) * 2 - 1);
+            _entries = new AtomicReferenceArray<>(capacity);
+            _mask = capacity - 1;
+        }
+        else
+        {
+            _entries = null;
+            _mask = 0;
+        }
+    }
+
+    static AMQShortStringInternTable getInstance()
+    {
+        return INSTANCE;
+    }
+
+    boolean isEnabled()
+    {
+        return _entries != null;
+    }
+
+    /**
+     * Returns the short string encoded in the next {@code length} bytes of the buffer, advancing the buffer past them.
+     * If the table holds an equal string, it is returned and no allocation takes place; otherwise the string is created
+     * from the bytes by the given factory and remembered in the table.
+     */
+    AMQShortString intern(final QpidByteBuffer buffer,
+                          final int length,
+                          final Function<byte[], AMQShortString> factory)
+    {
+        final int position = buffer.position();
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+        {
+            hash = (31 * hash) + buffer.get(position + i);
+        }
+
+        final int slot = spread(hash) & _mask;
+        final AMQShortString entry = _entries.get(slot);
+        if (entry != null && entry.hashCode() == hash && entry.equalsEncoded(buffer, position, length))
+        {
+            buffer.position(position + length);
+            return entry;
+        }
+
+        final byte[] data = new byte[length];
+        buffer.get(data, 0, length);
+        final AMQShortString shortString = factory.apply(data);
+        _entries.lazySet(slot, shortString);
+        return shortString;
+    }
+
+    private static int spread(final int hash)
+    {
+        return hash ^ (hash >>> 16);
+    }
+}
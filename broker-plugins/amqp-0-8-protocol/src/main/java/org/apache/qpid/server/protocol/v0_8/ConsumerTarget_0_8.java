@@ -89,6 +89,7 @@ public abstract class ConsumerTarget_0_8 extends AbstractConsumerTarget<Consumer
             // We don't decrement the reference here as we don't want to consume the message
             // but we do want to send it to the client.
 
+            getChannel().getConnection().setDeferFlush(batch);
             long deliveryTag = getChannel().getNextDeliveryTag();
             sendToClient(consumer, message, entry.getInstanceProperties(), deliveryTag);
         }
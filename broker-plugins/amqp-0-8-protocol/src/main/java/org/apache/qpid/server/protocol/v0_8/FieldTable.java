@@ -314,7 +314,7 @@ public class FieldTable
 
     public Set<String> keys()
     {
-        return new LinkedHashSet<>(getProperties().keySet());
+        return _fieldTableSupport.keys();
     }
 
     public Object get(String key)
@@ -384,6 +384,8 @@ public class FieldTable
 
         boolean containsKey(String key);
 
+        Set<String> keys();
+
         long getEncodedSize();
 
         void writeToBuffer(QpidByteBuffer buffer);
@@ -403,6 +405,12 @@ public class FieldTable
 
         private final QpidByteBuffer _encodedForm;
         private volatile SoftReference<Map<String, AMQTypedValue>> _cache;
+        /**
+         * Index over the encoded form built on first lookup: for each entry the absolute position of the name bytes,
+         * the name length and the absolute position of the typed value.
+         */
+        private int[] _index;
+        private int _indexedEntries;
 
         ByteBufferFieldTableSupport(final QpidByteBuffer encodedForm)
         {
@@ -440,9 +448,7 @@ public class FieldTable
         @Override
         public synchronized void writeToBuffer(final QpidByteBuffer buffer)
         {
-            byte[] encodedCopy = new byte[_encodedForm.remaining()];
-            _encodedForm.copyTo(encodedCopy);
-            buffer.put(encodedCopy);
+            buffer.putCopyOf(_encodedForm);
         }
 
         @Override
@@ -466,6 +472,7 @@ public class FieldTable
             {
                 _encodedForm.dispose();
                _cache.clear();
+               _index = null;
             }
         }
 
@@ -535,29 +542,124 @@ public class FieldTable
 
         private AMQTypedValue findValueForKey(String key)
         {
-            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-            _encodedForm.mark();
-            try
+            final int[] index = getIndex();
+            for (int entry = 0; entry < _indexedEntries; entry++)
             {
-                while (_encodedForm.hasRemaining())
+                final int offset = entry * 3;
+                if (nameMatches(index[offset], index[offset + 1], key))
                 {
-                    final byte[] bytes = AMQShortString.readAMQShortStringAsBytes(_encodedForm);
-                    if (Arrays.equals(keyBytes, bytes))
+                    _encodedForm.mark();
+                    try
                     {
+                        _encodedForm.position(index[offset + 2]);
                         return AMQTypedValue.readFromBuffer(_encodedForm);
                     }
-                    else
+                    finally
                     {
+                        _encodedForm.reset();
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public synchronized Set<String> keys()
+        {
+            final int[] index = getIndex();
+            final Set<String> keys = new LinkedHashSet<>();
+            for (int entry = 0; entry < _indexedEntries; entry++)
+            {
+                final int offset = entry * 3;
+                final byte[] name = new byte[index[offset + 1]];
+                for (int i = 0; i < name.length; i++)
+                {
+                    name[i] = _encodedForm.get(index[offset] + i);
+                }
+                keys.add(new String(name, StandardCharsets.UTF_8));
+            }
+            return keys;
+        }
+
+        private int[] getIndex()
+        {
+            if (_index == null)
+            {
+                int[] index = new int[24];
+                int entries = 0;
+                _encodedForm.mark();
+                try
+                {
+                    while (_encodedForm.hasRemaining())
+                    {
+                        final int nameLength = _encodedForm.getUnsignedByte();
+                        if (nameLength > _encodedForm.remaining())
+                        {
+                            throw new IllegalArgumentException("Cannot read field table entry name with length "
+                                                               + nameLength + " from a buffer with only "
+                                                               + _encodedForm.remaining() + " bytes.");
+                        }
+                        if (index.length < (entries + 1) * 3)
+                        {
+                            index = Arrays.copyOf(index, index.length * 2);
+                        }
+                        final int offset = entries * 3;
+                        index[offset] = _encodedForm.position();
+                        index[offset + 1] = nameLength;
+                        _encodedForm.position(_encodedForm.position() + nameLength);
+                        index[offset + 2] = _encodedForm.position();
                         AMQType type = AMQTypeMap.getType(_encodedForm.get());
                         type.skip(_encodedForm);
+                        entries++;
                     }
                 }
+                finally
+                {
+                    _encodedForm.reset();
+                }
+                _index = index;
+                _indexedEntries = entries;
             }
-            finally
+            return _index;
+        }
+
+        private boolean nameMatches(final int position, final int length, final String key)
+        {
+            final int keyLength = key.length();
+            if (length < keyLength)
             {
-                _encodedForm.reset();
+                return false;
             }
-            return null;
+            for (int i = 0; i < keyLength; i++)
+            {
+                final char c = key.charAt(i);
+                if (c >= 0x80)
+                {
+                    return nonAsciiNameMatches(position, length, key);
+                }
+                if (_encodedForm.get(position + i) != (byte) c)
+                {
+                    return false;
+                }
+            }
+            return length == keyLength;
+        }
+
+        private boolean nonAsciiNameMatches(final int position, final int length, final String key)
+        {
+            final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            if (keyBytes.length != length)
+            {
+                return false;
+            }
+            for (int i = 0; i < length; i++)
+            {
+                if (_encodedForm.get(position + i) != keyBytes[i])
+                {
+                    return false;
+                }
+            }
+            return true;
         }
 
         private synchronized Map<String, AMQTypedValue> decode()
@@ -631,6 +733,12 @@ public class FieldTable
             return _properties.containsKey(key);
         }
 
+        @Override
+        public Set<String> keys()
+        {
+            return new LinkedHashSet<>(_properties.keySet());
+        }
+
         @Override
         public void writeToBuffer(final QpidByteBuffer buffer)
         {
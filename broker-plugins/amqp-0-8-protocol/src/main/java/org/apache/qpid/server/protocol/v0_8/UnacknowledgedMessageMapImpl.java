@@ -23,6 +23,7 @@ package org.apache.qpid.server.protocol.v0_8;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -70,7 +71,28 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
             return _usesCredit;
         }
     }
-    private final Map<Long, MessageConsumerAssociationImpl> _map;
+    /**
+     * Once the live entries of the ring occupy less than this fraction of the span of delivery tags it covers, the
+     * oldest entries are moved to the overflow map rather than growing the ring.
+     */
+    private static final int MAXIMUM_SPARSENESS = 4;
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /*
+     * Delivery tags are allocated in increasing order by the channel, so the unacknowledged messages are held in a
+     * ring indexed by delivery tag: the entry for tag t is at (_head + t - _firstTag) & (capacity - 1).  Tags which
+     * were never added or were since removed leave empty slots.  Entries for tags below _firstTag which had to leave
+     * the ring because it became too sparse are kept in _overflow, in tag order.
+     */
+    private MessageInstance[] _messages;
+    private MessageInstanceConsumer[] _consumers;
+    private boolean[] _usesCredit;
+    private int _head;
+    private long _firstTag;
+    private long _nextTag;
+    private int _ringSize;
+    private final Map<Long, MessageConsumerAssociationImpl> _overflow = new LinkedHashMap<>();
+
     // we keep this separately as it is accessed by the management thread
     private volatile int _size;
 
@@ -78,7 +100,11 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
 
     UnacknowledgedMessageMapImpl(int prefetchLimit, CreditRestorer creditRestorer)
     {
-        _map = new LinkedHashMap<>(prefetchLimit);
+        // the ring starts small and grows as deliveries arrive, so that channels which are only used for publishing
+        // do not pay for the prefetch limit
+        _messages = new MessageInstance[MINIMUM_CAPACITY];
+        _consumers = new MessageInstanceConsumer[MINIMUM_CAPACITY];
+        _usesCredit = new boolean[MINIMUM_CAPACITY];
         _creditRestorer = creditRestorer;
     }
 
@@ -87,11 +113,25 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
     {
         if (multiple)
         {
-            collect(deliveryTag, msgs);
+            for (Map.Entry<Long, MessageConsumerAssociationImpl> entry : _overflow.entrySet())
+            {
+                if (isInRange(entry.getKey(), deliveryTag))
+                {
+                    msgs.put(entry.getKey(), entry.getValue());
+                }
+            }
+            for (long tag = _firstTag; tag < _nextTag && isInRange(tag, deliveryTag); tag++)
+            {
+                final int index = indexOf(tag);
+                if (_messages[index] != null)
+                {
+                    msgs.put(tag, association(index));
+                }
+            }
         }
         else
         {
-            final MessageConsumerAssociation messageConsumerAssociation = _map.get(deliveryTag);
+            final MessageConsumerAssociation messageConsumerAssociation = getAssociation(deliveryTag);
             if(messageConsumerAssociation != null)
             {
                 msgs.put(deliveryTag, messageConsumerAssociation);
@@ -100,25 +140,13 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
 
     }
 
-    private void remove(Collection<Long> msgs)
-    {
-        for (Long deliveryTag : msgs)
-        {
-            remove(deliveryTag, true);
-        }
-    }
-
     @Override
     public MessageConsumerAssociation remove(long deliveryTag, final boolean restoreCredit)
     {
-        MessageConsumerAssociationImpl entry = _map.remove(deliveryTag);
-        if(entry != null)
+        MessageConsumerAssociationImpl entry = detach(deliveryTag);
+        if(entry != null && restoreCredit)
         {
-            _size--;
-            if(restoreCredit && entry.isUsesCredit())
-            {
-                _creditRestorer.restoreCredit(entry.getConsumer().getTarget(), 1, entry.getSize());
-            }
+            restoreCredit(entry);
         }
         return entry;
     }
@@ -126,24 +154,44 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
     @Override
     public void visit(Visitor visitor)
     {
-        for (Map.Entry<Long, MessageConsumerAssociationImpl> entry : _map.entrySet())
+        for (Map.Entry<Long, MessageConsumerAssociationImpl> entry : _overflow.entrySet())
         {
             visitor.callback(entry.getKey(), entry.getValue());
         }
+        for (long tag = _firstTag; tag < _nextTag; tag++)
+        {
+            final int index = indexOf(tag);
+            if (_messages[index] != null)
+            {
+                visitor.callback(tag, association(index));
+            }
+        }
         visitor.visitComplete();
     }
 
     @Override
     public void add(long deliveryTag, MessageInstance message, final MessageInstanceConsumer consumer, final boolean usesCredit)
     {
-        if(_map.put(deliveryTag, new MessageConsumerAssociationImpl(message, consumer, usesCredit)) == null)
-        {
-            _size++;
-        }
-        else
+        if (deliveryTag < _nextTag)
         {
-            throw new ConnectionScopedRuntimeException("Unexpected duplicate delivery tag created");
+            if (getAssociation(deliveryTag) != null)
+            {
+                throw new ConnectionScopedRuntimeException("Unexpected duplicate delivery tag created");
+            }
+            throw new ConnectionScopedRuntimeException(String.format(
+                    "Unexpected delivery tag %d created, delivery tag %d has already been created",
+                    deliveryTag,
+                    _nextTag - 1));
         }
+
+        makeRoomFor(deliveryTag);
+        final int index = indexOf(deliveryTag);
+        _messages[index] = message;
+        _consumers[index] = consumer;
+        _usesCredit[index] = usesCredit;
+        _nextTag = deliveryTag + 1;
+        _ringSize++;
+        _size++;
     }
 
     @Override
@@ -155,7 +203,11 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
     @Override
     public MessageInstance get(long key)
     {
-        MessageConsumerAssociation association = _map.get(key);
+        if (isInRing(key))
+        {
+            return _messages[indexOf(key)];
+        }
+        MessageConsumerAssociation association = _overflow.get(key);
         return association == null ? null : association.getMessageInstance();
     }
 
@@ -164,12 +216,39 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
     {
         if(multiple)
         {
-            Map<Long, MessageConsumerAssociation> ackedMessageMap = new LinkedHashMap<>();
-            collect(deliveryTag, multiple, ackedMessageMap);
-            remove(ackedMessageMap.keySet());
-            List<MessageConsumerAssociation> acknowledged = new ArrayList<>();
-            for (MessageConsumerAssociation messageConsumerAssociation : ackedMessageMap.values())
+            final List<MessageConsumerAssociationImpl> ackedMessages = new ArrayList<>();
+            if (!_overflow.isEmpty())
+            {
+                final Iterator<Map.Entry<Long, MessageConsumerAssociationImpl>> iterator =
+                        _overflow.entrySet().iterator();
+                while (iterator.hasNext())
+                {
+                    final Map.Entry<Long, MessageConsumerAssociationImpl> entry = iterator.next();
+                    if (isInRange(entry.getKey(), deliveryTag))
+                    {
+                        ackedMessages.add(entry.getValue());
+                        iterator.remove();
+                        _size--;
+                    }
+                }
+            }
+            while (_ringSize != 0 && isInRange(_firstTag, deliveryTag))
+            {
+                final int index = indexOf(_firstTag);
+                if (_messages[index] != null)
+                {
+                    ackedMessages.add(association(index));
+                    clear(index);
+                }
+                _head = (_head + 1) & (_messages.length - 1);
+                _firstTag++;
+            }
+            trimHead();
+
+            List<MessageConsumerAssociation> acknowledged = new ArrayList<>(ackedMessages.size());
+            for (MessageConsumerAssociationImpl messageConsumerAssociation : ackedMessages)
             {
+                restoreCredit(messageConsumerAssociation);
                 MessageInstance instance = messageConsumerAssociation.getMessageInstance();
                 if (instance.makeAcquisitionUnstealable(messageConsumerAssociation.getConsumer()))
                 {
@@ -193,16 +272,158 @@ class UnacknowledgedMessageMapImpl implements UnacknowledgedMessageMap
         }
     }
 
-    private void collect(long key, Map<Long, MessageConsumerAssociation> msgs)
+    /**
+     * A multiple acknowledgement covers all tags up to and including the given one, or all tags if it is zero.
+     */
+    private static boolean isInRange(final long tag, final long lastTag)
+    {
+        return lastTag == 0L || tag <= lastTag;
+    }
+
+    private boolean isInRing(final long deliveryTag)
+    {
+        return deliveryTag >= _firstTag && deliveryTag < _nextTag;
+    }
+
+    private int indexOf(final long deliveryTag)
+    {
+        return (int) ((_head + (deliveryTag - _firstTag)) & (_messages.length - 1));
+    }
+
+    private MessageConsumerAssociationImpl association(final int index)
+    {
+        return new MessageConsumerAssociationImpl(_messages[index], _consumers[index], _usesCredit[index]);
+    }
+
+    private MessageConsumerAssociation getAssociation(final long deliveryTag)
     {
-        for (Map.Entry<Long, MessageConsumerAssociationImpl> entry : _map.entrySet())
+        if (isInRing(deliveryTag))
         {
-            msgs.put(entry.getKey(), entry.getValue());
-            if (entry.getKey() == key)
+            final int index = indexOf(deliveryTag);
+            return _messages[index] == null ? null : association(index);
+        }
+        return _overflow.get(deliveryTag);
+    }
+
+    private MessageConsumerAssociationImpl detach(final long deliveryTag)
+    {
+        if (isInRing(deliveryTag))
+        {
+            final int index = indexOf(deliveryTag);
+            if (_messages[index] == null)
             {
-                break;
+                return null;
             }
+            final MessageConsumerAssociationImpl association = association(index);
+            clear(index);
+            trimHead();
+            return association;
+        }
+
+        final MessageConsumerAssociationImpl association = _overflow.remove(deliveryTag);
+        if (association != null)
+        {
+            _size--;
+        }
+        return association;
+    }
+
+    private void clear(final int index)
+    {
+        _messages[index] = null;
+        _consumers[index] = null;
+        _usesCredit[index] = false;
+        _ringSize--;
+        _size--;
+    }
+
+    private void restoreCredit(final MessageConsumerAssociationImpl entry)
+    {
+        if (entry.isUsesCredit())
+        {
+            _creditRestorer.restoreCredit(entry.getConsumer().getTarget(), 1, entry.getSize());
+        }
+    }
+
+    /**
+     * Advances the start of the ring past empty slots, so that the ring always starts with a live entry.
+     */
+    private void trimHead()
+    {
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstTag = _nextTag;
+        }
+        else
+        {
+            while (_messages[_head] == null)
+            {
+                _head = (_head + 1) & (_messages.length - 1);
+                _firstTag++;
+            }
+        }
+    }
+
+    private void makeRoomFor(final long deliveryTag)
+    {
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstTag = deliveryTag;
+            _nextTag = deliveryTag;
+            return;
+        }
+
+        while (_ringSize != 0
+               && deliveryTag - _firstTag >= _messages.length
+               && deliveryTag - _firstTag >= (long) MAXIMUM_SPARSENESS * (_ringSize + 1))
+        {
+            final long tag = _firstTag;
+            _overflow.put(tag, association(_head));
+            clear(_head);
+            _size++;
+            trimHead();
+        }
+
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstTag = deliveryTag;
+            _nextTag = deliveryTag;
+        }
+        else if (deliveryTag - _firstTag >= _messages.length)
+        {
+            resize(capacityFor(deliveryTag - _firstTag + 1));
+        }
+    }
+
+    private void resize(final int capacity)
+    {
+        final MessageInstance[] messages = new MessageInstance[capacity];
+        final MessageInstanceConsumer[] consumers = new MessageInstanceConsumer[capacity];
+        final boolean[] usesCredit = new boolean[capacity];
+        final int span = (int) (_nextTag - _firstTag);
+        for (int i = 0; i < span; i++)
+        {
+            final int index = (_head + i) & (_messages.length - 1);
+            messages[i] = _messages[index];
+            consumers[i] = _consumers[index];
+            usesCredit[i] = _usesCredit[index];
+        }
+        _messages = messages;
+        _consumers = consumers;
+        _usesCredit = usesCredit;
+        _head = 0;
+    }
+
+    private static int capacityFor(final long span)
+    {
+        if (span > (1 << 30))
+        {
+            throw new ConnectionScopedRuntimeException("Too many unacknowledged messages");
         }
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit((int) Math.max(1L, span - 1)) << 1);
     }
 
 }
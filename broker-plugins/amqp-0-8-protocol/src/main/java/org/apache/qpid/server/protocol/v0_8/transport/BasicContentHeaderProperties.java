@@ -21,6 +21,7 @@
 package org.apache.qpid.server.protocol.v0_8.transport;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 
 import org.slf4j.Logger;
@@ -506,7 +507,7 @@ public class BasicContentHeaderProperties
 
     public synchronized Collection<String> getHeaderNames()
     {
-        return getHeadersAsMap().keySet();
+        return _headers == null ? Collections.emptySet() : _headers.keys();
     }
 
     public synchronized boolean containsHeader(String name)
@@ -22,25 +22,33 @@ package org.apache.qpid.server.protocol.v0_8;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.net.InetSocketAddress;
 import java.util.Collections;
+import java.util.Iterator;
 
 import javax.security.auth.Subject;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import org.apache.qpid.server.configuration.updater.TaskExecutorImpl;
 import org.apache.qpid.server.logging.EventLogger;
+import org.apache.qpid.server.message.EnqueueableMessage;
 import org.apache.qpid.server.model.AuthenticationProvider;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.BrokerModel;
@@ -64,10 +72,14 @@ import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
 import org.apache.qpid.server.security.auth.UsernamePrincipal;
 import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
 import org.apache.qpid.server.security.auth.sasl.SaslSettings;
+import org.apache.qpid.server.store.MessageDurability;
+import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.TransactionLogResource;
 import org.apache.qpid.server.transport.AMQPConnection;
 import org.apache.qpid.server.transport.AggregateTicker;
 import org.apache.qpid.server.transport.ByteBufferSender;
 import org.apache.qpid.server.transport.ServerNetworkConnection;
+import org.apache.qpid.server.txn.LocalTransaction;
 import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
 import org.apache.qpid.server.virtualhost.VirtualHostPrincipal;
 import org.apache.qpid.test.utils.UnitTestBase;
@@ -76,6 +88,7 @@ public class AMQPConnection_0_8Test extends UnitTestBase
 {
     private static final String VIRTUAL_HOST_NAME = "vhost";
     private static final byte[] SASL_RESPONSE = "response".getBytes();
+    private static final byte[] PENDING_SASL_RESPONSE = "pending".getBytes();
     private static final AMQShortString LOCALE = AMQShortString.createAMQShortString("en_US");
     private static final AMQShortString SASL_MECH = AMQShortString.createAMQShortString("MECH");
 
@@ -89,6 +102,8 @@ public class AMQPConnection_0_8Test extends UnitTestBase
     private Protocol _protocol;
     private AggregateTicker _ticker;
     private ByteBufferSender _sender;
+    private SaslNegotiator _saslNegotiator;
+    private SettableFuture<SubjectAuthenticationResult> _pendingAuthentication;
 
     @Before
     public void setUp() throws Exception
@@ -133,16 +148,18 @@ public class AMQPConnection_0_8Test extends UnitTestBase
         when(_virtualHost.getContextValue(Integer.class, Broker.MESSAGE_COMPRESSION_THRESHOLD_SIZE)).thenReturn(1024);
         when(_virtualHost.getContextValue(Long.class, Connection.MAX_UNCOMMITTED_IN_MEMORY_SIZE)).thenReturn(1024l);
         when(_virtualHost.getContextValue(Boolean.class, Broker.BROKER_MSG_AUTH)).thenReturn(false);
+        when(_virtualHost.getContextValue(Long.class, Broker.BROKER_LARGE_MESSAGE_THRESHOLD)).thenReturn(-1L);
         when(_virtualHost.authoriseCreateConnection(any(AMQPConnection.class))).thenReturn(true);
         when(_virtualHost.getEventLogger()).thenReturn(value);
 
         SubjectCreator subjectCreator = mock(SubjectCreator.class);
 
 
-        SaslNegotiator saslNegotiator = mock(SaslNegotiator.class);
-        when(subjectCreator.createSaslNegotiator(eq(SASL_MECH.toString()), any(SaslSettings.class))).thenReturn(saslNegotiator);
-        when(subjectCreator.authenticate(saslNegotiator, SASL_RESPONSE)).thenReturn(new SubjectAuthenticationResult(
-                new AuthenticationResult(new AuthenticatedPrincipal(new UsernamePrincipal("username", null))), new Subject()));
+        _saslNegotiator = mock(SaslNegotiator.class);
+        _pendingAuthentication = SettableFuture.create();
+        when(subjectCreator.createSaslNegotiator(eq(SASL_MECH.toString()), any(SaslSettings.class))).thenReturn(_saslNegotiator);
+        when(subjectCreator.authenticateAsync(_saslNegotiator, SASL_RESPONSE)).thenReturn(Futures.immediateFuture(createSuccessfulAuthenticationResult()));
+        when(subjectCreator.authenticateAsync(_saslNegotiator, PENDING_SASL_RESPONSE)).thenReturn(_pendingAuthentication);
 
         AuthenticationProvider authenticationProvider = mock(AuthenticationProvider.class);
         when(authenticationProvider.getAvailableMechanisms(anyBoolean())).thenReturn(Collections.singletonList(SASL_MECH.toString()));
@@ -252,4 +269,112 @@ public class AMQPConnection_0_8Test extends UnitTestBase
                           conn.isClosing());
     }
 
+    @Test
+    public void testAuthenticationResultProcessedOnIOThread() throws Exception
+    {
+        AMQPConnection_0_8Impl
+                conn = new AMQPConnection_0_8Impl(_broker, _network, _port, _transport, _protocol, 0, _ticker);
+        conn.create();
+        conn.setIOThread(Thread.currentThread());
+
+        conn.receiveProtocolHeader(new ProtocolInitiation(ProtocolVersion.v0_8));
+        conn.receiveConnectionStartOk(FieldTableFactory.createFieldTable(Collections.emptyMap()), SASL_MECH, PENDING_SASL_RESPONSE, LOCALE);
+
+        assertNull("Connection should not be authenticated before the result is available", conn.getAuthorizedPrincipal());
+
+        completeOnOtherThread(createSuccessfulAuthenticationResult());
+        assertNull("Result should not be processed outside the I/O thread", conn.getAuthorizedPrincipal());
+
+        processPending(conn);
+
+        assertNotNull("Connection should be authenticated", conn.getAuthorizedPrincipal());
+        verify(_saslNegotiator).dispose();
+
+        conn.receiveConnectionTuneOk(10, 65535, 0);
+        assertFalse("Connection should accept tune-ok once authenticated", conn.isClosing());
+    }
+
+    @Test
+    public void testConnectionClosedDuringAuthentication() throws Exception
+    {
+        AMQPConnection_0_8Impl
+                conn = new AMQPConnection_0_8Impl(_broker, _network, _port, _transport, _protocol, 0, _ticker);
+        conn.create();
+        conn.setIOThread(Thread.currentThread());
+
+        conn.receiveProtocolHeader(new ProtocolInitiation(ProtocolVersion.v0_8));
+        conn.receiveConnectionStartOk(FieldTableFactory.createFieldTable(Collections.emptyMap()), SASL_MECH, PENDING_SASL_RESPONSE, LOCALE);
+
+        conn.closed();
+        verify(_saslNegotiator, never()).dispose();
+
+        completeOnOtherThread(createSuccessfulAuthenticationResult());
+        verify(_saslNegotiator).dispose();
+
+        processPending(conn);
+
+        assertNull("Result should be discarded once the connection is closed", conn.getAuthorizedPrincipal());
+        verify(_saslNegotiator).dispose();
+    }
+
+    @Test
+    public void testLargeMessageThresholdOfVirtualHostAppliesToTransactions()
+    {
+        when(_virtualHost.getContextValue(Long.class, Broker.BROKER_LARGE_MESSAGE_THRESHOLD)).thenReturn(100L);
+
+        AMQPConnection_0_8Impl
+                conn = new AMQPConnection_0_8Impl(_broker, _network, _port, _transport, _protocol, 0, _ticker);
+        conn.create();
+        conn.receiveProtocolHeader(new ProtocolInitiation(ProtocolVersion.v0_8));
+        conn.receiveConnectionStartOk(FieldTableFactory.createFieldTable(Collections.emptyMap()), SASL_MECH, SASL_RESPONSE, LOCALE);
+        conn.receiveConnectionTuneOk(10, 65535, 0);
+        conn.receiveConnectionOpen(AMQShortString.createAMQShortString(VIRTUAL_HOST_NAME), AMQShortString.EMPTY_STRING, false);
+
+        final TransactionLogResource queue = mock(TransactionLogResource.class);
+        when(queue.getMessageDurability()).thenReturn(MessageDurability.NEVER);
+        final EnqueueableMessage<?> smallMessage = createEnqueueableMessage(99);
+        final EnqueueableMessage<?> largeMessage = createEnqueueableMessage(100);
+
+        final LocalTransaction transaction = conn.createLocalTransaction();
+        transaction.enqueue(queue, smallMessage, null);
+        transaction.enqueue(queue, largeMessage, null);
+
+        verify(smallMessage.getStoredMessage(), never()).flowToDisk();
+        verify(largeMessage.getStoredMessage()).flowToDisk();
+    }
+
+    @SuppressWarnings("unchecked")
+    private EnqueueableMessage<?> createEnqueueableMessage(final int size)
+    {
+        final EnqueueableMessage message = mock(EnqueueableMessage.class);
+        final StoredMessage storedMessage = mock(StoredMessage.class);
+        when(message.getStoredMessage()).thenReturn(storedMessage);
+        when(storedMessage.getContentSize()).thenReturn(size);
+        return message;
+    }
+
+    private void completeOnOtherThread(final SubjectAuthenticationResult result) throws InterruptedException
+    {
+        final Thread thread = new Thread(() -> _pendingAuthentication.set(result));
+        thread.start();
+        thread.join(10000);
+        assertTrue("Authentication result not set", _pendingAuthentication.isDone());
+    }
+
+    private void processPending(final AMQPConnection_0_8Impl conn)
+    {
+        final Iterator<Runnable> iterator = conn.processPendingIterator();
+        while (iterator.hasNext())
+        {
+            iterator.next().run();
+        }
+    }
+
+    private static SubjectAuthenticationResult createSuccessfulAuthenticationResult()
+    {
+        final AuthenticatedPrincipal principal = new AuthenticatedPrincipal(new UsernamePrincipal("username", null));
+        final Subject subject = new Subject();
+        subject.getPrincipals().add(principal);
+        return new SubjectAuthenticationResult(new AuthenticationResult(principal), subject);
+    }
 }
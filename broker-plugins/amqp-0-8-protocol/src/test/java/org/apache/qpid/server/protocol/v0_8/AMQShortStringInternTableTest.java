@@ -0,0 +1,114 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.protocol.v0_8;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class AMQShortStringInternTableTest extends UnitTestBase
+{
+    @Test
+    public void testReadReturnsSharedInstance()
+    {
+        try (QpidByteBuffer buffer = encode("amq.direct", "amq.direct"))
+        {
+            final AMQShortString first = AMQShortString.readAMQShortString(buffer);
+            final AMQShortString second = AMQShortString.readAMQShortString(buffer);
+
+            assertEquals("amq.direct", first.toString());
+            assertSame("Expected interned instance", first, second);
+            assertEquals("Unexpected remaining bytes", 0, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void testInternAvoidsCreation()
+    {
+        final AMQShortStringInternTable table = new AMQShortStringInternTable(16);
+        final AtomicInteger created = new AtomicInteger();
+
+        try (QpidByteBuffer buffer = encode("key", "key", "other"))
+        {
+            final AMQShortString first = intern(table, buffer, created);
+            final AMQShortString second = intern(table, buffer, created);
+            final AMQShortString other = intern(table, buffer, created);
+
+            assertSame("Expected interned instance", first, second);
+            assertEquals("other", other.toString());
+            assertEquals("Unexpected number of created strings", 2, created.get());
+            assertEquals("Unexpected remaining bytes", 0, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void testCollidingEntryIsReplaced()
+    {
+        final AMQShortStringInternTable table = new AMQShortStringInternTable(1);
+        final AtomicInteger created = new AtomicInteger();
+
+        try (QpidByteBuffer buffer = encode("first", "second", "first"))
+        {
+            final AMQShortString first = intern(table, buffer, created);
+            intern(table, buffer, created);
+            final AMQShortString third = intern(table, buffer, created);
+
+            assertEquals(first, third);
+            assertNotSame("Evicted entry should not be returned", first, third);
+            assertEquals("Unexpected number of created strings", 3, created.get());
+        }
+    }
+
+    private AMQShortString intern(final AMQShortStringInternTable table,
+                                  final QpidByteBuffer buffer,
+                                  final AtomicInteger created)
+    {
+        final int length = buffer.getUnsignedByte();
+        return table.intern(buffer, length, data -> {
+            created.incrementAndGet();
+            return AMQShortString.createAMQShortString(data);
+        });
+    }
+
+    private QpidByteBuffer encode(final String... values)
+    {
+        int size = 0;
+        for (String value : values)
+        {
+            size += EncodingUtils.encodedShortStringLength(value);
+        }
+        final QpidByteBuffer buffer = QpidByteBuffer.allocate(size);
+        for (String value : values)
+        {
+            EncodingUtils.writeShortStringBytes(buffer, value);
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -527,6 +527,46 @@ public class FieldTableTest extends UnitTestBase
         }
     }
 
+    @Test
+    public void testLookupInEncodedFieldTable()
+    {
+        final Map<String, Object> map = new LinkedHashMap<>();
+        map.put("key", "value");
+        map.put("key2", 2);
+        map.put("k\u00e9y", "accented");
+        map.put("ke", 3L);
+
+        final FieldTable original = FieldTableFactory.createFieldTable(map);
+        final int encodedSize = (int) original.getEncodedSize() + Integer.BYTES;
+        final QpidByteBuffer buf = QpidByteBuffer.allocate(encodedSize);
+        original.writeToBuffer(buf);
+        buf.flip();
+        buf.position(Integer.BYTES);
+
+        final FieldTable fieldTable = FieldTableFactory.createFieldTable(buf);
+        assertEquals("Unexpected keys", map.keySet(), fieldTable.keys());
+        assertEquals("value", fieldTable.get("key"));
+        assertEquals(2, fieldTable.get("key2"));
+        assertEquals("accented", fieldTable.get("k\u00e9y"));
+        assertEquals(3L, fieldTable.get("ke"));
+        assertNull(fieldTable.get("k"));
+        assertNull(fieldTable.get("key22"));
+
+        final QpidByteBuffer copy = QpidByteBuffer.allocate(encodedSize);
+        fieldTable.writeToBuffer(copy);
+        copy.flip();
+        buf.rewind();
+        final byte[] expected = new byte[encodedSize];
+        final byte[] actual = new byte[encodedSize];
+        buf.copyTo(expected);
+        copy.copyTo(actual);
+        assertBytesEqual(expected, actual);
+
+        buf.dispose();
+        copy.dispose();
+        fieldTable.dispose();
+    }
+
     @Test
     public void testValidateMalformedFieldTable()
     {
@@ -21,11 +21,22 @@
 package org.apache.qpid.server.protocol.v0_8;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import com.google.common.base.Function;
 import com.google.common.collect.Collections2;
@@ -34,6 +45,7 @@ import org.junit.Test;
 import org.apache.qpid.server.message.MessageInstance;
 import org.apache.qpid.server.message.MessageInstanceConsumer;
 import org.apache.qpid.server.message.ServerMessage;
+import org.apache.qpid.server.util.ConnectionScopedRuntimeException;
 import org.apache.qpid.test.utils.UnitTestBase;
 
 public class UnacknowledgedMessageMapTest extends UnitTestBase
@@ -85,6 +97,95 @@ public class UnacknowledgedMessageMapTest extends UnitTestBase
 
     }
 
+    @Test
+    public void testMultipleAcknowledgeUpToDeliveryTag()
+    {
+        final UnacknowledgedMessageMap map = new UnacknowledgedMessageMapImpl(4, mock(CreditRestorer.class));
+        final MessageInstance[] msgs = populateMap(map, 10);
+
+        final Collection<MessageConsumerAssociation> acknowledged = map.acknowledge(4, true);
+
+        assertEquals(5, acknowledged.size());
+        assertEquals(5, map.size());
+        assertNull(map.get(4));
+        assertSame(msgs[5], map.get(5));
+
+        assertEquals(5, map.acknowledge(0, true).size());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testRemoveOutOfOrder()
+    {
+        final CreditRestorer creditRestorer = mock(CreditRestorer.class);
+        final UnacknowledgedMessageMap map = new UnacknowledgedMessageMapImpl(4, creditRestorer);
+        final MessageInstance[] msgs = populateMap(map, 40);
+
+        for (int i = 0; i < 40; i += 2)
+        {
+            assertSame(msgs[i], map.remove(i, true).getMessageInstance());
+        }
+        assertEquals(20, map.size());
+        assertNull(map.remove(0, true));
+        verify(creditRestorer, times(20)).restoreCredit(any(), eq(1), eq(0L));
+
+        final List<Long> visited = new ArrayList<>();
+        map.visit(new UnacknowledgedMessageMap.Visitor()
+        {
+            @Override
+            public boolean callback(final long deliveryTag, final MessageConsumerAssociation messageConsumerPair)
+            {
+                assertSame(msgs[(int) deliveryTag], messageConsumerPair.getMessageInstance());
+                visited.add(deliveryTag);
+                return false;
+            }
+
+            @Override
+            public void visitComplete()
+            {
+            }
+        });
+        assertEquals(20, visited.size());
+        assertEquals(Long.valueOf(1), visited.get(0));
+        assertEquals(Long.valueOf(39), visited.get(19));
+    }
+
+    @Test
+    public void testOldestMessageRetainedWhileTagsAdvance()
+    {
+        final UnacknowledgedMessageMap map = new UnacknowledgedMessageMapImpl(4, mock(CreditRestorer.class));
+        final MessageInstance oldest = createMessageInstance(0);
+        map.add(0L, oldest, _consumer, true);
+
+        for (long tag = 1; tag <= 10000; tag++)
+        {
+            map.add(tag, createMessageInstance((int) tag), _consumer, true);
+            map.remove(tag, true);
+        }
+        final MessageInstance latest = createMessageInstance(20000);
+        map.add(20000L, latest, _consumer, true);
+
+        assertEquals(2, map.size());
+        assertSame(oldest, map.get(0));
+        assertSame(latest, map.get(20000));
+
+        final Map<Long, MessageConsumerAssociation> collected = new LinkedHashMap<>();
+        map.collect(20000L, true, collected);
+        assertEquals(Arrays.asList(0L, 20000L), new ArrayList<>(collected.keySet()));
+
+        assertEquals(1, map.acknowledge(0, false).size());
+        assertEquals(1, map.size());
+        assertSame(latest, map.get(20000));
+    }
+
+    @Test(expected = ConnectionScopedRuntimeException.class)
+    public void testDuplicateDeliveryTag()
+    {
+        final UnacknowledgedMessageMap map = new UnacknowledgedMessageMapImpl(4, mock(CreditRestorer.class));
+        populateMap(map, 2);
+        map.add(1L, createMessageInstance(1), _consumer, true);
+    }
+
     public MessageInstance[] populateMap(final UnacknowledgedMessageMap map, int size)
     {
         MessageInstance[] msgs = new MessageInstance[size];
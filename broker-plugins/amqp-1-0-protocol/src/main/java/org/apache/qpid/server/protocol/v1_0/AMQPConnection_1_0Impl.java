@@ -52,6 +52,7 @@ import java.util.stream.StreamSupport;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -170,6 +171,7 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
 
     private final FrameWriter _frameWriter;
     private ProtocolHandler _frameHandler;
+    private QpidByteBuffer _deferredInput;
     private volatile boolean _transportBlockedForWriting;
     private volatile SubjectAuthenticationResult _successfulAuthenticationResult;
     private boolean _blocking;
@@ -329,14 +331,32 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
 
     private void processSaslResponse(final byte[] response)
     {
-        byte[] challenge = null;
-        SubjectAuthenticationResult authenticationResult = _successfulAuthenticationResult;
-        if (authenticationResult == null)
+        if (_successfulAuthenticationResult != null)
         {
-            authenticationResult = _subjectCreator.authenticate(_saslNegotiator, response != null ? response : new byte[0]);
-            challenge = authenticationResult.getChallenge();
+            processAuthenticationResult(_successfulAuthenticationResult, null);
+            return;
+        }
+
+        final ListenableFuture<SubjectAuthenticationResult> future =
+                _subjectCreator.authenticateAsync(_saslNegotiator, response != null ? response : new byte[0]);
+        if (future.isDone())
+        {
+            final SubjectAuthenticationResult authenticationResult = Futures.getUnchecked(future);
+            processAuthenticationResult(authenticationResult, authenticationResult.getChallenge());
+        }
+        else
+        {
+            _connectionState = ConnectionState.AWAIT_AUTHENTICATION;
+            handleAuthenticationResultOnIOThread(future, _saslNegotiator, authenticationResult -> {
+                processAuthenticationResult(authenticationResult, authenticationResult.getChallenge());
+                receiveDeferredInput();
+            });
         }
+    }
 
+    private void processAuthenticationResult(final SubjectAuthenticationResult authenticationResult,
+                                             final byte[] challenge)
+    {
         if (authenticationResult.getStatus() == AuthenticationResult.AuthenticationStatus.SUCCESS)
         {
             final boolean finalChallenge = challenge != null && challenge.length != 0;
@@ -529,6 +549,7 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
             case AWAIT_AMQP_OR_SASL_HEADER:
             case AWAIT_SASL_INIT:
             case AWAIT_SASL_RESPONSE:
+            case AWAIT_AUTHENTICATION:
             case AWAIT_AMQP_HEADER:
                 throw new ConnectionScopedRuntimeException("Received unexpected close when AMQP connection has not been established.");
             case AWAIT_OPEN:
@@ -1172,6 +1193,7 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
             case AWAIT_AMQP_OR_SASL_HEADER:
             case AWAIT_SASL_INIT:
             case AWAIT_SASL_RESPONSE:
+            case AWAIT_AUTHENTICATION:
             case AWAIT_AMQP_HEADER:
                 throw new ConnectionScopedRuntimeException("Connection is closed before being fully established: " + error.getDescription());
 
@@ -1284,6 +1306,22 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
 
     @Override
     protected void onReceive(final QpidByteBuffer msg)
+    {
+        if (_connectionState == ConnectionState.AWAIT_AUTHENTICATION)
+        {
+            deferInput(msg);
+        }
+        else if (_deferredInput != null)
+        {
+            receiveAfterDeferredInput(msg);
+        }
+        else
+        {
+            processInput(msg);
+        }
+    }
+
+    private void processInput(final QpidByteBuffer msg)
     {
         try
         {
@@ -1320,6 +1358,11 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
 
                 }
                 while (msg.remaining() != remaining);
+
+                if (_connectionState == ConnectionState.AWAIT_AUTHENTICATION && msg.hasRemaining())
+                {
+                    deferInput(msg);
+                }
             }
             finally
             {
@@ -1332,6 +1375,81 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
         }
     }
 
+    /**
+     * Input which arrives while a SASL response is being authenticated is copied aside, as the network buffer holding
+     * it is reused, and is processed once the outcome has been sent.
+     */
+    private void deferInput(final QpidByteBuffer msg)
+    {
+        final QpidByteBuffer deferredInput = _deferredInput;
+        final int deferredLength = deferredInput == null ? 0 : deferredInput.remaining();
+        final QpidByteBuffer input = QpidByteBuffer.allocate(false, deferredLength + msg.remaining());
+        if (deferredInput != null)
+        {
+            input.put(deferredInput);
+            deferredInput.dispose();
+        }
+        input.put(msg);
+        input.flip();
+        _deferredInput = input;
+    }
+
+    /**
+     * Processes the input deferred during authentication.  Only an incomplete frame at its end is kept, to be
+     * completed by the input which follows.
+     */
+    private void receiveDeferredInput()
+    {
+        final QpidByteBuffer input = _deferredInput;
+        if (input != null)
+        {
+            _deferredInput = null;
+            try
+            {
+                processInput(input);
+                if (input.hasRemaining())
+                {
+                    deferInput(input);
+                }
+            }
+            finally
+            {
+                input.dispose();
+            }
+        }
+    }
+
+    /**
+     * Processes the incomplete frame kept from the deferred input followed by the given input, without copying the
+     * latter.  Once the incomplete frame has been consumed, input is no longer deferred and the transport keeps any
+     * unprocessed remainder of its buffer as usual.
+     */
+    private void receiveAfterDeferredInput(final QpidByteBuffer msg)
+    {
+        final QpidByteBuffer deferredInput = _deferredInput;
+        _deferredInput = null;
+        final int deferredLength = deferredInput.remaining();
+        final int available = msg.remaining();
+        try (QpidByteBuffer input = QpidByteBuffer.concatenate(deferredInput, msg))
+        {
+            processInput(input);
+            final int consumed = deferredLength + available - input.remaining();
+            if (consumed < deferredLength)
+            {
+                deferInput(input);
+                msg.position(msg.limit());
+            }
+            else
+            {
+                msg.position(msg.position() + consumed - deferredLength);
+            }
+        }
+        finally
+        {
+            deferredInput.dispose();
+        }
+    }
+
     @Override
     public void receivedComplete()
     {
@@ -1451,6 +1569,11 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
             finally
             {
                 markTransportClosed();
+                if (_deferredInput != null)
+                {
+                    _deferredInput.dispose();
+                    _deferredInput = null;
+                }
             }
         }
     }
@@ -1949,6 +2072,7 @@ public class AMQPConnection_1_0Impl extends AbstractAMQPConnection<AMQPConnectio
             case AWAIT_AMQP_OR_SASL_HEADER:
             case AWAIT_SASL_INIT:
             case AWAIT_SASL_RESPONSE:
+            case AWAIT_AUTHENTICATION:
             case AWAIT_AMQP_HEADER:
             case AWAIT_OPEN:
                 return true;
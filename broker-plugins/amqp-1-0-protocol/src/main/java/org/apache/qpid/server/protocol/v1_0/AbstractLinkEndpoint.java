@@ -274,6 +274,17 @@ public abstract class AbstractLinkEndpoint<S extends BaseSource, T extends BaseT
         }
     }
 
+    @Override
+    public void receiveDeliveryStates(final List<Binary> deliveryTags,
+                                      final DeliveryState state,
+                                      final Boolean settled)
+    {
+        for (Binary deliveryTag : deliveryTags)
+        {
+            receiveDeliveryState(deliveryTag, state, settled);
+        }
+    }
+
     public void settle(final Binary deliveryTag)
     {
 
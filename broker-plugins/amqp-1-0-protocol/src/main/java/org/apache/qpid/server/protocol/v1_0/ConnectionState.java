@@ -26,6 +26,7 @@ public enum ConnectionState
     AWAIT_AMQP_OR_SASL_HEADER,
     AWAIT_SASL_INIT,     // SASL AMQP header received, SASL mechanisms sent
     AWAIT_SASL_RESPONSE, // SASL INIT received
+    AWAIT_AUTHENTICATION, // SASL response received, authentication in progress
     AWAIT_AMQP_HEADER,   // SASL negotiation completed and SASL outcome is sent
     AWAIT_OPEN,          // Headers exchanged
     OPENED,
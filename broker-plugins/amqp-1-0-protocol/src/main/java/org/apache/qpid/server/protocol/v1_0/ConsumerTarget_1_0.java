@@ -22,7 +22,10 @@ package org.apache.qpid.server.protocol.v1_0;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -423,6 +426,80 @@ class ConsumerTarget_1_0 extends AbstractConsumerTarget<ConsumerTarget_1_0>
         return _linkEndpoint.getSession();
     }
 
+    /**
+     * Accepts the given unsettled deliveries outside of any transaction.  The messages of all the deliveries are
+     * dequeued in a single store transaction.  Returns the tags of the deliveries which are now settled locally.
+     */
+    Set<Binary> accept(final Map<Binary, UnsettledAction> actions, final Boolean settled)
+    {
+        final Accepted accepted = new Accepted();
+        final Set<Binary> locallySettled = new HashSet<>();
+        final List<DispositionAction> dispositionActions = new ArrayList<>(actions.size());
+        final List<DispositionAction> dequeuedActions = new ArrayList<>(actions.size());
+        final List<MessageInstance> dequeuedEntries = new ArrayList<>(actions.size());
+        for (Map.Entry<Binary, UnsettledAction> entry : actions.entrySet())
+        {
+            final UnsettledAction action = entry.getValue();
+            if (action instanceof DispositionAction)
+            {
+                final DispositionAction dispositionAction = (DispositionAction) action;
+                dispositionActions.add(dispositionAction);
+                if (dispositionAction._queueEntry.makeAcquisitionUnstealable(dispositionAction.getConsumer()))
+                {
+                    dequeuedActions.add(dispositionAction);
+                    dequeuedEntries.add(dispositionAction._queueEntry);
+                }
+                locallySettled.add(entry.getKey());
+            }
+            else if (action.process(accepted, settled))
+            {
+                locallySettled.add(entry.getKey());
+            }
+        }
+
+        if (!dispositionActions.isEmpty())
+        {
+            _linkEndpoint.getAsyncAutoCommitTransaction().dequeue(dequeuedEntries, new ServerTransaction.Action()
+            {
+                @Override
+                public void postCommit()
+                {
+                    for (DispositionAction action : dequeuedActions)
+                    {
+                        if (action._queueEntry.isAcquiredBy(action.getConsumer()))
+                        {
+                            action._queueEntry.delete();
+                        }
+                    }
+                    for (DispositionAction action : dispositionActions)
+                    {
+                        if (Boolean.TRUE.equals(settled))
+                        {
+                            _linkEndpoint.settle(action._deliveryTag);
+                        }
+                        else
+                        {
+                            _linkEndpoint.updateDisposition(action._deliveryTag, accepted, true);
+                        }
+                    }
+                }
+
+                @Override
+                public void onRollback()
+                {
+                    if (Boolean.TRUE.equals(settled))
+                    {
+                        for (DispositionAction action : dispositionActions)
+                        {
+                            action.applyModifiedOutcome();
+                        }
+                    }
+                }
+            });
+        }
+        return locallySettled;
+    }
+
     private class DispositionAction implements UnsettledAction
     {
 
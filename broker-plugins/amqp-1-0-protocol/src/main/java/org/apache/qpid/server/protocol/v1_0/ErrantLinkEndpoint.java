@@ -19,6 +19,8 @@
 
 package org.apache.qpid.server.protocol.v1_0;
 
+import java.util.List;
+
 import org.apache.qpid.server.protocol.v1_0.type.AmqpErrorException;
 import org.apache.qpid.server.protocol.v1_0.type.BaseSource;
 import org.apache.qpid.server.protocol.v1_0.type.BaseTarget;
@@ -150,6 +152,14 @@ public class ErrantLinkEndpoint<S extends BaseSource, T extends BaseTarget> impl
 
     }
 
+    @Override
+    public void receiveDeliveryStates(final List<Binary> deliveryTags,
+                                      final DeliveryState state,
+                                      final Boolean settled)
+    {
+
+    }
+
     @Override
     public void receiveFlow(final Flow flow)
     {
@@ -19,6 +19,8 @@
 
 package org.apache.qpid.server.protocol.v1_0;
 
+import java.util.List;
+
 import org.apache.qpid.server.protocol.v1_0.type.AmqpErrorException;
 import org.apache.qpid.server.protocol.v1_0.type.BaseSource;
 import org.apache.qpid.server.protocol.v1_0.type.BaseTarget;
@@ -57,6 +59,10 @@ public interface LinkEndpoint<S extends BaseSource, T extends BaseTarget>
                               DeliveryState state,
                               Boolean settled);
 
+    void receiveDeliveryStates(List<Binary> deliveryTags,
+                               DeliveryState state,
+                               Boolean settled);
+
     void receiveFlow(Flow flow);
 
     void sendFlow();
@@ -27,8 +27,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Pattern;
@@ -74,6 +77,7 @@ import org.apache.qpid.server.protocol.v1_0.type.transport.Error;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Flow;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Role;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Transfer;
+import org.apache.qpid.server.protocol.v1_0.type.transport.codec.TransferTemplate;
 import org.apache.qpid.server.txn.AsyncAutoCommitTransaction;
 import org.apache.qpid.server.txn.AsyncCommand;
 import org.apache.qpid.server.txn.AutoCommitTransaction;
@@ -107,6 +111,7 @@ public class SendingLinkEndpoint extends AbstractLinkEndpoint<Source, Target>
     private volatile FilterManager _consumerFilters;
     private volatile ConsumerTarget_1_0 _consumerTarget;
     private volatile MessageInstanceConsumer<ConsumerTarget_1_0> _consumer;
+    private volatile TransferTemplate _transferTemplate;
 
     public SendingLinkEndpoint(final Session_1_0 session, final LinkImpl<Source, Target> link)
     {
@@ -435,7 +440,15 @@ public class SendingLinkEndpoint extends AbstractLinkEndpoint<Source, Target>
 
         getDeliveryCount().incr();
 
-        xfr.setHandle(getLocalHandle());
+        final UnsignedInteger localHandle = getLocalHandle();
+        TransferTemplate transferTemplate = _transferTemplate;
+        if (localHandle != null && (transferTemplate == null || !localHandle.equals(transferTemplate.getHandle())))
+        {
+            transferTemplate = new TransferTemplate(localHandle);
+            _transferTemplate = transferTemplate;
+        }
+        xfr.setHandle(localHandle);
+        xfr.setEncodingTemplate(transferTemplate);
 
         s.sendTransfer(xfr, this);
     }
@@ -622,6 +635,54 @@ public class SendingLinkEndpoint extends AbstractLinkEndpoint<Source, Target>
         }
     }
 
+    @Override
+    public void receiveDeliveryStates(final List<Binary> deliveryTags, final DeliveryState state, final Boolean settled)
+    {
+        final ConsumerTarget_1_0 consumerTarget = _consumerTarget;
+        if (deliveryTags.size() == 1 || !(state instanceof Accepted) || consumerTarget == null)
+        {
+            _asyncAutoCommitTransaction.startBatch();
+            try
+            {
+                super.receiveDeliveryStates(deliveryTags, state, settled);
+            }
+            finally
+            {
+                _asyncAutoCommitTransaction.endBatch();
+            }
+            return;
+        }
+
+        final Map<Binary, UnsettledAction> actions = new LinkedHashMap<>();
+        for (Binary deliveryTag : deliveryTags)
+        {
+            final OutgoingDelivery outgoingDelivery = _unsettled.get(deliveryTag);
+            if (outgoingDelivery != null && outgoingDelivery.getAction() != null)
+            {
+                actions.put(deliveryTag, outgoingDelivery.getAction());
+            }
+        }
+
+        final Set<Binary> locallySettled = consumerTarget.accept(actions, settled);
+        final Set<Binary> dispositions = new LinkedHashSet<>();
+        for (Binary deliveryTag : deliveryTags)
+        {
+            if (Boolean.TRUE.equals(settled))
+            {
+                _unsettled.remove(deliveryTag);
+                settle(deliveryTag);
+            }
+            else if (locallySettled.contains(deliveryTag) && _unsettled.remove(deliveryTag) != null)
+            {
+                dispositions.add(deliveryTag);
+            }
+        }
+        if (!dispositions.isEmpty())
+        {
+            getSession().updateDisposition(this, dispositions, state, true);
+        }
+    }
+
     public ServerTransaction getTransaction(Binary transactionId)
     {
         Session_1_0 session = getSession();
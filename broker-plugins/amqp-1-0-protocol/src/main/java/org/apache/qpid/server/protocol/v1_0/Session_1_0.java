@@ -34,6 +34,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -236,14 +237,7 @@ public class Session_1_0 extends AbstractAMQPSession<Session_1_0, ConsumerTarget
         if (settled)
         {
             final DeliveryRegistry deliveryRegistry = role == Role.RECEIVER ? _incomingDeliveryRegistry : _outgoingDeliveryRegistry;
-
-            SequenceNumber pos = new SequenceNumber(first.intValue());
-            SequenceNumber end = new SequenceNumber(last.intValue());
-            while (pos.compareTo(end) <= 0)
-            {
-                deliveryRegistry.removeDelivery(UnsignedInteger.valueOf(pos.intValue()));
-                pos.incr();
-            }
+            deliveryRegistry.removeDeliveries(first, last);
         }
 
         send(disposition);
@@ -355,6 +349,7 @@ public class Session_1_0 extends AbstractAMQPSession<Session_1_0, ConsumerTarget
                     Transfer continuationTransfer = new Transfer();
 
                     continuationTransfer.setHandle(xfr.getHandle());
+                    continuationTransfer.setEncodingTemplate(xfr.getEncodingTemplate());
                     continuationTransfer.setRcvSettleMode(xfr.getRcvSettleMode());
                     continuationTransfer.setState(xfr.getState());
                     continuationTransfer.setPayload(payload);
@@ -505,32 +500,24 @@ public class Session_1_0 extends AbstractAMQPSession<Session_1_0, ConsumerTarget
             unsettledDeliveries = _incomingDeliveryRegistry;
         }
 
-        SequenceNumber deliveryId = new SequenceNumber(disposition.getFirst().intValue());
-        SequenceNumber last;
-        if(disposition.getLast() == null)
+        final UnsignedInteger first = disposition.getFirst();
+        final UnsignedInteger last = disposition.getLast() == null ? first : disposition.getLast();
+
+        final Map<LinkEndpoint<?, ?>, List<Binary>> deliveryTagsByLink = new LinkedHashMap<>();
+        for (UnsettledDelivery unsettledDelivery : unsettledDeliveries.getDeliveries(first, last))
         {
-            last = new SequenceNumber(deliveryId.intValue());
+            deliveryTagsByLink.computeIfAbsent(unsettledDelivery.getLinkEndpoint(), link -> new ArrayList<>())
+                              .add(unsettledDelivery.getDeliveryTag());
         }
-        else
+
+        for (Map.Entry<LinkEndpoint<?, ?>, List<Binary>> entry : deliveryTagsByLink.entrySet())
         {
-            last = new SequenceNumber(disposition.getLast().intValue());
+            entry.getKey().receiveDeliveryStates(entry.getValue(), disposition.getState(), disposition.getSettled());
         }
 
-        while(deliveryId.compareTo(last)<=0)
+        if (Boolean.TRUE.equals(disposition.getSettled()))
         {
-            UnsignedInteger deliveryIdUnsigned = UnsignedInteger.valueOf(deliveryId.intValue());
-            UnsettledDelivery unsettledDelivery = unsettledDeliveries.getDelivery(deliveryIdUnsigned);
-
-            if(unsettledDelivery != null)
-            {
-                LinkEndpoint<?,?> linkEndpoint  = unsettledDelivery.getLinkEndpoint();
-                linkEndpoint.receiveDeliveryState(unsettledDelivery.getDeliveryTag(), disposition.getState(), disposition.getSettled());
-                if (Boolean.TRUE.equals(disposition.getSettled()))
-                {
-                    unsettledDeliveries.removeDelivery(deliveryIdUnsigned);
-                }
-            }
-            deliveryId.incr();
+            unsettledDeliveries.removeDeliveries(first, last);
         }
     }
 
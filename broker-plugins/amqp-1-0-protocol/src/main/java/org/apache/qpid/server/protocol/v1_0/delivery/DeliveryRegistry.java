@@ -20,6 +20,8 @@
  */
 package org.apache.qpid.server.protocol.v1_0.delivery;
 
+import java.util.List;
+
 import org.apache.qpid.server.protocol.v1_0.LinkEndpoint;
 import org.apache.qpid.server.protocol.v1_0.type.Binary;
 import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
@@ -28,7 +30,9 @@ public interface DeliveryRegistry
 {
     void addDelivery(UnsignedInteger deliveryId, UnsettledDelivery unsettledDelivery);
     void removeDelivery(UnsignedInteger deliveryId);
+    void removeDeliveries(UnsignedInteger first, UnsignedInteger last);
     UnsettledDelivery getDelivery(UnsignedInteger deliveryId);
+    List<UnsettledDelivery> getDeliveries(UnsignedInteger first, UnsignedInteger last);
     void removeDeliveriesForLinkEndpoint(LinkEndpoint<?, ?> linkEndpoint);
     UnsignedInteger getDeliveryId(Binary deliveryTag, LinkEndpoint<?, ?> linkEndpoint);
     int size();
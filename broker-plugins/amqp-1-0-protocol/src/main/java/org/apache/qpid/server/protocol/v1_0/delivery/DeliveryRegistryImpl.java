@@ -20,55 +20,206 @@
  */
 package org.apache.qpid.server.protocol.v1_0.delivery;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.qpid.server.protocol.v1_0.LinkEndpoint;
 import org.apache.qpid.server.protocol.v1_0.type.Binary;
 import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
 
+/**
+ * Delivery ids are assigned in increasing order (modulo 2^32) within a session, so the unsettled deliveries are held
+ * in a ring indexed by delivery id: the delivery with id i is in the slot i - _firstId places after _head.  Ids which
+ * were never added or were since removed leave empty slots, and a range of ids is resolved by walking the
+ * corresponding slots.  Deliveries which arrive out of order, or which had to leave the ring because it became too
+ * sparse, are kept in a map.
+ */
 public class DeliveryRegistryImpl implements DeliveryRegistry
 {
-    private final Map<UnsignedInteger, UnsettledDelivery> _deliveries = new ConcurrentHashMap<>();
-    private final Map<UnsettledDelivery, UnsignedInteger> _deliveryIds = new ConcurrentHashMap<>();
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAXIMUM_SPARSENESS = 4;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private UnsettledDelivery[] _ring = new UnsettledDelivery[INITIAL_CAPACITY];
+    private int _head;
+    private int _firstId;
+    private int _span;
+    private int _ringSize;
+    private final Map<UnsignedInteger, UnsettledDelivery> _overflow = new HashMap<>();
+    private final Map<UnsettledDelivery, UnsignedInteger> _deliveryIds = new HashMap<>();
+    private volatile int _size;
 
     @Override
     public void addDelivery(final UnsignedInteger deliveryId, final UnsettledDelivery unsettledDelivery)
     {
-        _deliveries.put(deliveryId, unsettledDelivery);
+        removeDelivery(deliveryId);
+
+        final int id = deliveryId.intValue();
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstId = id;
+            _span = 0;
+        }
+
+        final int offset = id - _firstId;
+        if (offset < _span)
+        {
+            _overflow.put(deliveryId, unsettledDelivery);
+        }
+        else
+        {
+            makeRoomFor(offset);
+            _ring[index(id - _firstId)] = unsettledDelivery;
+            _span = id - _firstId + 1;
+            _ringSize++;
+        }
         _deliveryIds.put(unsettledDelivery, deliveryId);
+        _size++;
     }
 
     @Override
     public void removeDelivery(final UnsignedInteger deliveryId)
     {
-        UnsettledDelivery unsettledDelivery = _deliveries.remove(deliveryId);
-        if (unsettledDelivery != null)
+        final int offset = deliveryId.intValue() - _firstId;
+        if (offset >= 0 && offset < _span)
         {
-            _deliveryIds.remove(unsettledDelivery);
+            final int index = index(offset);
+            final UnsettledDelivery unsettledDelivery = _ring[index];
+            if (unsettledDelivery != null)
+            {
+                clear(index, unsettledDelivery);
+                trimHead();
+                return;
+            }
+        }
+        if (!_overflow.isEmpty())
+        {
+            final UnsettledDelivery unsettledDelivery = _overflow.remove(deliveryId);
+            if (unsettledDelivery != null)
+            {
+                _deliveryIds.remove(unsettledDelivery);
+                _size--;
+            }
+        }
+    }
+
+    @Override
+    public void removeDeliveries(final UnsignedInteger first, final UnsignedInteger last)
+    {
+        final int length = last.intValue() - first.intValue();
+        if (length < 0)
+        {
+            return;
+        }
+        if (!_overflow.isEmpty())
+        {
+            final Iterator<Map.Entry<UnsignedInteger, UnsettledDelivery>> iterator = _overflow.entrySet().iterator();
+            while (iterator.hasNext())
+            {
+                final Map.Entry<UnsignedInteger, UnsettledDelivery> entry = iterator.next();
+                if (isInRange(entry.getKey(), first, length))
+                {
+                    iterator.remove();
+                    _deliveryIds.remove(entry.getValue());
+                    _size--;
+                }
+            }
+        }
+
+        if (_ringSize != 0 && overlapsRing(first, last))
+        {
+            final int toOffset = Math.min(_span - 1, last.intValue() - _firstId);
+            for (int offset = Math.max(0, first.intValue() - _firstId); offset <= toOffset; offset++)
+            {
+                final int index = index(offset);
+                if (_ring[index] != null)
+                {
+                    clear(index, _ring[index]);
+                }
+            }
+            trimHead();
         }
     }
 
     @Override
     public UnsettledDelivery getDelivery(final UnsignedInteger deliveryId)
     {
-        return _deliveries.get(deliveryId);
+        final int offset = deliveryId.intValue() - _firstId;
+        if (offset >= 0 && offset < _span)
+        {
+            final UnsettledDelivery unsettledDelivery = _ring[index(offset)];
+            if (unsettledDelivery != null)
+            {
+                return unsettledDelivery;
+            }
+        }
+        return _overflow.isEmpty() ? null : _overflow.get(deliveryId);
+    }
+
+    @Override
+    public List<UnsettledDelivery> getDeliveries(final UnsignedInteger first, final UnsignedInteger last)
+    {
+        final int length = last.intValue() - first.intValue();
+        if (length < 0 || _size == 0)
+        {
+            return Collections.emptyList();
+        }
+
+        final List<UnsettledDelivery> deliveries = new ArrayList<>();
+        if (!_overflow.isEmpty())
+        {
+            for (Map.Entry<UnsignedInteger, UnsettledDelivery> entry : _overflow.entrySet())
+            {
+                if (isInRange(entry.getKey(), first, length))
+                {
+                    deliveries.add(entry.getValue());
+                }
+            }
+        }
+        if (_ringSize != 0 && overlapsRing(first, last))
+        {
+            final int toOffset = Math.min(_span - 1, last.intValue() - _firstId);
+            for (int offset = Math.max(0, first.intValue() - _firstId); offset <= toOffset; offset++)
+            {
+                final UnsettledDelivery unsettledDelivery = _ring[index(offset)];
+                if (unsettledDelivery != null)
+                {
+                    deliveries.add(unsettledDelivery);
+                }
+            }
+        }
+        return deliveries;
     }
 
     @Override
     public void removeDeliveriesForLinkEndpoint(final LinkEndpoint<?, ?> linkEndpoint)
     {
-        Iterator<UnsettledDelivery> iterator = _deliveries.values().iterator();
+        final Iterator<UnsettledDelivery> iterator = _overflow.values().iterator();
         while (iterator.hasNext())
         {
-            UnsettledDelivery unsettledDelivery = iterator.next();
+            final UnsettledDelivery unsettledDelivery = iterator.next();
             if (unsettledDelivery.getLinkEndpoint() == linkEndpoint)
             {
                 iterator.remove();
                 _deliveryIds.remove(unsettledDelivery);
+                _size--;
             }
         }
+        for (int offset = 0; offset < _span; offset++)
+        {
+            final int index = index(offset);
+            final UnsettledDelivery unsettledDelivery = _ring[index];
+            if (unsettledDelivery != null && unsettledDelivery.getLinkEndpoint() == linkEndpoint)
+            {
+                clear(index, unsettledDelivery);
+            }
+        }
+        trimHead();
     }
 
     @Override
@@ -80,6 +231,90 @@ public class DeliveryRegistryImpl implements DeliveryRegistry
     @Override
     public int size()
     {
-        return _deliveries.size();
+        return _size;
+    }
+
+    private int index(final int offset)
+    {
+        return (_head + offset) & (_ring.length - 1);
+    }
+
+    private void clear(final int index, final UnsettledDelivery unsettledDelivery)
+    {
+        _ring[index] = null;
+        _deliveryIds.remove(unsettledDelivery);
+        _ringSize--;
+        _size--;
+    }
+
+    /**
+     * Advances the start of the ring past empty slots, so that the ring always starts with a delivery.
+     */
+    private void trimHead()
+    {
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstId += _span;
+            _span = 0;
+        }
+        else
+        {
+            while (_ring[_head] == null)
+            {
+                _head = (_head + 1) & (_ring.length - 1);
+                _firstId++;
+                _span--;
+            }
+        }
+    }
+
+    private void makeRoomFor(final int offset)
+    {
+        int requiredOffset = offset;
+        while (_ringSize != 0
+               && requiredOffset >= _ring.length
+               && requiredOffset >= MAXIMUM_SPARSENESS * (_ringSize + 1))
+        {
+            final UnsettledDelivery unsettledDelivery = _ring[_head];
+            _overflow.put(UnsignedInteger.valueOf(_firstId), unsettledDelivery);
+            _ring[_head] = null;
+            _ringSize--;
+            final int firstId = _firstId;
+            trimHead();
+            requiredOffset -= _firstId - firstId;
+        }
+
+        if (_ringSize == 0)
+        {
+            _head = 0;
+            _firstId += requiredOffset;
+            _span = 0;
+        }
+        else if (requiredOffset >= _ring.length)
+        {
+            if (requiredOffset >= MAXIMUM_CAPACITY)
+            {
+                throw new IllegalStateException("Too many unsettled deliveries");
+            }
+            final UnsettledDelivery[] ring = new UnsettledDelivery[Integer.highestOneBit(requiredOffset) << 1];
+            for (int i = 0; i < _span; i++)
+            {
+                ring[i] = _ring[index(i)];
+            }
+            _ring = ring;
+            _head = 0;
+        }
+    }
+
+    private boolean overlapsRing(final UnsignedInteger first, final UnsignedInteger last)
+    {
+        return first.intValue() - _firstId < _span && last.intValue() - _firstId >= 0;
+    }
+
+    private static boolean isInRange(final UnsignedInteger deliveryId, final UnsignedInteger first, final int length)
+    {
+        final int offset = deliveryId.intValue() - first.intValue();
+        return offset >= 0 && offset <= length;
     }
 }
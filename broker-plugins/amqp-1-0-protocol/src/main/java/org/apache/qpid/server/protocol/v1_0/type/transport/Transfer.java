@@ -31,12 +31,15 @@ import org.apache.qpid.server.protocol.v1_0.type.Binary;
 import org.apache.qpid.server.protocol.v1_0.type.DeliveryState;
 import org.apache.qpid.server.protocol.v1_0.type.FrameBody;
 import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
+import org.apache.qpid.server.protocol.v1_0.type.transport.codec.TransferTemplate;
 
 @CompositeType( symbolicDescriptor = "amqp:transfer:list", numericDescriptor = 0x0000000000000014L)
 public class Transfer implements FrameBody
 {
     private volatile QpidByteBuffer _payload;
 
+    private TransferTemplate _encodingTemplate;
+
     @CompositeTypeField(index = 0, mandatory = true)
     private UnsignedInteger _handle;
 
@@ -319,6 +322,16 @@ public class Transfer implements FrameBody
         }
     }
 
+    public TransferTemplate getEncodingTemplate()
+    {
+        return _encodingTemplate;
+    }
+
+    public void setEncodingTemplate(final TransferTemplate encodingTemplate)
+    {
+        _encodingTemplate = encodingTemplate;
+    }
+
     public void dispose()
     {
         if (_payload != null)
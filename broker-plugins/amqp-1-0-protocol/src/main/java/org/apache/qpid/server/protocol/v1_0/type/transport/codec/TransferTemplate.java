@@ -0,0 +1,333 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.protocol.v1_0.type.transport.codec;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.protocol.v1_0.codec.ValueWriter;
+import org.apache.qpid.server.protocol.v1_0.type.Binary;
+import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Transfer;
+
+/**
+ * Holds the pre-encoded, link constant parts of an outgoing transfer performative (the descriptor and the
+ * handle) so that only the per-delivery fields need to be encoded for each transfer sent on the link.
+ *
+ * The produced encoding is byte for byte identical to the one produced by {@link TransferWriter}.
+ */
+public final class TransferTemplate
+{
+    private static final byte[] DESCRIPTOR = {(byte) 0x00, (byte) 0x53, (byte) 0x14};
+
+    private static final byte NULL = (byte) 0x40;
+    private static final byte TRUE = (byte) 0x41;
+    private static final byte FALSE = (byte) 0x42;
+    private static final byte UINT_ZERO = (byte) 0x43;
+    private static final byte SMALL_UINT = (byte) 0x52;
+    private static final byte UINT = (byte) 0x70;
+    private static final byte VBIN8 = (byte) 0xa0;
+    private static final byte VBIN32 = (byte) 0xb0;
+    private static final byte LIST8 = (byte) 0xc0;
+    private static final byte LIST32 = (byte) 0xd0;
+
+    private final UnsignedInteger _handle;
+    private final byte[] _handleEncoding;
+
+    public TransferTemplate(final UnsignedInteger handle)
+    {
+        _handle = handle;
+        _handleEncoding = new byte[getUnsignedIntegerEncodedSize(handle)];
+        try (QpidByteBuffer buffer = QpidByteBuffer.wrap(_handleEncoding))
+        {
+            writeUnsignedInteger(buffer, handle);
+        }
+    }
+
+    public UnsignedInteger getHandle()
+    {
+        return _handle;
+    }
+
+    public boolean isApplicableTo(final Transfer transfer)
+    {
+        return _handle.equals(transfer.getHandle());
+    }
+
+    ValueWriter<Transfer> newWriter(final ValueWriter.Registry registry, final Transfer transfer)
+    {
+        return new TemplateWriter(registry, transfer);
+    }
+
+    private final class TemplateWriter implements ValueWriter<Transfer>
+    {
+        private final Transfer _transfer;
+        private final int _count;
+        private final ValueWriter<?> _rcvSettleModeWriter;
+        private final ValueWriter<?> _stateWriter;
+        private final int _length;
+
+        private TemplateWriter(final ValueWriter.Registry registry, final Transfer transfer)
+        {
+            _transfer = transfer;
+            _count = calculateCount(transfer);
+            _rcvSettleModeWriter = _count > 6 && transfer.getRcvSettleMode() != null
+                    ? registry.getValueWriter(transfer.getRcvSettleMode())
+                    : null;
+            _stateWriter = _count > 7 && transfer.getState() != null
+                    ? registry.getValueWriter(transfer.getState())
+                    : null;
+            _length = calculateLength();
+        }
+
+        private int calculateLength()
+        {
+            int length = 1; // byte for the count
+            for (int field = 0; field < _count; field++)
+            {
+                switch (field)
+                {
+                    case 0:
+                        length += _handleEncoding.length;
+                        break;
+                    case 1:
+                        length += getUnsignedIntegerEncodedSize(_transfer.getDeliveryId());
+                        break;
+                    case 2:
+                        length += getBinaryEncodedSize(_transfer.getDeliveryTag());
+                        break;
+                    case 3:
+                        length += getUnsignedIntegerEncodedSize(_transfer.getMessageFormat());
+                        break;
+                    case 6:
+                        length += _rcvSettleModeWriter == null ? 1 : _rcvSettleModeWriter.getEncodedSize();
+                        break;
+                    case 7:
+                        length += _stateWriter == null ? 1 : _stateWriter.getEncodedSize();
+                        break;
+                    default:
+                        length += 1; // booleans
+                }
+            }
+            if (length > 255)
+            {
+                length += 3; // four bytes for the count, to match the length
+            }
+            return length;
+        }
+
+        @Override
+        public int getEncodedSize()
+        {
+            return DESCRIPTOR.length + _length + (_length > 255 ? 5 : 2);
+        }
+
+        @Override
+        public void writeToBuffer(final QpidByteBuffer buffer)
+        {
+            buffer.put(DESCRIPTOR);
+            if (_length > 255)
+            {
+                buffer.put(LIST32);
+                buffer.putInt(_length);
+                buffer.putInt(_count);
+            }
+            else
+            {
+                buffer.put(LIST8);
+                buffer.put((byte) _length);
+                buffer.put((byte) _count);
+            }
+
+            for (int field = 0; field < _count; field++)
+            {
+                switch (field)
+                {
+                    case 0:
+                        buffer.put(_handleEncoding);
+                        break;
+                    case 1:
+                        writeUnsignedInteger(buffer, _transfer.getDeliveryId());
+                        break;
+                    case 2:
+                        writeBinary(buffer, _transfer.getDeliveryTag());
+                        break;
+                    case 3:
+                        writeUnsignedInteger(buffer, _transfer.getMessageFormat());
+                        break;
+                    case 4:
+                        writeBoolean(buffer, _transfer.getSettled());
+                        break;
+                    case 5:
+                        writeBoolean(buffer, _transfer.getMore());
+                        break;
+                    case 6:
+                        writeDelegated(buffer, _rcvSettleModeWriter);
+                        break;
+                    case 7:
+                        writeDelegated(buffer, _stateWriter);
+                        break;
+                    case 8:
+                        writeBoolean(buffer, _transfer.getResume());
+                        break;
+                    case 9:
+                        writeBoolean(buffer, _transfer.getAborted());
+                        break;
+                    case 10:
+                        writeBoolean(buffer, _transfer.getBatchable());
+                        break;
+                    default:
+                        throw new IllegalStateException("Unexpected transfer field " + field);
+                }
+            }
+        }
+    }
+
+    private static int calculateCount(final Transfer transfer)
+    {
+        if (transfer.getBatchable() != null)
+        {
+            return 11;
+        }
+        if (transfer.getAborted() != null)
+        {
+            return 10;
+        }
+        if (transfer.getResume() != null)
+        {
+            return 9;
+        }
+        if (transfer.getState() != null)
+        {
+            return 8;
+        }
+        if (transfer.getRcvSettleMode() != null)
+        {
+            return 7;
+        }
+        if (transfer.getMore() != null)
+        {
+            return 6;
+        }
+        if (transfer.getSettled() != null)
+        {
+            return 5;
+        }
+        if (transfer.getMessageFormat() != null)
+        {
+            return 4;
+        }
+        if (transfer.getDeliveryTag() != null)
+        {
+            return 3;
+        }
+        if (transfer.getDeliveryId() != null)
+        {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static int getUnsignedIntegerEncodedSize(final UnsignedInteger value)
+    {
+        if (value == null)
+        {
+            return 1;
+        }
+        final int intValue = value.intValue();
+        if (intValue == 0)
+        {
+            return 1;
+        }
+        return (intValue & 0xFFFFFF00) == 0 ? 2 : 5;
+    }
+
+    private static void writeUnsignedInteger(final QpidByteBuffer buffer, final UnsignedInteger value)
+    {
+        if (value == null)
+        {
+            buffer.put(NULL);
+            return;
+        }
+        final int intValue = value.intValue();
+        if (intValue == 0)
+        {
+            buffer.put(UINT_ZERO);
+        }
+        else if ((intValue & 0xFFFFFF00) == 0)
+        {
+            buffer.put(SMALL_UINT);
+            buffer.put((byte) intValue);
+        }
+        else
+        {
+            buffer.put(UINT);
+            buffer.putInt(intValue);
+        }
+    }
+
+    private static int getBinaryEncodedSize(final Binary value)
+    {
+        if (value == null)
+        {
+            return 1;
+        }
+        final int length = value.getArray().length;
+        return 1 + ((length & 0xFFFFFF00) == 0 ? 1 : 4) + length;
+    }
+
+    private static void writeBinary(final QpidByteBuffer buffer, final Binary value)
+    {
+        if (value == null)
+        {
+            buffer.put(NULL);
+            return;
+        }
+        final byte[] data = value.getArray();
+        if ((data.length & 0xFFFFFF00) == 0)
+        {
+            buffer.put(VBIN8);
+            buffer.put((byte) data.length);
+        }
+        else
+        {
+            buffer.put(VBIN32);
+            buffer.putInt(data.length);
+        }
+        buffer.put(data);
+    }
+
+    private static void writeBoolean(final QpidByteBuffer buffer, final Boolean value)
+    {
+        buffer.put(value == null ? NULL : value ? TRUE : FALSE);
+    }
+
+    private static void writeDelegated(final QpidByteBuffer buffer, final ValueWriter<?> writer)
+    {
+        if (writer == null)
+        {
+            buffer.put(NULL);
+        }
+        else
+        {
+            writer.writeToBuffer(buffer);
+        }
+    }
+}
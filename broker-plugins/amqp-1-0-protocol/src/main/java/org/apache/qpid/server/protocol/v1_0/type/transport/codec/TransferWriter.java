@@ -185,6 +185,11 @@ public class TransferWriter extends AbstractDescribedTypeWriter<Transfer>
         @Override
         public ValueWriter<Transfer> newInstance(final Registry registry, final Transfer object)
         {
+            final TransferTemplate template = object.getEncodingTemplate();
+            if (template != null && template.isApplicableTo(object))
+            {
+                return template.newWriter(registry, object);
+            }
             return new TransferWriter(registry, object);
         }
     };
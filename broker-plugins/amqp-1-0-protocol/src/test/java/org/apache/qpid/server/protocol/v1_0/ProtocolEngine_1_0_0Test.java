@@ -21,25 +21,30 @@
 package org.apache.qpid.server.protocol.v1_0;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.net.InetSocketAddress;
 import java.security.Principal;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 
 import javax.security.auth.Subject;
 
+import com.google.common.util.concurrent.SettableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -60,6 +65,7 @@ import org.apache.qpid.server.model.Transport;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.model.port.AmqpPort;
 import org.apache.qpid.server.protocol.v1_0.codec.FrameWriter;
+import org.apache.qpid.server.protocol.v1_0.framing.AMQFrame;
 import org.apache.qpid.server.protocol.v1_0.framing.SASLFrame;
 import org.apache.qpid.server.protocol.v1_0.framing.TransportFrame;
 import org.apache.qpid.server.protocol.v1_0.type.Symbol;
@@ -68,9 +74,14 @@ import org.apache.qpid.server.protocol.v1_0.type.security.SaslInit;
 import org.apache.qpid.server.protocol.v1_0.type.transport.Open;
 import org.apache.qpid.server.security.SubjectCreator;
 import org.apache.qpid.server.security.auth.AuthenticatedPrincipal;
+import org.apache.qpid.server.security.auth.AuthenticationResult;
+import org.apache.qpid.server.security.auth.SubjectAuthenticationResult;
+import org.apache.qpid.server.security.auth.UsernamePrincipal;
 import org.apache.qpid.server.security.auth.manager.AnonymousAuthenticationManager;
 import org.apache.qpid.server.security.auth.manager.AnonymousAuthenticationManagerFactory;
 import org.apache.qpid.server.security.auth.manager.ExternalAuthenticationManagerImpl;
+import org.apache.qpid.server.security.auth.sasl.SaslNegotiator;
+import org.apache.qpid.server.security.auth.sasl.SaslSettings;
 import org.apache.qpid.server.transport.AMQPConnection;
 import org.apache.qpid.server.transport.AggregateTicker;
 import org.apache.qpid.server.transport.ByteBufferSender;
@@ -285,6 +296,102 @@ public class ProtocolEngine_1_0_0Test extends UnitTestBase
     }
 
 
+    @Test
+    public void testInputDeferredDuringAuthentication() throws Exception
+    {
+        final SaslNegotiator saslNegotiator = mock(SaslNegotiator.class);
+        final SettableFuture<SubjectAuthenticationResult> pendingAuthentication = SettableFuture.create();
+        final SubjectCreator subjectCreator = mock(SubjectCreator.class);
+        when(subjectCreator.getAuthenticationProvider()).thenReturn(_authenticationProvider);
+        when(subjectCreator.createSaslNegotiator(eq("PLAIN"), any(SaslSettings.class))).thenReturn(saslNegotiator);
+        when(subjectCreator.authenticateAsync(eq(saslNegotiator), any(byte[].class))).thenReturn(pendingAuthentication);
+        when(_port.getSubjectCreator(anyBoolean(), anyString())).thenReturn(subjectCreator);
+        allowMechanisms("PLAIN");
+
+        createEngine(Transport.TCP);
+        _protocolEngine_1_0_0.setIOThread(Thread.currentThread());
+
+        _protocolEngine_1_0_0.received(QpidByteBuffer.wrap(ProtocolEngineCreator_1_0_0_SASL.getInstance()
+                                                                   .getHeaderIdentifier()));
+        SaslInit init = new SaslInit();
+        init.setMechanism(Symbol.valueOf("PLAIN"));
+        _frameWriter.send(new SASLFrame(init));
+
+        final byte[] header = ProtocolEngineCreator_1_0_0.getInstance().getHeaderIdentifier();
+        Open open = new Open();
+        open.setContainerId("testContainerId");
+        final byte[] openFrame = encode(new TransportFrame((int) (short) 0, open));
+        final int firstSplit = openFrame.length / 2;
+        final int secondSplit = firstSplit + 1;
+
+        final byte[] pipelined = new byte[header.length + firstSplit];
+        System.arraycopy(header, 0, pipelined, 0, header.length);
+        System.arraycopy(openFrame, 0, pipelined, header.length, firstSplit);
+        receiveAndAssertConsumed(pipelined);
+
+        final AuthenticatedPrincipal principal = new AuthenticatedPrincipal(new UsernamePrincipal("user", null));
+        final Subject subject = new Subject();
+        subject.getPrincipals().add(principal);
+        final Thread authenticationThread = new Thread(() -> pendingAuthentication.set(
+                new SubjectAuthenticationResult(new AuthenticationResult(principal), subject)));
+        authenticationThread.start();
+        authenticationThread.join(10000);
+
+        final Iterator<Runnable> pending = _protocolEngine_1_0_0.processPendingIterator();
+        while (pending.hasNext())
+        {
+            pending.next().run();
+        }
+        verify(saslNegotiator).dispose();
+
+        receiveAndAssertConsumed(Arrays.copyOfRange(openFrame, firstSplit, secondSplit));
+        verify(_virtualHost, never()).registerConnection(any(AMQPConnection.class), any(ConnectionEstablishmentPolicy.class));
+
+        receiveAndAssertConsumed(Arrays.copyOfRange(openFrame, secondSplit, openFrame.length));
+        verify(_virtualHost).registerConnection(any(AMQPConnection.class), any(ConnectionEstablishmentPolicy.class));
+        assertEquals(principal, _connection.getAuthorizedPrincipal());
+    }
+
+    private void receiveAndAssertConsumed(final byte[] data)
+    {
+        final QpidByteBuffer input = QpidByteBuffer.wrap(data);
+        _protocolEngine_1_0_0.received(input);
+        assertFalse("Input should have been consumed", input.hasRemaining());
+    }
+
+    private byte[] encode(final AMQFrame<?> frame)
+    {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new FrameWriter(AMQPDescribedTypeRegistry.newInstance().registerTransportLayer().registerMessagingLayer(),
+                        new ByteBufferSender()
+                        {
+                            @Override
+                            public boolean isDirectBufferPreferred()
+                            {
+                                return false;
+                            }
+
+                            @Override
+                            public void send(final QpidByteBuffer msg)
+                            {
+                                final byte[] data = new byte[msg.remaining()];
+                                msg.get(data);
+                                output.write(data, 0, data.length);
+                            }
+
+                            @Override
+                            public void flush()
+                            {
+                            }
+
+                            @Override
+                            public void close()
+                            {
+                            }
+                        }).send(frame);
+        return output.toByteArray();
+    }
+
     private void createEngine(Transport transport)
     {
         _protocolEngine_1_0_0 =
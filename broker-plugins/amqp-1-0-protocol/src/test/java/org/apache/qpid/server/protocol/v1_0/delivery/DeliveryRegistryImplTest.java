@@ -26,6 +26,8 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.mock;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -107,6 +109,74 @@ public class DeliveryRegistryImplTest extends UnitTestBase
         assertThat(deliveryId, is(equalTo(DELIVERY_ID)));
     }
 
+    @Test
+    public void getDeliveries()
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            if (i != 5)
+            {
+                _registry.addDelivery(UnsignedInteger.valueOf(i),
+                                      new UnsettledDelivery(new Binary(new byte[]{(byte) i}), mock(LinkEndpoint.class)));
+            }
+        }
+
+        final List<UnsettledDelivery> deliveries =
+                _registry.getDeliveries(UnsignedInteger.valueOf(3), UnsignedInteger.valueOf(7));
+
+        assertThat(deliveries.size(), is(equalTo(4)));
+        assertThat(deliveries.get(0), is(equalTo(_registry.getDelivery(UnsignedInteger.valueOf(3)))));
+        assertThat(deliveries.get(3), is(equalTo(_registry.getDelivery(UnsignedInteger.valueOf(7)))));
+    }
+
+    @Test
+    public void removeDeliveries()
+    {
+        for (int i = 0; i < 200; i++)
+        {
+            _registry.addDelivery(UnsignedInteger.valueOf(i),
+                                  new UnsettledDelivery(new Binary(new byte[]{(byte) i}), mock(LinkEndpoint.class)));
+        }
+
+        _registry.removeDeliveries(UnsignedInteger.valueOf(10), UnsignedInteger.valueOf(189));
+
+        assertThat(_registry.size(), is(equalTo(20)));
+        assertThat(_registry.getDelivery(UnsignedInteger.valueOf(100)), is(nullValue()));
+        assertThat(_registry.getDeliveries(UnsignedInteger.ZERO, UnsignedInteger.valueOf(199)).size(), is(equalTo(20)));
+    }
+
+    @Test
+    public void sparseDeliveries()
+    {
+        _registry.addDelivery(DELIVERY_ID, _unsettledDelivery);
+        final UnsignedInteger distantId = UnsignedInteger.valueOf(100000);
+        final UnsettledDelivery distantDelivery = new UnsettledDelivery(DELIVERY_TAG_2, mock(LinkEndpoint.class));
+        _registry.addDelivery(distantId, distantDelivery);
+
+        assertThat(_registry.size(), is(equalTo(2)));
+        assertThat(_registry.getDelivery(DELIVERY_ID), is(equalTo(_unsettledDelivery)));
+        assertThat(_registry.getDelivery(distantId), is(equalTo(distantDelivery)));
+        assertThat(_registry.getDeliveries(DELIVERY_ID, distantId).size(), is(equalTo(2)));
+
+        _registry.removeDeliveries(DELIVERY_ID, distantId);
+
+        assertThat(_registry.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void deliveryIdWraparound()
+    {
+        final UnsignedInteger lastId = UnsignedInteger.valueOf(0xFFFFFFFFL);
+        _registry.addDelivery(lastId, _unsettledDelivery);
+        _registry.addDelivery(UnsignedInteger.ZERO, new UnsettledDelivery(DELIVERY_TAG_2, mock(LinkEndpoint.class)));
+
+        assertThat(_registry.getDeliveries(lastId, UnsignedInteger.ZERO).size(), is(equalTo(2)));
+
+        _registry.removeDeliveries(lastId, UnsignedInteger.ZERO);
+
+        assertThat(_registry.size(), is(equalTo(0)));
+    }
+
     @Test
     public void size()
     {
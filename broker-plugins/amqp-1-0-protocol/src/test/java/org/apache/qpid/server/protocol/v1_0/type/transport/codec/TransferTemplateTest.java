@@ -0,0 +1,130 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+
+package org.apache.qpid.server.protocol.v1_0.type.transport.codec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
+import org.apache.qpid.server.protocol.v1_0.codec.ValueWriter;
+import org.apache.qpid.server.protocol.v1_0.type.Binary;
+import org.apache.qpid.server.protocol.v1_0.type.UnsignedInteger;
+import org.apache.qpid.server.protocol.v1_0.type.codec.AMQPDescribedTypeRegistry;
+import org.apache.qpid.server.protocol.v1_0.type.messaging.Accepted;
+import org.apache.qpid.server.protocol.v1_0.type.transport.ReceiverSettleMode;
+import org.apache.qpid.server.protocol.v1_0.type.transport.Transfer;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class TransferTemplateTest extends UnitTestBase
+{
+    private static final AMQPDescribedTypeRegistry TYPE_REGISTRY = AMQPDescribedTypeRegistry.newInstance()
+                                                                                            .registerTransportLayer()
+                                                                                            .registerMessagingLayer()
+                                                                                            .registerTransactionLayer()
+                                                                                            .registerSecurityLayer();
+
+    @Test
+    public void testMinimalTransfer()
+    {
+        final Transfer transfer = createTransfer(UnsignedInteger.ZERO, UnsignedInteger.ZERO, new byte[]{1});
+        assertSameEncoding(transfer);
+    }
+
+    @Test
+    public void testTypicalTransfer()
+    {
+        final Transfer transfer = createTransfer(UnsignedInteger.valueOf(3), UnsignedInteger.valueOf(100000), new byte[8]);
+        transfer.setMessageFormat(UnsignedInteger.ZERO);
+        transfer.setSettled(Boolean.TRUE);
+        transfer.setMore(Boolean.FALSE);
+        assertSameEncoding(transfer);
+    }
+
+    @Test
+    public void testTransferWithAllFields()
+    {
+        final Transfer transfer = createTransfer(UnsignedInteger.valueOf(70000), UnsignedInteger.valueOf(255), new byte[16]);
+        transfer.setMessageFormat(UnsignedInteger.valueOf(1));
+        transfer.setRcvSettleMode(ReceiverSettleMode.SECOND);
+        transfer.setState(new Accepted());
+        transfer.setResume(Boolean.TRUE);
+        transfer.setAborted(Boolean.FALSE);
+        transfer.setBatchable(Boolean.TRUE);
+        assertSameEncoding(transfer);
+    }
+
+    @Test
+    public void testTransferWithLargeDeliveryTag()
+    {
+        final Transfer transfer = createTransfer(UnsignedInteger.ONE, UnsignedInteger.ONE, new byte[300]);
+        transfer.setSettled(Boolean.FALSE);
+        assertSameEncoding(transfer);
+    }
+
+    @Test
+    public void testTemplateNotUsedForOtherHandle()
+    {
+        final TransferTemplate template = new TransferTemplate(UnsignedInteger.ONE);
+        final Transfer transfer = createTransfer(UnsignedInteger.ONE, UnsignedInteger.ZERO, new byte[]{1});
+        assertTrue(template.isApplicableTo(transfer));
+
+        transfer.setHandle(UnsignedInteger.valueOf(2));
+        assertFalse(template.isApplicableTo(transfer));
+    }
+
+    private Transfer createTransfer(final UnsignedInteger handle, final UnsignedInteger deliveryId, final byte[] tag)
+    {
+        final Transfer transfer = new Transfer();
+        transfer.setHandle(handle);
+        transfer.setDeliveryId(deliveryId);
+        transfer.setDeliveryTag(new Binary(tag));
+        return transfer;
+    }
+
+    private void assertSameEncoding(final Transfer transfer)
+    {
+        final byte[] expected = encode(TYPE_REGISTRY.getValueWriter(transfer));
+
+        transfer.setEncodingTemplate(new TransferTemplate(transfer.getHandle()));
+        final ValueWriter<Transfer> templateWriter = TYPE_REGISTRY.getValueWriter(transfer);
+        assertTrue("Unexpected writer " + templateWriter, templateWriter.getClass().getEnclosingClass() == TransferTemplate.class);
+        final byte[] actual = encode(templateWriter);
+
+        assertEquals("Unexpected encoded size", expected.length, actual.length);
+        assertArrayEquals("Unexpected encoding", expected, actual);
+    }
+
+    private byte[] encode(final ValueWriter<Transfer> writer)
+    {
+        final byte[] data = new byte[writer.getEncodedSize()];
+        try (QpidByteBuffer buffer = QpidByteBuffer.wrap(data))
+        {
+            writer.writeToBuffer(buffer);
+            assertEquals("Unexpected remaining bytes", 0, buffer.remaining());
+        }
+        return data;
+    }
+}
@@ -61,6 +61,7 @@ import org.apache.qpid.server.plugin.MessageMetaDataType;
 import org.apache.qpid.server.store.Event;
 import org.apache.qpid.server.store.EventListener;
 import org.apache.qpid.server.store.EventManager;
+import org.apache.qpid.server.store.MessageContentCompressor;
 import org.apache.qpid.server.store.MessageDurability;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
 import org.apache.qpid.server.store.MessageHandle;
@@ -109,6 +110,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
     private String _tablePrefix = "";
     private final AtomicLong _inMemorySize = new AtomicLong();
     private final AtomicLong _bytesEvacuatedFromMemory = new AtomicLong();
+    private volatile MessageContentCompressor _contentCompressor = new MessageContentCompressor(false, 0, 0);
     private final Set<StoredJDBCMessage<?>> _messages = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<MessageDeleteListener> _messageDeleteListeners = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private final Set<Action<Connection>> _deleteActions = Collections.newSetFromMap(new ConcurrentHashMap<>());
@@ -250,6 +252,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         _executor.prestartAllCoreThreads();
 
         _inClauseMaxSize = getContextValue(Integer.class, IN_CLAUSE_MAX_SIZE, IN_CLAUSE_MAX_SIZE_DEFAULT);
+        _contentCompressor = MessageContentCompressor.create(parent);
     }
 
     @Override
@@ -1140,13 +1143,17 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
     {
         getLogger().debug("Adding content for message {}", messageId);
 
+        final byte[] compressedContent = _contentCompressor.compress(contentBody);
         try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO " + getMessageContentTableName()
                                                             + "( message_id, content ) values (?, ?)");
              QpidByteBuffer bodyDuplicate = contentBody.duplicate();
-             InputStream inputStream = bodyDuplicate.asInputStream())
+             InputStream inputStream = compressedContent == null
+                     ? bodyDuplicate.asInputStream()
+                     : new ByteArrayInputStream(compressedContent))
         {
             stmt.setLong(1, messageId);
-            stmt.setBinaryStream(2, inputStream, contentBody.remaining());
+            stmt.setBinaryStream(2, inputStream,
+                                 compressedContent == null ? contentBody.remaining() : compressedContent.length);
             stmt.executeUpdate();
         }
         catch (SQLException | IOException e)
@@ -1156,7 +1163,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         }
     }
 
-    QpidByteBuffer getAllContent(long messageId) throws StoreException
+    QpidByteBuffer getAllContent(long messageId, int contentSize) throws StoreException
     {
         getLogger().debug("Message Id: {} Getting content body", messageId);
 
@@ -1171,7 +1178,8 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
             {
                 try (InputStream blobAsInputStream = getBlobAsInputStream(rs, 1))
                 {
-                    return QpidByteBuffer.asQpidByteBuffer(blobAsInputStream);
+                    return MessageContentCompressor.decompress(QpidByteBuffer.asQpidByteBuffer(blobAsInputStream),
+                                                               contentSize);
                 }
             }
             else
@@ -1204,6 +1212,24 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
         return _bytesEvacuatedFromMemory.get();
     }
 
+    @Override
+    public long getCompressedContentCount()
+    {
+        return _contentCompressor.getCompressedContentCount();
+    }
+
+    @Override
+    public long getBytesBeforeCompression()
+    {
+        return _contentCompressor.getBytesBeforeCompression();
+    }
+
+    @Override
+    public long getBytesAfterCompression()
+    {
+        return _contentCompressor.getBytesAfterCompression();
+    }
+
     protected class JDBCTransaction implements Transaction
     {
         private final ConnectionWrapper _connWrapper;
@@ -1593,7 +1619,7 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
                 if(stored())
                 {
                     checkMessageStoreOpen();
-                    data = AbstractJDBCMessageStore.this.getAllContent(_messageId);
+                    data = AbstractJDBCMessageStore.this.getAllContent(_messageId, _contentSize);
                     _messageDataRef.setData(data);
                     _inMemorySize.addAndGet(getContentSize());
                 }
@@ -1773,6 +1799,21 @@ public abstract class AbstractJDBCMessageStore implements MessageStore
             }
         }
 
+        @Override
+        public synchronized void releaseMetaData()
+        {
+            if (stored())
+            {
+                final T metaData = _messageDataRef.getMetaData();
+                if (metaData != null)
+                {
+                    metaData.clearEncodedForm();
+                    _messageDataRef = new MessageDataRef<>(null, _messageDataRef.getData(), false);
+                    _inMemorySize.addAndGet(-getMetadataSize());
+                }
+            }
+        }
+
         @Override
         public String toString()
         {
@@ -23,6 +23,7 @@ package org.apache.qpid.server.store.jdbc;
 import static org.apache.qpid.server.store.jdbc.AbstractJDBCMessageStore.IN_CLAUSE_MAX_SIZE;
 import static org.apache.qpid.server.store.jdbc.TestJdbcUtils.assertTablesExistence;
 import static org.apache.qpid.server.store.jdbc.TestJdbcUtils.getTableNames;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -33,12 +34,17 @@ import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -53,16 +59,20 @@ import org.mockito.Mockito;
 
 import org.apache.qpid.server.bytebuffer.QpidByteBuffer;
 import org.apache.qpid.server.message.AMQMessageHeader;
+import org.apache.qpid.server.message.EnqueueableMessage;
 import org.apache.qpid.server.message.internal.InternalMessage;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.VirtualHost;
 import org.apache.qpid.server.store.MessageDurability;
 import org.apache.qpid.server.store.MessageEnqueueRecord;
+import org.apache.qpid.server.store.MessageHandle;
 import org.apache.qpid.server.store.MessageStore;
 import org.apache.qpid.server.store.MessageStoreTestCase;
 import org.apache.qpid.server.store.StoredMessage;
+import org.apache.qpid.server.store.TestMessageMetaData;
 import org.apache.qpid.server.store.Transaction;
 import org.apache.qpid.server.store.TransactionLogResource;
+import org.apache.qpid.server.virtualhost.QueueManagingVirtualHost;
 import org.apache.qpid.server.virtualhost.jdbc.JDBCVirtualHost;
 
 public class JDBCMessageStoreTest extends MessageStoreTestCase
@@ -245,6 +255,83 @@ public class JDBCMessageStoreTest extends MessageStoreTestCase
         verify(store).removeMessagesFromDatabase(any(Connection.class), eq(Collections.singletonList(21L)));
     }
 
+    @Test
+    public void testCompressedAndUncompressedContentRoundTrip() throws Exception
+    {
+        final TransactionLogResource resource = mockTransactionLogResource(UUID.randomUUID(), getTestName());
+        final byte[] uncompressedContent = createCompressibleContent(4096, "uncompressed");
+        final long uncompressedMessageId = storeMessage(getStore(), resource, 1, uncompressedContent);
+        assertEquals("Content written before compression was enabled should not be compressed",
+                     0L, getStore().getCompressedContentCount());
+
+        final ConfiguredObject<?> parent = getVirtualHost();
+        when(parent.getContextKeys(false)).thenReturn(Collections.singleton(
+                QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_ENABLED));
+        when(parent.getContextValue(Boolean.class, QueueManagingVirtualHost.STORE_CONTENT_COMPRESSION_ENABLED))
+                .thenReturn(true);
+        reopenStore();
+
+        final byte[] compressedContent = createCompressibleContent(4096, "compressed");
+        final long compressedMessageId = storeMessage(getStore(), resource, 2, compressedContent);
+        assertEquals("Unexpected number of compressed messages", 1L, getStore().getCompressedContentCount());
+        assertTrue("Content should be stored compressed",
+                   getStore().getBytesAfterCompression() < compressedContent.length);
+
+        reopenStore();
+
+        final Map<Long, byte[]> recovered = new HashMap<>();
+        getStore().newMessageStoreReader().visitMessages(message -> {
+            try (QpidByteBuffer content = message.getContent(0, message.getContentSize()))
+            {
+                final byte[] data = new byte[content.remaining()];
+                content.get(data);
+                recovered.put(message.getMessageNumber(), data);
+            }
+            return true;
+        });
+
+        assertEquals("Unexpected recovered messages",
+                     new HashSet<>(Arrays.asList(uncompressedMessageId, compressedMessageId)),
+                     recovered.keySet());
+        assertArrayEquals("Unexpected uncompressed content", uncompressedContent, recovered.get(uncompressedMessageId));
+        assertArrayEquals("Unexpected compressed content", compressedContent, recovered.get(compressedMessageId));
+    }
+
+    private long storeMessage(final MessageStore store,
+                              final TransactionLogResource resource,
+                              final long messageId,
+                              final byte[] content)
+    {
+        final MessageHandle<TestMessageMetaData> handle =
+                store.addMessage(new TestMessageMetaData(messageId, content.length));
+        try (QpidByteBuffer buffer = QpidByteBuffer.wrap(content))
+        {
+            handle.addContent(buffer);
+        }
+        final StoredMessage<TestMessageMetaData> storedMessage = handle.allContentAdded();
+
+        final EnqueueableMessage message = mock(EnqueueableMessage.class);
+        when(message.isPersistent()).thenReturn(true);
+        when(message.getMessageNumber()).thenReturn(storedMessage.getMessageNumber());
+        when(message.getStoredMessage()).thenReturn(storedMessage);
+
+        final Transaction transaction = store.newTransaction();
+        transaction.enqueueMessage(resource, message);
+        transaction.commitTran();
+        return storedMessage.getMessageNumber();
+    }
+
+    private static byte[] createCompressibleContent(final int size, final String value)
+    {
+        final StringBuilder content = new StringBuilder();
+        int i = 0;
+        while (content.length() < size)
+        {
+            content.append("{\"id\":").append(i++).append(",\"name\":\"").append(value).append("\"}");
+        }
+        return content.substring(0, size).getBytes(StandardCharsets.US_ASCII);
+    }
+
     private void reOpenStoreWithInClauseMaxSize(final GenericJDBCMessageStore store, final int inClauseMaxSize)
     {
         final ConfiguredObject<?> parent = getVirtualHost();
@@ -34,14 +34,18 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -69,6 +73,7 @@ import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.OperationParameter;
 import org.apache.qpid.server.model.State;
 import org.apache.qpid.server.model.preferences.UserPreferences;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 
 public class LatestManagementController extends AbstractManagementController
 {
@@ -81,6 +86,9 @@ public class LatestManagementController extends AbstractManagementController
     private static final String EXTRACT_INITIAL_CONFIG_PARAM = "extractInitialConfig";
     private static final String EXCLUDE_INHERITED_CONTEXT_PARAM = "excludeInheritedContext";
     private static final String SINGLETON_MODEL_OBJECT_RESPONSE_AS_LIST = "singletonModelObjectResponseAsList";
+    private static final String LIMIT_PARAM = "limit";
+    private static final String CURSOR_PARAM = "cursor";
+    private static final String FIELDS_PARAM = "fields";
     private static final Set<String> RESERVED_PARAMS =
             new HashSet<>(Arrays.asList(DEPTH_PARAM,
                                         SORT_PARAM,
@@ -89,7 +97,10 @@ public class LatestManagementController extends AbstractManagementController
                                         EXTRACT_INITIAL_CONFIG_PARAM,
                                         CONTENT_DISPOSITION_ATTACHMENT_FILENAME_PARAM,
                                         EXCLUDE_INHERITED_CONTEXT_PARAM,
-                                        SINGLETON_MODEL_OBJECT_RESPONSE_AS_LIST));
+                                        SINGLETON_MODEL_OBJECT_RESPONSE_AS_LIST,
+                                        LIMIT_PARAM,
+                                        CURSOR_PARAM,
+                                        FIELDS_PARAM));
 
     private static final int DEFAULT_DEPTH = 0;
     private static final int DEFAULT_OVERSIZE = 120;
@@ -208,7 +219,7 @@ public class LatestManagementController extends AbstractManagementController
             }
             else
             {
-                return allObjects;
+                return getPage(allObjects, parameters);
             }
         }
         catch (RuntimeException e)
@@ -221,6 +232,63 @@ public class LatestManagementController extends AbstractManagementController
         }
      }
 
+    /**
+     * Returns the page of the objects selected by the {@code limit} and {@code cursor} parameters.  Paged objects are
+     * ordered by id, and the cursor is the id of the last object of the previous page.
+     */
+    private Collection<ConfiguredObject<?>> getPage(final Collection<ConfiguredObject<?>> objects,
+                                                    final Map<String, List<String>> parameters)
+    {
+        final int limit = getLimit(parameters);
+        final String cursor = getParameter(CURSOR_PARAM, parameters);
+        if (limit < 0 && cursor == null)
+        {
+            return objects;
+        }
+
+        Stream<ConfiguredObject<?>> page = objects.stream().sorted(Comparator.comparing(ConfiguredObject::getId));
+        if (cursor != null)
+        {
+            final UUID lastId;
+            try
+            {
+                lastId = UUID.fromString(cursor);
+            }
+            catch (IllegalArgumentException e)
+            {
+                throw createBadRequestManagementException(String.format("Invalid cursor '%s'", cursor));
+            }
+            page = page.filter(object -> object.getId().compareTo(lastId) > 0);
+        }
+        if (limit >= 0)
+        {
+            page = page.limit(limit);
+        }
+        return page.collect(Collectors.toList());
+    }
+
+    private int getLimit(final Map<String, List<String>> parameters)
+    {
+        final String limit = getParameter(LIMIT_PARAM, parameters);
+        if (limit == null)
+        {
+            return -1;
+        }
+        try
+        {
+            final int value = Integer.parseInt(limit);
+            if (value >= 0)
+            {
+                return value;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // report below
+        }
+        throw createBadRequestManagementException(String.format("Invalid limit '%s'", limit));
+    }
+
     @Override
     public ConfiguredObject<?> createOrUpdate(final ConfiguredObject<?> root,
                                               final String category,
@@ -549,6 +617,7 @@ public class LatestManagementController extends AbstractManagementController
                                                 || Boolean.parseBoolean(excludeInheritedContextParameter);
         final boolean responseAsList =
                 Boolean.parseBoolean(getParameter(SINGLETON_MODEL_OBJECT_RESPONSE_AS_LIST, parameters));
+        final Set<String> fields = getFields(parameters);
 
         if (content instanceof ConfiguredObject)
         {
@@ -558,21 +627,30 @@ public class LatestManagementController extends AbstractManagementController
                     actuals,
                     oversizeThreshold,
                     isSecureOrAllowedOnInsecureChannel,
-                    excludeInheritedContext);
+                    excludeInheritedContext,
+                    fields,
+                    StatisticsSnapshot.getLatest((ConfiguredObject<?>) content));
             return responseAsList ? Collections.singletonList(object) : object;
         }
         else if (content instanceof Collection)
         {
-            Collection<Map<String,Object>> results = ((Collection<?>) content).stream()
-                                                                              .filter(o -> o instanceof ConfiguredObject)
-                                                                              .map(ConfiguredObject.class::cast)
-                                                                              .map(o -> convertObject(
-                                                                                      o,
-                                                                                      depth,
-                                                                                      actuals,
-                                                                                      oversizeThreshold,
-                                                                                      isSecureOrAllowedOnInsecureChannel,
-                                                                                      excludeInheritedContext)).collect(Collectors.toSet());
+            final List<ConfiguredObject<?>> objects = ((Collection<?>) content).stream()
+                                                                               .filter(o -> o instanceof ConfiguredObject)
+                                                                               .map(o -> (ConfiguredObject<?>) o)
+                                                                               .collect(Collectors.toList());
+            // all objects of a response belong to the same broker, so its snapshot is only looked up once
+            final StatisticsSnapshot snapshot = objects.isEmpty() ? null : StatisticsSnapshot.getLatest(objects.get(0));
+            final List<Map<String, Object>> results = objects.stream()
+                                                             .map(o -> convertObject(
+                                                                     o,
+                                                                     depth,
+                                                                     actuals,
+                                                                     oversizeThreshold,
+                                                                     isSecureOrAllowedOnInsecureChannel,
+                                                                     excludeInheritedContext,
+                                                                     fields,
+                                                                     snapshot))
+                                                             .collect(Collectors.toList());
             if (!results.isEmpty())
             {
                 return results;
@@ -581,11 +659,29 @@ public class LatestManagementController extends AbstractManagementController
         return content;
     }
 
+    private Set<String> getFields(final Map<String, List<String>> parameters)
+    {
+        final List<String> values = parameters.get(FIELDS_PARAM);
+        if (values == null)
+        {
+            return null;
+        }
+        final Set<String> fields = values.stream()
+                                         .filter(Objects::nonNull)
+                                         .flatMap(value -> Arrays.stream(value.split(",")))
+                                         .map(String::trim)
+                                         .filter(field -> !field.isEmpty())
+                                         .collect(Collectors.toSet());
+        return fields.isEmpty() ? null : fields;
+    }
+
     private Map<String,Object> convertObject(final ConfiguredObject<?> configuredObject, final int depth,
                                  final boolean actuals,
                                  final int oversizeThreshold,
                                  final boolean isSecureOrConfidentialOperationAllowedOnInsecureChannel,
-                                 final boolean excludeInheritedContext)
+                                 final boolean excludeInheritedContext,
+                                 final Set<String> fields,
+                                 final StatisticsSnapshot snapshot)
     {
         return _objectConverter.convertObjectToMap(configuredObject, configuredObject.getCategoryClass(),
                                                    new ConfiguredObjectToMapConverter.ConverterOptions(
@@ -593,7 +689,9 @@ public class LatestManagementController extends AbstractManagementController
                                                            actuals,
                                                            oversizeThreshold,
                                                            isSecureOrConfidentialOperationAllowedOnInsecureChannel,
-                                                           excludeInheritedContext));
+                                                           excludeInheritedContext,
+                                                           fields),
+                                                   snapshot);
     }
 
     private boolean isFullPath(final ConfiguredObject root, final List<String> parts, final String category)
@@ -20,12 +20,14 @@
  */
 package org.apache.qpid.server.management.plugin.servlet.query;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
+import java.util.PriorityQueue;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,7 +50,7 @@ public final class ConfiguredObjectQuery
 
     private final List<List<Object>> _results;
     private final List<String> _headers;
-    private final int _totalNumberOfRows;
+    private int _totalNumberOfRows;
 
     interface HeadersAndValueExpressions
     {
@@ -82,16 +84,29 @@ public final class ConfiguredObjectQuery
         int offset = toInt(offsetClause, DEFAULT_OFFSET);
 
         HeadersAndValueExpressions headersAndValueExpressions = parseSelectClause(selectClause);
-
-        List<ConfiguredObject<?>> filteredObjects = whereClause == null ? objects : filterObjects(objects, whereClause);
-        List<ConfiguredObject<?>> orderedObjects = orderByClause == null ? filteredObjects : orderObjects(filteredObjects,
-                                                                                                          orderByClause,
-                                                                                                          headersAndValueExpressions);
-        List<ConfiguredObject<?>> limitedOrderedObjects = applyLimitAndOffset(orderedObjects, limit, offset);
+        BooleanExpression<ConfiguredObject> whereExpression = whereClause == null ? null : parseWhereClause(whereClause);
+        Comparator<Object> orderByComparator = orderByClause == null
+                ? null
+                : new OrderByComparator(parseOrderByClause(orderByClause, headersAndValueExpressions),
+                                        headersAndValueExpressions.getValueExpressions());
+
+        final List<ConfiguredObject<?>> limitedOrderedObjects;
+        if (limit >= 0 && offset >= 0 && (long) offset + limit <= Integer.MAX_VALUE)
+        {
+            limitedOrderedObjects = selectRange(objects, whereExpression, orderByComparator, offset, limit);
+        }
+        else
+        {
+            List<ConfiguredObject<?>> filteredObjects = filterObjects(objects, whereExpression);
+            List<ConfiguredObject<?>> orderedObjects = orderByComparator == null
+                    ? filteredObjects
+                    : orderObjects(filteredObjects, orderByComparator);
+            limitedOrderedObjects = applyLimitAndOffset(orderedObjects, limit, offset);
+            _totalNumberOfRows = filteredObjects.size();
+        }
 
         _headers = headersAndValueExpressions.getHeaders();
         _results = evaluateResults(limitedOrderedObjects, headersAndValueExpressions.getValueExpressions());
-        _totalNumberOfRows = filteredObjects.size();
     }
 
     public List<List<Object>> getResults()
@@ -192,63 +207,157 @@ public final class ConfiguredObjectQuery
                 };
     }
 
-    private List<ConfiguredObject<?>> filterObjects(final List<ConfiguredObject<?>> objects, final String whereClause)
+    private BooleanExpression<ConfiguredObject> parseWhereClause(final String whereClause)
     {
-        List<ConfiguredObject<?>> filteredObjects = new ArrayList<>();
         ConfiguredObjectFilterParser parser = new ConfiguredObjectFilterParser();
         parser.setConfiguredObjectExpressionFactory(_expressionFactory);
         try
         {
-            final BooleanExpression<ConfiguredObject> expression =
-                    parser.parseWhere(whereClause);
+            return parser.parseWhere(whereClause);
+        }
+        catch (ParseException | TokenMgrError e)
+        {
+            throw new SelectorParsingException("Unable to parse where clause", e);
+        }
+    }
+
+    private boolean matches(final BooleanExpression<ConfiguredObject> expression, final ConfiguredObject<?> object)
+    {
+        try
+        {
+            return expression == null || expression.matches(object);
+        }
+        catch (RuntimeException e)
+        {
+            throw new EvaluationException("Error while evaluating object against where clause", e);
+        }
+    }
 
+    private List<ConfiguredObject<?>> filterObjects(final List<ConfiguredObject<?>> objects,
+                                                    final BooleanExpression<ConfiguredObject> expression)
+    {
+        if (expression == null)
+        {
+            return objects;
+        }
 
-            for (ConfiguredObject<?> object : objects)
+        List<ConfiguredObject<?>> filteredObjects = new ArrayList<>();
+        for (ConfiguredObject<?> object : objects)
+        {
+            if (matches(expression, object))
             {
-                try
+                filteredObjects.add(object);
+            }
+        }
+        return filteredObjects;
+    }
+
+    /**
+     * Selects the matching objects at positions offset to offset + limit of the ordered results in a single pass,
+     * counting the total number of matching objects on the way.  When ordering, only the first offset + limit
+     * objects are retained in a bounded heap, rather than sorting every matching object.
+     */
+    private List<ConfiguredObject<?>> selectRange(final List<ConfiguredObject<?>> objects,
+                                                  final BooleanExpression<ConfiguredObject> expression,
+                                                  final Comparator<Object> orderByComparator,
+                                                  final int offset,
+                                                  final int limit)
+    {
+        final int retained = offset + limit;
+        final List<ConfiguredObject<?>> selectedObjects = new ArrayList<>();
+        final Comparator<RankedObject> comparator = orderByComparator == null
+                ? null
+                : (left, right) -> {
+                    int comparisonResult = orderByComparator.compare(left._object, right._object);
+                    // preserve the relative order of equal objects, like the sort of the unbounded case
+                    return comparisonResult != 0 ? comparisonResult : Integer.compare(left._rank, right._rank);
+                };
+        final PriorityQueue<RankedObject> heap = comparator == null || retained == 0
+                ? null
+                : new PriorityQueue<>(Math.min(retained, 1024), comparator.reversed());
+
+        int total = 0;
+        for (ConfiguredObject<?> object : objects)
+        {
+            if (matches(expression, object))
+            {
+                if (comparator == null)
                 {
-                    if (expression.matches(object))
+                    if (total >= offset && total < retained)
                     {
-                        filteredObjects.add(object);
+                        selectedObjects.add(object);
                     }
                 }
-                catch (RuntimeException e)
+                else if (heap != null)
                 {
-                    throw new EvaluationException("Error while evaluating object against where clause", e);
+                    final RankedObject rankedObject = new RankedObject(object, total);
+                    if (heap.size() < retained)
+                    {
+                        heap.add(rankedObject);
+                    }
+                    else if (comparator.compare(rankedObject, heap.peek()) < 0)
+                    {
+                        heap.poll();
+                        heap.add(rankedObject);
+                    }
                 }
+                total++;
             }
-
         }
-        catch (ParseException | TokenMgrError e)
+        _totalNumberOfRows = total;
+
+        if (heap != null)
         {
-            throw new SelectorParsingException("Unable to parse where clause", e);
+            final List<RankedObject> rankedObjects = new ArrayList<>(heap);
+            rankedObjects.sort(comparator);
+            for (int i = offset; i < rankedObjects.size(); i++)
+            {
+                selectedObjects.add(rankedObjects.get(i)._object);
+            }
         }
-        return filteredObjects;
+        return selectedObjects;
     }
 
+    /**
+     * Returns the rows for the given objects.  Rows are evaluated as they are retrieved, so that the rows of a large
+     * result can be written out one at a time rather than being held in memory together.
+     */
     private List<List<Object>> evaluateResults(final List<ConfiguredObject<?>> filteredObjects, List<Expression> valueExpressions)
     {
-        List<List<Object>> values = new ArrayList<>();
-        for (ConfiguredObject<?> object : filteredObjects)
+        return new AbstractList<List<Object>>()
         {
-            List<Object> objectVals = new ArrayList<>();
-            for (Expression<ConfiguredObject<?>> evaluator : valueExpressions)
+            @Override
+            public List<Object> get(final int index)
             {
-                Object value;
-                try
-                {
-                    value = evaluator.evaluate(object);
-                }
-                catch (RuntimeException e)
-                {
-                    LOGGER.debug("Error while evaluating select clause", e);
-                    value = null;
-                }
-                objectVals.add(value);
+                return evaluateRow(filteredObjects.get(index), valueExpressions);
             }
-            values.add(objectVals);
+
+            @Override
+            public int size()
+            {
+                return filteredObjects.size();
+            }
+        };
+    }
+
+    private List<Object> evaluateRow(final ConfiguredObject<?> object, final List<Expression> valueExpressions)
+    {
+        List<Object> objectVals = new ArrayList<>();
+        for (Expression<ConfiguredObject<?>> evaluator : valueExpressions)
+        {
+            Object value;
+            try
+            {
+                value = evaluator.evaluate(object);
+            }
+            catch (RuntimeException e)
+            {
+                LOGGER.debug("Error while evaluating select clause", e);
+                value = null;
+            }
+            objectVals.add(value);
         }
-        return values;
+        return objectVals;
     }
 
     private List<ConfiguredObject<?>> applyLimitAndOffset(final List<ConfiguredObject<?>> orderedObjects, final int limit, int offset)
@@ -333,13 +442,10 @@ public final class ConfiguredObjectQuery
     }
 
     private List<ConfiguredObject<?>> orderObjects(final List<ConfiguredObject<?>> unorderedResults,
-                                                   final String orderByClause,
-                                                   final HeadersAndValueExpressions headersAndValue)
+                                                   final Comparator<Object> comparator)
     {
-        List<OrderByExpression> orderByExpressions = parseOrderByClause(orderByClause, headersAndValue);
         List<ConfiguredObject<?>> orderedObjects = new ArrayList<>(unorderedResults.size());
         orderedObjects.addAll(unorderedResults);
-        Comparator<Object> comparator = new OrderByComparator(orderByExpressions, headersAndValue.getValueExpressions());
         Collections.sort(orderedObjects, comparator);
         return orderedObjects;
     }
@@ -376,5 +482,15 @@ public final class ConfiguredObjectQuery
         return orderByExpressions;
     }
 
+    private static final class RankedObject
+    {
+        private final ConfiguredObject<?> _object;
+        private final int _rank;
 
+        private RankedObject(final ConfiguredObject<?> object, final int rank)
+        {
+            _object = object;
+            _rank = rank;
+        }
+    }
 }
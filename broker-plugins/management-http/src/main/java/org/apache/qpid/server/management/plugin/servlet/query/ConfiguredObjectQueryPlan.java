@@ -0,0 +1,201 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.management.plugin.servlet.query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.qpid.server.filter.BinaryExpression;
+import org.apache.qpid.server.filter.ComparisonExpression;
+import org.apache.qpid.server.filter.ConstantExpression;
+import org.apache.qpid.server.filter.Expression;
+import org.apache.qpid.server.filter.LogicExpression;
+import org.apache.qpid.server.filter.NamedExpression;
+import org.apache.qpid.server.model.ConfiguredObject;
+
+/**
+ * Narrows the objects a query has to evaluate using the equality predicates of its where clause on the name, type
+ * and durable attributes.
+ *
+ * Only predicates which every matching object must satisfy, that is those of the top level conjunction of the where
+ * clause, are taken into account.  A predicate on the name is answered by the parent's child lookup by name; those on
+ * the type and durability are checked before the where clause itself is evaluated.  The where clause is always
+ * evaluated against the remaining candidates, so the plan never changes the result of a query.
+ */
+public final class ConfiguredObjectQueryPlan
+{
+    private static final ConfiguredObjectQueryPlan UNRESTRICTED = new ConfiguredObjectQueryPlan(null, null, null);
+
+    private final String _name;
+    private final String _type;
+    private final Boolean _durable;
+
+    private ConfiguredObjectQueryPlan(final String name, final String type, final Boolean durable)
+    {
+        _name = name;
+        _type = type;
+        _durable = durable;
+    }
+
+    /**
+     * Creates the plan for the given where clause.  A missing or unparseable where clause results in a plan which
+     * does not restrict the candidates; parse errors are left to be reported by the {@link ConfiguredObjectQuery}.
+     */
+    public static ConfiguredObjectQueryPlan create(final String whereClause)
+    {
+        if (whereClause == null)
+        {
+            return UNRESTRICTED;
+        }
+
+        final ConfiguredObjectFilterParser parser = new ConfiguredObjectFilterParser();
+        parser.setConfiguredObjectExpressionFactory(new ConfiguredObjectExpressionFactory());
+        final Expression<ConfiguredObject> expression;
+        try
+        {
+            expression = parser.parseWhere(whereClause);
+        }
+        catch (ParseException | TokenMgrError | RuntimeException e)
+        {
+            return UNRESTRICTED;
+        }
+
+        final List<Expression<?>> conjuncts = new ArrayList<>();
+        collectConjuncts(expression, conjuncts);
+
+        String name = null;
+        String type = null;
+        Boolean durable = null;
+        for (Expression<?> conjunct : conjuncts)
+        {
+            if (conjunct instanceof ComparisonExpression
+                && "=".equals(((ComparisonExpression<?>) conjunct).getExpressionSymbol()))
+            {
+                final BinaryExpression<?> equality = (BinaryExpression<?>) conjunct;
+                final String attribute = getAttributeName(equality.getLeft(), equality.getRight());
+                final Object value = getConstantValue(equality.getLeft(), equality.getRight());
+                if (ConfiguredObject.NAME.equals(attribute) && value instanceof String && name == null)
+                {
+                    name = (String) value;
+                }
+                else if (ConfiguredObject.TYPE.equals(attribute) && value instanceof String && type == null)
+                {
+                    type = (String) value;
+                }
+                else if (ConfiguredObject.DURABLE.equals(attribute) && value instanceof Boolean && durable == null)
+                {
+                    durable = (Boolean) value;
+                }
+            }
+        }
+        return name == null && type == null && durable == null
+                ? UNRESTRICTED
+                : new ConfiguredObjectQueryPlan(name, type, durable);
+    }
+
+    public boolean isRestricted()
+    {
+        return this != UNRESTRICTED;
+    }
+
+    /**
+     * Returns the children of the given category of the parent which could satisfy the where clause.
+     */
+    public Collection<? extends ConfiguredObject<?>> getCandidateChildren(final ConfiguredObject<?> parent,
+                                                                          final Class<? extends ConfiguredObject> childCategory)
+    {
+        if (_name != null)
+        {
+            final ConfiguredObject<?> child = parent.getChildByName(childCategory, _name);
+            return child != null && isCandidate(child)
+                    ? Collections.<ConfiguredObject<?>>singletonList(child)
+                    : Collections.<ConfiguredObject<?>>emptyList();
+        }
+
+        final Collection<? extends ConfiguredObject> children = parent.getChildren(childCategory);
+        if (!isRestricted())
+        {
+            return (Collection<? extends ConfiguredObject<?>>) children;
+        }
+
+        final List<ConfiguredObject<?>> candidates = new ArrayList<>();
+        for (ConfiguredObject<?> child : children)
+        {
+            if (isCandidate(child))
+            {
+                candidates.add(child);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns false if the given object cannot satisfy the where clause.
+     */
+    public boolean isCandidate(final ConfiguredObject<?> object)
+    {
+        return (_name == null || _name.equals(object.getName()))
+               && (_type == null || _type.equals(object.getType()))
+               && (_durable == null || _durable == object.isDurable());
+    }
+
+    private static void collectConjuncts(final Expression<?> expression, final List<Expression<?>> conjuncts)
+    {
+        if (expression instanceof LogicExpression
+            && "AND".equals(((LogicExpression<?>) expression).getExpressionSymbol()))
+        {
+            collectConjuncts(((LogicExpression<?>) expression).getLeft(), conjuncts);
+            collectConjuncts(((LogicExpression<?>) expression).getRight(), conjuncts);
+        }
+        else
+        {
+            conjuncts.add(expression);
+        }
+    }
+
+    private static String getAttributeName(final Expression<?> left, final Expression<?> right)
+    {
+        if (left instanceof NamedExpression && right instanceof ConstantExpression)
+        {
+            return ((NamedExpression<?>) left).getName();
+        }
+        else if (right instanceof NamedExpression && left instanceof ConstantExpression)
+        {
+            return ((NamedExpression<?>) right).getName();
+        }
+        return null;
+    }
+
+    private static Object getConstantValue(final Expression<?> left, final Expression<?> right)
+    {
+        if (left instanceof ConstantExpression)
+        {
+            return ((ConstantExpression<?>) left).getValue();
+        }
+        else if (right instanceof ConstantExpression)
+        {
+            return ((ConstantExpression<?>) right).getValue();
+        }
+        return null;
+    }
+}
@@ -23,12 +23,12 @@ package org.apache.qpid.server.management.plugin.servlet.rest;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.qpid.server.management.plugin.HttpManagementUtil;
+import org.apache.qpid.server.management.plugin.servlet.query.ConfiguredObjectQueryPlan;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Model;
@@ -76,7 +76,8 @@ public class BrokerQueryServlet extends QueryServlet<Broker<?>>
     @Override
     protected List<ConfiguredObject<?>> getAllObjects(final Broker<?> broker,
                                                       final Class<? extends ConfiguredObject> category,
-                                                      final HttpServletRequest request)
+                                                      final HttpServletRequest request,
+                                                      final ConfiguredObjectQueryPlan plan)
     {
         if(category == Broker.class)
         {
@@ -105,18 +106,7 @@ public class BrokerQueryServlet extends QueryServlet<Broker<?>>
             }
             Collections.reverse(hierarchy);
             Collection<ConfiguredObject<?>> parents = Collections.<ConfiguredObject<?>>singletonList(broker);
-            Collection<ConfiguredObject<?>> children = Collections.emptyList();
-            for(Class<? extends ConfiguredObject> childClass : hierarchy)
-            {
-                children = new HashSet<>();
-                for(ConfiguredObject<?> parent : parents)
-                {
-                    children.addAll((Collection<? extends ConfiguredObject<?>>) parent.getChildren(childClass)) ;
-                }
-                parents = children;
-            }
-
-            return new ArrayList<>(children);
+            return getObjects(hierarchy, parents, plan);
         }
     }
 }
@@ -39,6 +39,7 @@ import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.ConfiguredObjectAttribute;
 import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.Named;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 
 public class ConfiguredObjectToMapConverter
 {
@@ -58,15 +59,26 @@ public class ConfiguredObjectToMapConverter
                                                   Class<? extends ConfiguredObject> clazz,
                                                   ConverterOptions converterOptions
                                                  )
+    {
+        return convertObjectToMap(confObject, clazz, converterOptions, StatisticsSnapshot.getLatest(confObject));
+    }
+
+    /**
+     * Converts the given object, reading its statistics and those of its children from the given snapshot.
+     */
+    public Map<String, Object> convertObjectToMap(final ConfiguredObject<?> confObject,
+                                                  Class<? extends ConfiguredObject> clazz,
+                                                  ConverterOptions converterOptions,
+                                                  final StatisticsSnapshot snapshot)
     {
         Map<String, Object> object = new LinkedHashMap<>();
 
         incorporateAttributesIntoMap(confObject, object, converterOptions);
-        incorporateStatisticsIntoMap(confObject, object);
+        incorporateStatisticsIntoMap(confObject, object, converterOptions, snapshot);
 
         if(converterOptions.getDepth() > 0)
         {
-            incorporateChildrenIntoMap(confObject, clazz, object, converterOptions);
+            incorporateChildrenIntoMap(confObject, clazz, object, converterOptions, snapshot);
         }
         return object;
     }
@@ -78,8 +90,13 @@ public class ConfiguredObjectToMapConverter
             ConverterOptions converterOptions)
     {
 
+        final Set<String> fields = converterOptions.getFields();
         for(String name : confObject.getAttributeNames())
         {
+            if (fields != null && !fields.contains(name) && !ConfiguredObject.ID.equals(name))
+            {
+                continue;
+            }
             Object value =
                     converterOptions.isUseActualValues()
                             ? confObject.getActualAttributes().get(name)
@@ -212,10 +229,15 @@ public class ConfiguredObjectToMapConverter
     }
 
     private void incorporateStatisticsIntoMap(
-            final ConfiguredObject<?> confObject, Map<String, Object> object)
+            final ConfiguredObject<?> confObject, Map<String, Object> object,
+            final ConverterOptions converterOptions,
+            final StatisticsSnapshot snapshot)
     {
-
-        Map<String, Object> statMap = new TreeMap<String,Object>(confObject.getStatistics());
+        final Set<String> fields = converterOptions.getFields();
+        final Map<String, Object> statistics = fields == null
+                ? snapshot.getStatistics(confObject)
+                : snapshot.getStatistics(confObject, new ArrayList<>(fields));
+        Map<String, Object> statMap = new TreeMap<String,Object>(statistics);
 
         if(!statMap.isEmpty())
         {
@@ -228,7 +250,8 @@ public class ConfiguredObjectToMapConverter
             final ConfiguredObject confObject,
             Class<? extends ConfiguredObject> clazz,
             Map<String, Object> object,
-            ConverterOptions converterOptions)
+            ConverterOptions converterOptions,
+            final StatisticsSnapshot snapshot)
     {
         List<Class<? extends ConfiguredObject>> childTypes = new ArrayList<>(confObject.getModel().getChildTypes(clazz));
 
@@ -270,7 +293,8 @@ public class ConfiguredObjectToMapConverter
                 {
                     childObjects.add(convertObjectToMap(child,
                                                         childClass,
-                                                        childConverterOptions));
+                                                        childConverterOptions,
+                                                        snapshot));
 
                 }
 
@@ -292,14 +316,20 @@ public class ConfiguredObjectToMapConverter
         private final int _oversizeThreshold;
         private final boolean _secureTransport;
         private final boolean _excludeInheritedContext;
+        private final Set<String> _fields;
 
+        /**
+         * Creates the options for the children of an object.  The fields apply to the requested objects only, so the
+         * children are converted with all of their attributes and statistics.
+         */
         public ConverterOptions(ConverterOptions options, int depth)
         {
             this(depth,
                  options.isUseActualValues(),
                  options.getOversizeThreshold(),
                  options.isSecureTransport(),
-                 options.isExcludeInheritedContext());
+                 options.isExcludeInheritedContext(),
+                 null);
         }
 
         public ConverterOptions(final int depth,
@@ -307,12 +337,27 @@ public class ConfiguredObjectToMapConverter
                                 final int oversizeThreshold,
                                 final boolean secureTransport,
                                 final boolean excludeInheritedContext)
+        {
+            this(depth, useActualValues, oversizeThreshold, secureTransport, excludeInheritedContext, null);
+        }
+
+        /**
+         * @param fields the names of the attributes and statistics of the top level object to include, or null to
+         *               include all of them.  The id is always included.
+         */
+        public ConverterOptions(final int depth,
+                                final boolean useActualValues,
+                                final int oversizeThreshold,
+                                final boolean secureTransport,
+                                final boolean excludeInheritedContext,
+                                final Set<String> fields)
         {
             _depth = depth;
             _useActualValues = useActualValues;
             _oversizeThreshold = oversizeThreshold;
             _secureTransport = secureTransport;
             _excludeInheritedContext = excludeInheritedContext;
+            _fields = fields == null ? null : Collections.unmodifiableSet(new HashSet<>(fields));
         }
 
         public int getDepth()
@@ -339,5 +384,10 @@ public class ConfiguredObjectToMapConverter
         {
             return _excludeInheritedContext;
         }
+
+        public Set<String> getFields()
+        {
+            return _fields;
+        }
     }
 }
@@ -23,6 +23,10 @@ package org.apache.qpid.server.management.plugin.servlet.rest;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +41,7 @@ import org.slf4j.LoggerFactory;
 import org.apache.qpid.server.filter.SelectorParsingException;
 import org.apache.qpid.server.management.plugin.csv.CSVFormat;
 import org.apache.qpid.server.management.plugin.servlet.query.ConfiguredObjectQuery;
+import org.apache.qpid.server.management.plugin.servlet.query.ConfiguredObjectQueryPlan;
 import org.apache.qpid.server.management.plugin.servlet.query.EvaluationException;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Model;
@@ -81,13 +86,15 @@ public abstract class QueryServlet<X extends ConfiguredObject<?>> extends Abstra
 
             if (category != null)
             {
-                List<ConfiguredObject<?>> objects = getAllObjects(parent, category, request);
-
                 try
                 {
+                    final String whereClause = request.getParameter("where");
+                    final ConfiguredObjectQueryPlan plan = ConfiguredObjectQueryPlan.create(whereClause);
+                    List<ConfiguredObject<?>> objects = getAllObjects(parent, category, request, plan);
+
                     ConfiguredObjectQuery query = new ConfiguredObjectQuery(objects,
                                                                             request.getParameter("select"),
-                                                                            request.getParameter("where"),
+                                                                            whereClause,
                                                                             request.getParameter("orderBy"),
                                                                             request.getParameter("limit"),
                                                                             request.getParameter("offset"));
@@ -167,8 +174,40 @@ public abstract class QueryServlet<X extends ConfiguredObject<?>> extends Abstra
     abstract protected String getRequestedCategory(final HttpServletRequest request,
                                                    final ConfiguredObject<?> managedObject);
 
+    /**
+     * Returns the objects of the given category to query.  Implementations may leave out objects which the given plan
+     * rules out as candidates.
+     */
     abstract protected List<ConfiguredObject<?>> getAllObjects(final X parent,
                                                                final Class<? extends ConfiguredObject> category,
-                                                               final HttpServletRequest request);
+                                                               final HttpServletRequest request,
+                                                               final ConfiguredObjectQueryPlan plan);
+
+    protected List<ConfiguredObject<?>> getObjects(final List<Class<? extends ConfiguredObject>> hierarchy,
+                                                   Collection<ConfiguredObject<?>> parents,
+                                                   final ConfiguredObjectQueryPlan plan)
+    {
+        Collection<ConfiguredObject<?>> children = Collections.emptyList();
+        for (int i = 0; i < hierarchy.size(); i++)
+        {
+            final Class<? extends ConfiguredObject> childClass = hierarchy.get(i);
+            final boolean queriedCategory = i == hierarchy.size() - 1;
+            children = new HashSet<>();
+            for (ConfiguredObject<?> parent : parents)
+            {
+                if (queriedCategory)
+                {
+                    children.addAll(plan.getCandidateChildren(parent, childClass));
+                }
+                else
+                {
+                    children.addAll((Collection<? extends ConfiguredObject<?>>) parent.getChildren(childClass));
+                }
+            }
+            parents = children;
+        }
+
+        return new ArrayList<>(children);
+    }
 
 }
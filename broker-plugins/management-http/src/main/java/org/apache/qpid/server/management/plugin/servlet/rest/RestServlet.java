@@ -227,6 +227,18 @@ public class RestServlet extends AbstractServlet
                               final HttpServletResponse response,
                               final ManagementController controller) throws IOException
     {
+        Map<String, List<String>> parameters = managementRequest.getParameters();
+        Object body = managementResponse.getBody();
+        if (body != null && !(body instanceof Content) && managementResponse.getType() == ResponseType.MODEL_OBJECT)
+        {
+            // format before the status is set, so that a failure is reported as an error rather than a partial body
+            body = controller.formatConfiguredObject(
+                    body,
+                    parameters,
+                    managementRequest.isSecure()
+                    || managementRequest.isConfidentialOperationAllowedOnInsecureChannel());
+        }
+
         setHeaders(response);
         Map<String, String> headers = managementResponse.getHeaders();
         if (!headers.isEmpty())
@@ -234,7 +246,6 @@ public class RestServlet extends AbstractServlet
             headers.forEach(response::setHeader);
         }
 
-        Map<String, List<String>> parameters = managementRequest.getParameters();
         if (parameters.containsKey(CONTENT_DISPOSITION_ATTACHMENT_FILENAME_PARAM))
         {
             String attachmentFilename = managementRequest.getParameter(CONTENT_DISPOSITION_ATTACHMENT_FILENAME_PARAM);
@@ -242,7 +253,6 @@ public class RestServlet extends AbstractServlet
         }
         response.setStatus(managementResponse.getResponseCode());
 
-        Object body = managementResponse.getBody();
         if (body instanceof Content)
         {
             Content content = (Content) body;
@@ -258,14 +268,6 @@ public class RestServlet extends AbstractServlet
         else
         {
             response.setContentType(APPLICATION_JSON);
-            if (body != null && managementResponse.getType() == ResponseType.MODEL_OBJECT)
-            {
-                body = controller.formatConfiguredObject(
-                        managementResponse.getBody(),
-                        parameters,
-                        managementRequest.isSecure()
-                        || managementRequest.isConfidentialOperationAllowedOnInsecureChannel());
-            }
             writeJsonResponse(body, request, response);
         }
     }
@@ -23,12 +23,12 @@ package org.apache.qpid.server.management.plugin.servlet.rest;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.qpid.server.management.plugin.HttpManagementUtil;
+import org.apache.qpid.server.management.plugin.servlet.query.ConfiguredObjectQueryPlan;
 import org.apache.qpid.server.model.Broker;
 import org.apache.qpid.server.model.ConfiguredObject;
 import org.apache.qpid.server.model.Connection;
@@ -114,7 +114,8 @@ public class VirtualHostQueryServlet extends QueryServlet<VirtualHost<?>>
     @Override
     protected List<ConfiguredObject<?>> getAllObjects(final VirtualHost<?> virtualHost,
                                                       final Class<? extends ConfiguredObject> category,
-                                                      final HttpServletRequest request)
+                                                      final HttpServletRequest request,
+                                                      final ConfiguredObjectQueryPlan plan)
     {
         final Model model = virtualHost.getModel();
         if(category == VirtualHost.class)
@@ -143,7 +144,7 @@ public class VirtualHostQueryServlet extends QueryServlet<VirtualHost<?>>
             }
             Collections.reverse(hierarchy);
             Collection<ConfiguredObject<?>> parents = Collections.<ConfiguredObject<?>>singletonList(virtualHost);
-            return getObjects(hierarchy, parents);
+            return getObjects(hierarchy, parents, plan);
         }
         else
         {
@@ -152,6 +153,7 @@ public class VirtualHostQueryServlet extends QueryServlet<VirtualHost<?>>
 
             if(category == Connection.class)
             {
+                parents.removeIf(connection -> !plan.isCandidate(connection));
                 return parents;
             }
             else
@@ -175,25 +177,8 @@ public class VirtualHostQueryServlet extends QueryServlet<VirtualHost<?>>
                 }
                 Collections.reverse(hierarchy);
 
-                return getObjects(hierarchy, parents);
+                return getObjects(hierarchy, parents, plan);
             }
         }
     }
-
-    private List<ConfiguredObject<?>> getObjects(final List<Class<? extends ConfiguredObject>> hierarchy,
-                                                 Collection<ConfiguredObject<?>> parents)
-    {
-        Collection<ConfiguredObject<?>> children = Collections.emptyList();
-        for(Class<? extends ConfiguredObject> childClass : hierarchy)
-        {
-            children = new HashSet<>();
-            for(ConfiguredObject<?> parent : parents)
-            {
-                children.addAll((Collection<? extends ConfiguredObject<?>>) parent.getChildren(childClass)) ;
-            }
-            parents = children;
-        }
-
-        return new ArrayList<>(children);
-    }
 }
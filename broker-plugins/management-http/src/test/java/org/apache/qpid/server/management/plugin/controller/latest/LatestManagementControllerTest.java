@@ -38,6 +38,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -267,6 +268,57 @@ public class LatestManagementControllerTest extends UnitTestBase
         assertThat(((Queue) o2).getName(), is(equalTo("bar")));
     }
 
+    @Test
+    public void getPagedQueues() throws Exception
+    {
+        final String hostName = "test";
+        final QueueManagingVirtualHost<?> virtualHost = createVirtualHostWithQueue(hostName, "foo", "bar", "baz");
+        final List<String> path = Arrays.asList("*", hostName);
+
+        final List<UUID> expectedIds = virtualHost.getChildren(Queue.class)
+                                                  .stream()
+                                                  .map(Queue::getId)
+                                                  .sorted()
+                                                  .collect(Collectors.toList());
+
+        final Map<String, List<String>> parameters = new HashMap<>();
+        parameters.put("limit", Collections.singletonList("2"));
+        final Collection<?> firstPage =
+                (Collection<?>) _controller.get(virtualHost.getBroker(), "queue", path, parameters);
+        assertThat(firstPage.stream().map(o -> ((Queue<?>) o).getId()).collect(Collectors.toList()),
+                   is(equalTo(expectedIds.subList(0, 2))));
+
+        parameters.put("cursor", Collections.singletonList(expectedIds.get(1).toString()));
+        final Collection<?> secondPage =
+                (Collection<?>) _controller.get(virtualHost.getBroker(), "queue", path, parameters);
+        assertThat(secondPage.stream().map(o -> ((Queue<?>) o).getId()).collect(Collectors.toList()),
+                   is(equalTo(expectedIds.subList(2, 3))));
+    }
+
+    @Test
+    public void getPagedQueuesWithInvalidLimit() throws Exception
+    {
+        final String hostName = "test";
+        final QueueManagingVirtualHost<?> virtualHost = createVirtualHostWithQueue(hostName, "foo");
+        final List<String> path = Arrays.asList("*", hostName);
+
+        for (String limit : Arrays.asList("-1", "two"))
+        {
+            try
+            {
+                _controller.get(virtualHost.getBroker(),
+                                "queue",
+                                path,
+                                Collections.singletonMap("limit", Collections.singletonList(limit)));
+                fail("Get should fail for limit " + limit);
+            }
+            catch (ManagementException e)
+            {
+                assertThat(e.getStatusCode(), is(equalTo(400)));
+            }
+        }
+    }
+
     @Test
     public void getForBrokerRootAndQueuePathWithWildCards() throws Exception
     {
@@ -589,6 +641,48 @@ public class LatestManagementControllerTest extends UnitTestBase
         assertThat(queueMap2.get(Queue.NAME), is(equalTo("foo")));
     }
 
+    @Test
+    public void formatConfiguredObjectWithFields() throws Exception
+    {
+        final QueueManagingVirtualHost<?> virtualHost = createVirtualHostWithQueue("test", "foo");
+        final Queue<?> queue = virtualHost.getChildByName(Queue.class, "foo");
+
+        final Object formatted = _controller.formatConfiguredObject(Collections.singletonList(queue),
+                                                                    Collections.singletonMap("fields",
+                                                                                             Collections.singletonList(
+                                                                                                     "name,queueDepthMessages")),
+                                                                    true);
+        assertThat(formatted, is(instanceOf(Collection.class)));
+        final Collection<?> formattedCollection = (Collection<?>) formatted;
+        assertThat(formattedCollection.size(), is(equalTo(1)));
+
+        final Map<?, ?> data = (Map<?, ?>) formattedCollection.iterator().next();
+        assertThat(data.keySet(),
+                   is(equalTo(new HashSet<>(Arrays.asList(Queue.ID, Queue.NAME, "statistics")))));
+        assertThat(((Map<?, ?>) data.get("statistics")).keySet(),
+                   is(equalTo(Collections.singleton("queueDepthMessages"))));
+    }
+
+    @Test
+    public void formatConfiguredObjectWithFieldsDoesNotRestrictChildren() throws Exception
+    {
+        final QueueManagingVirtualHost<?> virtualHost = createVirtualHostWithQueue("test", "foo");
+
+        final Map<String, List<String>> parameters = new HashMap<>();
+        parameters.put("depth", Collections.singletonList("1"));
+        parameters.put("fields", Collections.singletonList("name"));
+        final Object formatted = _controller.formatConfiguredObject(virtualHost, parameters, true);
+
+        final Map<?, ?> data = (Map<?, ?>) formatted;
+        assertThat(data.get(VirtualHost.NAME), is(equalTo("test")));
+        assertThat(data.get(VirtualHost.TYPE), is(nullValue()));
+
+        final Map<?, ?> queueData = (Map<?, ?>) ((Collection<?>) data.get("queues")).iterator().next();
+        assertThat(queueData.get(Queue.NAME), is(equalTo("foo")));
+        assertThat(queueData.get(Queue.TYPE), is(notNullValue()));
+        assertThat(queueData.get("statistics"), is(notNullValue()));
+    }
+
     @Test
     public void formatConfiguredObjectForCollectionResponse() throws Exception
     {
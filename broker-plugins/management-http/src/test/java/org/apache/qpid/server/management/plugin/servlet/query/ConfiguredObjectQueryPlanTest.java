@@ -0,0 +1,94 @@
+/*
+ *
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ *
+ */
+package org.apache.qpid.server.management.plugin.servlet.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import org.apache.qpid.server.model.ConfiguredObject;
+import org.apache.qpid.server.model.Queue;
+import org.apache.qpid.test.utils.UnitTestBase;
+
+public class ConfiguredObjectQueryPlanTest extends UnitTestBase
+{
+    @Test
+    public void testUnrestrictedPlan()
+    {
+        assertFalse(ConfiguredObjectQueryPlan.create(null).isRestricted());
+        assertFalse(ConfiguredObjectQueryPlan.create("name = 'foo' OR name = 'bar'").isRestricted());
+        assertFalse(ConfiguredObjectQueryPlan.create("name LIKE 'foo%'").isRestricted());
+        assertFalse(ConfiguredObjectQueryPlan.create("name = ").isRestricted());
+    }
+
+    @Test
+    public void testNameLookedUpByName()
+    {
+        final Queue<?> queue = createObject("foo", "standard", true);
+        final ConfiguredObject<?> parent = mock(ConfiguredObject.class);
+        when(parent.getChildByName(Queue.class, "foo")).thenReturn(queue);
+
+        final ConfiguredObjectQueryPlan plan = ConfiguredObjectQueryPlan.create("'foo' = name AND queueDepthMessages > 0");
+        assertTrue(plan.isRestricted());
+
+        final Collection<? extends ConfiguredObject<?>> candidates = plan.getCandidateChildren(parent, Queue.class);
+        assertEquals(Collections.singletonList(queue), candidates);
+        verify(parent, never()).getChildren(any(Class.class));
+    }
+
+    @Test
+    public void testTypeAndDurableFilterCandidates()
+    {
+        final Queue<?> durableStandard = createObject("a", "standard", true);
+        final Queue<?> nonDurableStandard = createObject("b", "standard", false);
+        final Queue<?> durablePriority = createObject("c", "priority", true);
+        final ConfiguredObject parent = mock(ConfiguredObject.class);
+        when(parent.getChildren(Queue.class)).thenReturn(Arrays.asList(durableStandard,
+                                                                       nonDurableStandard,
+                                                                       durablePriority));
+
+        final ConfiguredObjectQueryPlan plan =
+                ConfiguredObjectQueryPlan.create("type = 'standard' AND (durable = true AND name <> 'z')");
+
+        final Collection<? extends ConfiguredObject<?>> candidates = plan.getCandidateChildren(parent, Queue.class);
+        assertEquals(Collections.singletonList(durableStandard), candidates);
+    }
+
+    private Queue<?> createObject(final String name, final String type, final boolean durable)
+    {
+        final Queue<?> object = mock(Queue.class);
+        when(object.getName()).thenReturn(name);
+        when(object.getType()).thenReturn(type);
+        when(object.isDurable()).thenReturn(durable);
+        return object;
+    }
+}
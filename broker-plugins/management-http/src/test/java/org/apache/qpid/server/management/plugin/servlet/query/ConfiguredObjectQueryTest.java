@@ -776,6 +776,38 @@ public class ConfiguredObjectQueryTest extends UnitTestBase
         assertQueryResults(new Object[][]{{"test-0"},{"test-1"},{"test-2"}}, _query.getResults());
     }
 
+    @Test
+    public void testLimitWithOrderByAndWhereClause()
+    {
+        final int numberOfTestObjects = 10;
+        for (int i = 0; i < numberOfTestObjects; i++)
+        {
+            final String name = "test-" + i;
+            final int number = (i * 7) % numberOfTestObjects;
+            final int group = i % 2;
+            ConfiguredObject object = createCO(new HashMap<String, Object>()
+            {{
+                put("name", name);
+                put(NUMBER_ATTR, number);
+                put("group", group);
+            }});
+            _objects.add(object);
+        }
+
+        _query = new ConfiguredObjectQuery(_objects, "name, " + NUMBER_ATTR, "group = 0", NUMBER_ATTR + " DESC", "2", "1");
+        assertEquals("Unexpected total", 5, _query.getTotalNumberOfRows());
+        assertQueryResults(new Object[][]{{"test-8", 6}, {"test-2", 4}}, _query.getResults());
+
+        // equal objects keep their relative order
+        _query = new ConfiguredObjectQuery(_objects, "name", null, "group", "3", "4");
+        assertEquals("Unexpected total", numberOfTestObjects, _query.getTotalNumberOfRows());
+        assertQueryResults(new Object[][]{{"test-8"}, {"test-1"}, {"test-3"}}, _query.getResults());
+
+        _query = new ConfiguredObjectQuery(_objects, "name", "group = 1", "name", "0", "0");
+        assertEquals("Unexpected total", 5, _query.getTotalNumberOfRows());
+        assertQueryResults(new Object[0][1], _query.getResults());
+    }
+
     private void assertQueryResults(final Object[][] expectedAttributes,
                                     final List<List<Object>> results)
     {
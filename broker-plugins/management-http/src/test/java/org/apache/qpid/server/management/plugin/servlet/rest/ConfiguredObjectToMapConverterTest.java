@@ -26,6 +26,7 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -50,6 +51,7 @@ import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestCar;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestElecEngineImpl;
 import org.apache.qpid.server.model.testmodels.hierarchy.TestEngine;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 import org.apache.qpid.test.utils.UnitTestBase;
 
 public class ConfiguredObjectToMapConverterTest extends UnitTestBase
@@ -181,6 +183,45 @@ public class ConfiguredObjectToMapConverterTest extends UnitTestBase
         assertEquals("Unexpected child attribute value", childAttributeValue, childMap.get(childAttributeName));
     }
 
+    @Test
+    public void testStatisticsOfObjectAndChildrenReadFromSnapshot()
+    {
+        final String statisticName = "statisticName";
+
+        Model model = createTestModel();
+
+        TestChild mockChild = mock(TestChild.class);
+        when(mockChild.getModel()).thenReturn(model);
+        when(_configuredObject.getModel()).thenReturn(model);
+        doReturn(ConfiguredObject.class).when(_configuredObject).getCategoryClass();
+        when(_configuredObject.getChildren(TestChild.class)).thenReturn(Arrays.asList(mockChild));
+        when(_configuredObject.getStatistics()).thenReturn(Collections.singletonMap(statisticName, (Number) 1));
+        when(mockChild.getStatistics()).thenReturn(Collections.singletonMap(statisticName, (Number) 2));
+
+        final StatisticsSnapshot snapshot = StatisticsSnapshot.collect(_configuredObject);
+
+        when(_configuredObject.getStatistics()).thenReturn(Collections.singletonMap(statisticName, (Number) 3));
+        when(mockChild.getStatistics()).thenReturn(Collections.singletonMap(statisticName, (Number) 4));
+
+        Map<String, Object> resultMap = _converter.convertObjectToMap(_configuredObject,
+                                                                      ConfiguredObject.class,
+                                                                      new ConfiguredObjectToMapConverter.ConverterOptions(
+                                                                              1,
+                                                                              false,
+                                                                              120,
+                                                                              false,
+                                                                              false),
+                                                                      snapshot);
+
+        Map<String, Object> statsAsMap = (Map<String, Object>) resultMap.get(STATISTICS_MAP_KEY);
+        assertEquals("Unexpected statistic value", 1, statsAsMap.get(statisticName));
+
+        final List<Map<String, Object>> childList = (List<Map<String, Object>>) resultMap.get("testchilds");
+        assertEquals("Unexpected number of children", (long) 1, (long) childList.size());
+        Map<String, Object> childStatsAsMap = (Map<String, Object>) childList.get(0).get(STATISTICS_MAP_KEY);
+        assertEquals("Unexpected child statistic value", 2, childStatsAsMap.get(statisticName));
+    }
+
     @Test
     public void testActuals()
     {
@@ -36,6 +36,7 @@ import org.apache.qpid.server.model.ConfiguredObjectStatistic;
 import org.apache.qpid.server.model.Model;
 import org.apache.qpid.server.model.StatisticType;
 import org.apache.qpid.server.model.StatisticUnit;
+import org.apache.qpid.server.stats.StatisticsSnapshot;
 
 public class QpidCollector extends Collector
 {
@@ -62,17 +63,19 @@ public class QpidCollector extends Collector
     public List<MetricFamilySamples> collect()
     {
         final List<MetricFamilySamples> metricFamilySamples = new ArrayList<>();
-        addObjectMetrics(_root, Collections.emptyList(), new HashMap<>(), metricFamilySamples);
-        addChildrenMetrics(metricFamilySamples, _root, Collections.singletonList("name"));
+        final StatisticsSnapshot snapshot = StatisticsSnapshot.getLatest(_root);
+        addObjectMetrics(snapshot, _root, Collections.emptyList(), new HashMap<>(), metricFamilySamples);
+        addChildrenMetrics(snapshot, metricFamilySamples, _root, Collections.singletonList("name"));
         return metricFamilySamples;
     }
 
-    private void addObjectMetrics(final ConfiguredObject<?> object,
+    private void addObjectMetrics(final StatisticsSnapshot snapshot,
+                                  final ConfiguredObject<?> object,
                                   final List<String> labelNames,
                                   final Map<String, MetricFamilySamples> metricFamilyMap,
                                   final List<MetricFamilySamples> metricFamilySamples)
     {
-        final Map<String, Object> statsMap = object.getStatistics();
+        final Map<String, Object> statsMap = snapshot.getStatistics(object);
         for (final Map.Entry<String, Object> entry : statsMap.entrySet())
         {
             MetricFamilySamples family = metricFamilyMap.get(entry.getKey());
@@ -145,7 +148,8 @@ public class QpidCollector extends Collector
         return labelsValues;
     }
 
-    private void addChildrenMetrics(final List<MetricFamilySamples> metricFamilySamples,
+    private void addChildrenMetrics(final StatisticsSnapshot snapshot,
+                                    final List<MetricFamilySamples> metricFamilySamples,
                                     final ConfiguredObject<?> object,
                                     final List<String> childLabelNames)
     {
@@ -158,11 +162,11 @@ public class QpidCollector extends Collector
                 final Map<String, MetricFamilySamples> childrenMetricFamilyMap = new HashMap<>();
                 for (final ConfiguredObject<?> child : children)
                 {
-                    addObjectMetrics(child, childLabelNames, childrenMetricFamilyMap, metricFamilySamples);
+                    addObjectMetrics(snapshot, child, childLabelNames, childrenMetricFamilyMap, metricFamilySamples);
                     final List<String> labelNames = new ArrayList<>(childLabelNames);
                     final String label = String.format("%s_name", toSnakeCase(childClass.getSimpleName()));
                     labelNames.add(label);
-                    addChildrenMetrics(metricFamilySamples, child, labelNames);
+                    addChildrenMetrics(snapshot, metricFamilySamples, child, labelNames);
                 }
             }
         }